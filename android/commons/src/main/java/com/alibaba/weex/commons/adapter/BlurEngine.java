@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.weex.commons.adapter;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stack blur which keeps the cost of blurring many images, e.g. blurred backgrounds of list cells,
+ * low:
+ * <ul>
+ *     <li>the image is downsampled before blurring, the larger the radius the smaller the sample;</li>
+ *     <li>pixel buffers are pooled and both passes work on packed pixels instead of one array per
+ *     channel;</li>
+ *     <li>the horizontal pass is split by rows and the vertical pass by columns across a bounded
+ *     pool of threads, the calling thread takes part so blurring never waits on a busy pool;</li>
+ *     <li>results can be cached by (url, radius, size).</li>
+ * </ul>
+ */
+public class BlurEngine {
+
+    private static final String TAG = "BlurEngine";
+
+    public static final int MAX_RADIUS = 10;
+
+    /**
+     * Images with fewer (sampled) pixels are blurred on the calling thread only.
+     */
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
+    private static final int MIN_LINES_PER_BAND = 16;
+
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final int MAX_POOLED_BUFFER_LENGTH = 512 * 512;
+
+    private static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor sExecutor;
+
+    static {
+        sExecutor = new ThreadPoolExecutor(PARALLELISM, PARALLELISM, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "wx_blur_thread_" + mCount.getAndIncrement());
+            }
+        });
+        sExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    private static final int[][] sDivTables = new int[MAX_RADIUS + 1][];
+    private static final List<int[]> sBufferPool = new ArrayList<>();
+
+    private static volatile LruCache<String, Bitmap> sCache = createCache((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 32));
+
+    private interface LineTask {
+        void run(int band);
+    }
+
+    private BlurEngine() {
+    }
+
+    /**
+     * @param maxBytes max size of cached blurred bitmaps, 0 disables the cache.
+     */
+    public static void setCacheSize(int maxBytes) {
+        sCache = maxBytes > 0 ? createCache(maxBytes) : null;
+    }
+
+    public static void clearCache() {
+        LruCache<String, Bitmap> cache = sCache;
+        if (cache != null) {
+            cache.evictAll();
+        }
+    }
+
+    /**
+     * Release pooled buffers and cached bitmaps, e.g. on low memory.
+     */
+    public static void trimMemory() {
+        clearCache();
+        synchronized (sBufferPool) {
+            sBufferPool.clear();
+        }
+    }
+
+    /**
+     * radius in [0,10]
+     */
+    @NonNull
+    public static Bitmap blur(@NonNull Bitmap source, int radius) {
+        return blur(null, source, radius);
+    }
+
+    /**
+     * @param url url of the image, the result is cached by (url, radius, size) if not null.
+     * The cached bitmap is shared, it must not be recycled or modified.
+     */
+    @NonNull
+    public static Bitmap blur(@Nullable String url, @NonNull Bitmap source, int radius) {
+        radius = Math.min(MAX_RADIUS, Math.max(0, radius));
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (radius == 0 || width <= 0 || height <= 0) {
+            return source;
+        }
+        String key = url == null ? null : url + "|" + radius + "|" + width + "x" + height;
+        LruCache<String, Bitmap> cache = sCache;
+        if (key != null && cache != null) {
+            Bitmap cached = cache.get(key);
+            if (cached != null && !cached.isRecycled()) {
+                return cached;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Bitmap result;
+        try {
+            double sampling = calculateSampling(radius);
+            Bitmap sampled = Bitmap.createScaledBitmap(source, Math.max(1, (int) (sampling * width)),
+                    Math.max(1, (int) (sampling * height)), true);
+            result = stackBlur(sampled, radius);
+        } catch (OutOfMemoryError e) {
+            WXLogUtils.e(TAG, "out of memory when blurring image " + width + "x" + height);
+            trimMemory();
+            return source;
+        } catch (RuntimeException e) {
+            WXLogUtils.e(TAG, "thrown exception when blurring image, " + e.getMessage());
+            return source;
+        }
+        if (key != null && cache != null) {
+            cache.put(key, result);
+        }
+        WXLogUtils.d(TAG, "elapsed time on blurring image(radius:" + radius + "): " + (System.currentTimeMillis() - start) + "ms");
+        return result;
+    }
+
+    public static void asyncBlur(@Nullable final String url, @NonNull final Bitmap source, final int radius,
+                                 @Nullable final BlurTool.OnBlurCompleteListener listener) {
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Bitmap result = blur(url, source, radius);
+                if (listener != null) {
+                    listener.onBlurComplete(result);
+                }
+            }
+        });
+    }
+
+    private static double calculateSampling(int radius) {
+        double sampling;
+        if (radius <= 3) {
+            sampling = 1 / (double) 2;
+        } else if (radius <= 8) {
+            sampling = 1 / (double) 4;
+        } else {
+            sampling = 1 / (double) 8;
+        }
+        return sampling;
+    }
+
+    private static LruCache<String, Bitmap> createCache(int maxBytes) {
+        return new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    private static Bitmap stackBlur(Bitmap sampled, final int radius) {
+        // Stack Blur Algorithm by Mario Klingemann <mario@quasimondo.com>
+        final int w = sampled.getWidth();
+        final int h = sampled.getHeight();
+        final int[] pix = acquireBuffer(w * h);
+        final int[] tmp = acquireBuffer(w * h);
+        try {
+            sampled.getPixels(pix, 0, w, 0, 0, w, h);
+            final int[] dv = divTable(radius);
+
+            final int bands = bandCount(w, h);
+            final int rowsPerBand = (h + bands - 1) / bands;
+            runParallel(bands, new LineTask() {
+                @Override
+                public void run(int band) {
+                    int[] stack = new int[(2 * radius + 1) * 3];
+                    int end = Math.min(h, (band + 1) * rowsPerBand);
+                    for (int y = band * rowsPerBand; y < end; y++) {
+                        blurLine(pix, tmp, y * w, 1, w, radius, dv, stack);
+                    }
+                }
+            });
+            final int columnsPerBand = (w + bands - 1) / bands;
+            runParallel(bands, new LineTask() {
+                @Override
+                public void run(int band) {
+                    int[] stack = new int[(2 * radius + 1) * 3];
+                    int end = Math.min(w, (band + 1) * columnsPerBand);
+                    for (int x = band * columnsPerBand; x < end; x++) {
+                        blurLine(tmp, pix, x, w, h, radius, dv, stack);
+                    }
+                }
+            });
+
+            Bitmap result = sampled.isMutable() ? sampled : Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+            result.setPixels(pix, 0, w, 0, 0, w, h);
+            return result;
+        } finally {
+            releaseBuffer(tmp);
+            releaseBuffer(pix);
+        }
+    }
+
+    /**
+     * Blur one row or column of packed pixels from src into dst, keeping the alpha of src.
+     * @param offset index of the first pixel of the line.
+     * @param step distance between two pixels of the line, 1 for a row and the width for a column.
+     * @param stack scratch of (2 * radius + 1) * 3 ints.
+     */
+    private static void blurLine(int[] src, int[] dst, int offset, int step, int length, int radius,
+                                 int[] dv, int[] stack) {
+        int div = radius + radius + 1;
+        int r1 = radius + 1;
+        int last = length - 1;
+        int rsum = 0, gsum = 0, bsum = 0;
+        int rinsum = 0, ginsum = 0, binsum = 0;
+        int routsum = 0, goutsum = 0, boutsum = 0;
+        int p, s, rbs;
+
+        for (int i = -radius; i <= radius; i++) {
+            p = src[offset + Math.min(last, Math.max(i, 0)) * step];
+            s = (i + radius) * 3;
+            stack[s] = (p & 0xff0000) >> 16;
+            stack[s + 1] = (p & 0x00ff00) >> 8;
+            stack[s + 2] = p & 0x0000ff;
+            rbs = r1 - Math.abs(i);
+            rsum += stack[s] * rbs;
+            gsum += stack[s + 1] * rbs;
+            bsum += stack[s + 2] * rbs;
+            if (i > 0) {
+                rinsum += stack[s];
+                ginsum += stack[s + 1];
+                binsum += stack[s + 2];
+            } else {
+                routsum += stack[s];
+                goutsum += stack[s + 1];
+                boutsum += stack[s + 2];
+            }
+        }
+
+        int stackpointer = radius;
+        int index = offset;
+        for (int k = 0; k < length; k++) {
+            dst[index] = (0xff000000 & src[index]) | (dv[rsum] << 16) | (dv[gsum] << 8) | dv[bsum];
+
+            rsum -= routsum;
+            gsum -= goutsum;
+            bsum -= boutsum;
+
+            s = ((stackpointer - radius + div) % div) * 3;
+            routsum -= stack[s];
+            goutsum -= stack[s + 1];
+            boutsum -= stack[s + 2];
+
+            p = src[offset + Math.min(k + r1, last) * step];
+            stack[s] = (p & 0xff0000) >> 16;
+            stack[s + 1] = (p & 0x00ff00) >> 8;
+            stack[s + 2] = p & 0x0000ff;
+
+            rinsum += stack[s];
+            ginsum += stack[s + 1];
+            binsum += stack[s + 2];
+
+            rsum += rinsum;
+            gsum += ginsum;
+            bsum += binsum;
+
+            stackpointer = (stackpointer + 1) % div;
+            s = stackpointer * 3;
+
+            routsum += stack[s];
+            goutsum += stack[s + 1];
+            boutsum += stack[s + 2];
+
+            rinsum -= stack[s];
+            ginsum -= stack[s + 1];
+            binsum -= stack[s + 2];
+
+            index += step;
+        }
+    }
+
+    private static synchronized int[] divTable(int radius) {
+        int[] table = sDivTables[radius];
+        if (table == null) {
+            int div = radius + radius + 1;
+            int divsum = (div + 1) >> 1;
+            divsum *= divsum;
+            table = new int[256 * divsum];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = i / divsum;
+            }
+            sDivTables[radius] = table;
+        }
+        return table;
+    }
+
+    private static int bandCount(int w, int h) {
+        if (PARALLELISM <= 1 || w * h < PARALLEL_THRESHOLD) {
+            return 1;
+        }
+        return Math.max(1, Math.min(PARALLELISM + 1, Math.min(w, h) / MIN_LINES_PER_BAND));
+    }
+
+    /**
+     * Run bands [0, count) on the pool and the calling thread. Bands are claimed one by one, so the
+     * caller only waits for bands which are being processed, never for a queued task.
+     */
+    private static void runParallel(final int count, final LineTask task) {
+        if (count == 1) {
+            task.run(0);
+            return;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int band;
+                while ((band = next.getAndIncrement()) < count) {
+                    try {
+                        task.run(band);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        if (done.incrementAndGet() == count) {
+                            synchronized (done) {
+                                done.notifyAll();
+                            }
+                        }
+                    }
+                }
+            }
+        };
+        for (int i = 1; i < count; i++) {
+            try {
+                sExecutor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        boolean interrupted = false;
+        synchronized (done) {
+            while (done.get() < count) {
+                try {
+                    done.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static int[] acquireBuffer(int length) {
+        synchronized (sBufferPool) {
+            int best = -1;
+            for (int i = 0; i < sBufferPool.size(); i++) {
+                int size = sBufferPool.get(i).length;
+                if (size >= length && (best < 0 || size < sBufferPool.get(best).length)) {
+                    best = i;
+                }
+            }
+            if (best >= 0) {
+                return sBufferPool.remove(best);
+            }
+        }
+        return new int[length];
+    }
+
+    private static void releaseBuffer(int[] buffer) {
+        if (buffer.length > MAX_POOLED_BUFFER_LENGTH) {
+            return;
+        }
+        synchronized (sBufferPool) {
+            if (sBufferPool.size() < MAX_POOLED_BUFFERS) {
+                sBufferPool.add(buffer);
+            }
+        }
+    }
+}
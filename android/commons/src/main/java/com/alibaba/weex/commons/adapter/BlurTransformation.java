@@ -26,6 +26,10 @@ public class BlurTransformation implements Transformation {
 
   private int mRadius;
 
+  /**
+   * The result is not cached by {@link BlurEngine}: Picasso caches it under {@link #key()} and
+   * owns it, a bitmap shared with the engine cache could be recycled under it.
+   */
   public BlurTransformation(int radius) {
     mRadius = radius;
   }
@@ -36,7 +40,7 @@ public class BlurTransformation implements Transformation {
     }
     Bitmap bitmap;
     try {
-      bitmap = BlurTool.blur(source, mRadius);
+      bitmap = BlurEngine.blur(source, mRadius);
     }catch (Exception e){
       bitmap = source;
     }
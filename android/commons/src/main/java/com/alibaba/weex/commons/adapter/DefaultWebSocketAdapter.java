@@ -103,7 +103,9 @@ public class DefaultWebSocketAdapter implements IWebSocketAdapter {
             @Override
             public void onMessage(BufferedSource payload, WebSocket.PayloadType type) throws IOException {
                 if (type == WebSocket.PayloadType.BINARY) {
-                    wsEventReporter.frameReceived(payload.readByteArray());
+                    byte[] data = payload.readByteArray();
+                    eventListener.onBinaryMessage(data);
+                    wsEventReporter.frameReceived(data);
                 } else {
                     String message = payload.readUtf8();
                     eventListener.onMessage(message);
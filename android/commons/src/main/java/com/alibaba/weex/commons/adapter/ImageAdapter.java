@@ -18,16 +18,19 @@
  */
 package com.alibaba.weex.commons.adapter;
 
+import android.text.TextUtils;
 import android.widget.ImageView;
 
 import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.WXSDKManager;
-import com.taobao.weex.adapter.IWXImgLoaderAdapter;
+import com.taobao.weex.adapter.IWXImgPrefetchAdapter;
 import com.taobao.weex.common.WXImageStrategy;
 import com.taobao.weex.dom.WXImageQuality;
 
-public class ImageAdapter implements IWXImgLoaderAdapter {
+public class ImageAdapter implements IWXImgPrefetchAdapter {
 
   public ImageAdapter() {
   }
@@ -35,7 +38,21 @@ public class ImageAdapter implements IWXImgLoaderAdapter {
   @Override
   public void setImage(final String url, final ImageView view,
                        WXImageQuality quality, final WXImageStrategy strategy) {
-      Picasso.with(view.getContext()).load(url).into(view);
+    if (view == null) {
+      return;
+    }
+    Picasso picasso = Picasso.with(view.getContext());
+    if (TextUtils.isEmpty(url)) {
+      picasso.cancelRequest(view);
+      view.setImageDrawable(null);
+      return;
+    }
+    RequestCreator request = picasso.load(url);
+    if (strategy != null) {
+      transform(request, url, strategy, view.getScaleType());
+      request.priority(toPicassoPriority(strategy.priority));
+    }
+    request.into(view);
 //    Runnable runnable = new Runnable() {
 //
 //      @Override
@@ -96,6 +113,60 @@ public class ImageAdapter implements IWXImgLoaderAdapter {
 //      WXSDKManager.getInstance().postOnUiThread(runnable, 0);
 //    }
   }
+
+  /**
+   * Decoded with the size, scale type and blur of the component, as {@link #setImage} will, so
+   * the memory cache entry is the one the bound cell asks for.
+   */
+  @Override
+  public void prefetch(String url, WXImageQuality quality, WXImageStrategy strategy) {
+    if (TextUtils.isEmpty(url) || WXEnvironment.getApplication() == null) {
+      return;
+    }
+    RequestCreator request = Picasso.with(WXEnvironment.getApplication()).load(url);
+    if (strategy != null) {
+      transform(request, url, strategy, strategy.scaleType);
+    }
+    request.priority(Picasso.Priority.LOW).fetch();
+  }
+
+  /**
+   * Decode down to the view instead of the natural size of the image, keeping what the scale type
+   * of the view would show, and blur if asked.
+   */
+  private static void transform(RequestCreator request, String url, WXImageStrategy strategy,
+                                ImageView.ScaleType scaleType) {
+    if (strategy.targetWidth > 0 && strategy.targetHeight > 0) {
+      request.resize(strategy.targetWidth, strategy.targetHeight).onlyScaleDown();
+      if (scaleType == ImageView.ScaleType.CENTER_CROP) {
+        request.centerCrop();
+      } else if (scaleType != ImageView.ScaleType.FIT_XY) {
+        request.centerInside();
+      }
+    }
+    if (strategy.blurRadius > 0) {
+      request.transform(new BlurTransformation(strategy.blurRadius));
+    }
+  }
+
+  @Override
+  public void cancel(ImageView view) {
+    if (view != null) {
+      Picasso.with(view.getContext()).cancelRequest(view);
+    }
+  }
+
+  private static Picasso.Priority toPicassoPriority(int priority) {
+    switch (priority) {
+      case WXImageStrategy.PRIORITY_LOW:
+        return Picasso.Priority.LOW;
+      case WXImageStrategy.PRIORITY_HIGH:
+        return Picasso.Priority.HIGH;
+      default:
+        return Picasso.Priority.NORMAL;
+    }
+  }
+
   private void recordImgLoadAction(String instanceId){
     WXSDKInstance instance = WXSDKManager.getInstance().getAllInstanceMap().get(instanceId);
     if (null == instance || instance.isDestroy()){
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.weex.commons.adapter;
+
+import android.graphics.Bitmap;
+
+import com.alibaba.weex.commons.BuildConfig;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class BlurEngineTest {
+
+  @After
+  public void tearDown() throws Exception {
+    BlurEngine.clearCache();
+  }
+
+  @Test
+  public void testNoRadius() throws Exception {
+    Bitmap source = createBitmap(64, 64);
+    assertSame(source, BlurEngine.blur(source, 0));
+    assertSame(source, BlurEngine.blur(source, -1));
+  }
+
+  @Test
+  public void testBlurDownsamples() throws Exception {
+    Bitmap source = createBitmap(64, 64);
+    Bitmap result = BlurEngine.blur(source, 5);
+
+    assertNotSame(source, result);
+    assertEquals(16, result.getWidth());
+    assertEquals(16, result.getHeight());
+    assertFalse(source.isRecycled());
+  }
+
+  @Test
+  public void testCacheByUrl() throws Exception {
+    Bitmap source = createBitmap(64, 64);
+    Bitmap result = BlurEngine.blur("http://example.com/a.png", source, 5);
+
+    assertSame(result, BlurEngine.blur("http://example.com/a.png", source, 5));
+    assertNotSame(result, BlurEngine.blur("http://example.com/a.png", source, 6));
+    assertNotSame(result, BlurEngine.blur("http://example.com/b.png", source, 5));
+
+    BlurEngine.clearCache();
+    assertNotSame(result, BlurEngine.blur("http://example.com/a.png", source, 5));
+  }
+
+  @Test
+  public void testNoCacheWithoutUrl() throws Exception {
+    Bitmap source = createBitmap(64, 64);
+    assertNotSame(BlurEngine.blur(source, 5), BlurEngine.blur(source, 5));
+  }
+
+  @Test
+  public void testRecycledCacheEntry() throws Exception {
+    Bitmap source = createBitmap(64, 64);
+    Bitmap result = BlurEngine.blur("http://example.com/a.png", source, 5);
+    result.recycle();
+
+    Bitmap again = BlurEngine.blur("http://example.com/a.png", source, 5);
+    assertNotSame(result, again);
+    assertFalse(again.isRecycled());
+  }
+
+  @Test
+  public void testCacheDisabled() throws Exception {
+    BlurEngine.setCacheSize(0);
+    try {
+      Bitmap source = createBitmap(64, 64);
+      assertNotSame(BlurEngine.blur("http://example.com/a.png", source, 5),
+          BlurEngine.blur("http://example.com/a.png", source, 5));
+    } finally {
+      BlurEngine.setCacheSize(4 * 1024 * 1024);
+    }
+  }
+
+  static Bitmap createBitmap(int width, int height) {
+    return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+  }
+}
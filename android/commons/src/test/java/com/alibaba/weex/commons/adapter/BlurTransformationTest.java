@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.weex.commons.adapter;
+
+import android.graphics.Bitmap;
+
+import com.alibaba.weex.commons.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class BlurTransformationTest {
+
+  @Test
+  public void testTransform() throws Exception {
+    Bitmap source = BlurEngineTest.createBitmap(64, 64);
+    Bitmap result = new BlurTransformation(5).transform(source);
+
+    assertNotSame(source, result);
+    assertTrue(source.isRecycled());
+    assertFalse(result.isRecycled());
+  }
+
+  @Test
+  public void testResultNotShared() throws Exception {
+    Bitmap first = new BlurTransformation(5).transform(BlurEngineTest.createBitmap(64, 64));
+    Bitmap second = new BlurTransformation(5).transform(BlurEngineTest.createBitmap(64, 64));
+
+    // each result belongs to Picasso, which may recycle it
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testNoRadius() throws Exception {
+    Bitmap source = BlurEngineTest.createBitmap(64, 64);
+    assertSame(source, new BlurTransformation(0).transform(source));
+    assertFalse(source.isRecycled());
+  }
+
+  @Test
+  public void testKey() throws Exception {
+    assertEquals(new BlurTransformation(5).key(), new BlurTransformation(5).key());
+    assertNotEquals(new BlurTransformation(5).key(), new BlurTransformation(6).key());
+  }
+}
@@ -31,8 +31,12 @@ import com.taobao.weex.adapter.IWxHtmlTagAdapter;
 import com.taobao.weex.adapter.URIAdapter;
 import com.taobao.weex.appfram.storage.IWXStorageAdapter;
 import com.taobao.weex.appfram.websocket.IWebSocketAdapterFactory;
+import com.taobao.weex.common.WXInitTaskScheduler;
 import com.taobao.weex.performance.IApmGenerator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by sospartan on 5/31/16.
  */
@@ -52,6 +56,7 @@ public class InitConfig {
   private IWXJsFileLoaderAdapter jsFileLoaderAdapter;
   private IWXJscProcessManager jscProcessManager;
   private IWxHtmlTagAdapter htmlTagAdapter;
+  private List<WXInitTaskScheduler.Task> initTasks;
 
   public IWXHttpAdapter getHttpAdapter() {
     return httpAdapter;
@@ -117,6 +122,10 @@ public class InitConfig {
     return htmlTagAdapter;
   }
 
+  public List<WXInitTaskScheduler.Task> getInitTasks() {
+    return initTasks;
+  }
+
   private InitConfig() {
   }
 
@@ -135,6 +144,7 @@ public class InitConfig {
     IApmGenerator apmGenerater;
     private IWXJsFileLoaderAdapter jsFileLoaderAdapter;
     private IWxHtmlTagAdapter htmlTagAdapter;
+    private List<WXInitTaskScheduler.Task> initTasks;
 
     public IWXJscProcessManager getJscProcessManager() {
       return jscProcessManager;
@@ -221,6 +231,18 @@ public class InitConfig {
       return this;
     }
 
+    /**
+     * Run an app task as part of SDK initialization, e.g. preloading fonts. It may depend on the
+     * SDK tasks, see {@link WXSDKEngine#INIT_TASK_CONFIG} and the other task names.
+     */
+    public Builder addInitTask(WXInitTaskScheduler.Task task) {
+      if (initTasks == null) {
+        initTasks = new ArrayList<>();
+      }
+      initTasks.add(task);
+      return this;
+    }
+
     public InitConfig build(){
       InitConfig config =  new InitConfig();
       config.httpAdapter = this.httpAdapter;
@@ -238,6 +260,7 @@ public class InitConfig {
       config.jsFileLoaderAdapter = this.jsFileLoaderAdapter;
       config.jscProcessManager = this.jscProcessManager;
       config.htmlTagAdapter = this.htmlTagAdapter;
+      config.initTasks = this.initTasks;
       return config;
     }
   }
@@ -48,8 +48,10 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dalvik.system.PathClassLoader;
 
@@ -97,6 +99,9 @@ public class WXEnvironment {
   public static long sSDKInitStart = 0;// init start timestamp
   public static long sSDKInitInvokeTime = 0;//time cost to invoke init method
   public static long sSDKInitExecuteTime = 0;//time cost to execute init job
+  public static volatile String sSDKInitTimeline = "";//start offset and duration of each init task
+  //duration of each init task, filled on the thread finishing the last init task
+  private static final Map<String, Long> sSDKInitTaskTimes = new ConcurrentHashMap<>();
   /** from init to sdk-ready **/
   public static long sSDKInitTime =0;
 
@@ -147,6 +152,24 @@ public class WXEnvironment {
   public static boolean sDynamicMode = false;
   public static String sDynamicUrl = "";
 
+  /**
+   * cells with the flat attribute are drawn as widgets only if this is set before rendering
+   */
+  public static boolean sFlatUIEnabled = false;
+
+  /**
+   * @return duration in milliseconds of each SDK init task by name, empty until every init task
+   * is finished.
+   */
+  public static Map<String, Long> getSDKInitTaskTimes() {
+    return Collections.unmodifiableMap(sSDKInitTaskTimes);
+  }
+
+  static void setSDKInitTaskTimes(Map<String, Long> taskTimes) {
+    sSDKInitTaskTimes.clear();
+    sSDKInitTaskTimes.putAll(taskTimes);
+  }
+
   /**
    * Fetch system information.
    * @return map contains system information.
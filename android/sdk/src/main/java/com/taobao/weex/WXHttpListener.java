@@ -27,8 +27,11 @@ import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXPerformance;
 import com.taobao.weex.common.WXRenderStrategy;
 import com.taobao.weex.common.WXResponse;
+import com.taobao.weex.http.WXBundleCache;
+import com.taobao.weex.http.WXBundleStreamDecoder;
 import com.taobao.weex.performance.WXInstanceApm;
 import com.taobao.weex.tracing.WXTracing;
+import com.taobao.weex.utils.WXFileUtils;
 import com.taobao.weex.utils.WXLogUtils;
 
 import java.util.HashMap;
@@ -36,9 +39,10 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * load bundle js listener
+ * load bundle js listener, decodes the bundle while it is downloaded when the http adapter
+ * supports {@link IWXHttpAdapter.OnHttpStreamListener}
  */
-public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
+public class WXHttpListener implements IWXHttpAdapter.OnHttpStreamListener {
 
     private String pageName;
     private Map<String, Object> options;
@@ -53,6 +57,9 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
 
     private String mBundleUrl;
 
+    private WXBundleStreamDecoder mStreamDecoder;
+    private int mContentLength = -1;
+
     public WXHttpListener(WXSDKInstance instance) {
         this.instance = instance;
         this.traceId = WXTracing.nextId();
@@ -109,6 +116,27 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
                 && headers != null){
             this.instance.responseHeaders.putAll(headers);
         }
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if ("Content-Length".equalsIgnoreCase(entry.getKey())
+                        && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    try {
+                        mContentLength = Integer.parseInt(entry.getValue().get(0));
+                    } catch (NumberFormatException e) {
+                        mContentLength = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onHttpDataReceived(byte[] data, int offset, int length) {
+        if (mStreamDecoder == null) {
+            mApmForInstance.onStage(WXInstanceApm.KEY_PAGE_STAGES_DOWN_BUNDLE_FIRST_CHUNK);
+            mStreamDecoder = new WXBundleStreamDecoder(mContentLength, needsOriginalData());
+        }
+        mStreamDecoder.write(data, offset, length);
     }
 
     @Override
@@ -123,6 +151,10 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
 
     @Override
     public void onHttpFinish(WXResponse response) {
+        if (response != null && response.originalData == null && mStreamDecoder != null && mStreamDecoder.hasData()) {
+            response.originalData = mStreamDecoder.getRawBytes();
+        }
+        boolean hasStreamedBody = response != null && mStreamDecoder != null && mStreamDecoder.hasData();
 
         if (this.instance != null
                 && this.instance.getWXStatisticsListener() != null) {
@@ -137,6 +169,8 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
             event.extParams = new HashMap<>();
             if (response != null && response.originalData != null) {
                 event.extParams.put("BundleSize", response.originalData.length);
+            } else if (hasStreamedBody) {
+                event.extParams.put("BundleSize", mStreamDecoder.getByteCount());
             }
             event.submit();
         }
@@ -185,7 +219,7 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
                     performance.appendErrMsg("|");
                     performance.appendErrMsg(response.errorMsg);
 
-                }else if("200".equals(response.statusCode) && (response.originalData==null || response.originalData.length<=0)){
+                }else if("200".equals(response.statusCode) && !hasStreamedBody && (response.originalData==null || response.originalData.length<=0)){
                     performance.errCode=WXErrorCode.WX_ERR_JSBUNDLE_DOWNLOAD.getErrorCode();
                     performance.appendErrMsg(response.statusCode);
                     performance.appendErrMsg("|template is null!");
@@ -199,7 +233,7 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
             }
         }
         String wxErrorCode = WXInstanceApm.VALUE_ERROR_CODE_DEFAULT;
-        if (response!=null && response.originalData!=null && TextUtils.equals("200", response.statusCode)) {
+        if (response!=null && (response.originalData!=null || hasStreamedBody) && TextUtils.equals("200", response.statusCode)) {
             mApmForInstance.onStage(WXInstanceApm.KEY_PAGE_STAGES_DOWN_BUNDLE_END);
             onSuccess(response);
 
@@ -216,7 +250,7 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
             onFail(response);
 
             // check content-length
-        } else if (response!=null && response.originalData!=null && TextUtils.equals("-206", response.statusCode)) {
+        } else if (response!=null && (response.originalData!=null || hasStreamedBody) && TextUtils.equals("-206", response.statusCode)) {
             WXLogUtils.e("user intercept: WX_DEGRAD_ERR_NETWORK_CHECK_CONTENT_LENGTH_FAILED");
             wxErrorCode =  WXErrorCode.WX_DEGRAD_ERR_NETWORK_CHECK_CONTENT_LENGTH_FAILED.getErrorCode();
             instance.onRenderError(wxErrorCode ,
@@ -244,14 +278,66 @@ public class WXHttpListener implements IWXHttpAdapter.OnHttpListener {
     }
 
     public void onSuccess(WXResponse response) {
+        storeInBundleCache(response.originalData);
         if (flag==WXRenderStrategy.DATA_RENDER_BINARY){
             instance.render(pageName, response.originalData, options, jsonInitData);
         }else {
-            String template = new String(response.originalData);
+            String template = readTemplate(response);
             instance.render(pageName, template, options, jsonInitData, flag);
         }
     }
 
+    /**
+     * Whether the raw body of a streamed response is kept and handed over as
+     * {@link WXResponse#originalData}, otherwise only the decoded template is. Binary bundles and
+     * the bundle cache need it; subclasses get it unless they override this, as their
+     * {@link #onSuccess(WXResponse)} or {@link #onFail(WXResponse)} may read it.
+     */
+    protected boolean needsOriginalData() {
+        return flag == WXRenderStrategy.DATA_RENDER_BINARY
+                || getClass() != WXHttpListener.class
+                || (WXSDKManager.getInstance().getBundleCache() != null && !TextUtils.isEmpty(mBundleUrl));
+    }
+
+    /**
+     * Store the bundle on the work thread so rendering does not wait for the disk. The bundle is
+     * hashed in memory first, so the digest is passed to the js engine with the render options
+     * and its code cache is tied to this exact bundle.
+     */
+    private void storeInBundleCache(final byte[] data) {
+        final WXBundleCache bundleCache = WXSDKManager.getInstance().getBundleCache();
+        if (bundleCache == null || TextUtils.isEmpty(mBundleUrl) || data == null) {
+            return;
+        }
+        final String url = mBundleUrl;
+        final String digest = WXFileUtils.md5(data);
+        if (options != null) {
+            options.put(WXBundleCache.OPTION_BUNDLE_DIGEST, digest);
+        }
+        if (instance != null) {
+            instance.setBundleDigest(digest);
+        }
+        WXSDKManager.getInstance().getWXWorkThreadManager().post(new Runnable() {
+            @Override
+            public void run() {
+                bundleCache.put(url, data, digest);
+            }
+        });
+    }
+
+    /**
+     * @return the bundle as a string, decoded while downloading if the body was streamed.
+     */
+    protected String readTemplate(WXResponse response) {
+        if (mStreamDecoder != null && mStreamDecoder.hasData()) {
+            String template = mStreamDecoder.getContent();
+            mStreamDecoder = null;
+            mApmForInstance.onStage(WXInstanceApm.KEY_PAGE_STAGES_DECODE_BUNDLE_END);
+            return template;
+        }
+        return new String(response.originalData);
+    }
+
     public void onFail(WXResponse response) {
 
     }
@@ -41,6 +41,7 @@ import com.taobao.weex.appfram.navigator.IActivityNavBarSetter;
 import com.taobao.weex.appfram.navigator.INavigator;
 import com.taobao.weex.appfram.navigator.WXNavigatorModule;
 import com.taobao.weex.appfram.pickers.WXPickersModule;
+import com.taobao.weex.appfram.storage.DefaultWXStorage;
 import com.taobao.weex.appfram.storage.IWXStorageAdapter;
 import com.taobao.weex.appfram.storage.WXStorageModule;
 import com.taobao.weex.appfram.websocket.WebSocketModule;
@@ -52,6 +53,8 @@ import com.taobao.weex.common.Destroyable;
 import com.taobao.weex.common.TypeModuleFactory;
 import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXException;
+import com.taobao.weex.common.WXInitTaskScheduler;
+import com.taobao.weex.common.WXInitTaskScheduler.TaskThread;
 import com.taobao.weex.common.WXInstanceWrap;
 import com.taobao.weex.common.WXModule;
 import com.taobao.weex.http.WXStreamModule;
@@ -93,6 +96,7 @@ import com.taobao.weex.ui.config.AutoScanConfigRegister;
 import com.taobao.weex.ui.module.WXLocaleModule;
 import com.taobao.weex.ui.module.WXMetaModule;
 import com.taobao.weex.ui.module.WXModalUIModule;
+import com.taobao.weex.ui.module.WXScrollBindingModule;
 import com.taobao.weex.ui.module.WXTimerModule;
 import com.taobao.weex.ui.module.WXWebViewModule;
 import com.taobao.weex.utils.LogLevel;
@@ -105,6 +109,7 @@ import com.taobao.weex.utils.batch.BatchOperationHelper;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.taobao.weex.WXEnvironment.CORE_SO_NAME;
 
@@ -117,6 +122,17 @@ public class WXSDKEngine implements Serializable {
   private static final Object mLock = new Object();
   private static final String TAG = "WXSDKEngine";
 
+  /**
+   * Names of the init tasks, app tasks added with {@link InitConfig.Builder#addInitTask} may
+   * depend on them.
+   */
+  public static final String INIT_TASK_CONFIG = "config";
+  public static final String INIT_TASK_LOAD_SO = "loadSo";
+  public static final String INIT_TASK_READ_FRAMEWORK = "readFramework";
+  public static final String INIT_TASK_INIT_FRAMEWORK = "initFramework";
+  public static final String INIT_TASK_REGISTER = "register";
+  public static final String INIT_TASK_OPEN_STORAGE = "openStorage";
+
   /**
    * Deprecated. Use {@link #initialize(Application, InitConfig)} instead.
    */
@@ -218,15 +234,26 @@ public class WXSDKEngine implements Serializable {
     }
     WXEnvironment.JsFrameworkInit = false;
 
-    WXBridgeManager.getInstance().post(new Runnable() {
+    final long start = System.currentTimeMillis();
+    final WXSDKManager sm = WXSDKManager.getInstance();
+    final AtomicReference<String> framework = new AtomicReference<>();
+    final boolean[] frameworkSandBox = new boolean[1];
+    WXInitTaskScheduler scheduler = new WXInitTaskScheduler();
+
+    // adapters are needed by everything else, setting them is cheap
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_CONFIG, TaskThread.CALLER) {
       @Override
-      public void run() {
-        long start = System.currentTimeMillis();
-        WXSDKManager sm = WXSDKManager.getInstance();
-        sm.onSDKEngineInitialize();
+      protected boolean execute() {
         if(config != null ) {
           sm.setInitConfig(config);
         }
+        return true;
+      }
+    });
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_LOAD_SO, TaskThread.JS, INIT_TASK_CONFIG) {
+      @Override
+      protected boolean execute() {
+        sm.onSDKEngineInitialize();
         WXSoInstallMgrSdk.init(application,
                 sm.getIWXSoLoaderAdapter(),
                 sm.getWXStatisticsListener());
@@ -237,15 +264,70 @@ public class WXSDKEngine implements Serializable {
                   "doInitInternal",
                   WXErrorCode.WX_KEY_EXCEPTION_SDK_INIT.getErrorMsg() + "isSoInit false",
                   null);
-          return;
         }
-        sm.initScriptsFramework(config!=null?config.getFramework():null);
+        return mIsSoInit;
+      }
+    });
+    // reading main.js from assets takes about as long as loading the so, do it meanwhile
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_READ_FRAMEWORK, TaskThread.WORKER, INIT_TASK_CONFIG) {
+      @Override
+      protected boolean execute() {
+        frameworkSandBox[0] = WXBridgeManager.getInstance().isSandBoxContext();
+        String jsf = config != null ? config.getFramework() : null;
+        if (TextUtils.isEmpty(jsf)) {
+          jsf = WXBridgeManager.getInstance().loadFramework(frameworkSandBox[0]);
+        }
+        framework.set(jsf);
+        return true;
+      }
+    });
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_INIT_FRAMEWORK, TaskThread.JS,
+            INIT_TASK_LOAD_SO, INIT_TASK_READ_FRAMEWORK) {
+      @Override
+      protected boolean execute() {
+        String jsf = framework.get();
+        if (frameworkSandBox[0] != WXBridgeManager.getInstance().isSandBoxContext()
+                && (config == null || TextUtils.isEmpty(config.getFramework()))) {
+          // the context changed while reading, let the bridge read the matching framework
+          jsf = null;
+        }
+        sm.initScriptsFramework(jsf);
 
         WXEnvironment.sSDKInitExecuteTime = System.currentTimeMillis() - start;
         WXLogUtils.renderPerformanceLog("SDKInitExecuteTime", WXEnvironment.sSDKInitExecuteTime);
+        return true;
+      }
+    });
+    // module and component registrations are queued to the JS thread and replayed after the
+    // framework is ready, so building the registry does not wait for it
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_REGISTER, TaskThread.CALLER, INIT_TASK_CONFIG) {
+      @Override
+      protected boolean execute() {
+        register();
+        return true;
+      }
+    });
+    scheduler.addTask(new WXInitTaskScheduler.Task(INIT_TASK_OPEN_STORAGE, TaskThread.WORKER, INIT_TASK_CONFIG) {
+      @Override
+      protected boolean execute() {
+        IWXStorageAdapter storageAdapter = sm.getIWXStorageAdapter();
+        if (storageAdapter instanceof DefaultWXStorage) {
+          ((DefaultWXStorage) storageAdapter).openDatabase();
+        }
+        return true;
+      }
+    });
+    if (config != null) {
+      scheduler.addTasks(config.getInitTasks());
+    }
+    scheduler.setOnCompleteListener(new WXInitTaskScheduler.OnCompleteListener() {
+      @Override
+      public void onComplete(WXInitTaskScheduler scheduler, String timeline) {
+        WXEnvironment.sSDKInitTimeline = timeline;
+        WXEnvironment.setSDKInitTaskTimes(scheduler.getDurations());
       }
     });
-    register();
+    scheduler.start();
 
     //2ms,onepluse2 ,full screen adapter for mix2 ,v2ex link :https://www.v2ex.com/t/470543
     if (null!=application && Build.VERSION.SDK_INT > VERSION_CODES.JELLY_BEAN && "xiaomi".equalsIgnoreCase(Build.MANUFACTURER)){
@@ -384,6 +466,7 @@ public class WXSDKEngine implements Serializable {
       registerModule("meta", WXMetaModule.class);
       registerModule("webSocket", WebSocketModule.class);
       registerModule("locale", WXLocaleModule.class);
+      registerModule("scrollBinding", WXScrollBindingModule.class);
     } catch (WXException e) {
       WXLogUtils.e("[WXSDKEngine] register:", e);
     }
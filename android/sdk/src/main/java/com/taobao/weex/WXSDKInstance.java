@@ -29,6 +29,8 @@ import android.content.IntentFilter;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
@@ -63,18 +65,27 @@ import com.taobao.weex.common.WXPerformance;
 import com.taobao.weex.common.WXRefreshData;
 import com.taobao.weex.common.WXRenderStrategy;
 import com.taobao.weex.common.WXRequest;
+import com.taobao.weex.common.WXThread;
 import com.taobao.weex.dom.WXEvent;
+import com.taobao.weex.http.WXBundleCache;
 import com.taobao.weex.http.WXHttpUtil;
 import com.taobao.weex.instance.InstanceOnFireEventInterceptor;
 import com.taobao.weex.layout.ContentBoxMeasurement;
 import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.performance.WXMetrics;
 import com.taobao.weex.tracing.WXTracing;
+import com.taobao.weex.ui.action.BasicGraphicAction;
 import com.taobao.weex.ui.action.GraphicActionAddElement;
+import com.taobao.weex.ui.action.GraphicActionCreateBody;
+import com.taobao.weex.ui.component.ComponentLifecycleRegistry;
 import com.taobao.weex.ui.component.NestedContainer;
 import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.component.WXEmbed;
+import com.taobao.weex.ui.component.WXEmbedPool;
+import com.taobao.weex.ui.component.WXImageMemoryManager;
 import com.taobao.weex.ui.flat.FlatGUIContext;
 import com.taobao.weex.ui.view.WXScrollView;
+import com.taobao.weex.ui.view.listview.adapter.WXRecycledViewPool;
 import com.taobao.weex.utils.Trace;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXFileUtils;
@@ -122,6 +133,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
   private WXRefreshData mLastRefreshData;
   private NestedInstanceInterceptor mNestedInstanceInterceptor;
   private String mBundleUrl = "";
+  private volatile String mBundleDigest;
   public static String requestUrl = "requestUrl";
   private boolean isDestroy=false;
   private boolean hasException = false;
@@ -139,6 +151,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
   private WXInstanceApm mApmForInstance;
   private @NonNull
   FlatGUIContext mFlatGUIContext =new FlatGUIContext();
+  private final ComponentLifecycleRegistry mLifecycleRegistry = new ComponentLifecycleRegistry();
 
   private Map<String,String> mContainerInfo;
 
@@ -287,6 +300,64 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     this.maxHiddenEmbedsNum = maxHiddenEmbedsNum;
   }
 
+  private WXEmbedPool mEmbedPool;
+
+  /**
+   * Pool of rendered embed instances of this page, disabled until
+   * {@link WXEmbedPool#setMaxSize(int)} is called.
+   */
+  public WXEmbedPool getEmbedPool() {
+    if (mEmbedPool == null) {
+      mEmbedPool = new WXEmbedPool(this);
+    }
+    return mEmbedPool;
+  }
+
+  private WXImageMemoryManager mImageMemoryManager;
+
+  /**
+   * Manager releasing the images of this page scrolled far offscreen once they hold more memory
+   * than {@link WXImageMemoryManager#setMaxMemoryBytes(long)}.
+   */
+  public WXImageMemoryManager getImageMemoryManager() {
+    if (mImageMemoryManager == null && !isDestroy()) {
+      mImageMemoryManager = new WXImageMemoryManager(this);
+      registerOnWXScrollListener(mImageMemoryManager);
+    }
+    return mImageMemoryManager;
+  }
+
+  private Map<String, WXRecycledViewPool> mRecycledViewPools;
+
+  /**
+   * Recycled view pool for a list of this page, to be released with
+   * {@link #releaseRecycledViewPool(String, WXRecycledViewPool)} when the list is destroyed.
+   * @param name lists naming the same pool share it, null or empty for a pool of the list's own.
+   */
+  public WXRecycledViewPool getRecycledViewPool(@Nullable String name) {
+    WXRecycledViewPool pool;
+    if (TextUtils.isEmpty(name)) {
+      pool = new WXRecycledViewPool();
+    } else {
+      if (mRecycledViewPools == null) {
+        mRecycledViewPools = new HashMap<>();
+      }
+      pool = mRecycledViewPools.get(name);
+      if (pool == null) {
+        pool = new WXRecycledViewPool();
+        mRecycledViewPools.put(name, pool);
+      }
+    }
+    pool.retain();
+    return pool;
+  }
+
+  public void releaseRecycledViewPool(@Nullable String name, @NonNull WXRecycledViewPool pool) {
+    if (pool.release() && mRecycledViewPools != null && mRecycledViewPools.get(name) == pool) {
+      mRecycledViewPools.remove(name);
+    }
+  }
+
   @WorkerThread
   @RestrictTo(Scope.LIBRARY)
   public void addInActiveAddElementAction(String ref, GraphicActionAddElement action){
@@ -374,6 +445,14 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     return mFlatGUIContext;
   }
 
+  /**
+   * Components overriding Activity life cycle callbacks, which the instance dispatches to.
+   */
+  @RestrictTo(Scope.LIBRARY)
+  public ComponentLifecycleRegistry getLifecycleRegistry() {
+    return mLifecycleRegistry;
+  }
+
   public boolean isNeedValidate() {
     return mNeedValidate;
   }
@@ -795,6 +874,15 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     wxRequest.instanceId = getInstanceId();
     wxRequest.paramMap.put(KEY_USER_AGENT, WXHttpUtil.assembleUserAgent(mContext,WXEnvironment.getConfig()));
     wxRequest.paramMap.put("isBundleRequest","true");
+    if (WXSDKManager.getInstance().getBundleCache() != null) {
+      renderFromBundleCache(pageName, url, renderOptions, jsonInitData, flag, adapter, wxRequest);
+      return;
+    }
+    sendBundleRequest(pageName, renderOptions, jsonInitData, flag, adapter, wxRequest);
+  }
+
+  private void sendBundleRequest(String pageName, Map<String, Object> renderOptions, String jsonInitData,
+                                 WXRenderStrategy flag, IWXHttpAdapter adapter, WXRequest wxRequest) {
     WXHttpListener httpListener =
             new WXHttpListener(this, pageName, renderOptions, jsonInitData, flag, System.currentTimeMillis());
     httpListener.setSDKInstance(this);
@@ -802,6 +890,68 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     adapter.sendRequest(wxRequest, (IWXHttpAdapter.OnHttpListener) httpListener);
   }
 
+  /**
+   * Look the bundle up in {@link WXBundleCache} on the work thread, the lookup verifies the md5 of
+   * the bundle. A cached bundle is rendered without waiting for the network and revalidated in the
+   * background for the next render, otherwise the bundle is requested as usual. Either way this
+   * continues on the thread renderByUrl was called on.
+   */
+  private void renderFromBundleCache(final String pageName, final String url, final Map<String, Object> renderOptions,
+                                     final String jsonInitData, final WXRenderStrategy flag,
+                                     final IWXHttpAdapter adapter, final WXRequest wxRequest) {
+    Looper looper = Looper.myLooper();
+    final Handler callerHandler = new Handler(looper != null ? looper : Looper.getMainLooper());
+    WXSDKManager.getInstance().getWXWorkThreadManager().post(new Runnable() {
+      @Override
+      public void run() {
+        if (isDestroy) {
+          return;
+        }
+        WXBundleCache bundleCache = WXSDKManager.getInstance().getBundleCache();
+        final boolean binary = flag == WXRenderStrategy.DATA_RENDER_BINARY;
+        final WXBundleCache.Entry entry = bundleCache == null ? null : bundleCache.get(url, binary);
+        if (entry != null) {
+          bundleCache.revalidate(adapter, url, wxRequest);
+        }
+        callerHandler.post(WXThread.secure(new Runnable() {
+          @Override
+          public void run() {
+            if (isDestroy) {
+              return;
+            }
+            if (entry == null) {
+              sendBundleRequest(pageName, renderOptions, jsonInitData, flag, adapter, wxRequest);
+              return;
+            }
+            mApmForInstance.onStage(WXInstanceApm.KEY_PAGE_STAGES_DOWN_BUNDLE_START);
+            mApmForInstance.onStage(WXInstanceApm.KEY_PAGE_STAGES_DOWN_BUNDLE_END);
+            mWXPerformance.cacheType = WXBundleCache.CACHE_TYPE;
+            mApmForInstance.addProperty(WXInstanceApm.KEY_PAGE_PROPERTIES_CACHE_TYPE, WXBundleCache.CACHE_TYPE);
+            setBundleDigest(entry.digest);
+            renderOptions.put(WXBundleCache.OPTION_BUNDLE_DIGEST, entry.digest);
+            if (binary) {
+              render(pageName, entry.getBinary(), renderOptions, jsonInitData);
+            } else {
+              render(pageName, entry.getContent(), renderOptions, jsonInitData, flag);
+            }
+          }
+        }));
+      }
+    });
+  }
+
+  /**
+   * @return md5 of the bundle this instance was rendered from when {@link WXBundleCache} is
+   * enabled, known before the bundle is rendered.
+   */
+  public @Nullable String getBundleDigest() {
+    return mBundleDigest;
+  }
+
+  void setBundleDigest(String bundleDigest) {
+    mBundleDigest = bundleDigest;
+  }
+
   /**
    * Use {@link #render(String, String, Map, String, WXRenderStrategy)} instead.
    * @param pageName
@@ -1008,6 +1158,73 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     },0);
   }
 
+  /**
+   * Graphic actions held back while the instance is pre-rendered off-screen,
+   * see {@link com.taobao.weex.instance.WXPreRenderManager}. Null when actions are not held.
+   */
+  private volatile List<BasicGraphicAction> mHeldGraphicActions;
+  private final Object mHeldGraphicActionsLock = new Object();
+  private int mPreRenderWidth;
+  private int mPreRenderHeight;
+
+  /**
+   * Start holding graphic actions instead of executing them on the UI thread, the page is
+   * laid out with the given viewport until its real container is attached. Must be called before
+   * rendering.
+   */
+  @RestrictTo(Scope.LIBRARY)
+  public void holdGraphicActions(int viewportWidth, int viewportHeight) {
+    synchronized (mHeldGraphicActionsLock) {
+      mPreRenderWidth = viewportWidth;
+      mPreRenderHeight = viewportHeight;
+      if (mHeldGraphicActions == null) {
+        mHeldGraphicActions = new ArrayList<>();
+      }
+    }
+  }
+
+  /**
+   * @return true if the action is held and must not be posted to the UI thread.
+   */
+  @RestrictTo(Scope.LIBRARY)
+  public boolean holdGraphicAction(BasicGraphicAction action) {
+    if (mHeldGraphicActions == null) {
+      return false;
+    }
+    synchronized (mHeldGraphicActionsLock) {
+      if (mHeldGraphicActions == null) {
+        return false;
+      }
+      mHeldGraphicActions.add(action);
+    }
+    if (action instanceof GraphicActionCreateBody && mPreRenderWidth > 0 && mPreRenderHeight > 0) {
+      //the core only sizes the root up front for sandboxed bundles, make sure the body gets the viewport
+      final float width = mPreRenderWidth;
+      final float height = mPreRenderHeight;
+      WXBridgeManager.getInstance().post(new Runnable() {
+        @Override
+        public void run() {
+          WXBridgeManager.getInstance().setDefaultRootSize(getInstanceId(), width, height, false, false);
+        }
+      });
+    }
+    return true;
+  }
+
+  /**
+   * Stop holding graphic actions.
+   * @return actions held so far in arrival order, they must be executed on the UI thread before
+   * any action posted afterwards.
+   */
+  @RestrictTo(Scope.LIBRARY)
+  public @NonNull List<BasicGraphicAction> releaseHeldGraphicActions() {
+    synchronized (mHeldGraphicActionsLock) {
+      List<BasicGraphicAction> actions = mHeldGraphicActions;
+      mHeldGraphicActions = null;
+      return actions == null ? new ArrayList<BasicGraphicAction>() : actions;
+    }
+  }
+
   public void setContext(@NonNull Context context) {
     this.mContext = context;
   }
@@ -1049,7 +1266,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityCreate(getInstanceId());
 
     if(mRootComp != null) {
-      mRootComp.onActivityCreate();
+      mLifecycleRegistry.onActivityCreate();
     }else{
         if (WXEnvironment.isApkDebugable()){
             WXLogUtils.w("Warning :Component tree has not build completely,onActivityCreate can not be call!");
@@ -1073,7 +1290,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     // module listen Activity onActivityCreate
     WXModuleManager.onActivityStart(getInstanceId());
     if(mRootComp != null) {
-      mRootComp.onActivityStart();
+      mLifecycleRegistry.onActivityStart();
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely,onActivityStart can not be call!");
@@ -1087,7 +1304,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
 
     WXModuleManager.onCreateOptionsMenu(getInstanceId(),menu);
     if(mRootComp != null) {
-      mRootComp.onCreateOptionsMenu(menu);
+      mLifecycleRegistry.onCreateOptionsMenu(menu);
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely,onActivityStart can not be call!");
@@ -1115,7 +1332,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     // module listen Activity onActivityPause
     WXModuleManager.onActivityPause(getInstanceId());
     if(mRootComp != null) {
-      mRootComp.onActivityPause();
+      mLifecycleRegistry.onActivityPause();
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely,onActivityPause can not be call!");
@@ -1147,7 +1364,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityResume(getInstanceId());
 
     if(mRootComp != null) {
-      mRootComp.onActivityResume();
+      mLifecycleRegistry.onActivityResume();
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely, onActivityResume can not be call!");
@@ -1178,7 +1395,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityStop(getInstanceId());
 
     if(mRootComp != null) {
-      mRootComp.onActivityStop();
+      mLifecycleRegistry.onActivityStop();
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely, onActivityStop can not be call!");
@@ -1192,7 +1409,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityDestroy(getInstanceId());
 
     if(mRootComp != null) {
-      mRootComp.onActivityDestroy();
+      mLifecycleRegistry.onActivityDestroy();
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely, onActivityDestroy can not be call!");
@@ -1208,7 +1425,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityBack(getInstanceId());
 
     if(mRootComp != null) {
-      return mRootComp.onActivityBack();
+      return mLifecycleRegistry.onActivityBack(mRootComp);
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely, onActivityBack can not be call!");
@@ -1243,7 +1460,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onActivityResult(getInstanceId(),requestCode,resultCode,data);
 
     if(mRootComp != null) {
-      mRootComp.onActivityResult(requestCode,resultCode,data);
+      mLifecycleRegistry.onActivityResult(requestCode,resultCode,data);
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w("Warning :Component tree has not build completely, onActivityResult can not be call!");
@@ -1257,7 +1474,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     WXModuleManager.onRequestPermissionsResult(getInstanceId(),requestCode,permissions,grantResults);
 
     if(mRootComp != null) {
-       mRootComp.onRequestPermissionsResult(requestCode,permissions,grantResults);
+       mLifecycleRegistry.onRequestPermissionsResult(requestCode,permissions,grantResults);
     }else{
         if (WXEnvironment.isApkDebugable()) {
             WXLogUtils.w(
@@ -1338,6 +1555,7 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
 
     mWXPerformance.callBridgeTime = renderFinishTime[0];
     mWXPerformance.cssLayoutTime = renderFinishTime[1];
+    getApmForInstance().recordLatency(WXMetrics.GROUP_LAYOUT, "render", renderFinishTime[1] * 1000);
     mWXPerformance.parseJsonTime = renderFinishTime[2];
 
     mWXPerformance.totalTime = time;
@@ -1555,6 +1773,23 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
         mRootComp = null;
       }
 
+      if (mEmbedPool != null) {
+        mEmbedPool.destroy();
+        mEmbedPool = null;
+      }
+
+      if (mImageMemoryManager != null) {
+        mImageMemoryManager.destroy();
+        mImageMemoryManager = null;
+      }
+
+      if (mRecycledViewPools != null) {
+        for (WXRecycledViewPool pool : mRecycledViewPools.values()) {
+          pool.clear();
+        }
+        mRecycledViewPools = null;
+      }
+
       if (mGlobalEvents != null) {
         mGlobalEvents.clear();
       }
@@ -1567,6 +1802,8 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
         mLayerOverFlowListeners.clear();
       }
 
+      releaseHeldGraphicActions();
+      mLifecycleRegistry.clear();
       getFlatUIContext().destroy();
       mFlatGUIContext = null;
       mInstanceOnFireEventInterceptorList = null;
@@ -1702,6 +1939,12 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
     mWXScrollListeners.add(wxScrollListener);
   }
 
+  public synchronized void unregisterOnWXScrollListener(OnWXScrollListener wxScrollListener) {
+    if (mWXScrollListeners != null) {
+      mWXScrollListeners.remove(wxScrollListener);
+    }
+  }
+
   static int sScreenHeight = -1;
   public void setSize(int width, int height) {
     if (width > 0 && height > 0 & !isDestroy && mRendered && mRenderContainer != null) {
@@ -1991,6 +2234,10 @@ public class WXSDKInstance implements IWXActivityStateListener,View.OnLayoutChan
   }
 
   public interface NestedInstanceInterceptor {
+    /**
+     * @param container the embed hosting the instance, null when the instance is pre-rendered by
+     *                  {@link WXEmbedPool}.
+     */
     void onCreateNestInstance(WXSDKInstance instance, NestedContainer container);
   }
 
@@ -18,6 +18,7 @@
  */
 package com.taobao.weex;
 
+import android.content.Context;
 import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -52,6 +53,8 @@ import com.taobao.weex.common.WXRefreshData;
 import com.taobao.weex.common.WXRuntimeException;
 import com.taobao.weex.common.WXThread;
 import com.taobao.weex.common.WXWorkThreadManager;
+import com.taobao.weex.http.WXBundleCache;
+import com.taobao.weex.instance.WXPreRenderManager;
 import com.taobao.weex.performance.IApmGenerator;
 import com.taobao.weex.performance.IWXAnalyzer;
 import com.taobao.weex.ui.WXRenderManager;
@@ -109,6 +112,9 @@ public class WXSDKManager {
 
   private List<InstanceLifeCycleCallbacks> mLifeCycleCallbacks;
 
+  private WXPreRenderManager mPreRenderManager;
+  private WXBundleCache mBundleCache;
+
   private static final int DEFAULT_VIEWPORT_WIDTH = 750;
 
   private WXSDKManager() {
@@ -229,6 +235,48 @@ public class WXSDKManager {
     mWXRenderManager.postOnUiThread(WXThread.secure(runnable), delayMillis);
   }
 
+  /**
+   * Enable the on-disk bundle cache, bundles rendered by url are then served from it and
+   * revalidated in the background.
+   */
+  public void setBundleCache(@Nullable WXBundleCache bundleCache) {
+    mBundleCache = bundleCache;
+  }
+
+  public @Nullable WXBundleCache getBundleCache() {
+    return mBundleCache;
+  }
+
+  public WXPreRenderManager getPreRenderManager() {
+    if (mPreRenderManager == null) {
+      mPreRenderManager = new WXPreRenderManager();
+    }
+    return mPreRenderManager;
+  }
+
+  /**
+   * Render a page off-screen ahead of navigation, views are not created until
+   * {@link #attachPreRenderedInstance(String, Context, IWXRenderListener)} is called.
+   * Must be called on the UI thread.
+   * @param viewportWidth width in px of the container the page will be shown in.
+   * @param viewportHeight height in px of the container the page will be shown in.
+   * @param ttl milliseconds to keep the page if it is never attached.
+   */
+  public WXSDKInstance preRender(@NonNull Context context, @NonNull String url, @Nullable Map<String, Object> options,
+                                 @Nullable String jsonInitData, int viewportWidth, int viewportHeight, long ttl) {
+    return getPreRenderManager().preRender(context, url, options, jsonInitData, viewportWidth, viewportHeight, ttl);
+  }
+
+  /**
+   * Show a page pre-rendered by {@link #preRender(Context, String, Map, String, int, int, long)}.
+   * Must be called on the UI thread.
+   * @return the instance, or null if url was not pre-rendered successfully.
+   */
+  public @Nullable WXSDKInstance attachPreRenderedInstance(@NonNull String url, @Nullable Context context,
+                                                          @NonNull IWXRenderListener listener) {
+    return getPreRenderManager().attach(url, context, listener);
+  }
+
   public Map<String, WXSDKInstance> getAllInstanceMap() {
     return mAllInstanceMap;
   }
@@ -238,6 +286,7 @@ public class WXSDKManager {
       mWXWorkThreadManager.destroy();
     }
     mAllInstanceMap.clear();
+    WXLogUtils.shutdown();
   }
 
   @Deprecated
@@ -459,6 +508,20 @@ public class WXSDKManager {
     mBridgeManager.notifySerializeCodeCache();
   }
 
+  /**
+   * Same as {@link #notifySerializeCodeCache()} for the bundle of one instance. The code cache is
+   * tagged with {@link WXSDKInstance#getBundleDigest()}, so it is not reused once the bundle
+   * changes. Falls back to the untagged call when the digest is not known.
+   */
+  public void notifySerializeCodeCache(@NonNull WXSDKInstance instance) {
+    String digest = instance.getBundleDigest();
+    if (TextUtils.isEmpty(digest)) {
+      mBridgeManager.notifySerializeCodeCache();
+    } else {
+      mBridgeManager.notifySerializeCodeCache(instance.getBundleUrl(), digest);
+    }
+  }
+
   public @Nullable
   IWebSocketAdapter getIWXWebSocketAdapter() {
     if (mIWebSocketAdapterFactory != null) {
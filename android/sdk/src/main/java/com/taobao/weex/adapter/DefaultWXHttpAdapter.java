@@ -173,16 +173,25 @@ public class DefaultWXHttpAdapter implements IWXHttpAdapter {
 
     int nRead;
     int readCount = 0;
-    byte[] data = new byte[2048];
+    byte[] data = new byte[8192];
 
+    OnHttpStreamListener streamListener = listener instanceof OnHttpStreamListener ? (OnHttpStreamListener) listener : null;
     while ((nRead = inputStream.read(data, 0, data.length)) != -1) {
-      buffer.write(data, 0, nRead);
+      if (streamListener != null) {
+        streamListener.onHttpDataReceived(data, 0, nRead);
+      } else {
+        buffer.write(data, 0, nRead);
+      }
       readCount += nRead;
       if (listener != null) {
         listener.onHttpResponseProgress(readCount);
       }
     }
 
+    if (streamListener != null) {
+      return null;
+    }
+
     buffer.flush();
 
     return buffer.toByteArray();
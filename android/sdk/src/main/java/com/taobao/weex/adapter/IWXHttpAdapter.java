@@ -65,4 +65,18 @@ public interface IWXHttpAdapter {
      */
     void onHttpFinish(WXResponse response);
   }
+
+  /**
+   * Listener consuming the response body while it is downloaded. Adapters supporting it call
+   * {@link #onHttpDataReceived(byte[], int, int)} with every chunk of a successful response, in
+   * order and before {@link #onHttpFinish(WXResponse)}, and may then leave
+   * {@link WXResponse#originalData} null.
+   */
+  interface OnHttpStreamListener extends OnHttpListener {
+
+    /**
+     * chunk of the response body, the array may be reused by the adapter after the call returns
+     */
+    void onHttpDataReceived(byte[] data, int offset, int length);
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.adapter;
+
+import android.widget.ImageView;
+
+import com.taobao.weex.common.WXImageStrategy;
+import com.taobao.weex.dom.WXImageQuality;
+
+/**
+ * Optional extension of {@link IWXImgLoaderAdapter} for loaders which can warm their cache ahead of
+ * time and cancel requests. Lists use it to prefetch images of upcoming cells and to cancel the
+ * requests of cells which are recycled before their images arrived.
+ */
+public interface IWXImgPrefetchAdapter extends IWXImgLoaderAdapter {
+
+  /**
+   * Load the image into the cache without showing it. {@link WXImageStrategy#priority} is
+   * {@link WXImageStrategy#PRIORITY_LOW} and the target size is set when known.
+   */
+  void prefetch(String url, WXImageQuality quality, WXImageStrategy strategy);
+
+  /**
+   * Cancel the pending request of view, if any.
+   */
+  void cancel(ImageView view);
+}
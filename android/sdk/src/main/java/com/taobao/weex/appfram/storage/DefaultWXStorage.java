@@ -141,6 +141,13 @@ public class DefaultWXStorage implements IWXStorageAdapter {
         });
     }
 
+    /**
+     * Open the database on the calling thread, so that the first storage call does not pay for it.
+     */
+    public void openDatabase() {
+        mDatabaseSupplier.ensureDatabase();
+    }
+
     @Override
     public void close() {
         final ExecutorService needCloseService = mExecutorService;
@@ -166,7 +173,7 @@ public class DefaultWXStorage implements IWXStorageAdapter {
             return false;
         }
 
-        WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "set k-v to storage(key:" + key + ",value:" + value + ",isPersistent:" + isPersistent + ",allowRetry:" + allowRetryWhenFull + ")");
+        WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "set k-v to storage(key:{},value:{},isPersistent:{},allowRetry:{})", key, value, isPersistent, allowRetryWhenFull);
         String sql = "INSERT OR REPLACE INTO " + WXSQLiteOpenHelper.TABLE_STORAGE + " VALUES (?,?,?,?);";
         SQLiteStatement statement = null;
         String timeStamp = WXSQLiteOpenHelper.sDateFormatter.format(new Date());
@@ -185,7 +192,7 @@ public class DefaultWXStorage implements IWXStorageAdapter {
                 if (allowRetryWhenFull && trimToSize()) {
                     //try again
                     //setItem/setItemPersistent method only allow try once when occurred a sqliteFullException.
-                    WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "retry set k-v to storage(key:" + key + ",value:" + value + ")");
+                    WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "retry set k-v to storage(key:{},value:{})", key, value);
                     return performSetItem(key, value, isPersistent, false);
                 }
             }
@@ -259,7 +266,7 @@ public class DefaultWXStorage implements IWXStorageAdapter {
                 values.put(WXSQLiteOpenHelper.COLUMN_TIMESTAMP, WXSQLiteOpenHelper.sDateFormatter.format(new Date()));
                 int updateResult = mDatabaseSupplier.getDatabase().update(WXSQLiteOpenHelper.TABLE_STORAGE, values, WXSQLiteOpenHelper.COLUMN_KEY + "= ?", new String[]{key});
 
-                WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "update timestamp " + (updateResult == 1 ? "success" : "failed") + " for operation [getItem(key = " + key + ")]");
+                WXLogUtils.d(WXSQLiteOpenHelper.TAG_STORAGE, "update timestamp {} for operation [getItem(key = {})]", updateResult == 1 ? "success" : "failed", key);
                 return c.getString(c.getColumnIndex(WXSQLiteOpenHelper.COLUMN_VALUE));
             } else {
                 return null;
@@ -41,6 +41,11 @@ public interface IWebSocketAdapter {
 
         void onMessage(String data);
 
+        /**
+         * A binary frame, delivered to JS as an array of unsigned byte values.
+         */
+        void onBinaryMessage(byte[] data);
+
         void onClose(int code, String reason, boolean wasClean);
 
         void onError(String msg);
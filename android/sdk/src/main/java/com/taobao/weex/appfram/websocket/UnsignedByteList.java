@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.websocket;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Binary frame seen as a list of unsigned byte values, which Wson and fastjson both write as an
+ * array of numbers. A byte[] would be written as signed values by Wson and as base64 by fastjson.
+ */
+class UnsignedByteList extends AbstractList<Integer> implements RandomAccess {
+
+    private final byte[] mData;
+
+    UnsignedByteList(byte[] data) {
+        mData = data;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return mData[index] & 0xff;
+    }
+
+    @Override
+    public int size() {
+        return mData.length;
+    }
+}
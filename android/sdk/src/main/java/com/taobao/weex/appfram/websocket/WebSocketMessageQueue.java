@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.websocket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Messages of one connection waiting to be delivered to JS in a batch. The queue is bounded, when
+ * JS falls behind the oldest messages are dropped and counted.
+ *
+ * Written from the socket thread and drained from the JS thread.
+ */
+class WebSocketMessageQueue {
+
+    static final String KEY_RECEIVED = "received";
+    static final String KEY_DELIVERED = "delivered";
+    static final String KEY_DROPPED = "dropped";
+    static final String KEY_BATCHES = "batches";
+    static final String KEY_PENDING = "pending";
+    static final String KEY_MAX_PENDING = "maxPending";
+
+    private final ArrayDeque<Object> mPending = new ArrayDeque<>();
+    private int mCapacity;
+
+    private long mReceived;
+    private long mDelivered;
+    private long mDropped;
+    private long mBatches;
+    private int mMaxPending;
+
+    WebSocketMessageQueue(int capacity) {
+        mCapacity = Math.max(1, capacity);
+    }
+
+    synchronized void setCapacity(int capacity) {
+        mCapacity = Math.max(1, capacity);
+        while (mPending.size() > mCapacity) {
+            mPending.pollFirst();
+            mDropped++;
+        }
+    }
+
+    /**
+     * @param message a String or a byte[].
+     * @return true if the queue was empty, the caller then schedules the delivery of the batch.
+     */
+    synchronized boolean offer(Object message) {
+        mReceived++;
+        boolean wasEmpty = mPending.isEmpty();
+        if (mPending.size() >= mCapacity) {
+            mPending.pollFirst();
+            mDropped++;
+        }
+        mPending.addLast(message);
+        mMaxPending = Math.max(mMaxPending, mPending.size());
+        return wasEmpty;
+    }
+
+    /**
+     * @return the pending messages in arrival order, empty if there is none.
+     */
+    synchronized List<Object> drain() {
+        List<Object> batch = new ArrayList<>(mPending);
+        mPending.clear();
+        if (!batch.isEmpty()) {
+            mDelivered += batch.size();
+            mBatches++;
+        }
+        return batch;
+    }
+
+    /**
+     * Count a message delivered right away, without batching.
+     */
+    synchronized void countDelivered() {
+        mReceived++;
+        mDelivered++;
+    }
+
+    synchronized void clear() {
+        mDropped += mPending.size();
+        mPending.clear();
+    }
+
+    synchronized long getDropped() {
+        return mDropped;
+    }
+
+    synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(8);
+        stats.put(KEY_RECEIVED, mReceived);
+        stats.put(KEY_DELIVERED, mDelivered);
+        stats.put(KEY_DROPPED, mDropped);
+        stats.put(KEY_BATCHES, mBatches);
+        stats.put(KEY_PENDING, mPending.size());
+        stats.put(KEY_MAX_PENDING, mMaxPending);
+        return stats;
+    }
+}
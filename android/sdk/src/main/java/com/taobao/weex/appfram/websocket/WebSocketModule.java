@@ -25,8 +25,10 @@ import com.taobao.weex.annotation.JSMethod;
 import com.taobao.weex.bridge.JSCallback;
 import com.taobao.weex.bridge.WXBridgeManager;
 import com.taobao.weex.utils.WXLogUtils;
+import com.taobao.weex.utils.WXUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -40,10 +42,23 @@ public class WebSocketModule extends WXSDKEngine.DestroyableModule {
     private static final String KEY_CODE = "code";
     private static final String KEY_REASON = "reason";
     private static final String KEY_WAS_CLEAN = "wasClean";
+    private static final String KEY_BINARY = "binary";
+    private static final String KEY_BATCH = "batch";
+    private static final String KEY_INTERVAL = "interval";
+    private static final String KEY_MAX_PENDING = "maxPending";
+
+    private static final int DEFAULT_MAX_PENDING = 1000;
 
     private IWebSocketAdapter webSocketAdapter;
     private WebSocketEventListener eventListener;
 
+    /**
+     * Messages arriving within this many milliseconds are delivered in one callback, 0 delivers
+     * every message on its own.
+     */
+    private volatile int batchInterval = 0;
+    private volatile int maxPending = DEFAULT_MAX_PENDING;
+
     public WebSocketModule() {
         WXLogUtils.e(TAG, "create new instance");
     }
@@ -68,6 +83,39 @@ public class WebSocketModule extends WXSDKEngine.DestroyableModule {
         }
     }
 
+    /**
+     * Options: interval, time in ms messages are collected before being delivered in one onmessage
+     * callback ({data: [...], batch: true, dropped: n}), 16 by default, 0 turns batching off;
+     * maxPending, count of messages kept while JS falls behind, older ones are dropped.
+     */
+    @JSMethod(uiThread = false)
+    public void setBatchOptions(Map<String, Object> options) {
+        if (options == null) {
+            return;
+        }
+        batchInterval = Math.max(0, WXUtils.getInt(options.containsKey(KEY_INTERVAL) ? options.get(KEY_INTERVAL) : 16));
+        if (options.containsKey(KEY_MAX_PENDING)) {
+            maxPending = Math.max(1, WXUtils.getInt(options.get(KEY_MAX_PENDING)));
+        }
+        if (eventListener != null) {
+            eventListener.queue.setCapacity(maxPending);
+            if (batchInterval == 0) {
+                eventListener.flush();
+            }
+        }
+    }
+
+    /**
+     * Counters of the current connection: received, delivered, dropped, batches, pending and
+     * maxPending.
+     */
+    @JSMethod(uiThread = false)
+    public void getStats(JSCallback callback) {
+        if (callback != null) {
+            callback.invoke(eventListener != null ? eventListener.queue.getStats() : new HashMap<>(0));
+        }
+    }
+
     @JSMethod(uiThread = false)
     public void close(String code, String reason) {
         if (!reportErrorIfNoAdapter()) {
@@ -121,6 +169,9 @@ public class WebSocketModule extends WXSDKEngine.DestroyableModule {
                     webSocketAdapter.destroy();
                 }
                 webSocketAdapter = null;
+                if (eventListener != null) {
+                    eventListener.queue.clear();
+                }
                 eventListener = null;
             }
         };
@@ -149,6 +200,16 @@ public class WebSocketModule extends WXSDKEngine.DestroyableModule {
         private JSCallback onError;
         private JSCallback onMessage;
 
+        private final WebSocketMessageQueue queue = new WebSocketMessageQueue(maxPending);
+        private long droppedReported;
+
+        private final Runnable flushTask = new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        };
+
         @Override
         public void onOpen() {
             if (onOpen != null) {
@@ -158,15 +219,52 @@ public class WebSocketModule extends WXSDKEngine.DestroyableModule {
 
         @Override
         public void onMessage(String data) {
+            deliver(data, false);
+        }
+
+        @Override
+        public void onBinaryMessage(byte[] data) {
+            if (data != null) {
+                deliver(new UnsignedByteList(data), true);
+            }
+        }
+
+        private void deliver(Object data, boolean binary) {
+            int interval = batchInterval;
+            if (interval > 0) {
+                if (queue.offer(data)) {
+                    WXBridgeManager.getInstance().postDelay(flushTask, interval);
+                }
+                return;
+            }
             if (onMessage != null) {
-                Map<String, String> msg = new HashMap<>(1);
+                queue.countDelivered();
+                Map<String, Object> msg = new HashMap<>(2);
                 msg.put(KEY_DATA, data);
+                if (binary) {
+                    msg.put(KEY_BINARY, true);
+                }
                 onMessage.invokeAndKeepAlive(msg);
             }
         }
 
+        private synchronized void flush() {
+            List<Object> batch = queue.drain();
+            if (batch.isEmpty() || onMessage == null) {
+                return;
+            }
+            long dropped = queue.getDropped();
+            Map<String, Object> msg = new HashMap<>(3);
+            msg.put(KEY_DATA, batch);
+            msg.put(KEY_BATCH, true);
+            msg.put(WebSocketMessageQueue.KEY_DROPPED, dropped - droppedReported);
+            droppedReported = dropped;
+            onMessage.invokeAndKeepAlive(msg);
+        }
+
         @Override
         public void onClose(int code, String reason, boolean wasClean) {
+            flush();
             if (onClose != null) {
                 Map<String, Object> msg = new HashMap<>(3);
                 msg.put(KEY_CODE, code);
@@ -87,9 +87,14 @@ public class RequestHandler {
       sNativeCallback = nativeCallback;
     }
 
+    @Override
+    protected boolean needsOriginalData() {
+      return false;
+    }
+
     @Override
     public void onSuccess(WXResponse response) {
-        String script = new String(response.originalData);
+        String script = readTemplate(response);
         nativeInvokeOnSuccess(sNativeCallback, script);
     }
 
@@ -29,11 +29,13 @@ import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.adapter.IWXUserTrackAdapter;
 import com.taobao.weex.base.CalledByNative;
 import com.taobao.weex.common.IWXBridge;
+import com.taobao.weex.common.IWXPackedBridge;
 import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXRenderStrategy;
 import com.taobao.weex.dom.CSSShorthand;
 import com.taobao.weex.layout.ContentBoxMeasurement;
 import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.performance.WXMetrics;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
@@ -48,7 +50,7 @@ import java.util.Map;
  * Communication interface for Java code and JavaScript code.
  */
 
-public class WXBridge implements IWXBridge {
+public class WXBridge implements IWXPackedBridge {
 
   private native int nativeInitFrameworkEnv(String framework, WXParams params, String cacheDir, boolean pieSupport);
 
@@ -113,6 +115,8 @@ public class WXBridge implements IWXBridge {
    * */
   public native void nativeUpdateGlobalConfig(String config);
 
+  private native void nativeResetPackedKeys();
+
   public static final boolean MULTIPROCESS = true;
 
   @Override
@@ -250,6 +254,7 @@ public class WXBridge implements IWXBridge {
   public Object callNativeModule(String instanceId, String module, String method, byte[] arguments, byte[] options) {
     try {
       long start = WXUtils.getFixUnixTime();
+      long startNanos = System.nanoTime();
       WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(instanceId);
       JSONArray argArray = null;
       if (arguments != null){
@@ -289,12 +294,18 @@ public class WXBridge implements IWXBridge {
 
       Object object = WXBridgeManager.getInstance().callNativeModule(instanceId, module, method, argArray, optionsObj);
 
+      long micros = (System.nanoTime() - startNanos) / 1000;
       if (null != instance){
+        if (instance.getApmForInstance().isMetricsEnabled()) {
+          instance.getApmForInstance().recordLatency(WXMetrics.GROUP_CALL_NATIVE, module + '.' + method, micros);
+        }
         instance.getApmForInstance().updateFSDiffStats(WXInstanceApm.KEY_PAGE_STATS_FS_CALL_NATIVE_NUM,1);
         instance.getApmForInstance().updateFSDiffStats(
             WXInstanceApm.KEY_PAGE_STATS_FS_CALL_NATIVE_TIME,
             WXUtils.getFixUnixTime()-start
         );
+      } else if (WXMetrics.isEnabled()) {
+        WXMetrics.global().record(WXMetrics.GROUP_CALL_NATIVE, module + '.' + method, micros);
       }
       return WXWsonJSONSwitch.toWsonOrJsonWXJSObject(object);
     }catch (Exception e){
@@ -430,6 +441,47 @@ public class WXBridge implements IWXBridge {
     return errorCode;
   }
 
+  @Override
+  @CalledByNative
+  public int callCreateBodyPacked(String instanceId, String componentType, String ref, byte[] props,
+                                  float[] margins, float[] paddings, float[] borders) {
+    int errorCode = IWXBridge.INSTANCE_RENDERING;
+
+    try {
+      WXPackedProps packed = WXPackedProps.decode(props);
+      errorCode = WXBridgeManager.getInstance().callCreateBody(instanceId, componentType, ref,
+              packed.getStyles(), packed.getAttrs(), packed.getEvents(), margins, paddings, borders);
+    } catch (Throwable e) {
+      onPackedError(e);
+      //catch everything during call native.
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "callCreateBodyPacked throw exception:" + e.getMessage());
+      }
+    }
+    return errorCode;
+  }
+
+  @Override
+  @CalledByNative
+  public int callAddElementPacked(String instanceId, String componentType, String ref, int index, String parentRef,
+                                  byte[] props, float[] margins, float[] paddings, float[] borders,
+                                  boolean willLayout) {
+    int errorCode = IWXBridge.INSTANCE_RENDERING;
+
+    try {
+      WXPackedProps packed = WXPackedProps.decode(props);
+      errorCode = WXBridgeManager.getInstance().callAddElement(instanceId, componentType, ref, index, parentRef,
+              packed.getStyles(), packed.getAttrs(), packed.getEvents(), margins, paddings, borders, willLayout);
+    } catch (Throwable e) {
+      onPackedError(e);
+      //catch everything during call native.
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "callAddElementPacked throw error:" + e.getMessage());
+      }
+    }
+    return errorCode;
+  }
+
   @Override
   @CalledByNative
   public int callRemoveElement(String instanceId, String ref) {
@@ -522,6 +574,72 @@ public class WXBridge implements IWXBridge {
     return errorCode;
   }
 
+  @Override
+  @CalledByNative
+  public int callUpdateStylePacked(String instanceId, String ref, byte[] props) {
+    int errorCode = IWXBridge.INSTANCE_RENDERING;
+    try {
+      WXPackedProps packed = WXPackedProps.decode(props);
+      HashMap<String, Object> styles = packed.getStyles() == null ? null : new HashMap<String, Object>(packed.getStyles());
+      errorCode = WXBridgeManager.getInstance().callUpdateStyle(instanceId, ref, styles,
+              packed.getPaddings(), packed.getMargins(), packed.getBorders());
+    } catch (Throwable e) {
+      onPackedError(e);
+      //catch everything during call native.
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "callUpdateStylePacked throw exception:" + e.getMessage());
+      }
+    }
+    return errorCode;
+  }
+
+  @Override
+  @CalledByNative
+  public int callUpdateAttrsPacked(String instanceId, String ref, byte[] props) {
+    int errorCode = IWXBridge.INSTANCE_RENDERING;
+    try {
+      errorCode = WXBridgeManager.getInstance().callUpdateAttrs(instanceId, ref, WXPackedProps.decode(props).getAttrs());
+    } catch (Throwable e) {
+      onPackedError(e);
+      //catch everything during call native.
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "callUpdateAttrsPacked throw exception:" + e.getMessage());
+      }
+    }
+    return errorCode;
+  }
+
+  @Override
+  public void resetPackedKeys() {
+    nativeResetPackedKeys();
+  }
+
+  /**
+   * A malformed array most likely means the key tables are out of sync, restart them so the
+   * following arrays decode again.
+   */
+  private void onPackedError(Throwable e) {
+    if (e instanceof IllegalArgumentException) {
+      WXLogUtils.e(TAG, "packed props decode failed, reset keys: {}", e.getMessage());
+      resetPackedKeys();
+    }
+  }
+
+  @Override
+  @CalledByNative
+  public int callGraphicActions(String instanceId, byte[] actions) {
+    int errorCode = IWXBridge.INSTANCE_RENDERING;
+    try {
+      errorCode = WXBridgeManager.getInstance().callGraphicActions(instanceId, actions);
+    } catch (Throwable e) {
+      //catch everything during call native.
+      if (WXEnvironment.isApkDebugable()) {
+        WXLogUtils.e(TAG, "callGraphicActions throw exception:" + e.getMessage());
+      }
+    }
+    return errorCode;
+  }
+
   @Override
   @CalledByNative
   public int callLayout(String instanceId, String ref, int top, int bottom, int left, int right, int height, int width, boolean isRTL, int index) {
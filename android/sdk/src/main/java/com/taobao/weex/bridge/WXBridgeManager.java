@@ -44,8 +44,10 @@ import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.adapter.IWXJSExceptionAdapter;
 import com.taobao.weex.adapter.IWXJsFileLoaderAdapter;
 import com.taobao.weex.adapter.IWXUserTrackAdapter;
+import com.taobao.weex.common.Constants;
 import com.taobao.weex.common.IWXBridge;
 import com.taobao.weex.common.IWXDebugConfig;
+import com.taobao.weex.common.IWXPackedBridge;
 import com.taobao.weex.common.WXConfig;
 import com.taobao.weex.common.WXErrorCode;
 import com.taobao.weex.common.WXException;
@@ -58,12 +60,14 @@ import com.taobao.weex.common.WXThread;
 import com.taobao.weex.dom.CSSShorthand;
 import com.taobao.weex.layout.ContentBoxMeasurement;
 import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.performance.WXMetrics;
 import com.taobao.weex.ui.WXComponentRegistry;
 import com.taobao.weex.ui.action.ActionReloadPage;
 import com.taobao.weex.ui.action.BasicGraphicAction;
 import com.taobao.weex.ui.action.GraphicActionAddElement;
 import com.taobao.weex.ui.action.GraphicActionAddEvent;
 import com.taobao.weex.ui.action.GraphicActionAppendTreeCreateFinish;
+import com.taobao.weex.ui.action.GraphicActionBatchAction;
 import com.taobao.weex.ui.action.GraphicActionCreateBody;
 import com.taobao.weex.ui.action.GraphicActionCreateFinish;
 import com.taobao.weex.ui.action.GraphicActionLayout;
@@ -78,6 +82,7 @@ import com.taobao.weex.ui.action.GraphicPosition;
 import com.taobao.weex.ui.action.GraphicSize;
 import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.module.WXDomModule;
+import com.taobao.weex.utils.LogLevel;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXFileUtils;
 import com.taobao.weex.utils.WXJsonUtils;
@@ -106,6 +111,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
@@ -227,7 +233,10 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private List<Map<String, Object>> mRegisterModuleFailList = new ArrayList<>(8);
   private List<String> mRegisterServiceFailList = new ArrayList<>(8);
   private HashSet<String> mDestroyedInstanceId = new HashSet<>();
-  private StringBuilder mLodBuilder = new StringBuilder(50);
+  /**
+   * nanoTime of the oldest event of each instance not yet handled by JS
+   */
+  private final ConcurrentHashMap<String, Long> mEventFireTimes = new ConcurrentHashMap<>();
   private Interceptor mInterceptor;
   private WXParams mInitParams;
 
@@ -423,7 +432,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       } else {
         JSONObject validateInfo = validateResult.validateInfo;
         if (validateInfo != null) {
-          WXLogUtils.e("[WXBridgeManager] module validate fail. >>> " + validateInfo.toJSONString());
+          WXLogUtils.e(WXLogUtils.WEEX_TAG, "[WXBridgeManager] module validate fail. >>> {}", validateInfo);
         }
         return validateInfo;
       }
@@ -538,10 +547,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callNativeModule >>>> instanceId:").append(instanceId)
-              .append(", module:").append(module).append(", method:").append(method).append(", arguments:").append(arguments);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNativeModule >>>> instanceId:{}, module:{}, method:{}, arguments:{}",
+              instanceId, module, method, arguments);
     }
 
     try {
@@ -553,11 +560,10 @@ public class WXBridgeManager implements Callback, BactchExecutor {
               method, arguments);
       }
     } catch (Exception e) {
-      String err = "[WXBridgeManager] callNative exception: " + WXLogUtils.getStackTrace(e);
-      WXLogUtils.e(err);
+      WXLogUtils.e(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNative exception:", e);
       WXExceptionUtils.commitCriticalExceptionRT(instanceId,
               WXErrorCode.WX_KEY_EXCEPTION_INVOKE_BRIDGE, "callNativeModule",
-              err, null);
+              WXLogUtils.getStackTrace(e), null);
     }
 
     return null;
@@ -574,10 +580,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callNativeModule >>>> instanceId:").append(instanceId)
-              .append(", module:").append(module).append(", method:").append(method).append(", arguments:").append(arguments);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNativeModule >>>> instanceId:{}, module:{}, method:{}, arguments:{}",
+              instanceId, module, method, arguments);
     }
 
     try {
@@ -593,8 +597,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
               method, arguments, options);
       }
     } catch (Exception e) {
-      String err = "[WXBridgeManager] callNativeModule exception: " + WXLogUtils.getStackTrace(e);
-      WXLogUtils.e(err);
+      WXLogUtils.e(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNativeModule exception:", e);
     }
 
     return null;
@@ -611,10 +614,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callNativeComponent >>>> instanceId:").append(instanceId)
-              .append(", componentRef:").append(componentRef).append(", method:").append(method).append(", arguments:").append(arguments);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNativeComponent >>>> instanceId:{}, componentRef:{}, method:{}, arguments:{}",
+              instanceId, componentRef, method, arguments);
     }
 
     try {
@@ -624,7 +625,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       }else {
         WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(instanceId);
         if(null == instance || !instance.isDestroy()){
-          WXLogUtils.e("WXBridgeManager","callNativeComponent exception :null == dom ,method:"+method);
+          WXLogUtils.e("WXBridgeManager", "callNativeComponent exception :null == dom ,method:{}", method);
         }
       }
 
@@ -655,10 +656,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callNative >>>> instanceId:").append(instanceId)
-              .append(", tasks:").append(tasks).append(", callback:").append(callback);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callNative >>>> instanceId:{}, tasks:{}, callback:{}",
+              instanceId, tasks, callback);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -723,10 +722,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callUpdateFinish >>>> instanceId:").append(instanceId)
-              .append(", callback:").append(callback);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callUpdateFinish >>>> instanceId:{}, callback:{}",
+              instanceId, callback);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -763,10 +760,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callRefreshFinish >>>> instanceId:").append(instanceId)
-              .append(", callback:").append(callback);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callRefreshFinish >>>> instanceId:{}, callback:{}",
+              instanceId, callback);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -1166,6 +1161,9 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       fireEventOnDataRenderNode(instanceId, ref, type, data, domChanges);
     } else {
       if(callback == null) {
+        if (WXMetrics.isEnabled()) {
+          mEventFireTimes.putIfAbsent(instanceId, System.nanoTime());
+        }
         addJSEventTask(METHOD_FIRE_EVENT, instanceId, params, ref, type, data, domChanges);
         sendMessage(instanceId, WXJSBridgeMsgType.CALL_JS_BATCH);
       }else{
@@ -1183,8 +1181,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
           WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(instanceId);
           long start = System.currentTimeMillis();
           if (WXEnvironment.isApkDebugable()) {
-            WXLogUtils.d("fireEventOnDataRenderNode >>>> instanceId:" + instanceId
-                + ", data:" + data);
+            WXLogUtils.d(WXLogUtils.WEEX_TAG, "fireEventOnDataRenderNode >>>> instanceId:{}, data:{}", instanceId, data);
           }
           if (mWXBridge instanceof WXBridge) {
             ((WXBridge) mWXBridge).fireEventOnDataRenderNode(instanceId, ref, type,
@@ -1292,8 +1289,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
       }
       long start = System.currentTimeMillis();
       if (WXEnvironment.isApkDebugable()) {
-        WXLogUtils.d("refreshInstance >>>> instanceId:" + instanceId
-                + ", data:" + refreshData.data + ", isDirty:" + refreshData.isDirty);
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "refreshInstance >>>> instanceId:{}, data:{}, isDirty:{}",
+                instanceId, refreshData.data, refreshData.isDirty);
       }
 
       if (refreshData.isDirty) {
@@ -1415,7 +1412,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
           if (WXEnvironment.isOpenDebugLog()) {
             long end = System.currentTimeMillis();
-            WXLogUtils.e("end getBundleType type:" + type.toString() + " time:" + (end - start));
+            WXLogUtils.d(WXLogUtils.WEEX_TAG, "end getBundleType type:{} time:{}", type, end - start);
           }
         } catch (Throwable e) {
           e.printStackTrace();
@@ -1445,10 +1442,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
         }
         instance.bundleType = type;
         if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-          WXLogUtils.d("createInstance >>>> instanceId:" + instance.getInstanceId()
-                  + ", options:"
-                  + WXJsonUtils.fromObjectToJSONString(options)
-                  + ", data:" + data);
+          WXLogUtils.d(WXLogUtils.WEEX_TAG, "createInstance >>>> instanceId:{}, options:{}, data:{}",
+                  instance.getInstanceId(), WXJsonUtils.fromObjectToJSONString(options), data);
         }
         WXJSObject instanceIdObj = new WXJSObject(WXJSObject.String,
                 instance.getInstanceId());
@@ -1643,6 +1638,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
     // clear message with instanceId
     mJSHandler.removeCallbacksAndMessages(instanceId);
+    mEventFireTimes.remove(instanceId);
     post(new Runnable() {
       @Override
       public void run() {
@@ -1659,7 +1655,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private void invokeDestroyInstance(String instanceId) {
     try {
       if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-        WXLogUtils.d("destroyInstance >>>> instanceId:" + instanceId);
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "destroyInstance >>>> instanceId:{}", instanceId);
       }
       WXJSObject instanceIdObj = new WXJSObject(WXJSObject.String,
               instanceId);
@@ -1718,13 +1714,12 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   public void invokeExecJS(String instanceId, String namespace, String function,
                            WXJSObject[] args, boolean logTaskDetail) {
     if (WXEnvironment.isOpenDebugLog() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("callJS >>>> instanceId:").append(instanceId)
-              .append("function:").append(function);
       if (logTaskDetail) {
-        mLodBuilder.append(" tasks:").append(argsToJSON(args));
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{} tasks:{}",
+                instanceId, function, argsToJSON(args));
+      } else {
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{}", instanceId, function);
       }
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
     }
     final long start = System.currentTimeMillis();
     mWXBridge.execJS(instanceId, namespace, function, args);
@@ -1739,28 +1734,23 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
   public int invokeCreateInstanceContext(String instanceId, String namespace, String function,
                                           WXJSObject[] args, boolean logTaskDetail) {
-    WXLogUtils.d("invokeCreateInstanceContext instanceId:" + instanceId + " function:"
-            + function + " isJSFrameworkInit：%d" + isJSFrameworkInit());
-    mLodBuilder.append("createInstanceContext >>>> instanceId:").append(instanceId)
-            .append("function:").append(function);
-    if (logTaskDetail)
-      mLodBuilder.append(" tasks:").append(WXJsonUtils.fromObjectToJSONString(args));
-    WXLogUtils.d(mLodBuilder.substring(0));
-    mLodBuilder.setLength(0);
-    // }
+    WXLogUtils.d(WXLogUtils.WEEX_TAG, "invokeCreateInstanceContext instanceId:{} function:{} isJSFrameworkInit:{}",
+            instanceId, function, isJSFrameworkInit());
+    if (logTaskDetail && WXLogUtils.isLoggable(LogLevel.DEBUG)) {
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "createInstanceContext >>>> instanceId:{}function:{} tasks:{}",
+              instanceId, function, WXJsonUtils.fromObjectToJSONString(args));
+    }
     return mWXBridge.createInstanceContext(instanceId, namespace, function, args);
   }
 
   public void invokeDestoryInstance(String instanceId, String namespace, String function,
                                     WXJSObject[] args, boolean logTaskDetail) {
-    // if (WXEnvironment.isApkDebugable()) {
-    mLodBuilder.append("callJS >>>> instanceId:").append(instanceId)
-            .append("function:").append(function);
-    if (logTaskDetail)
-      mLodBuilder.append(" tasks:").append(WXJsonUtils.fromObjectToJSONString(args));
-    WXLogUtils.d(mLodBuilder.substring(0));
-    mLodBuilder.setLength(0);
-    // }
+    if (!logTaskDetail) {
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{}", instanceId, function);
+    } else if (WXLogUtils.isLoggable(LogLevel.DEBUG)) {
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{} tasks:{}",
+              instanceId, function, WXJsonUtils.fromObjectToJSONString(args));
+    }
     mWXBridge.destoryInstance(instanceId, namespace, function, args);
   }
 
@@ -1776,9 +1766,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
 
   private String invokeExecJSOnInstance(String instanceId, String js, int type) {
     // if (WXEnvironment.isApkDebugable()) {
-    mLodBuilder.append("execJSOnInstance >>>> instanceId:").append(instanceId);
-    WXLogUtils.d(mLodBuilder.substring(0));
-    mLodBuilder.setLength(0);
+    WXLogUtils.d(WXLogUtils.WEEX_TAG, "execJSOnInstance >>>> instanceId:{}", instanceId);
     // }
     if (isJSFrameworkInit()) {
       return mWXBridge.execJSOnInstance(instanceId, js, type);
@@ -1789,13 +1777,12 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private void invokeExecJSWithCallback(String instanceId, String namespace, String function,
                                         WXJSObject[] args , ResultCallback callback, boolean logTaskDetail){
     if (WXEnvironment.isOpenDebugLog() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("callJS >>>> instanceId:").append(instanceId)
-              .append("function:").append(function);
-      if(logTaskDetail) {
-        mLodBuilder.append(" tasks:").append(argsToJSON(args));
+      if (logTaskDetail) {
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{} tasks:{}",
+                instanceId, function, argsToJSON(args));
+      } else {
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "callJS >>>> instanceId:{}function:{}", instanceId, function);
       }
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
     }
     if (isJSFrameworkInit()) {
       mWXBridge.execJSWithCallback(instanceId, namespace, function, args, callback);
@@ -1834,26 +1821,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
         // if (WXEnvironment.isApkDebugable()) {
         WXLogUtils.d("weex JS framework from assets");
         // }
-
-        IWXJsFileLoaderAdapter wxJsFileLoaderAdapter = WXSDKEngine.getIWXJsFileLoaderAdapter();
-
-        if (!isSandBoxContext) {
-          if(wxJsFileLoaderAdapter != null) {
-            framework = wxJsFileLoaderAdapter.loadJsFramework();
-          }
-
-          if(TextUtils.isEmpty(framework)) {
-            framework = WXFileUtils.loadAsset("main.js", WXEnvironment.getApplication());
-          }
-        } else {
-          if(wxJsFileLoaderAdapter != null) {
-            framework = wxJsFileLoaderAdapter.loadJsFrameworkForSandBox();
-          }
-
-          if(TextUtils.isEmpty(framework)) {
-            framework = WXFileUtils.loadAsset("weex-main-jsfm.js", WXEnvironment.getApplication());
-          }
-        }
+        framework = loadFramework(isSandBoxContext);
         sInitFrameWorkMsg.append("| weex JS framework from assets, isSandBoxContext: ").append(isSandBoxContext);
       }
       if (TextUtils.isEmpty(framework)) {
@@ -1896,7 +1864,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
           e.printStackTrace();
         }
         sInitFrameWorkMsg.append(" | pieSupport:").append(pieSupport);
-        WXLogUtils.d("[WXBridgeManager] initFrameworkEnv crashFile:" + crashFile + " pieSupport:" + pieSupport);
+        WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] initFrameworkEnv crashFile:{} pieSupport:{}", crashFile, pieSupport);
         // extends initFramework
         if (mWXBridge.initFrameworkEnv(framework, assembleDefaultOptions(), crashFile, pieSupport) == INIT_FRAMEWORK_OK) {
           WXEnvironment.sJSLibInitTime = System.currentTimeMillis() - start;
@@ -1931,6 +1899,38 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
   }
 
+  /**
+   * Read the default JS framework, from {@link IWXJsFileLoaderAdapter} or assets. Does not touch
+   * the JS engine, so it may be called off the JS thread ahead of {@link #initScriptsFramework(String)}.
+   */
+  public String loadFramework(boolean sandBox) {
+    String framework = null;
+    IWXJsFileLoaderAdapter wxJsFileLoaderAdapter = WXSDKEngine.getIWXJsFileLoaderAdapter();
+
+    if (!sandBox) {
+      if(wxJsFileLoaderAdapter != null) {
+        framework = wxJsFileLoaderAdapter.loadJsFramework();
+      }
+
+      if(TextUtils.isEmpty(framework)) {
+        framework = WXFileUtils.loadAsset("main.js", WXEnvironment.getApplication());
+      }
+    } else {
+      if(wxJsFileLoaderAdapter != null) {
+        framework = wxJsFileLoaderAdapter.loadJsFrameworkForSandBox();
+      }
+
+      if(TextUtils.isEmpty(framework)) {
+        framework = WXFileUtils.loadAsset("weex-main-jsfm.js", WXEnvironment.getApplication());
+      }
+    }
+    return framework;
+  }
+
+  public boolean isSandBoxContext() {
+    return isSandBoxContext;
+  }
+
   private void trackComponentAndModulesTime() {
     post(new Runnable() {
       @Override
@@ -1944,7 +1944,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
   private void invokeCallJSBatch(Message message) {
     if (mNextTickTasks.isEmpty() || !isJSFrameworkInit()) {
       if (!isJSFrameworkInit()) {
-        WXLogUtils.e("[WXBridgeManager] invokeCallJSBatch: framework.js uninitialized!!  message:" + message.toString());
+        WXLogUtils.e(WXLogUtils.WEEX_TAG, "[WXBridgeManager] invokeCallJSBatch: framework.js uninitialized!!  message:{}", message);
       }
       return;
     }
@@ -1970,6 +1970,17 @@ public class WXBridgeManager implements Callback, BactchExecutor {
             WXWsonJSONSwitch.toWsonOrJsonWXJSObject(task)};
 
         invokeExecJS(String.valueOf(instanceId), null, METHOD_CALL_JS, args);
+
+        Long fireTime = mEventFireTimes.remove(String.valueOf(instanceId));
+        if (fireTime != null) {
+          WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(String.valueOf(instanceId));
+          long micros = (System.nanoTime() - fireTime) / 1000;
+          if (instance != null) {
+            instance.getApmForInstance().recordLatency(WXMetrics.GROUP_EVENT_ROUND_TRIP, "fireEvent", micros);
+          } else if (WXMetrics.isEnabled()) {
+            WXMetrics.global().record(WXMetrics.GROUP_EVENT_ROUND_TRIP, "fireEvent", micros);
+          }
+        }
       }
     } catch (Throwable e) {
       WXLogUtils.e("WXBridgeManager", e);
@@ -2163,7 +2174,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
           String module = iter.next();
           if (module != null) {
             WXModuleManager.resetModuleState(module, true);
-            WXLogUtils.e("[WXBridgeManager]invokeRegisterModules METHOD_REGISTER_MODULES success module:" + module);
+            WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager]invokeRegisterModules METHOD_REGISTER_MODULES success module:{}", module);
           }
         }
       } catch (Throwable e) {
@@ -2236,9 +2247,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
    */
   public void reportJSException(String instanceId, String function,
                                 String exception) {
-    WXLogUtils.e("reportJSException >>>> instanceId:" + instanceId
-            + ", exception function:" + function + ", exception:"
-            + exception);
+    WXLogUtils.e(WXLogUtils.WEEX_TAG, "reportJSException >>>> instanceId:{}, exception function:{}, exception:{}",
+            instanceId, function, exception);
     WXSDKInstance instance = null;
     WXErrorCode reportErrorCode = WXErrorCode.WX_ERR_JS_EXECUTE;
     if (instanceId != null && (instance = WXSDKManager.getInstance().getSDKInstance(instanceId)) != null) {
@@ -2326,7 +2336,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
             e.printStackTrace();
           }
           exception += "\n" + exceptionExt;
-          WXLogUtils.e("reportJSException:" + exception);
+          WXLogUtils.e(WXLogUtils.WEEX_TAG, "reportJSException:{}", exception);
 
         }
       }
@@ -2412,6 +2422,26 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     });
   }
 
+  /**
+   * Serialize the code cache of one bundle, tagged with the md5 of its content so the cache is
+   * only reused for the same bundle version.
+   */
+  public void notifySerializeCodeCache(final String bundleUrl, final String bundleDigest) {
+    post(new Runnable() {
+      @Override
+      public void run() {
+        if (!isJSFrameworkInit())
+          return;
+
+        Map<String, Object> bundle = new HashMap<>(2);
+        bundle.put(Constants.CodeCache.URL, bundleUrl);
+        bundle.put(Constants.CodeCache.DIGEST, bundleDigest);
+        WXJSObject[] args = {new WXJSObject(WXJSObject.JSON, WXJsonUtils.fromObjectToJSONString(bundle))};
+        invokeExecJS("", null, METHOD_NOTIFY_SERIALIZE_CODE_CACHE, args);
+      }
+    });
+  }
+
   public void takeJSHeapSnapshot(String filename) {
     Message msg = mJSHandler.obtainMessage();
     msg.obj = filename;
@@ -2440,13 +2470,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callCreateBody >>>> pageId:").append(pageId)
-              .append(", componentType:").append(componentType).append(", ref:").append(ref)
-              .append(", styles:").append(styles)
-              .append(", attributes:").append(attributes)
-              .append(", events:").append(events);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callCreateBody >>>> pageId:{}, componentType:{}, ref:{}, styles:{}, attributes:{}, events:{}",
+              pageId, componentType, ref, styles, attributes, events);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(pageId)) {
@@ -2484,14 +2509,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callAddElement >>>> pageId:").append(pageId)
-              .append(", componentType:").append(componentType).append(", ref:").append(ref).append(", index:").append(index)
-              .append(", parentRef:").append(parentRef)
-              .append(", styles:").append(styles)
-              .append(", attributes:").append(attributes)
-              .append(", events:").append(events);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callAddElement >>>> pageId:{}, componentType:{}, ref:{}, index:{}, parentRef:{}, styles:{}, attributes:{}, events:{}",
+              pageId, componentType, ref, index, parentRef, styles, attributes, events);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(pageId)) {
@@ -2532,10 +2551,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callRemoveElement >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callRemoveElement >>>> instanceId:{}, ref:{}",
+              instanceId, ref);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2577,12 +2594,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callMoveElement >>>> instanceId:").append(instanceId)
-              .append(", parentref:").append(parentref)
-              .append(", index:").append(index)
-              .append(", ref:").append(ref);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callMoveElement >>>> instanceId:{}, parentref:{}, index:{}, ref:{}",
+              instanceId, parentref, index, ref);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2618,11 +2631,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callAddEvent >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref)
-              .append(", event:").append(event);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callAddEvent >>>> instanceId:{}, ref:{}, event:{}",
+              instanceId, ref, event);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2659,11 +2669,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callRemoveEvent >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref)
-              .append(", event:").append(event);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callRemoveEvent >>>> instanceId:{}, ref:{}, event:{}",
+              instanceId, ref, event);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2704,13 +2711,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callUpdateStyle >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref).append(", styles:").append(styles.toString())
-              .append(", paddings:").append(paddings.toString())
-                      .append(", margins:").append(margins.toString())
-                              .append(", borders:").append(borders.toString());
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callUpdateStyle >>>> instanceId:{}, ref:{}, styles:{}, paddings:{}, margins:{}, borders:{}",
+              instanceId, ref, styles, paddings, margins, borders);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2747,10 +2749,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callUpdateAttrs >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref).append(", attrs:").append(attrs.toString());
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callUpdateAttrs >>>> instanceId:{}, ref:{}, attrs:{}",
+              instanceId, ref, attrs);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2787,14 +2787,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callLayout >>>> instanceId:").append(pageId)
-            .append(", ref:").append(ref).append(", height:").append(height).append(", width:").append(width)
-              .append(", top:").append(top)
-              .append(", bottom:").append(bottom)
-              .append(", left:").append(left)
-              .append(", right:").append(right);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callLayout >>>> instanceId:{}, ref:{}, height:{}, width:{}, top:{}, bottom:{}, left:{}, right:{}",
+              pageId, ref, height, width, top, bottom, left, right);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(pageId)) {
@@ -2832,6 +2826,77 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     return IWXBridge.INSTANCE_RENDERING;
   }
 
+  /**
+   * Mutations of one instance packed in one array by WeexCore, see {@link WXPackedGraphicActions},
+   * posted to the UI thread as a single {@link GraphicActionBatchAction}. The array is read even
+   * when its instance is gone, since WeexCore considers the keys it interns as known from then on.
+   */
+  public int callGraphicActions(String instanceId, byte[] actions) {
+
+    if (TextUtils.isEmpty(instanceId) || actions == null) {
+      skipGraphicActions(actions);
+      WXLogUtils.d("[WXBridgeManager] call callGraphicActions arguments is null");
+      WXExceptionUtils.commitCriticalExceptionRT(instanceId,
+              WXErrorCode.WX_RENDER_ERR_BRIDGE_ARG_NULL, "callGraphicActions",
+              "arguments is empty, INSTANCE_RENDERING_ERROR will be set", null);
+      return IWXBridge.INSTANCE_RENDERING_ERROR;
+    }
+
+    if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callGraphicActions >>>> instanceId:{}, bytes:{}",
+              instanceId, actions.length);
+    }
+
+    if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
+      skipGraphicActions(actions);
+      return IWXBridge.DESTROY_INSTANCE;
+    }
+
+    try {
+      WXSDKInstance instance = WXSDKManager.getInstance().getSDKInstance(instanceId);
+      List<BasicGraphicAction> list = WXPackedGraphicActions.decode(instance, actions);
+      if (instance != null && !list.isEmpty()) {
+        final BasicGraphicAction action = new GraphicActionBatchAction(instance, list.get(0).getRef(), list);
+        WXSDKManager.getInstance().getWXRenderManager().postGraphicAction(instanceId, action);
+      }
+    } catch (Exception e) {
+      if (e instanceof IllegalArgumentException) {
+        resetPackedKeys();
+      }
+      WXLogUtils.e("[WXBridgeManager] callGraphicActions exception: ", e);
+      WXExceptionUtils.commitCriticalExceptionRT(instanceId,
+              WXErrorCode.WX_KEY_EXCEPTION_INVOKE_BRIDGE, "callGraphicActions",
+              WXLogUtils.getStackTrace(e), null);
+    }
+
+    return IWXBridge.INSTANCE_RENDERING;
+  }
+
+  /**
+   * Read an array no instance will apply, only for the keys it interns.
+   */
+  private void skipGraphicActions(@Nullable byte[] actions) {
+    if (actions == null) {
+      return;
+    }
+    try {
+      WXPackedGraphicActions.decode(null, actions);
+    } catch (IllegalArgumentException e) {
+      WXLogUtils.e("[WXBridgeManager] skipGraphicActions exception: ", e);
+      resetPackedKeys();
+    }
+  }
+
+  /**
+   * Make WeexCore restart its table of interned keys once a packed array could not be decoded,
+   * otherwise every array referring to the keys it carried fails as well.
+   */
+  private void resetPackedKeys() {
+    if (mWXBridge instanceof IWXPackedBridge) {
+      ((IWXPackedBridge) mWXBridge).resetPackedKeys();
+    }
+  }
+
   public int callAppendTreeCreateFinish(String instanceId, String ref) {
 
     if (TextUtils.isEmpty(instanceId) || TextUtils.isEmpty(ref)) {
@@ -2843,10 +2908,8 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callAppendTreeCreateFinish >>>> instanceId:").append(instanceId)
-              .append(", ref:").append(ref);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callAppendTreeCreateFinish >>>> instanceId:{}, ref:{}",
+              instanceId, ref);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2878,9 +2941,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callCreateFinish >>>> instanceId:").append(instanceId);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callCreateFinish >>>> instanceId:{}", instanceId);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
@@ -2916,9 +2977,7 @@ public class WXBridgeManager implements Callback, BactchExecutor {
     }
 
     if (WXEnvironment.isApkDebugable() && BRIDGE_LOG_SWITCH) {
-      mLodBuilder.append("[WXBridgeManager] callRenderSuccess >>>> instanceId:").append(instanceId);
-      WXLogUtils.d(mLodBuilder.substring(0));
-      mLodBuilder.setLength(0);
+      WXLogUtils.d(WXLogUtils.WEEX_TAG, "[WXBridgeManager] callRenderSuccess >>>> instanceId:{}", instanceId);
     }
 
     if (mDestroyedInstanceId != null && mDestroyedInstanceId.contains(instanceId)) {
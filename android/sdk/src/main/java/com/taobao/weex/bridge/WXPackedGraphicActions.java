@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.common.WXErrorCode;
+import com.taobao.weex.ui.action.BasicGraphicAction;
+import com.taobao.weex.ui.action.GraphicActionAddElement;
+import com.taobao.weex.ui.action.GraphicActionAddEvent;
+import com.taobao.weex.ui.action.GraphicActionLayout;
+import com.taobao.weex.ui.action.GraphicActionMoveElement;
+import com.taobao.weex.ui.action.GraphicActionRemoveElement;
+import com.taobao.weex.ui.action.GraphicActionRemoveEvent;
+import com.taobao.weex.ui.action.GraphicActionUpdateAttr;
+import com.taobao.weex.ui.action.GraphicActionUpdateStyle;
+import com.taobao.weex.ui.action.GraphicPosition;
+import com.taobao.weex.ui.action.GraphicSize;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.utils.WXExceptionUtils;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * DOM mutations of one instance packed by WeexCore into one byte array, turned into graphic
+ * actions the same way {@link WXBridgeManager} does for the single mutation calls.
+ *
+ * <pre>
+ * actions        := generation:varint action*
+ * action         := type:u8 fields
+ * ADD_ELEMENT    := componentType:key ref:string index:svarint parentRef:string props:block
+ *                   margins:floats paddings:floats borders:floats willLayout:u8
+ * REMOVE_ELEMENT := ref:string
+ * MOVE_ELEMENT   := ref:string parentRef:string index:svarint
+ * ADD_EVENT      := ref:string event:key
+ * REMOVE_EVENT   := ref:string event:key
+ * UPDATE_STYLE   := ref:string props:block
+ * UPDATE_ATTRS   := ref:string props:block
+ * LAYOUT         := ref:string top bottom left right height width:svarint isRTL:u8 index:svarint
+ * block          := byteLength:varint {@link WXPackedProps} sections, without generation
+ * floats         := present:u8, followed by 4 little endian floats if present
+ * svarint        := zigzag varint
+ * </pre>
+ *
+ * Add element and update actions apply to their component when they are built; one of them
+ * failing is reported and skipped like in the single mutation calls, the array is still read to
+ * its end so that the keys it interns are not lost.
+ */
+class WXPackedGraphicActions {
+
+  static final int ADD_ELEMENT = 1;
+  static final int REMOVE_ELEMENT = 2;
+  static final int MOVE_ELEMENT = 3;
+  static final int ADD_EVENT = 4;
+  static final int REMOVE_EVENT = 5;
+  static final int UPDATE_STYLE = 6;
+  static final int UPDATE_ATTRS = 7;
+  static final int LAYOUT = 8;
+
+  /**
+   * @param instance null if the instance is gone, the array is then read only for the keys it
+   *                 interns, which the following arrays refer to.
+   * @return actions to execute in order on the UI thread, add element actions waiting for their
+   * layout are kept by the instance instead, like in {@link WXBridgeManager#callAddElement}.
+   * @throws IllegalArgumentException if the array is malformed.
+   */
+  static List<BasicGraphicAction> decode(@Nullable WXSDKInstance instance, byte[] data) {
+    List<BasicGraphicAction> actions = new ArrayList<>();
+    synchronized (WXPackedReader.keysLock()) {
+      WXPackedReader reader = new WXPackedReader(data);
+      reader.readGeneration();
+      while (reader.hasRemaining()) {
+        int type = reader.readByte();
+        switch (type) {
+          case ADD_ELEMENT:
+            addElement(instance, reader, actions);
+            break;
+          case REMOVE_ELEMENT:
+            removeElement(instance, reader.readString(), actions);
+            break;
+          case MOVE_ELEMENT:
+            moveElement(instance, reader, actions);
+            break;
+          case ADD_EVENT:
+          case REMOVE_EVENT:
+            event(instance, type, reader, actions);
+            break;
+          case UPDATE_STYLE:
+            updateStyle(instance, reader, actions);
+            break;
+          case UPDATE_ATTRS:
+            updateAttrs(instance, reader, actions);
+            break;
+          case LAYOUT:
+            layout(instance, reader, actions);
+            break;
+          default:
+            throw new IllegalArgumentException("unknown graphic action " + type);
+        }
+      }
+    }
+    return actions;
+  }
+
+  private static void addElement(WXSDKInstance instance, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String componentType = reader.readKey();
+    String ref = reader.readString();
+    int index = reader.readSignedVarint();
+    String parentRef = reader.readString();
+    WXPackedProps props = WXPackedProps.decode(reader.readBlock());
+    float[] margins = reader.readFloats();
+    float[] paddings = reader.readFloats();
+    float[] borders = reader.readFloats();
+    boolean willLayout = reader.readBoolean();
+    if (TextUtils.isEmpty(componentType) || TextUtils.isEmpty(ref)) {
+      throw new IllegalArgumentException("add element without type or ref");
+    }
+    if (instance == null) {
+      return;
+    }
+    GraphicActionAddElement action;
+    try {
+      action = new GraphicActionAddElement(instance, ref, componentType, parentRef, index,
+              props.getStyles(), props.getAttrs(), props.getEvents(), margins, paddings, borders);
+    } catch (RuntimeException e) {
+      reportError(instance, "callAddElement", e);
+      return;
+    }
+    if (willLayout) {
+      instance.addInActiveAddElementAction(ref, action);
+    } else {
+      actions.add(action);
+    }
+  }
+
+  private static void removeElement(WXSDKInstance instance, String ref, List<BasicGraphicAction> actions) {
+    if (instance == null) {
+      return;
+    }
+    if (instance.getInActiveAddElementAction(ref) != null) {
+      instance.removeInActiveAddElmentAction(ref);
+    } else {
+      actions.add(new GraphicActionRemoveElement(instance, ref));
+    }
+  }
+
+  private static void moveElement(WXSDKInstance instance, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String ref = reader.readString();
+    String parentRef = reader.readString();
+    int index = reader.readSignedVarint();
+    if (instance != null) {
+      actions.add(new GraphicActionMoveElement(instance, ref, parentRef, index));
+    }
+  }
+
+  private static void event(WXSDKInstance instance, int type, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String ref = reader.readString();
+    String event = reader.readKey();
+    if (instance == null) {
+      return;
+    }
+    if (type == ADD_EVENT) {
+      actions.add(new GraphicActionAddEvent(instance, ref, event));
+    } else {
+      actions.add(new GraphicActionRemoveEvent(instance, ref, event));
+    }
+  }
+
+  private static void updateAttrs(WXSDKInstance instance, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String ref = reader.readString();
+    WXPackedProps props = WXPackedProps.decode(reader.readBlock());
+    if (instance == null) {
+      return;
+    }
+    try {
+      actions.add(new GraphicActionUpdateAttr(instance, ref, props.getAttrs()));
+    } catch (RuntimeException e) {
+      reportError(instance, "callUpdateAttrs", e);
+    }
+  }
+
+  private static void updateStyle(WXSDKInstance instance, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String ref = reader.readString();
+    WXPackedProps props = WXPackedProps.decode(reader.readBlock());
+    if (instance == null) {
+      return;
+    }
+    HashMap<String, Object> styles = props.getStyles() == null ? null : new HashMap<String, Object>(props.getStyles());
+    try {
+      actions.add(new GraphicActionUpdateStyle(instance, ref, styles,
+              props.getPaddings(), props.getMargins(), props.getBorders()));
+    } catch (RuntimeException e) {
+      reportError(instance, "callUpdateStyle", e);
+    }
+  }
+
+  private static void layout(WXSDKInstance instance, WXPackedReader reader, List<BasicGraphicAction> actions) {
+    String ref = reader.readString();
+    int top = reader.readSignedVarint();
+    int bottom = reader.readSignedVarint();
+    int left = reader.readSignedVarint();
+    int right = reader.readSignedVarint();
+    int height = reader.readSignedVarint();
+    int width = reader.readSignedVarint();
+    boolean isRTL = reader.readBoolean();
+    int index = reader.readSignedVarint();
+    if (instance == null) {
+      return;
+    }
+
+    GraphicSize size = new GraphicSize(width, height);
+    GraphicPosition position = new GraphicPosition(left, top, right, bottom);
+    GraphicActionAddElement addAction = instance.getInActiveAddElementAction(ref);
+    if (addAction != null) {
+      addAction.setRTL(isRTL);
+      addAction.setSize(size);
+      addAction.setPosition(position);
+      if (!TextUtils.equals(ref, WXComponent.ROOT)) {
+        addAction.setIndex(index);
+      }
+      actions.add(addAction);
+      instance.removeInActiveAddElmentAction(ref);
+    } else {
+      actions.add(new GraphicActionLayout(instance, ref, position, size, isRTL));
+    }
+  }
+
+  private static void reportError(WXSDKInstance instance, String function, Exception e) {
+    WXLogUtils.e("[WXPackedGraphicActions] " + function + " exception: ", e);
+    WXExceptionUtils.commitCriticalExceptionRT(instance.getInstanceId(),
+            WXErrorCode.WX_KEY_EXCEPTION_INVOKE_BRIDGE, function,
+            WXLogUtils.getStackTrace(e), null);
+  }
+}
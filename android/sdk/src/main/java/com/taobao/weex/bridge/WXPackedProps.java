@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import android.support.annotation.RestrictTo.Scope;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Styles, attributes and events of an element packed by WeexCore into one byte array, so a
+ * single array crosses JNI instead of a HashMap or HashSet built entry by entry in native code.
+ *
+ * <pre>
+ * payload := generation:varint section*
+ * section := kind:u8 count:varint entry*
+ * entry   := key value, or key only for {@link #SECTION_EVENTS}
+ * key     := varint, id &lt;&lt; 1 for a known key, id &lt;&lt; 1 | 1 followed by a string for a new key
+ * value   := string
+ * string  := byteLength:varint utf8
+ * </pre>
+ *
+ * Keys are interned: each one is sent in full the first time and by id afterwards. The id table
+ * lives as long as the process, just like the one in wx_bridge.cpp, unless WeexCore starts a new
+ * generation of it.
+ */
+@RestrictTo(Scope.LIBRARY)
+public class WXPackedProps {
+
+  public static final int SECTION_STYLES = 1;
+  public static final int SECTION_ATTRS = 2;
+  public static final int SECTION_EVENTS = 3;
+  public static final int SECTION_MARGINS = 4;
+  public static final int SECTION_PADDINGS = 5;
+  public static final int SECTION_BORDERS = 6;
+
+  private HashMap<String, String> mStyles;
+  private HashMap<String, String> mAttrs;
+  private HashSet<String> mEvents;
+  private HashMap<String, String> mMargins;
+  private HashMap<String, String> mPaddings;
+  private HashMap<String, String> mBorders;
+
+  private WXPackedProps() {
+  }
+
+  /**
+   * @param payload packed by WeexCore, null for an element without styles, attributes or events.
+   * @throws IllegalArgumentException if the payload is malformed.
+   */
+  public static WXPackedProps decode(@Nullable byte[] payload) {
+    if (payload == null) {
+      return new WXPackedProps();
+    }
+    synchronized (WXPackedReader.keysLock()) {
+      WXPackedReader reader = new WXPackedReader(payload);
+      reader.readGeneration();
+      return decode(reader);
+    }
+  }
+
+  /**
+   * Read sections until the end of the reader, which has no generation as it is nested in another
+   * array, the caller holds {@link WXPackedReader#keysLock()}.
+   */
+  static WXPackedProps decode(WXPackedReader reader) {
+    WXPackedProps props = new WXPackedProps();
+    props.decodeSections(reader);
+    return props;
+  }
+
+  public @Nullable HashMap<String, String> getStyles() {
+    return mStyles;
+  }
+
+  public @Nullable HashMap<String, String> getAttrs() {
+    return mAttrs;
+  }
+
+  public @Nullable HashSet<String> getEvents() {
+    return mEvents;
+  }
+
+  public @Nullable HashMap<String, String> getMargins() {
+    return mMargins;
+  }
+
+  public @Nullable HashMap<String, String> getPaddings() {
+    return mPaddings;
+  }
+
+  public @Nullable HashMap<String, String> getBorders() {
+    return mBorders;
+  }
+
+  private void decodeSections(WXPackedReader reader) {
+    while (reader.hasRemaining()) {
+      int section = reader.readByte();
+      int count = reader.readVarint();
+      if (section == SECTION_EVENTS) {
+        mEvents = new HashSet<>(capacity(count));
+        for (int i = 0; i < count; i++) {
+          mEvents.add(reader.readKey());
+        }
+        continue;
+      }
+      HashMap<String, String> map = new HashMap<>(capacity(count));
+      for (int i = 0; i < count; i++) {
+        String key = reader.readKey();
+        map.put(key, reader.readString());
+      }
+      switch (section) {
+        case SECTION_STYLES:
+          mStyles = map;
+          break;
+        case SECTION_ATTRS:
+          mAttrs = map;
+          break;
+        case SECTION_MARGINS:
+          mMargins = map;
+          break;
+        case SECTION_PADDINGS:
+          mPaddings = map;
+          break;
+        case SECTION_BORDERS:
+          mBorders = map;
+          break;
+        default:
+          throw new IllegalArgumentException("unknown section " + section);
+      }
+    }
+  }
+
+  private static int capacity(int count) {
+    return Math.max(4, count * 4 / 3 + 1);
+  }
+}
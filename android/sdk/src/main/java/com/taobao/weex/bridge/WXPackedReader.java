@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the primitives of arrays packed by WeexCore, see {@link WXPackedProps} for the format.
+ *
+ * Interned keys are shared by all readers, so packed arrays must be read in the order they
+ * arrive, which is the case as they are read in the JNI call itself. Every array starts with the
+ * generation of the keys it uses; WeexCore starts a new generation when asked to, see
+ * {@link com.taobao.weex.common.IWXPackedBridge#resetPackedKeys()}, and the table is dropped
+ * here once an array of a new generation arrives.
+ */
+class WXPackedReader {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final List<String> sKeys = new ArrayList<>(256);
+  private static int sGeneration;
+
+  private final byte[] mData;
+  private final int mEnd;
+  private int mPosition;
+
+  WXPackedReader(byte[] data) {
+    this(data, 0, data.length);
+  }
+
+  WXPackedReader(byte[] data, int offset, int end) {
+    mData = data;
+    mPosition = offset;
+    mEnd = end;
+  }
+
+  /**
+   * Forget interned keys, only for tests since WeexCore keeps its table.
+   */
+  static void resetKeys() {
+    synchronized (sKeys) {
+      sKeys.clear();
+      sGeneration = 0;
+    }
+  }
+
+  static Object keysLock() {
+    return sKeys;
+  }
+
+  /**
+   * Read the key generation an array starts with, the caller holds {@link #keysLock()}.
+   */
+  void readGeneration() {
+    int generation = readVarint();
+    if (generation != sGeneration) {
+      sKeys.clear();
+      sGeneration = generation;
+    }
+  }
+
+  boolean hasRemaining() {
+    return mPosition < mEnd;
+  }
+
+  int readByte() {
+    if (mPosition >= mEnd) {
+      throw new IllegalArgumentException("truncated at " + mPosition);
+    }
+    return mData[mPosition++] & 0xff;
+  }
+
+  boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  int readVarint() {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = readByte();
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("malformed varint at " + mPosition);
+  }
+
+  /**
+   * A zigzag encoded varint, for values that may be negative.
+   */
+  int readSignedVarint() {
+    int value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  String readString() {
+    int length = readVarint();
+    checkLength(length);
+    String value = new String(mData, mPosition, length, UTF_8);
+    mPosition += length;
+    return value;
+  }
+
+  String readKey() {
+    int code = readVarint();
+    int id = code >>> 1;
+    if ((code & 1) != 0) {
+      String key = readString();
+      while (sKeys.size() <= id) {
+        sKeys.add(null);
+      }
+      sKeys.set(id, key);
+      return key;
+    }
+    String key = id < sKeys.size() ? sKeys.get(id) : null;
+    if (key == null) {
+      throw new IllegalArgumentException("unknown key id " + id);
+    }
+    return key;
+  }
+
+  /**
+   * @return four little endian floats, or null if absent.
+   */
+  float[] readFloats() {
+    if (!readBoolean()) {
+      return null;
+    }
+    checkLength(16);
+    float[] values = new float[4];
+    for (int i = 0; i < 4; i++) {
+      int bits = (mData[mPosition] & 0xff)
+              | (mData[mPosition + 1] & 0xff) << 8
+              | (mData[mPosition + 2] & 0xff) << 16
+              | (mData[mPosition + 3] & 0xff) << 24;
+      values[i] = Float.intBitsToFloat(bits);
+      mPosition += 4;
+    }
+    return values;
+  }
+
+  /**
+   * Skip a length prefixed block and return a reader over it.
+   */
+  WXPackedReader readBlock() {
+    int length = readVarint();
+    checkLength(length);
+    WXPackedReader block = new WXPackedReader(mData, mPosition, mPosition + length);
+    mPosition += length;
+    return block;
+  }
+
+  private void checkLength(int length) {
+    if (length < 0 || mPosition + length > mEnd) {
+      throw new IllegalArgumentException("length " + length + " out of bounds at " + mPosition);
+    }
+  }
+}
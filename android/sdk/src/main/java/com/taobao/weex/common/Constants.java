@@ -173,6 +173,7 @@ public class Constants {
     String PULLING_DISTANCE = "pullingDistance";
     String VIEW_HEIGHT = "viewHeight";
     String PREVENT_MOVE_EVENT = "preventMoveEvent";
+    String TOUCH_HISTORY_SAMPLES = "touchHistorySamples";
     String SELECTION_START = "selectionStart";
     String SELECTION_END = "selectionEnd";
     String OFFSET_ACCURACY = "offsetAccuracy";
@@ -206,6 +207,8 @@ public class Constants {
     String STICKY_OFFSET = "stickyOffset";
     String HAS_FIXED_SIZE = "hasFixedSize";
     String KEEP_POSITION_LAYOUT_DELAY = "keepPositionLayoutDelay";
+    String IMAGE_PREFETCH_COUNT = "imagePrefetchCount";
+    String RECYCLE_POOL = "recyclePool";
 
     String OVERFLOW_HIDDEN_HEIGHT = "overflowHiddenHeight";
     String OVERFLOW_HIDDEN_WIDTH = "overflowHiddenWidth";
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.common;
+
+/**
+ * Entry points WeexCore uses to send styles, attributes and events packed in one byte array
+ * instead of a HashMap per call. Optional: bridges that only implement {@link IWXBridge}, such as
+ * the debug bridge, keep working, check for this interface before using them.
+ *
+ * @see com.taobao.weex.bridge.WXPackedProps
+ */
+public interface IWXPackedBridge extends IWXBridge {
+
+  /**
+   * Same as {@link #callCreateBody}, with styles, attributes and events packed in one array.
+   */
+  int callCreateBodyPacked(String instanceId, String componentType, String ref, byte[] props,
+                           float[] margins, float[] paddings, float[] borders);
+
+  /**
+   * Same as {@link #callAddElement}, with styles, attributes and events packed in one array.
+   */
+  int callAddElementPacked(String instanceId, String componentType, String ref, int index, String parentRef,
+                           byte[] props, float[] margins, float[] paddings, float[] borders, boolean willLayout);
+
+  /**
+   * Same as {@link #callUpdateStyle}, with styles, paddings, margins and borders packed in one array.
+   */
+  int callUpdateStylePacked(String instanceId, String ref, byte[] props);
+
+  /**
+   * Same as {@link #callUpdateAttrs}, with attributes packed in one array.
+   */
+  int callUpdateAttrsPacked(String instanceId, String ref, byte[] props);
+
+  /**
+   * Several DOM mutations of one instance packed in one array, to save a JNI call per mutation.
+   * The format is described in WXPackedGraphicActions.
+   */
+  int callGraphicActions(String instanceId, byte[] actions);
+
+  /**
+   * Make WeexCore restart its table of interned keys, after an array could not be decoded. The
+   * next arrays carry a new generation and send every key in full again.
+   */
+  void resetPackedKeys();
+}
@@ -26,6 +26,12 @@ import java.util.Map;
 
 public class WXImageStrategy {
 
+  /**
+   * Request for an image which is not on screen yet, e.g. prefetched for an upcoming list cell.
+   */
+  public static final int PRIORITY_LOW = 0;
+  public static final int PRIORITY_NORMAL = 1;
+  public static final int PRIORITY_HIGH = 2;
 
   /**
    * <strong>Never!</strong>
@@ -56,6 +62,24 @@ public class WXImageStrategy {
    */
   public String instanceId;
 
+  /**
+   * Content size in px of the component the image is shown in, 0 if not laid out yet.
+   * Loaders should decode the image down to this size instead of its natural size.
+   */
+  public int targetWidth;
+  public int targetHeight;
+
+  /**
+   * Scale type the image is shown with, from the resize mode of the component. Set for prefetch
+   * requests too, so loaders can decode them the same way and share the cache entry.
+   */
+  public ImageView.ScaleType scaleType = ImageView.ScaleType.FIT_XY;
+
+  /**
+   * One of {@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL} and {@link #PRIORITY_HIGH}.
+   */
+  public int priority = PRIORITY_NORMAL;
+
   public WXImageStrategy()
   {
 
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.common;
+
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+
+import com.taobao.weex.bridge.WXBridgeManager;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the steps of SDK initialization as tasks with dependencies. A task is dispatched to its
+ * thread as soon as all of its dependencies are done, so independent steps (so loading, reading
+ * the JS framework, building the component registry...) overlap instead of running one after
+ * another. If a task fails, the tasks depending on it are skipped.
+ *
+ * When every task is finished, a timeline of the run is logged and handed to the
+ * {@link OnCompleteListener}.
+ */
+public class WXInitTaskScheduler {
+
+  private static final String TAG = "WXInitTaskScheduler";
+  private static final int WORKER_COUNT = 2;
+
+  public enum TaskThread {
+    /**
+     * Run on the thread calling {@link #start()} if the task has no dependencies or they all
+     * finished there. Otherwise it runs on the thread that finished its last dependency, right
+     * after it: the JS thread or a scheduler worker. Such tasks must not assume the main thread.
+     */
+    CALLER,
+    /**
+     * Run on the JS thread.
+     */
+    JS,
+    /**
+     * Run on a worker thread owned by the scheduler.
+     */
+    WORKER
+  }
+
+  public enum Status {
+    PENDING, DONE, FAILED, SKIPPED
+  }
+
+  /**
+   * Called once on the thread that finished the last task, which can be any {@link TaskThread}.
+   */
+  public interface OnCompleteListener {
+    void onComplete(WXInitTaskScheduler scheduler, String timeline);
+  }
+
+  public static abstract class Task {
+    private final String mName;
+    private final TaskThread mThread;
+    private final String[] mDependencies;
+
+    private int mPendingDependencies;
+    private List<Task> mDependents;
+    private volatile Status mStatus = Status.PENDING;
+    private long mStartTime;
+    private long mEndTime;
+    private String mThreadName;
+
+    public Task(String name, TaskThread thread, String... dependencies) {
+      mName = name;
+      mThread = thread;
+      mDependencies = dependencies == null ? new String[0] : dependencies;
+    }
+
+    /**
+     * @return false if the task failed, tasks depending on it are skipped then.
+     */
+    protected abstract boolean execute();
+
+    public String getName() {
+      return mName;
+    }
+
+    public Status getStatus() {
+      return mStatus;
+    }
+
+    public long getDuration() {
+      return mEndTime - mStartTime;
+    }
+  }
+
+  private final Map<String, Task> mTasks = new LinkedHashMap<>();
+  private ExecutorService mWorker;
+  private OnCompleteListener mListener;
+  private long mStartTime;
+  private int mFinishedCount;
+  private boolean mStarted;
+
+  /**
+   * Add a task, must be called before {@link #start()}. A task with the name of an existing one
+   * replaces it.
+   */
+  public synchronized WXInitTaskScheduler addTask(Task task) {
+    if (mStarted) {
+      WXLogUtils.e(TAG, "addTask after start, ignore " + task.getName());
+      return this;
+    }
+    mTasks.put(task.getName(), task);
+    return this;
+  }
+
+  public synchronized WXInitTaskScheduler addTasks(@Nullable Collection<Task> tasks) {
+    if (tasks != null) {
+      for (Task task : tasks) {
+        addTask(task);
+      }
+    }
+    return this;
+  }
+
+  public void setOnCompleteListener(OnCompleteListener listener) {
+    mListener = listener;
+  }
+
+  public @Nullable Task getTask(String name) {
+    return mTasks.get(name);
+  }
+
+  /**
+   * Dispatch every task without dependencies, tasks on the {@link TaskThread#CALLER} thread are
+   * run before this returns.
+   */
+  public void start() {
+    List<Task> ready = new ArrayList<>();
+    synchronized (this) {
+      if (mStarted) {
+        return;
+      }
+      mStarted = true;
+      mStartTime = SystemClock.uptimeMillis();
+      for (Task task : mTasks.values()) {
+        task.mDependents = new ArrayList<>();
+      }
+      List<Task> broken = new ArrayList<>();
+      for (Task task : mTasks.values()) {
+        for (String name : task.mDependencies) {
+          Task dependency = mTasks.get(name);
+          if (dependency == null) {
+            WXLogUtils.e(TAG, "task " + task.getName() + " depends on unknown task " + name);
+            broken.add(task);
+            continue;
+          }
+          dependency.mDependents.add(task);
+          task.mPendingDependencies++;
+        }
+      }
+      for (Task task : broken) {
+        skip(task);
+      }
+      for (Task task : mTasks.values()) {
+        if (task.mStatus == Status.PENDING && task.mPendingDependencies == 0) {
+          ready.add(task);
+        }
+      }
+    }
+    if (ready.isEmpty()) {
+      complete();
+    } else {
+      dispatch(ready);
+    }
+  }
+
+  private void dispatch(List<Task> tasks) {
+    List<Task> callerTasks = new ArrayList<>();
+    for (final Task task : tasks) {
+      Runnable runnable = new Runnable() {
+        @Override
+        public void run() {
+          runTask(task);
+        }
+      };
+      switch (task.mThread) {
+        case JS:
+          // bypass the interceptor, register tasks may be collecting bridge posts at that time
+          WXBridgeManager.getInstance().post(runnable, null);
+          break;
+        case WORKER:
+          getWorker().execute(runnable);
+          break;
+        default:
+          callerTasks.add(task);
+          break;
+      }
+    }
+    // async tasks are dispatched first so that they overlap the caller tasks
+    for (Task task : callerTasks) {
+      runTask(task);
+    }
+  }
+
+  private void runTask(Task task) {
+    task.mThreadName = Thread.currentThread().getName();
+    task.mStartTime = SystemClock.uptimeMillis();
+    boolean success;
+    try {
+      success = task.execute();
+    } catch (Throwable e) {
+      WXLogUtils.e(TAG, "task " + task.getName() + " failed: " + WXLogUtils.getStackTrace(e));
+      success = false;
+    }
+    task.mEndTime = SystemClock.uptimeMillis();
+
+    List<Task> ready = new ArrayList<>();
+    boolean finished;
+    synchronized (this) {
+      task.mStatus = success ? Status.DONE : Status.FAILED;
+      mFinishedCount++;
+      for (Task dependent : task.mDependents) {
+        if (dependent.mStatus != Status.PENDING) {
+          continue;
+        }
+        if (!success) {
+          skip(dependent);
+        } else if (--dependent.mPendingDependencies == 0) {
+          ready.add(dependent);
+        }
+      }
+      finished = mFinishedCount == mTasks.size();
+    }
+    if (!ready.isEmpty()) {
+      dispatch(ready);
+    } else if (finished) {
+      complete();
+    }
+  }
+
+  private void skip(Task task) {
+    if (task.mStatus != Status.PENDING) {
+      return;
+    }
+    task.mStatus = Status.SKIPPED;
+    mFinishedCount++;
+    for (Task dependent : task.mDependents) {
+      skip(dependent);
+    }
+  }
+
+  private synchronized ExecutorService getWorker() {
+    if (mWorker == null) {
+      mWorker = Executors.newFixedThreadPool(WORKER_COUNT, new ThreadFactory() {
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+          return new Thread(r, "WeexInit-" + mCount.incrementAndGet());
+        }
+      });
+    }
+    return mWorker;
+  }
+
+  private void complete() {
+    synchronized (this) {
+      if (mWorker != null) {
+        mWorker.shutdown();
+        mWorker = null;
+      }
+    }
+    String timeline = getTimeline();
+    WXLogUtils.d(TAG, timeline);
+    if (mListener != null) {
+      mListener.onComplete(this, timeline);
+    }
+  }
+
+  /**
+   * One line per task: name, status, start offset and duration in ms, thread.
+   */
+  public synchronized String getTimeline() {
+    long end = mStartTime;
+    for (Task task : mTasks.values()) {
+      end = Math.max(end, task.mEndTime);
+    }
+    StringBuilder builder = new StringBuilder("init timeline, total ")
+            .append(end - mStartTime).append("ms");
+    for (Task task : mTasks.values()) {
+      builder.append("\n  ").append(task.getName()).append(' ').append(task.mStatus);
+      if (task.mThreadName != null) {
+        builder.append(" +").append(task.mStartTime - mStartTime).append("ms ")
+                .append(task.getDuration()).append("ms [").append(task.mThreadName).append(']');
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Durations in ms of the finished tasks, keyed by task name.
+   */
+  public synchronized Map<String, Long> getDurations() {
+    Map<String, Long> durations = new HashMap<>();
+    for (Task task : mTasks.values()) {
+      if (task.mThreadName != null) {
+        durations.put(task.getName(), task.getDuration());
+      }
+    }
+    return durations;
+  }
+}
@@ -533,7 +533,7 @@ public class WXAttr implements Map<String, Object>,Cloneable {
         mStatement = new WXStatement();
       }
       if(value != null) {
-        mStatement.put(key, Parser.parse(value.toString()));
+        mStatement.put(key, Parser.compile(value.toString()));
       }
       return  true;
     }
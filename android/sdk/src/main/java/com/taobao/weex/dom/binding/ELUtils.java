@@ -76,7 +76,7 @@ public class ELUtils {
             if(object.containsKey(BINDING)){
                 Object binding = object.get(BINDING);
                 if(!(binding instanceof Token)){
-                    object.put(BINDING, Parser.parse(binding.toString()));
+                    object.put(BINDING, Parser.compile(binding.toString()));
                 }
             }
             Set<String> keys = object.keySet();
@@ -86,7 +86,7 @@ public class ELUtils {
                     JSONObject propsValue = (JSONObject) object.get(propsKey);
                     Object binding = propsValue.get(BINDING);
                     if(!(binding instanceof Token)){
-                        propsValue.put(BINDING, Parser.parse(binding.toString()));
+                        propsValue.put(BINDING, Parser.compile(binding.toString()));
                     }
                 }
             }
@@ -111,7 +111,7 @@ public class ELUtils {
             if(((JSONObject) vfor).containsKey(WXStatement.WX_FOR_LIST)){
                 Object list = ((JSONObject) vfor).get(WXStatement.WX_FOR_LIST);
                 if(!(list instanceof Token)){
-                    ((JSONObject) vfor).put(WXStatement.WX_FOR_LIST, Parser.parse(list.toString()));
+                    ((JSONObject) vfor).put(WXStatement.WX_FOR_LIST, Parser.compile(list.toString()));
                 }
             }
         }else if(vfor instanceof  String){
@@ -57,6 +57,10 @@ class Block extends Token {
         return token.execute(context);
     }
 
+    List<Token> getTokens() {
+        return tokens;
+    }
+
     @Override
     public String toString() {
         if(getType() == TYPE_ARRAY){
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * compiled binding expression, see {@link Parser#compile(String)}.
+ * besides executing faster than the parsed token tree, it knows the values it reads,
+ * so {@link #execute(Object, Object[])} can skip executing when none of them changed.
+ */
+public class Expression extends Token {
+
+    private static final Object UNSET = new Object();
+
+    private final Token root;
+    private final Token[] dependencies;
+
+    Expression(String code, Token root) {
+        super(code, root.getType());
+        this.root = root;
+        Token[] tracked = null;
+        if(!(root instanceof Constant)
+                && !ExpressionCompiler.isIdentifier(root)
+                && !(root instanceof Path && ExpressionCompiler.isIdentifier(((Path) root).getBase()))){
+            List<Token> list = new ArrayList<>(4);
+            if(ExpressionCompiler.dependencies(root, list)
+                    && list.size() > 0
+                    && list.size() <= ExpressionCompiler.MAX_DEPENDENCIES){
+                tracked = list.toArray(new Token[list.size()]);
+            }
+        }
+        this.dependencies = tracked;
+    }
+
+    @Override
+    public Object execute(Object context) {
+        return root.execute(context);
+    }
+
+    public boolean isConstant(){
+        return root instanceof Constant;
+    }
+
+    /**
+     * whether the inputs of the expression are tracked, expressions which just read one value
+     * or whose inputs are only known at runtime are not.
+     * */
+    public boolean isTracked(){
+        return dependencies != null;
+    }
+
+    /**
+     * @return state holding the inputs of the last execution for {@link #execute(Object, Object[])},
+     * or null if the expression is not tracked
+     * */
+    public Object[] newInputs(){
+        if(dependencies == null){
+            return null;
+        }
+        Object[] inputs = new Object[dependencies.length + 1];
+        Arrays.fill(inputs, UNSET);
+        return inputs;
+    }
+
+    /**
+     * execute the expression only when one of its inputs differs from the ones recorded in inputs,
+     * otherwise return the value of the last execution.
+     * @param inputs state created by {@link #newInputs()}, updated by this call
+     * */
+    public Object execute(Object context, Object[] inputs){
+        if(dependencies == null || inputs == null || inputs.length != dependencies.length + 1){
+            return root.execute(context);
+        }
+        boolean changed = false;
+        for(int i=0; i<dependencies.length; i++){
+            Object value = dependencies[i].execute(context);
+            if(!changed && !isSameInput(inputs[i], value)){
+                changed = true;
+            }
+            inputs[i] = value;
+        }
+        int last = dependencies.length;
+        if(changed || inputs[last] == UNSET){
+            inputs[last] = root.execute(context);
+        }
+        return inputs[last];
+    }
+
+    /**
+     * maps and lists may be modified in place, so only immutable values are compared
+     * */
+    private static boolean isSameInput(Object old, Object value){
+        if(old == UNSET){
+            return false;
+        }
+        if(value == null){
+            return old == null;
+        }
+        if(value instanceof String
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character){
+            return value.equals(old);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import android.support.v4.util.LruCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * process wide cache of compiled expressions keyed by source code, so the same binding in every
+ * copy of a template cell, and in every instance rendering the same bundle, is parsed once and
+ * shares one token tree. compiled tokens are immutable after compile, per node state lives in
+ * the component, see {@link Expression#execute(Object, Object[])}.
+ */
+public class ExpressionCache {
+
+    public static final int DEFAULT_MAX_SIZE = 2048;
+
+    public static final String KEY_HIT = "hit";
+    public static final String KEY_MISS = "miss";
+    public static final String KEY_SIZE = "size";
+    public static final String KEY_MAX_SIZE = "maxSize";
+    public static final String KEY_HIT_RATE = "hitRate";
+
+    private static volatile LruCache<String, Token> sCache = new LruCache<>(DEFAULT_MAX_SIZE);
+
+    /**
+     * @param maxSize max count of cached expressions, 0 disables the cache
+     * */
+    public static void setMaxSize(int maxSize){
+        sCache = maxSize > 0 ? new LruCache<String, Token>(maxSize) : null;
+    }
+
+    static Token get(String code){
+        LruCache<String, Token> cache = sCache;
+        if(cache == null || code == null){
+            return null;
+        }
+        return cache.get(code);
+    }
+
+    static void put(String code, Token token){
+        LruCache<String, Token> cache = sCache;
+        if(cache == null || code == null || token == null){
+            return;
+        }
+        cache.put(code, token);
+    }
+
+    /**
+     * drop every cached expression and reset the hit and miss counts, which evictAll keeps
+     * */
+    public static void clear(){
+        LruCache<String, Token> cache = sCache;
+        if(cache != null){
+            sCache = new LruCache<>(cache.maxSize());
+        }
+    }
+
+    public static Map<String, Object> getStats(){
+        Map<String, Object> stats = new HashMap<>();
+        LruCache<String, Token> cache = sCache;
+        int hit = cache == null ? 0 : cache.hitCount();
+        int miss = cache == null ? 0 : cache.missCount();
+        stats.put(KEY_HIT, hit);
+        stats.put(KEY_MISS, miss);
+        stats.put(KEY_SIZE, cache == null ? 0 : cache.size());
+        stats.put(KEY_MAX_SIZE, cache == null ? 0 : cache.maxSize());
+        stats.put(KEY_HIT_RATE, hit + miss == 0 ? 0f : (float) hit / (hit + miss));
+        return stats;
+    }
+}
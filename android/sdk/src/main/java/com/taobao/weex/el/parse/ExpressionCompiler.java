@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rewrite a parsed token tree into a faster equivalent one:
+ * literals are parsed once, operators on constants are folded,
+ * member access chains with constant keys become {@link Path},
+ * and the variables an expression reads are collected as its dependencies.
+ */
+class ExpressionCompiler {
+
+    /**
+     * expressions reading more values than this are not tracked,
+     * checking the inputs would cost about as much as executing them.
+     * */
+    static final int MAX_DEPENDENCIES = 8;
+
+    static Token compile(Token token){
+        if(token == null){
+            return null;
+        }
+        if(token instanceof Constant || token instanceof Path){
+            return token;
+        }
+        if(token instanceof Block){
+            return compileBlock((Block) token);
+        }
+        if(token instanceof Operator){
+            return compileOperator((Operator) token);
+        }
+        switch (token.getType()){
+            case Token.TYPE_INT:
+            case Token.TYPE_DOUBLE:
+            case Token.TYPE_KEYWORD:
+                return new Constant(token.getToken(), token.execute(null));
+            default:
+                return token;
+        }
+    }
+
+    private static Token compileBlock(Block block){
+        List<Token> tokens = block.getTokens();
+        if(block.getType() == Token.TYPE_ARRAY){
+            if(tokens == null){
+                return block;
+            }
+            List<Token> compiled = new ArrayList<>(tokens.size());
+            for(Token token : tokens){
+                compiled.add(compile(token));
+            }
+            return new Block(compiled, Token.TYPE_ARRAY);
+        }
+        if(tokens == null || tokens.size() == 0){
+            return new Constant(block.getToken(), null);
+        }
+        // only the first token of a block is executed
+        return compile(tokens.get(0));
+    }
+
+    private static Token compileOperator(Operator operator){
+        String op = operator.getToken();
+        if(Operators.DOT_STR.equals(op) || Operators.ARRAY_START_STR.equals(op)){
+            return compileDot(operator);
+        }
+        Token self = compile(operator.self);
+        Token first = compile(operator.first);
+        Token second = compile(operator.second);
+        if(Operators.CONDITION_IF_STRING.equals(op) && isConstant(self)){
+            Token branch = Operators.isTrue(self.execute(null)) ? first : second;
+            return branch == null ? new Constant(op, null) : branch;
+        }
+        Operator compiled = new Operator(op, operator.getType());
+        compiled.self = self;
+        compiled.first = first;
+        compiled.second = second;
+        if(isConstantOrNull(self) && isConstantOrNull(first) && isConstantOrNull(second)){
+            return new Constant(op, compiled.execute(null));
+        }
+        return compiled;
+    }
+
+    private static Token compileDot(Operator operator){
+        if(operator.first == null || operator.second == null){
+            return new Constant(operator.getToken(), null);
+        }
+        Token base;
+        List<String> keys = new ArrayList<>(4);
+        List<String> specialKeys = new ArrayList<>(4);
+        Token left = compile(operator.first);
+        if(left instanceof Path){
+            Path path = (Path) left;
+            base = path.getBase();
+            addAll(keys, path.getKeys());
+            addAll(specialKeys, path.getSpecialKeys());
+        }else{
+            base = left;
+        }
+        if(!step(operator.second, keys, specialKeys)){
+            Operator compiled = new Operator(operator.getToken(), operator.getType());
+            compiled.first = left;
+            // an identifier typed right operand executes with the left value as context, keep it as is
+            Token second = operator.second;
+            if(second.getType() != Token.TYPE_IDENTIFIER){
+                Token compiledSecond = compile(second);
+                if(compiledSecond.getType() != Token.TYPE_IDENTIFIER){
+                    second = compiledSecond;
+                }
+            }
+            compiled.second = second;
+            return compiled;
+        }
+        Path path = new Path(base, keys.toArray(new String[keys.size()]),
+                specialKeys.toArray(new String[specialKeys.size()]));
+        if(isConstant(base)){
+            return new Constant(operator.getToken(), path.execute(null));
+        }
+        return path;
+    }
+
+    /**
+     * append the keys the right operand of a member access resolves, see {@link Operators#dot(Token, Token, Object)}
+     * */
+    private static boolean step(Token right, List<String> keys, List<String> specialKeys){
+        if(right.getType() == Token.TYPE_IDENTIFIER){
+            if(isIdentifier(right)){
+                keys.add(right.getToken());
+                specialKeys.add(right.getToken());
+                return true;
+            }
+            // right operand is executed in the left value, its special key never matches
+            return relativeSteps(right, keys, specialKeys);
+        }
+        Token key = compile(right);
+        if(!isConstant(key)){
+            return false;
+        }
+        keys.add(Operators.toKey(key.execute(null)));
+        specialKeys.add(right.getToken());
+        return true;
+    }
+
+    private static boolean relativeSteps(Token token, List<String> keys, List<String> specialKeys){
+        if(isIdentifier(token)){
+            keys.add(token.getToken());
+            specialKeys.add(null);
+            return true;
+        }
+        if(token instanceof Operator
+                && (Operators.DOT_STR.equals(token.getToken()) || Operators.ARRAY_START_STR.equals(token.getToken()))){
+            Operator operator = (Operator) token;
+            if(operator.first == null || operator.second == null){
+                return false;
+            }
+            return relativeSteps(operator.first, keys, specialKeys)
+                    && step(operator.second, keys, specialKeys);
+        }
+        return false;
+    }
+
+    /**
+     * collect values read by a compiled token: identifiers and paths starting from one.
+     * @return false if the inputs can not be known statically
+     * */
+    static boolean dependencies(Token token, List<Token> dependencies){
+        if(token == null || token instanceof Constant){
+            return true;
+        }
+        if(isIdentifier(token)){
+            addDependency(token, dependencies);
+            return true;
+        }
+        if(token instanceof Path){
+            Token base = ((Path) token).getBase();
+            if(isIdentifier(base)){
+                addDependency(token, dependencies);
+                return true;
+            }
+            return dependencies(base, dependencies);
+        }
+        if(token instanceof Block){
+            List<Token> tokens = ((Block) token).getTokens();
+            if(tokens != null){
+                for(Token child : tokens){
+                    if(!dependencies(child, dependencies)){
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        if(token instanceof Operator){
+            Operator operator = (Operator) token;
+            if((Operators.DOT_STR.equals(token.getToken()) || Operators.ARRAY_START_STR.equals(token.getToken()))
+                    && operator.second != null && operator.second.getType() == Token.TYPE_IDENTIFIER){
+                return false;
+            }
+            return dependencies(operator.self, dependencies)
+                    && dependencies(operator.first, dependencies)
+                    && dependencies(operator.second, dependencies);
+        }
+        return token.getType() == Token.TYPE_STRING;
+    }
+
+    private static void addDependency(Token token, List<Token> dependencies){
+        String name = token.toString();
+        for(Token dependency : dependencies){
+            if(name.equals(dependency.toString())){
+                return;
+            }
+        }
+        dependencies.add(token);
+    }
+
+    static boolean isIdentifier(Token token){
+        return token != null && token.getClass() == Token.class && token.getType() == Token.TYPE_IDENTIFIER;
+    }
+
+    static boolean isConstant(Token token){
+        return token instanceof Constant
+                || (token != null && token.getClass() == Token.class && token.getType() == Token.TYPE_STRING);
+    }
+
+    private static boolean isConstantOrNull(Token token){
+        return token == null || isConstant(token);
+    }
+
+    private static void addAll(List<String> list, String[] values){
+        for(String value : values){
+            list.add(value);
+        }
+    }
+}
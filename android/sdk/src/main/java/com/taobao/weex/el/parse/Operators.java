@@ -40,11 +40,7 @@ public class Operators {
         }
         Object value =  null;
         if(right.getType() != Token.TYPE_IDENTIFIER){
-            Object identifter = right.execute(context);
-            if(identifter instanceof Double){
-                identifter = ((Double) identifter).intValue();
-            }
-            String key = identifter == null ? "" : identifter.toString().trim();
+            String key = toKey(right.execute(context));
             value = Operators.el(leftValue, key);
         }else{
             value = right.execute(leftValue);
@@ -55,6 +51,16 @@ public class Operators {
         return  specialKey(leftValue, right.getToken());
     }
 
+    /**
+     * property key of a computed member access, a[1.0] is a[1]
+     * */
+    public static String toKey(Object identifter){
+        if(identifter instanceof Double){
+            identifter = ((Double) identifter).intValue();
+        }
+        return identifter == null ? "" : identifter.toString().trim();
+    }
+
     /**
      * get key's value on object
      * */
@@ -76,6 +76,33 @@ public class Parser {
     }
 
 
+    /**
+     * parse code and compile it to an {@link Expression}, which folds constants, resolves
+     * member access chains in one pass and tracks the values it reads.
+     * the same code always returns the same shared token, see {@link ExpressionCache}.
+     * */
+    public static Token compile(String code){
+        Token token = ExpressionCache.get(code);
+        if(token == null){
+            token = compileToken(code);
+            ExpressionCache.put(code, token);
+        }
+        return token;
+    }
+
+    private static Token compileToken(String code){
+        Token token = parse(code);
+        try{
+            return new Expression(code, ExpressionCompiler.compile(token));
+        }catch (Exception e){
+            if(WXEnvironment.isApkDebugable()){
+                WXLogUtils.e("compile code " + code, e);
+            }
+            return token;
+        }
+    }
+
+
     final char scanNextToken(){
         char ch = nextToken();
         if(ch == Operators.DOLLAR){
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import java.util.Arrays;
+
+/**
+ * member access chain with constant keys, such as item.list[0].name, resolved in one pass
+ * with keys computed at compile time instead of walking nested dot operators.
+ */
+class Path extends Token {
+
+    private final Token base;
+    private final String[] keys;
+    /**
+     * key for {@link Operators#specialKey(Object, String)} when a step resolves to null, or null for none
+     * */
+    private final String[] specialKeys;
+
+    public Path(Token base, String[] keys, String[] specialKeys) {
+        super(Operators.DOT_STR, TYPE_OPERATOR);
+        this.base = base;
+        this.keys = keys;
+        this.specialKeys = specialKeys;
+    }
+
+    @Override
+    public Object execute(Object context) {
+        Object value = base.execute(context);
+        for(int i=0; i<keys.length; i++){
+            if(value == null){
+                return null;
+            }
+            Object next = Operators.el(value, keys[i]);
+            if(next == null && specialKeys[i] != null){
+                next = Operators.specialKey(value, specialKeys[i]);
+            }
+            value = next;
+        }
+        return value;
+    }
+
+    Token getBase() {
+        return base;
+    }
+
+    String[] getKeys() {
+        return keys;
+    }
+
+    String[] getSpecialKeys() {
+        return specialKeys;
+    }
+
+    @Override
+    public String toString() {
+        return "{" + base + Arrays.toString(keys) + '}';
+    }
+}
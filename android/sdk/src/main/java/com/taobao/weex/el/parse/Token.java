@@ -36,6 +36,11 @@ public class Token {
 
     public static final int TYPE_ARRAY = 7;
 
+    /**
+     * value computed at compile time, see {@link Parser#compile(String)}
+     * */
+    public static final int TYPE_CONSTANT = 8;
+
 
 
     private String token;
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.adapter.IWXHttpAdapter;
+import com.taobao.weex.common.Constants;
+import com.taobao.weex.common.WXRequest;
+import com.taobao.weex.common.WXResponse;
+import com.taobao.weex.utils.WXFileUtils;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk cache of js bundles, keyed by bundle url and the md5 of the content. The md5 is part of
+ * the file name and verified on every read, so a corrupt file is never served and every entry
+ * names the exact bundle version it holds.
+ *
+ * A cached bundle is rendered right away and revalidated in the background with
+ * {@link #revalidate(IWXHttpAdapter, String, WXRequest)}: a changed bundle replaces the cached one and
+ * is used by the next render (stale-while-revalidate). Large bundles are read through a memory
+ * mapped file and decoded straight into the template string.
+ *
+ * All methods do disk I/O and hashing, they must not be called on the main thread.
+ * The cache is disabled until registered with
+ * {@link com.taobao.weex.WXSDKManager#setBundleCache(WXBundleCache)}.
+ */
+public class WXBundleCache {
+
+  private static final String TAG = "WXBundleCache";
+
+  /**
+   * Value of {@link com.taobao.weex.performance.WXInstanceApm#KEY_PAGE_PROPERTIES_CACHE_TYPE}
+   * for pages rendered from this cache.
+   */
+  public static final String CACHE_TYPE = "weexBundleCache";
+
+  /**
+   * Render option carrying the md5 of the bundle, so the js engine can associate its code cache
+   * with this exact bundle version.
+   */
+  public static final String OPTION_BUNDLE_DIGEST = Constants.CodeCache.DIGEST;
+
+  private static final String SEPARATOR = "_";
+  private static final String SUFFIX_BUNDLE = ".bundle";
+  private static final String SUFFIX_TMP = ".tmp";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Bundles larger than this are read through a memory mapped file.
+   */
+  private static final int MMAP_THRESHOLD = 64 * 1024;
+
+  private final File mDir;
+  private final long mMaxBytes;
+
+  public static class Entry {
+    public final String digest;
+    private final String mContent;
+    private final byte[] mBinary;
+
+    Entry(String digest, String content, byte[] binary) {
+      this.digest = digest;
+      mContent = content;
+      mBinary = binary;
+    }
+
+    public String getContent() {
+      return mContent;
+    }
+
+    public byte[] getBinary() {
+      return mBinary;
+    }
+  }
+
+  /**
+   * @param dir directory owned by the cache, e.g. a sub directory of the app cache dir.
+   * @param maxBytes max total size of cached bundles.
+   */
+  public WXBundleCache(File dir, long maxBytes) {
+    mDir = dir;
+    mMaxBytes = maxBytes;
+  }
+
+  /**
+   * @param binary whether the bundle is a binary (DATA_RENDER_BINARY) bundle.
+   * @return the latest cached version of the bundle, or null on miss or integrity failure.
+   */
+  public synchronized @Nullable Entry get(String url, boolean binary) {
+    if (TextUtils.isEmpty(url)) {
+      return null;
+    }
+    File bundleFile = findLatest(WXFileUtils.md5(url));
+    if (bundleFile == null) {
+      return null;
+    }
+    String digest = digestOf(bundleFile);
+    try {
+      byte[] data;
+      String content = null;
+      if (!binary && bundleFile.length() > MMAP_THRESHOLD) {
+        MappedByteBuffer buffer = map(bundleFile);
+        if (!TextUtils.equals(digest, WXFileUtils.md5(buffer))) {
+          WXLogUtils.w(TAG, "digest mismatch, drop " + url);
+          bundleFile.delete();
+          return null;
+        }
+        buffer.rewind();
+        content = UTF_8.decode(buffer).toString();
+        data = null;
+      } else {
+        data = readFully(bundleFile);
+        if (!TextUtils.equals(digest, WXFileUtils.md5(data))) {
+          WXLogUtils.w(TAG, "digest mismatch, drop " + url);
+          bundleFile.delete();
+          return null;
+        }
+        if (!binary) {
+          content = new String(data, UTF_8);
+          data = null;
+        }
+      }
+      bundleFile.setLastModified(System.currentTimeMillis());
+      return new Entry(digest, content, data);
+    } catch (IOException e) {
+      WXLogUtils.e(TAG, e);
+      bundleFile.delete();
+      return null;
+    }
+  }
+
+  /**
+   * Store a downloaded bundle as the latest version of url, older versions are removed.
+   * @return md5 of the bundle, or null if it could not be stored.
+   */
+  public @Nullable String put(String url, byte[] data) {
+    return data == null ? null : put(url, data, WXFileUtils.md5(data));
+  }
+
+  /**
+   * Same as {@link #put(String, byte[])} for a bundle whose md5 is already known.
+   * @param digest md5 of data.
+   */
+  public synchronized @Nullable String put(String url, byte[] data, String digest) {
+    if (TextUtils.isEmpty(url) || data == null || data.length == 0 || data.length > mMaxBytes
+        || TextUtils.isEmpty(digest)) {
+      return null;
+    }
+    if (!mDir.exists() && !mDir.mkdirs()) {
+      return null;
+    }
+    String key = WXFileUtils.md5(url);
+    File bundleFile = new File(mDir, key + SEPARATOR + digest + SUFFIX_BUNDLE);
+    if (bundleFile.exists()) {
+      bundleFile.setLastModified(System.currentTimeMillis());
+      return digest;
+    }
+    try {
+      writeAtomically(bundleFile, data);
+    } catch (IOException e) {
+      WXLogUtils.e(TAG, e);
+      bundleFile.delete();
+      return null;
+    }
+    for (File file : listVersions(key)) {
+      if (!file.equals(bundleFile)) {
+        file.delete();
+      }
+    }
+    trim();
+    return digest;
+  }
+
+  public synchronized void remove(String url) {
+    if (!TextUtils.isEmpty(url)) {
+      for (File file : listVersions(WXFileUtils.md5(url))) {
+        file.delete();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    File[] files = mDir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+  }
+
+  /**
+   * Download the bundle again without blocking the render that used the cached copy, a changed
+   * bundle replaces the cached one.
+   */
+  public void revalidate(IWXHttpAdapter adapter, final String url, WXRequest request) {
+    if (adapter == null || request == null) {
+      return;
+    }
+    adapter.sendRequest(request, new IWXHttpAdapter.OnHttpListener() {
+      @Override
+      public void onHttpStart() {
+      }
+
+      @Override
+      public void onHeadersReceived(int statusCode, Map<String, List<String>> headers) {
+      }
+
+      @Override
+      public void onHttpUploadProgress(int uploadProgress) {
+      }
+
+      @Override
+      public void onHttpResponseProgress(int loadedLength) {
+      }
+
+      @Override
+      public void onHttpFinish(final WXResponse response) {
+        if (response != null && response.originalData != null && TextUtils.equals("200", response.statusCode)) {
+          WXSDKManager.getInstance().getWXWorkThreadManager().post(new Runnable() {
+            @Override
+            public void run() {
+              put(url, response.originalData);
+            }
+          });
+        }
+      }
+    });
+  }
+
+  private File[] listVersions(final String key) {
+    File[] files = mDir.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File file) {
+        String name = file.getName();
+        return name.startsWith(key + SEPARATOR) && name.endsWith(SUFFIX_BUNDLE);
+      }
+    });
+    return files == null ? new File[0] : files;
+  }
+
+  private @Nullable File findLatest(String key) {
+    File latest = null;
+    for (File file : listVersions(key)) {
+      if (latest == null || file.lastModified() > latest.lastModified()) {
+        latest = file;
+      }
+    }
+    return latest;
+  }
+
+  private static String digestOf(File bundleFile) {
+    String name = bundleFile.getName();
+    return name.substring(name.indexOf(SEPARATOR) + 1, name.length() - SUFFIX_BUNDLE.length());
+  }
+
+  private void trim() {
+    File[] bundles = mDir.listFiles();
+    if (bundles == null) {
+      return;
+    }
+    long total = 0;
+    for (File file : bundles) {
+      total += file.length();
+    }
+    if (total <= mMaxBytes) {
+      return;
+    }
+    Arrays.sort(bundles, new Comparator<File>() {
+      @Override
+      public int compare(File o1, File o2) {
+        return Long.valueOf(o1.lastModified()).compareTo(o2.lastModified());
+      }
+    });
+    for (File file : bundles) {
+      if (total <= mMaxBytes) {
+        break;
+      }
+      total -= file.length();
+      file.delete();
+    }
+  }
+
+  private static MappedByteBuffer map(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private static byte[] readFully(File file) throws IOException {
+    FileInputStream inputStream = new FileInputStream(file);
+    try {
+      byte[] data = new byte[(int) file.length()];
+      int offset = 0;
+      int read;
+      while (offset < data.length && (read = inputStream.read(data, offset, data.length - offset)) > 0) {
+        offset += read;
+      }
+      if (offset != data.length) {
+        throw new IOException("unexpected end of " + file.getName());
+      }
+      return data;
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  private static void writeAtomically(File target, byte[] data) throws IOException {
+    File tmp = new File(target.getPath() + SUFFIX_TMP);
+    FileOutputStream outputStream = new FileOutputStream(tmp);
+    try {
+      outputStream.write(data);
+      outputStream.getFD().sync();
+    } finally {
+      outputStream.close();
+    }
+    if (!tmp.renameTo(target)) {
+      tmp.delete();
+      throw new IOException("rename failed " + target.getName());
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.Charset;
+
+/**
+ * Decodes a UTF-8 bundle chunk by chunk while it is downloaded, so decoding overlaps the network
+ * and no full copy of the body is kept as bytes. A multi-byte character split across two chunks
+ * is carried over to the next one.
+ *
+ * Not thread safe, chunks must be fed in order from one thread at a time.
+ */
+public class WXBundleStreamDecoder {
+
+  private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_PENDING_BYTES = 4;
+
+  private final CharsetDecoder mDecoder;
+  private final CharBuffer mChars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+  private final byte[] mPending = new byte[MAX_PENDING_BYTES];
+  private int mPendingLength;
+  private StringBuilder mContent;
+  private ByteArrayOutputStream mRawBytes;
+  private int mByteCount;
+  private boolean mFinished;
+
+  /**
+   * @param expectedLength content length if known, used to size the buffer, or -1.
+   * @param keepRawBytes also keep the raw body, e.g. for binary bundles or the bundle cache.
+   */
+  public WXBundleStreamDecoder(int expectedLength, boolean keepRawBytes) {
+    mDecoder = Charset.forName("UTF-8").newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    mContent = new StringBuilder(expectedLength > 0 ? expectedLength : CHAR_BUFFER_SIZE);
+    if (keepRawBytes) {
+      mRawBytes = new ByteArrayOutputStream(expectedLength > 0 ? expectedLength : CHAR_BUFFER_SIZE);
+    }
+  }
+
+  public void write(byte[] data, int offset, int length) {
+    if (mFinished || length <= 0) {
+      return;
+    }
+    mByteCount += length;
+    if (mRawBytes != null) {
+      mRawBytes.write(data, offset, length);
+    }
+    ByteBuffer in;
+    if (mPendingLength > 0) {
+      byte[] joined = new byte[mPendingLength + length];
+      System.arraycopy(mPending, 0, joined, 0, mPendingLength);
+      System.arraycopy(data, offset, joined, mPendingLength, length);
+      in = ByteBuffer.wrap(joined);
+      mPendingLength = 0;
+    } else {
+      in = ByteBuffer.wrap(data, offset, length);
+    }
+    decode(in, false);
+    int remaining = in.remaining();
+    if (remaining > 0) {
+      in.get(mPending, 0, Math.min(remaining, MAX_PENDING_BYTES));
+      mPendingLength = Math.min(remaining, MAX_PENDING_BYTES);
+    }
+  }
+
+  /**
+   * Flush bytes of a trailing incomplete character, no chunk may be written afterwards.
+   */
+  public void finish() {
+    if (mFinished) {
+      return;
+    }
+    mFinished = true;
+    decode(ByteBuffer.wrap(mPending, 0, mPendingLength), true);
+    mPendingLength = 0;
+    mDecoder.flush(mChars);
+    drainChars();
+  }
+
+  public int getByteCount() {
+    return mByteCount;
+  }
+
+  public boolean hasData() {
+    return mByteCount > 0;
+  }
+
+  public String getContent() {
+    finish();
+    return mContent.toString();
+  }
+
+  /**
+   * @return the raw body, or null if raw bytes are not kept.
+   */
+  public byte[] getRawBytes() {
+    return mRawBytes == null ? null : mRawBytes.toByteArray();
+  }
+
+  private void decode(ByteBuffer in, boolean endOfInput) {
+    while (true) {
+      CoderResult result = mDecoder.decode(in, mChars, endOfInput);
+      drainChars();
+      if (!result.isOverflow()) {
+        break;
+      }
+    }
+  }
+
+  private void drainChars() {
+    mChars.flip();
+    mContent.append(mChars);
+    mChars.clear();
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.instance;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.view.View;
+
+import com.taobao.weex.IWXRenderListener;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.common.WXRenderStrategy;
+import com.taobao.weex.ui.action.BasicGraphicAction;
+import com.taobao.weex.utils.WXLogUtils;
+import com.taobao.weex.utils.WXUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders pages ahead of navigation. A pre-rendered instance downloads its bundle, executes JS and
+ * is laid out with the requested viewport, while the graphic actions it produces are held by the
+ * instance instead of creating views. {@link #attach(String, Context, IWXRenderListener)} replays
+ * them on the UI thread in one go, so the page shows up as soon as the container is ready.
+ *
+ * Instances not attached within their time to live are destroyed. All methods must be called on
+ * the UI thread.
+ */
+public class WXPreRenderManager {
+
+  private static final String TAG = "WXPreRenderManager";
+
+  public static final long DEFAULT_TTL = 30 * 1000;
+
+  /**
+   * Render options carrying the viewport of a pre-rendered page, the core sizes the root with
+   * them as soon as it is created.
+   */
+  public static final String OPTION_PRE_RENDER_WIDTH = "preRenderWidth";
+  public static final String OPTION_PRE_RENDER_HEIGHT = "preRenderHeight";
+
+  private final Map<String, Entry> mEntries = new HashMap<>();
+
+  private static class Entry {
+    final WXSDKInstance instance;
+    boolean failed;
+
+    Entry(WXSDKInstance instance) {
+      this.instance = instance;
+    }
+  }
+
+  /**
+   * Listener of pre-rendered instances until they are attached, only failures matter.
+   */
+  private class PreRenderListener implements IWXRenderListener {
+
+    private final String mUrl;
+
+    PreRenderListener(String url) {
+      mUrl = url;
+    }
+
+    @Override
+    public void onViewCreated(WXSDKInstance instance, View view) {
+    }
+
+    @Override
+    public void onRenderSuccess(WXSDKInstance instance, int width, int height) {
+    }
+
+    @Override
+    public void onRefreshSuccess(WXSDKInstance instance, int width, int height) {
+    }
+
+    @Override
+    public void onException(WXSDKInstance instance, String errCode, String msg) {
+      Entry entry = mEntries.get(mUrl);
+      if (entry != null && entry.instance == instance) {
+        WXLogUtils.w(TAG, "pre-render failed, url " + mUrl + " errCode " + errCode);
+        entry.failed = true;
+      }
+    }
+  }
+
+  /**
+   * Start pre-rendering a page, an earlier pre-render of the same url is discarded.
+   * @param context context the views will be created with, may be replaced when attaching.
+   * @param viewportWidth width in px of the container the page will be attached to.
+   * @param viewportHeight height in px of the container the page will be attached to.
+   * @param ttl time in milliseconds after which the instance is destroyed if not attached.
+   */
+  public WXSDKInstance preRender(@NonNull Context context, @NonNull final String url,
+                                 @Nullable Map<String, Object> options, @Nullable String jsonInitData,
+                                 int viewportWidth, int viewportHeight, long ttl) {
+    discard(url);
+    final WXSDKInstance instance = new WXSDKInstance(context);
+    instance.holdGraphicActions(viewportWidth, viewportHeight);
+    instance.registerRenderListener(new PreRenderListener(url));
+    Runnable expireTask = new Runnable() {
+      @Override
+      public void run() {
+        Entry entry = mEntries.get(url);
+        if (entry != null && entry.instance == instance) {
+          WXLogUtils.d(TAG, "pre-render expired, url " + url);
+          discard(url);
+        }
+      }
+    };
+    Map<String, Object> renderOptions = options == null ? new HashMap<String, Object>()
+                                                        : new HashMap<>(options);
+    if (viewportWidth > 0 && viewportHeight > 0) {
+      renderOptions.put(OPTION_PRE_RENDER_WIDTH, viewportWidth);
+      renderOptions.put(OPTION_PRE_RENDER_HEIGHT, viewportHeight);
+    }
+    mEntries.put(url, new Entry(instance));
+    WXSDKManager.getInstance().getWXRenderManager().postOnUiThread(expireTask, ttl);
+    instance.renderByUrl(url, url, renderOptions, jsonInitData, WXRenderStrategy.APPEND_ASYNC);
+    return instance;
+  }
+
+  public boolean isPreRendered(String url) {
+    Entry entry = mEntries.get(url);
+    return entry != null && !entry.failed && !entry.instance.isDestroy();
+  }
+
+  /**
+   * Attach a pre-rendered page: the held graphic actions are executed right away and the
+   * listener receives {@link IWXRenderListener#onViewCreated(WXSDKInstance, View)} with the
+   * root view as usual. Actions produced later are posted to the UI thread normally.
+   * @param context context of the container, null to keep the one used for pre-rendering.
+   * @return the instance, or null if nothing usable is pre-rendered for url; the caller should
+   * then render the page the regular way.
+   */
+  public @Nullable WXSDKInstance attach(String url, @Nullable Context context, IWXRenderListener listener) {
+    if (!WXUtils.isUiThread()) {
+      WXLogUtils.e(TAG, "attach must be called on the main thread");
+      return null;
+    }
+    if (TextUtils.isEmpty(url) || !isPreRendered(url)) {
+      discard(url);
+      return null;
+    }
+    Entry entry = mEntries.remove(url);
+    WXSDKInstance instance = entry.instance;
+    if (context != null) {
+      instance.setContext(context);
+    }
+    instance.registerRenderListener(listener);
+    List<BasicGraphicAction> actions = instance.releaseHeldGraphicActions();
+    for (int i = 0; i < actions.size(); i++) {
+      actions.get(i).run();
+    }
+    return instance;
+  }
+
+  /**
+   * Destroy the pre-rendered instance of url, if any.
+   */
+  public void discard(String url) {
+    if (url == null) {
+      return;
+    }
+    Entry entry = mEntries.remove(url);
+    if (entry != null) {
+      entry.instance.releaseHeldGraphicActions();
+      entry.instance.destroy();
+    }
+  }
+
+  public void discardAll() {
+    for (String url : new ArrayList<>(mEntries.keySet())) {
+      discard(url);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of non negative values in a fixed amount of memory, recorded without locks.
+ *
+ * Values are counted in log-linear buckets: every power of two range is split into
+ * {@value #SUB_BUCKET_COUNT} buckets, so a percentile is accurate within 12.5%. Values from 2^27
+ * on (above two minutes in microseconds) share the last bucket, 200 buckets in total.
+ */
+public class WXHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 26;
+  private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong mCount = new AtomicLong();
+  private final AtomicLong mSum = new AtomicLong();
+  private final AtomicLong mMax = new AtomicLong();
+
+  public static class Snapshot {
+    public final long count;
+    public final double mean;
+    public final long p50;
+    public final long p95;
+    public final long p99;
+    public final long max;
+
+    Snapshot(long count, double mean, long p50, long p95, long p99, long max) {
+      this.count = count;
+      this.mean = mean;
+      this.p50 = p50;
+      this.p95 = p95;
+      this.p99 = p99;
+      this.max = max;
+    }
+  }
+
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    mBuckets.incrementAndGet(bucketOf(value));
+    mCount.incrementAndGet();
+    mSum.addAndGet(value);
+    long max;
+    while (value > (max = mMax.get()) && !mMax.compareAndSet(max, value)) {
+      // lost the race, retry with the new max
+    }
+  }
+
+  public long getCount() {
+    return mCount.get();
+  }
+
+  /**
+   * @param percentile between 0 and 100.
+   * @return approximate value at the percentile, 0 if nothing is recorded.
+   */
+  public long getPercentile(double percentile) {
+    long count = mCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += mBuckets.get(i);
+      if (seen >= rank) {
+        return Math.min(valueOf(i), mMax.get());
+      }
+    }
+    return mMax.get();
+  }
+
+  /**
+   * Buckets keep being recorded while a snapshot is taken, so its fields may be off by the few
+   * values recorded meanwhile.
+   */
+  public Snapshot snapshot() {
+    long count = mCount.get();
+    return new Snapshot(count, count == 0 ? 0 : (double) mSum.get() / count,
+            getPercentile(50), getPercentile(95), getPercentile(99), mMax.get());
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      mBuckets.set(i, 0);
+    }
+    mCount.set(0);
+    mSum.set(0);
+    mMax.set(0);
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKET_COUNT - 1;
+    }
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >> shift) & (SUB_BUCKET_COUNT - 1));
+  }
+
+  /**
+   * @return middle of the range counted by a bucket.
+   */
+  static long valueOf(int bucket) {
+    if (bucket < SUB_BUCKET_COUNT) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKET_COUNT - 1;
+    long lower = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+    return lower + ((1L << shift) >> 1);
+  }
+}
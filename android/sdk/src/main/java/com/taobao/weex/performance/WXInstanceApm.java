@@ -62,6 +62,10 @@ public class WXInstanceApm {
     /************** stages *****************/
     public static final String KEY_PAGE_STAGES_DOWN_BUNDLE_START = "wxStartDownLoadBundle";
     public static final String KEY_PAGE_STAGES_DOWN_BUNDLE_END = "wxEndDownLoadBundle";
+    //first chunk of a streamed bundle received
+    public static final String KEY_PAGE_STAGES_DOWN_BUNDLE_FIRST_CHUNK = "wxFirstChunkDownLoadBundle";
+    //streamed bundle decoded, right before it is handed to the js engine
+    public static final String KEY_PAGE_STAGES_DECODE_BUNDLE_END = "wxEndDecodeBundle";
     public static final String KEY_PAGE_STAGES_RENDER_ORGIGIN = "wxRenderTimeOrigin";
     public static final String KEY_PAGE_STAGES_LOAD_BUNDLE_START = "wxStartLoadBundle";
     public static final String KEY_PAGE_STAGES_LOAD_BUNDLE_END = "wxEndLoadBundle";
@@ -91,12 +95,15 @@ public class WXInstanceApm {
     public static final String KEY_PAGE_STATS_MAX_COMPONENT_NUM = "wxMaxComponentCount";
     public static final String KEY_PAGE_STATS_WRONG_IMG_SIZE_COUNT = "wxWrongImgSizeCount";
     public static final String KEY_PAGE_STATS_EMBED_COUNT = "wxEmbedCount";
+    public static final String KEY_PAGE_STATS_FLAT_VIEW_SAVED_NUM = "wxFlatViewSavedCount";
+    public static final String KEY_PAGE_STATS_FLAT_PROMOTE_NUM = "wxFlatPromoteCount";
     public static final String KEY_PAGE_STATS_LARGE_IMG_COUNT = "wxLargeImgMaxCount";
     public static final String KEY_PAGE_STATS_BODY_RATIO = "wxBodyRatio";
     public static final String KEY_PAGE_STATS_SCROLLER_NUM = "wxScrollerCount";
     public static final String KEY_PAGE_STATS_CELL_DATA_UN_RECYCLE_NUM = "wxCellDataUnRecycleCount";
     public static final String KEY_PAGE_STATS_CELL_UN_RE_USE_NUM = "wxCellUnReUseCount";
     public static final String KEY_PAGE_STATS_IMG_UN_RECYCLE_NUM = "wxImgUnRecycleCount";
+    public static final String KEY_PAGE_STATS_IMG_AUTO_RELEASE_NUM = "wxImgAutoReleaseCount";
 
     public static final String KEY_PAGE_STATS_I_SCREEN_VIEW_COUNT = "wxInteractionScreenViewCount";
     public static final String KEY_PAGE_STATS_I_ALL_VIEW_COUNT = "wxInteractionAllViewCount";
@@ -120,6 +127,7 @@ public class WXInstanceApm {
     private String mInstanceId;
     private IWXApmMonitorAdapter apmInstance;
     private Map<String, Double> recordStatsMap;
+    private WXMetrics mMetrics;
     public final Map<String, Long> stageMap;
     private boolean isFSEnd;
     private boolean mHasInit = false;
@@ -147,6 +155,7 @@ public class WXInstanceApm {
         if (null != generator) {
             apmInstance = generator.generateApmInstance(WEEX_PAGE_TOPIC);
             recordStatsMap = new ConcurrentHashMap<>();
+            mMetrics = new WXMetrics();
         }
     }
 
@@ -236,6 +245,32 @@ public class WXInstanceApm {
     }
 
 
+    /**
+     * @return false when no apm adapter is installed or the page has ended, callers should then
+     * skip timing and naming the latency.
+     */
+    public boolean isMetricsEnabled() {
+        return null != mMetrics && !mEnd;
+    }
+
+    /**
+     * record a latency in microseconds, into the metrics of this page and the process wide ones
+     */
+    public void recordLatency(String group, String name, long micros) {
+        if (!isMetricsEnabled()) {
+            return;
+        }
+        WXMetrics.global().record(group, name, micros);
+        mMetrics.record(group, name, micros);
+    }
+
+    /**
+     * @return metrics of this page, null if no apm adapter is installed.
+     */
+    public WXMetrics getMetrics() {
+        return mMetrics;
+    }
+
     public boolean hasInit(){
         return mHasInit;
     }
@@ -304,6 +339,7 @@ public class WXInstanceApm {
         }
         mUIHandler.removeCallbacks(jsPerformanceCallBack);
         onStage(KEY_PAGE_STAGES_DESTROY);
+        mMetrics.exportTo(apmInstance);
         apmInstance.onEnd();
         mEnd = true;
     }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.performance;
+
+import com.taobao.weex.WXSDKManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of counters and latency histograms. Recording only touches atomics once a metric
+ * exists; snapshots can be taken from any thread and exported through
+ * {@link IWXApmMonitorAdapter#addStats(String, double)}.
+ *
+ * Latencies are recorded in microseconds and exported in milliseconds, as the other stats.
+ * {@link #global()} covers the whole process, each page has its own registry in
+ * {@link WXInstanceApm} which is exported when the page ends.
+ */
+public class WXMetrics {
+
+  /**
+   * callNative from JS until the module method returns, named by module.method.
+   */
+  public static final String GROUP_CALL_NATIVE = "wxCallNative";
+  /**
+   * Execution of a graphic action on the UI thread, named by action class.
+   */
+  public static final String GROUP_GRAPHIC_ACTION = "wxGraphicAction";
+  /**
+   * From fireEvent on the UI thread until JS has handled the batch carrying the event.
+   */
+  public static final String GROUP_EVENT_ROUND_TRIP = "wxEventRoundTrip";
+  /**
+   * Layout time of a page as reported by the core.
+   */
+  public static final String GROUP_LAYOUT = "wxLayout";
+
+  /**
+   * Names beyond this count share the {@link #NAME_OTHER} histogram of their group, so a
+   * misbehaving caller cannot grow the registry without bound.
+   */
+  private static final int MAX_NAMES_PER_GROUP = 32;
+  static final String NAME_OTHER = "other";
+
+  private static final WXMetrics sGlobal = new WXMetrics();
+
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, WXHistogram>> mHistograms = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, AtomicLong> mCounters = new ConcurrentHashMap<>();
+
+  public static WXMetrics global() {
+    return sGlobal;
+  }
+
+  /**
+   * Nothing reads the metrics without an {@link IApmGenerator}, so recording is skipped then.
+   */
+  public static boolean isEnabled() {
+    return WXSDKManager.getInstance().getApmGenerater() != null;
+  }
+
+  public WXHistogram histogram(String group, String name) {
+    ConcurrentHashMap<String, WXHistogram> histograms = mHistograms.get(group);
+    if (histograms == null) {
+      ConcurrentHashMap<String, WXHistogram> created = new ConcurrentHashMap<>();
+      histograms = mHistograms.putIfAbsent(group, created);
+      if (histograms == null) {
+        histograms = created;
+      }
+    }
+    WXHistogram histogram = histograms.get(name);
+    if (histogram == null) {
+      if (histograms.size() >= MAX_NAMES_PER_GROUP) {
+        name = NAME_OTHER;
+        histogram = histograms.get(NAME_OTHER);
+        if (histogram != null) {
+          return histogram;
+        }
+      }
+      WXHistogram created = new WXHistogram();
+      histogram = histograms.putIfAbsent(name, created);
+      if (histogram == null) {
+        histogram = created;
+      }
+    }
+    return histogram;
+  }
+
+  public void record(String group, String name, long micros) {
+    histogram(group, name).record(micros);
+  }
+
+  public void increment(String counter) {
+    add(counter, 1);
+  }
+
+  public void add(String counter, long delta) {
+    AtomicLong value = mCounters.get(counter);
+    if (value == null) {
+      AtomicLong created = new AtomicLong();
+      value = mCounters.putIfAbsent(counter, created);
+      if (value == null) {
+        value = created;
+      }
+    }
+    value.addAndGet(delta);
+  }
+
+  public long getCounter(String counter) {
+    AtomicLong value = mCounters.get(counter);
+    return value == null ? 0 : value.get();
+  }
+
+  /**
+   * @return snapshots of every histogram, keyed by group.name.
+   */
+  public Map<String, WXHistogram.Snapshot> snapshot() {
+    Map<String, WXHistogram.Snapshot> snapshots = new HashMap<>();
+    for (Map.Entry<String, ConcurrentHashMap<String, WXHistogram>> group : mHistograms.entrySet()) {
+      for (Map.Entry<String, WXHistogram> entry : group.getValue().entrySet()) {
+        if (entry.getValue().getCount() > 0) {
+          snapshots.put(group.getKey() + '.' + entry.getKey(), entry.getValue().snapshot());
+        }
+      }
+    }
+    return snapshots;
+  }
+
+  /**
+   * Report every counter, and count, mean, p50, p95, p99 and max of every histogram as
+   * <code>group.name.p95</code> style stats.
+   */
+  public void exportTo(IWXApmMonitorAdapter adapter) {
+    if (adapter == null) {
+      return;
+    }
+    for (Map.Entry<String, WXHistogram.Snapshot> entry : snapshot().entrySet()) {
+      String key = entry.getKey();
+      WXHistogram.Snapshot snapshot = entry.getValue();
+      adapter.addStats(key + ".count", snapshot.count);
+      adapter.addStats(key + ".mean", snapshot.mean / 1000);
+      adapter.addStats(key + ".p50", snapshot.p50 / 1000d);
+      adapter.addStats(key + ".p95", snapshot.p95 / 1000d);
+      adapter.addStats(key + ".p99", snapshot.p99 / 1000d);
+      adapter.addStats(key + ".max", snapshot.max / 1000d);
+    }
+    for (Map.Entry<String, AtomicLong> entry : mCounters.entrySet()) {
+      adapter.addStats(entry.getKey(), entry.getValue().get());
+    }
+  }
+
+  public void reset() {
+    mHistograms.clear();
+    mCounters.clear();
+  }
+}
@@ -144,6 +144,11 @@ public class WXRenderManager {
       return;
     }
 
+    WXSDKInstance instance = renderContext.getWXSDKInstance();
+    if (instance != null && instance.holdGraphicAction(action)) {
+      return;
+    }
+
     if (action.mActionType == BasicGraphicAction.ActionTypeBatchEnd) {
         postAllStashedGraphicAction(instanceId,action);
         return;
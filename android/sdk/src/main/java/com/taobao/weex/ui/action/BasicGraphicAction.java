@@ -22,8 +22,13 @@ import android.text.TextUtils;
 import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.performance.WXMetrics;
 import com.taobao.weex.utils.WXLogUtils;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public abstract class BasicGraphicAction implements IExecutable, Runnable {
 
   private WXSDKInstance mInstance;
@@ -33,6 +38,11 @@ public abstract class BasicGraphicAction implements IExecutable, Runnable {
   public static final int ActionTypeBatchEnd = 2;
   public static final int ActionTypeNormal = 0;
 
+  /**
+   * metric names by action class, getSimpleName is not cached on older runtimes
+   */
+  private static final Map<Class, String> sMetricNames = new ConcurrentHashMap<>();
+
 
   public BasicGraphicAction(WXSDKInstance instance, String ref) {
     this.mInstance = instance;
@@ -65,7 +75,14 @@ public abstract class BasicGraphicAction implements IExecutable, Runnable {
   @Override
   public void run() {
     try {
+      WXInstanceApm apm = mInstance.getApmForInstance();
+      if (!apm.isMetricsEnabled()) {
+        executeAction();
+        return;
+      }
+      long start = System.nanoTime();
       executeAction();
+      apm.recordLatency(WXMetrics.GROUP_GRAPHIC_ACTION, getMetricName(), (System.nanoTime() - start) / 1000);
     } catch (Throwable e) {
       //catch everything may throw from exection.
       if (WXEnvironment.isApkDebugable()) {
@@ -76,4 +93,13 @@ public abstract class BasicGraphicAction implements IExecutable, Runnable {
       WXLogUtils.w("BasicGraphicAction", e);
     }
   }
+
+  private String getMetricName() {
+    String name = sMetricNames.get(getClass());
+    if (name == null) {
+      name = getClass().getSimpleName();
+      sMetricNames.put(getClass(), name);
+    }
+    return name;
+  }
 }
@@ -143,6 +143,9 @@ public class GraphicActionAnimation extends BasicGraphicAction {
       if (mAnimationBean != null) {
         component.setNeedLayoutOnAnimation(mAnimationBean.needLayout);
       }
+      if (component.getHostView() == null) {
+        component.promoteFlatWidget();
+      }
       if (component.getHostView() == null) {
         WXAnimationModule.AnimationHolder holder = new WXAnimationModule.AnimationHolder(mAnimationBean, callback);
         component.postAnimation(holder);
@@ -32,10 +32,14 @@ public class GraphicActionBatchAction extends BasicGraphicAction {
         this.mActions = new ArrayList<>(mActions);
     }
 
+    /**
+     * Each action runs on its own, so one that throws does not drop the rest and its latency is
+     * recorded like when it is posted alone.
+     */
     @Override
     public void executeAction() {
         for (int i = 0;i < mActions.size();i ++) {
-            mActions.get(i).executeAction();
+            mActions.get(i).run();
         }
     }
 }
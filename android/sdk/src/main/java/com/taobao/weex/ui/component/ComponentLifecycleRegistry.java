@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.content.Intent;
+import android.support.annotation.RestrictTo;
+import android.support.annotation.RestrictTo.Scope;
+import android.view.Menu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Components of an instance which override an Activity life cycle callback of
+ * {@link WXComponent}, kept as one flat list per callback. The instance dispatches a callback to
+ * its subscribers only, rather than walking the whole component tree.
+ *
+ * A component subscribes to the callbacks its class overrides when its view is created on the
+ * main thread, and unsubscribes when destroyed; the overrides of a class are looked up once.
+ * Views created on a background thread are subscribed by {@link #registerTree(WXComponent)} once
+ * they are attached on the main thread.
+ */
+@RestrictTo(Scope.LIBRARY)
+public class ComponentLifecycleRegistry {
+
+  private static final int CREATE = 0;
+  private static final int START = 1;
+  private static final int PAUSE = 2;
+  private static final int RESUME = 3;
+  private static final int STOP = 4;
+  private static final int DESTROY = 5;
+  private static final int BACK = 6;
+  private static final int RESULT = 7;
+  private static final int CREATE_OPTIONS_MENU = 8;
+  private static final int REQUEST_PERMISSIONS_RESULT = 9;
+
+  private static final String[] METHOD_NAMES = {
+          "onActivityCreate",
+          "onActivityStart",
+          "onActivityPause",
+          "onActivityResume",
+          "onActivityStop",
+          "onActivityDestroy",
+          "onActivityBack",
+          "onActivityResult",
+          "onCreateOptionsMenu",
+          "onRequestPermissionsResult"
+  };
+
+  private static final Class<?>[][] METHOD_PARAMETER_TYPES = {
+          {},
+          {},
+          {},
+          {},
+          {},
+          {},
+          {},
+          {int.class, int.class, Intent.class},
+          {Menu.class},
+          {int.class, String[].class, int[].class}
+  };
+
+  private static final ConcurrentHashMap<Class<?>, Integer> sSubscribedEvents = new ConcurrentHashMap<>();
+
+  private final List<CopyOnWriteArrayList<WXComponent>> mSubscribers = new ArrayList<>(METHOD_NAMES.length);
+
+  public ComponentLifecycleRegistry() {
+    for (int i = 0; i < METHOD_NAMES.length; i++) {
+      mSubscribers.add(new CopyOnWriteArrayList<WXComponent>());
+    }
+  }
+
+  /**
+   * Subscribe the component, again for a view created again is a no-op.
+   */
+  void register(WXComponent component) {
+    int events = getSubscribedEvents(component.getClass());
+    for (int i = 0; events != 0; i++, events >>>= 1) {
+      if ((events & 1) != 0) {
+        mSubscribers.get(i).addIfAbsent(component);
+      }
+    }
+  }
+
+  /**
+   * Subscribe the component and its descendants whose views were created off the main thread,
+   * lazy ones subscribe when their view is created. Must be called on the main thread.
+   */
+  public void registerTree(WXComponent component) {
+    if (component.isDestoryed() || component.isLazy()) {
+      return;
+    }
+    register(component);
+    if (component instanceof WXVContainer) {
+      WXVContainer container = (WXVContainer) component;
+      for (int i = 0; i < container.getChildCount(); i++) {
+        registerTree(container.getChild(i));
+      }
+    }
+  }
+
+  void unregister(WXComponent component) {
+    int events = getSubscribedEvents(component.getClass());
+    for (int i = 0; events != 0; i++, events >>>= 1) {
+      if ((events & 1) != 0) {
+        mSubscribers.get(i).remove(component);
+      }
+    }
+  }
+
+  public void clear() {
+    for (List<WXComponent> subscribers : mSubscribers) {
+      subscribers.clear();
+    }
+  }
+
+  public void onActivityCreate() {
+    for (WXComponent component : mSubscribers.get(CREATE)) {
+      if (!component.isDestoryed()) {
+        component.onActivityCreate();
+      }
+    }
+  }
+
+  public void onActivityStart() {
+    for (WXComponent component : mSubscribers.get(START)) {
+      if (!component.isDestoryed()) {
+        component.onActivityStart();
+      }
+    }
+  }
+
+  public void onActivityPause() {
+    for (WXComponent component : mSubscribers.get(PAUSE)) {
+      if (!component.isDestoryed()) {
+        component.onActivityPause();
+      }
+    }
+  }
+
+  public void onActivityResume() {
+    for (WXComponent component : mSubscribers.get(RESUME)) {
+      if (!component.isDestoryed()) {
+        component.onActivityResume();
+      }
+    }
+  }
+
+  public void onActivityStop() {
+    for (WXComponent component : mSubscribers.get(STOP)) {
+      if (!component.isDestoryed()) {
+        component.onActivityStop();
+      }
+    }
+  }
+
+  public void onActivityDestroy() {
+    for (WXComponent component : mSubscribers.get(DESTROY)) {
+      if (!component.isDestoryed()) {
+        component.onActivityDestroy();
+      }
+    }
+  }
+
+  /**
+   * @param root root component of the instance
+   * @return the result of the root component, as the tree walk used to return
+   */
+  public boolean onActivityBack(WXComponent root) {
+    boolean result = false;
+    for (WXComponent component : mSubscribers.get(BACK)) {
+      if (!component.isDestoryed()) {
+        boolean handled = component.onActivityBack();
+        if (component == root) {
+          result = handled;
+        }
+      }
+    }
+    return result;
+  }
+
+  public void onActivityResult(int requestCode, int resultCode, Intent data) {
+    for (WXComponent component : mSubscribers.get(RESULT)) {
+      if (!component.isDestoryed()) {
+        component.onActivityResult(requestCode, resultCode, data);
+      }
+    }
+  }
+
+  public void onCreateOptionsMenu(Menu menu) {
+    for (WXComponent component : mSubscribers.get(CREATE_OPTIONS_MENU)) {
+      if (!component.isDestoryed()) {
+        component.onCreateOptionsMenu(menu);
+      }
+    }
+  }
+
+  public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
+    for (WXComponent component : mSubscribers.get(REQUEST_PERMISSIONS_RESULT)) {
+      if (!component.isDestoryed()) {
+        component.onRequestPermissionsResult(requestCode, permissions, grantResults);
+      }
+    }
+  }
+
+  /**
+   * @return bit mask of the callbacks overridden by the class
+   */
+  static int getSubscribedEvents(Class<?> clazz) {
+    Integer events = sSubscribedEvents.get(clazz);
+    if (events == null) {
+      int mask = 0;
+      for (int i = 0; i < METHOD_NAMES.length; i++) {
+        try {
+          if (clazz.getMethod(METHOD_NAMES[i], METHOD_PARAMETER_TYPES[i]).getDeclaringClass() != WXComponent.class) {
+            mask |= 1 << i;
+          }
+        } catch (NoSuchMethodException e) {
+          // not a component class
+        }
+      }
+      events = mask;
+      sSubscribedEvents.put(clazz, events);
+    }
+    return events;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.support.annotation.Nullable;
+
+import com.taobao.weex.bridge.Invoker;
+import com.taobao.weex.ui.IFComponentHolder;
+import com.taobao.weex.utils.WXLogUtils;
+import com.taobao.weex.utils.WXReflectionUtils;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of the {@link com.taobao.weex.annotation.Component} property setters of one component
+ * class. A property name is resolved to its setter, or to none, once per class instead of on
+ * every update, and the parameter type of the setter is checked once.
+ */
+final class PropertySetterTable {
+
+  private static final String TAG = "PropertySetterTable";
+
+  private static final ConcurrentHashMap<Class<?>, PropertySetterTable> sTables = new ConcurrentHashMap<>();
+
+  private static final Setter NONE = new Setter(null, null);
+
+  private final ConcurrentHashMap<String, Setter> mSetters = new ConcurrentHashMap<>();
+
+  static final class Setter {
+    private final Invoker mInvoker;
+    private final Type mType;
+
+    Setter(Invoker invoker, Type type) {
+      mInvoker = invoker;
+      mType = type;
+    }
+
+    void apply(WXComponent component, Object param) {
+      try {
+        Object value = param;
+        if (param == null || !(mType instanceof Class) || !((Class<?>) mType).isInstance(param)) {
+          value = WXReflectionUtils.parseArgument(mType, param);
+        }
+        mInvoker.invoke(component, value);
+      } catch (Exception e) {
+        WXLogUtils.e("[WXComponent] updateProperties :" + "class:" + component.getClass() + "method:" + mInvoker.toString() + " function " + WXLogUtils.getStackTrace(e));
+      }
+    }
+  }
+
+  static PropertySetterTable of(Class<?> clazz) {
+    PropertySetterTable table = sTables.get(clazz);
+    if (table == null) {
+      table = new PropertySetterTable();
+      PropertySetterTable old = sTables.putIfAbsent(clazz, table);
+      if (old != null) {
+        table = old;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * @return setter of the property, or null if the component has none
+   */
+  @Nullable Setter get(String key, IFComponentHolder holder) {
+    Setter setter = mSetters.get(key);
+    if (setter == null) {
+      setter = resolve(key, holder);
+      mSetters.put(key, setter);
+    }
+    return setter == NONE ? null : setter;
+  }
+
+  private static Setter resolve(String key, IFComponentHolder holder) {
+    Invoker invoker = holder.getPropertyInvoker(key);
+    if (invoker == null) {
+      return NONE;
+    }
+    Type[] paramClazzs = invoker.getParameterTypes();
+    if (paramClazzs.length != 1) {
+      WXLogUtils.e(TAG, "[WXComponent] setX method only one parameter：" + invoker);
+      return NONE;
+    }
+    return new Setter(invoker, paramClazzs[0]);
+  }
+}
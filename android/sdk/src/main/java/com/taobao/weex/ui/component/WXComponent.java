@@ -41,6 +41,7 @@ import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
+import android.support.v4.util.ArrayMap;
 import android.support.v4.view.AccessibilityDelegateCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
@@ -73,6 +74,7 @@ import com.taobao.weex.dom.CSSShorthand.CORNER;
 import com.taobao.weex.dom.WXEvent;
 import com.taobao.weex.dom.WXStyle;
 import com.taobao.weex.dom.transition.WXTransition;
+import com.taobao.weex.el.parse.Expression;
 import com.taobao.weex.layout.ContentBoxMeasurement;
 import com.taobao.weex.performance.WXInstanceApm;
 import com.taobao.weex.tracing.Stopwatch;
@@ -106,7 +108,6 @@ import com.taobao.weex.utils.BoxShadowUtil;
 import com.taobao.weex.utils.WXDataStructureUtil;
 import com.taobao.weex.utils.WXExceptionUtils;
 import com.taobao.weex.utils.WXLogUtils;
-import com.taobao.weex.utils.WXReflectionUtils;
 import com.taobao.weex.utils.WXResourceUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
@@ -115,8 +116,8 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -138,6 +139,22 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
   public static final String TYPE = "type";
   public static final String ROOT = "_root";
 
+  /**
+   * Properties never skipped by {@link #updateProperties(Map)}, the view or animations may change
+   * their state without going through it.
+   */
+  private static final Set<String> NON_DIFFABLE_PROPERTIES = new HashSet<>(Arrays.asList(
+          Constants.Name.VALUE,
+          Constants.Name.CHECKED,
+          Constants.Name.INDEX,
+          Constants.Name.PLAY_STATUS,
+          Constants.Name.DISPLAY,
+          Constants.Name.OPACITY,
+          Constants.Name.TRANSFORM,
+          Constants.Name.TRANSFORM_ORIGIN,
+          Constants.Name.BACKGROUND_COLOR,
+          Constants.Name.VISIBILITY));
+
   private int mFixedProp = 0;
   /** package **/ T mHost;
 
@@ -159,6 +176,8 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
   private int mPreRealRight = 0;
   private int mPreRealTop = 0;
   private int mStickyOffset = 0;
+  private Map<Expression, Object[]> mBindingInputs;
+  private Map<String, Object> mAppliedProperties;
   protected WXGesture mGesture;
   private IFComponentHolder mHolder;
   private boolean isUsing = false;
@@ -321,12 +340,36 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
     setActiveTouchListener();
   }
 
+  /**
+   * Gesture of the real view, created and registered on first use.
+   *
+   * @return the gesture, or null if the view is not created yet or is not a {@link WXGestureObservable}.
+   */
+  public WXGesture getOrCreateGesture() {
+    View view = getRealView();
+    if (!(view instanceof WXGestureObservable)) {
+      return null;
+    }
+    if (mGesture == null) {
+      mGesture = new WXGesture(this, mContext);
+      boolean isPreventMove = WXUtils.getBoolean(getAttrs().get(Constants.Name.PREVENT_MOVE_EVENT), false);
+      mGesture.setPreventMoveEvent(isPreventMove);
+      mGesture.setHistorySampleCount(WXUtils.getInt(getAttrs().get(Constants.Name.TOUCH_HISTORY_SAMPLES)));
+    }
+    ((WXGestureObservable) view).registerGestureListener(mGesture);
+    return mGesture;
+  }
+
   /**
    * Do not use this method to add event, this only apply event already add to DomObject.
    *
    * @param type
    */
   public void addEvent(final String type) {
+    if (mHost == null && promoteFlatWidget()) {
+      // events are applied to the new view by the promotion
+      return;
+    }
     if (mAppendEvents == null) {
       mAppendEvents = new HashSet<>();
     }
@@ -364,17 +407,11 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
         // wait next time to add.
         return;
       }
-      if (view instanceof WXGestureObservable) {
-        if (mGesture == null) {
-          mGesture = new WXGesture(this, mContext);
-          boolean isPreventMove = WXUtils.getBoolean(getAttrs().get(Constants.Name.PREVENT_MOVE_EVENT), false);
-          mGesture.setPreventMoveEvent(isPreventMove);
-        }
+      if (getOrCreateGesture() != null) {
         if (mGestureType == null) {
           mGestureType = new HashSet<>();
         }
         mGestureType.add(type);
-        ((WXGestureObservable)view).registerGestureListener(mGesture);
       } else {
         WXLogUtils.e(view.getClass().getSimpleName() + " don't implement " +
             "WXGestureObservable, so no gesture is supported.");
@@ -436,12 +473,25 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
     this.mAnimationHolder = holder;
   }
 
-  //This method will be removed once flatGUI is completed.
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public boolean isFlatUIEnabled() {
     return mParent != null && mParent.isFlatUIEnabled();
   }
 
+  /**
+   * Give a component drawn as a widget of a flat cell a real view, e.g. before an animation
+   * runs on it.
+   * @return true if the component has been promoted.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public boolean promoteFlatWidget() {
+    if (mHost != null || getInstance() == null || getInstance().isDestroy()) {
+      return false;
+    }
+    FlatGUIContext flatUIContext = getInstance().getFlatUIContext();
+    return flatUIContext != null && flatUIContext.promote(this);
+  }
+
   private class OnClickListenerImp implements OnClickListener{
     @Override
     public void onHostViewClick() {
@@ -692,20 +742,33 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
 
   @Deprecated
   public void updateProperties(Map<String, Object> props) {
-    if (props == null || (mHost == null && !isVirtualComponent())) {
+    if (props == null) {
+      return;
+    }
+    // a flattened component has no host, give it one before the props which need it are dropped
+    if (mHost == null && FlatGUIContext.requireView(props)) {
+      promoteFlatWidget();
+    }
+    if (mHost == null && !isVirtualComponent()) {
+      updateFlatWidget(props);
       return;
     }
 
+    PropertySetterTable setters = null;
     for (Map.Entry<String, Object> entry : props.entrySet()) {
       String key = entry.getKey();
       Object param = entry.getValue();
-      String value = WXUtils.getString(param, null);
 
       if (key == null) {
         WXExceptionUtils.commitCriticalExceptionRT(getInstanceId(),
                 WXErrorCode.WX_RENDER_ERR_NULL_KEY, "updateProperties",
                 WXErrorCode.WX_RENDER_ERR_NULL_KEY.getErrorMsg(), null);
       } else {
+        if (isPropertyApplied(key, param)) {
+          continue;
+        }
+        Object raw = param;
+        String value = WXUtils.getString(param, null);
         if (TextUtils.isEmpty(value)) {
           param = convertEmptyProperty(key, value);
         }
@@ -713,21 +776,15 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
           if (mHolder == null) {
             return;
           }
-          Invoker invoker = mHolder.getPropertyInvoker(key);
-          if (invoker != null) {
-            try {
-              Type[] paramClazzs = invoker.getParameterTypes();
-              if (paramClazzs.length != 1) {
-                WXLogUtils.e("[WXComponent] setX method only one parameter：" + invoker);
-                return;
-              }
-              param = WXReflectionUtils.parseArgument(paramClazzs[0], param);
-              invoker.invoke(this, param);
-            } catch (Exception e) {
-              WXLogUtils.e("[WXComponent] updateProperties :" + "class:" + getClass() + "method:" + invoker.toString() + " function " + WXLogUtils.getStackTrace(e));
-            }
+          if (setters == null) {
+            setters = PropertySetterTable.of(getClass());
+          }
+          PropertySetterTable.Setter setter = setters.get(key, mHolder);
+          if (setter != null) {
+            setter.apply(this, param);
           }
         }
+        recordAppliedProperty(key, raw);
       }
     }
     readyToRender();
@@ -740,6 +797,73 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
     }
   }
 
+  /**
+   * A flattened component has no host view, its background and border are drawn by its widget.
+   */
+  private void updateFlatWidget(Map<String, Object> props) {
+    FlatGUIContext flatUIContext = getInstance() == null ? null : getInstance().getFlatUIContext();
+    if (!(this instanceof FlatComponent) || flatUIContext == null || !flatUIContext.isFlattened(this)) {
+      return;
+    }
+    boolean updated = false;
+    for (Map.Entry<String, Object> entry : props.entrySet()) {
+      String key = entry.getKey();
+      if (Constants.Name.BACKGROUND_COLOR.equals(key) || (key != null && key.startsWith("border"))) {
+        setProperty(key, entry.getValue());
+        updated = true;
+      }
+    }
+    if (updated && mBackgroundDrawable != null) {
+      ((FlatComponent) this).getOrCreateFlatWidget().setBackgroundAndBorder(mBackgroundDrawable);
+    }
+  }
+
+  /**
+   * Whether the same value was already applied to the current host view, only immutable values
+   * are compared and properties whose state the view may change itself are never skipped.
+   */
+  private boolean isPropertyApplied(String key, Object param) {
+    if (mAppliedProperties == null || !isDiffable(param) || !isDiffableProperty(key)) {
+      return false;
+    }
+    Object applied = mAppliedProperties.get(key);
+    return applied != null && applied.equals(param);
+  }
+
+  private void recordAppliedProperty(String key, Object param) {
+    if (isDiffable(param) && isDiffableProperty(key)) {
+      if (mAppliedProperties == null) {
+        mAppliedProperties = new ArrayMap<>();
+      }
+      mAppliedProperties.put(key, param);
+    } else if (mAppliedProperties != null) {
+      mAppliedProperties.remove(key);
+    }
+  }
+
+  /**
+   * Whether setting key again to the value already applied can be skipped. Override it for
+   * properties whose setter has an effect even with an unchanged value, such as reloading.
+   */
+  protected boolean isDiffableProperty(String key) {
+    return !NON_DIFFABLE_PROPERTIES.contains(key);
+  }
+
+  private static boolean isDiffable(Object param) {
+    return param instanceof String || param instanceof Number || param instanceof Boolean;
+  }
+
+  /**
+   * Forget the values applied to the host view, so the next update applies every property again.
+   * Call it whenever the host view is recreated or its state is reset outside of
+   * {@link #updateProperties(Map)}.
+   */
+  protected void clearAppliedProperties() {
+    if (mAppliedProperties != null) {
+      mAppliedProperties.clear();
+    }
+  }
+
   /**
    * Apply styles and attributes.
    *
@@ -757,6 +881,11 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
           mGesture.setPreventMoveEvent(WXUtils.getBoolean(param, false));
         }
         return true;
+      case Constants.Name.TOUCH_HISTORY_SAMPLES:
+        if (mGesture != null) {
+          mGesture.setHistorySampleCount(WXUtils.getInt(param));
+        }
+        return true;
       case Constants.Name.DISABLED:
         Boolean disabled = WXUtils.getBoolean(param, null);
         if (disabled != null) {
@@ -974,6 +1103,10 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
     mAbsoluteX = (int) (nullParent ? 0 : mParent.getAbsoluteX() + getCSSLayoutLeft());
 
     if (mHost == null) {
+      FlatGUIContext flatUIContext = mInstance.getFlatUIContext();
+      if (flatUIContext != null && flatUIContext.isFlattened(this)) {
+        setComponentLayoutParams(realWidth, realHeight, realLeft, realTop, realRight, realBottom, rawOffset);
+      }
       return;
     }
 
@@ -1418,6 +1551,7 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
 
   protected void createViewImpl() {
     if (mContext != null) {
+      clearAppliedProperties();
       mHost = initComponentHostView(mContext);
       if (mHost == null && !isVirtualComponent()) {
         //compatible
@@ -1434,6 +1568,12 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
           observer.onViewCreated(this, mHost);
         }
       }
+      ComponentLifecycleRegistry lifecycleRegistry;
+      //views built off the main thread are subscribed once attached, see ComponentLifecycleRegistry#registerTree
+      if (!mIsDestroyed && WXUtils.isUiThread()
+              && (lifecycleRegistry = getInstance().getLifecycleRegistry()) != null) {
+        lifecycleRegistry.register(this);
+      }
       onHostViewInitialized(mHost);
     } else {
       WXLogUtils.e("createViewImpl", "Context is null");
@@ -1870,6 +2010,7 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
    *  end hook Activity life cycle callback
    ********************************************************/
   public void recycled() {
+    clearAppliedProperties();
     if (isFixed())
       return;
     clearBoxShadow();
@@ -1900,6 +2041,10 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
       contentBoxMeasurement = null;
     }
     mIsDestroyed = true;
+    ComponentLifecycleRegistry lifecycleRegistry;
+    if ((lifecycleRegistry = getInstance().getLifecycleRegistry()) != null) {
+      lifecycleRegistry.unregister(this);
+    }
     if(animations!=null) {
       animations.clear();
     }
@@ -2216,6 +2361,17 @@ public abstract class WXComponent<T extends View> extends WXBasicComponent imple
     return waste;
   }
 
+  /**
+   * inputs of the binding expressions last rendered into this node, keyed by expression,
+   * used to skip bindings whose inputs did not change.
+   * */
+  public Map<Expression, Object[]> getBindingInputs() {
+    if (mBindingInputs == null) {
+      mBindingInputs = new HashMap<>();
+    }
+    return mBindingInputs;
+  }
+
   /**
    * mark node waste,
    * if node is waster should hidden, and dom tree should allow not show
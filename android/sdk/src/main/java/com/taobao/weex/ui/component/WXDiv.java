@@ -114,6 +114,12 @@ public class WXDiv extends WidgetContainer<WXFrameLayout> implements FlatCompone
     }
   }
 
+  @Override
+  protected void resetFlatGUI() {
+    super.resetFlatGUI();
+    mWidgetGroup = null;
+  }
+
   @Override
   public boolean intendToBeFlatContainer() {
     return getInstance().getFlatUIContext().isFlatUIEnabled(this) && WXDiv.class.equals(getClass());
@@ -45,6 +45,7 @@ import com.taobao.weex.utils.WXViewUtils;
 
 import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -65,6 +66,10 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
 
   private String src;
   protected WXSDKInstance mNestedInstance;
+  /**
+   * url the nested instance was rendered from, key of it in {@link WXEmbedPool}
+   */
+  private String mNestedUrl;
   private static int ERROR_IMG_WIDTH = (int) WXViewUtils.getRealPxByWidth(270,750);
   private static int ERROR_IMG_HEIGHT = (int) WXViewUtils.getRealPxByWidth(260,750);
 
@@ -227,6 +232,14 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
     return getHostView();
   }
 
+  /**
+   * Setting src again renders the nested instance again, even with the same url.
+   */
+  @Override
+  protected boolean isDiffableProperty(String key) {
+    return !Constants.Name.SRC.equals(key) && super.isDiffableProperty(key);
+  }
+
   @Override
   protected boolean setProperty(String key, Object param) {
     switch (key) {
@@ -285,10 +298,7 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
   public void setSrc(String src) {
     originUrl=src;
     this.src = src;
-    if (mNestedInstance != null) {
-      mNestedInstance.destroy();
-      mNestedInstance = null;
-    }
+    releaseNestedInstance();
     if (mIsVisible && !TextUtils.isEmpty(this.src)) {
       loadContent();
     }
@@ -310,9 +320,7 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
    * Load embed content, default behavior is create a nested instance.
    */
   protected void loadContent(){
-    if(mNestedInstance != null){
-      mNestedInstance.destroy();
-    }
+    releaseNestedInstance();
     mNestedInstance = createInstance();
     if(mListener != null && mListener.mEventListener != null){
       if(!mListener.mEventListener.onPreCreate(this,src)){
@@ -337,6 +345,10 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
   }
 
   private WXSDKInstance createInstance() {
+    WXSDKInstance pooledInstance = acquirePooledInstance();
+    if (pooledInstance != null) {
+      return pooledInstance;
+    }
     WXSDKInstance sdkInstance = getInstance().createNestedInstance(this);
     sdkInstance.setParentInstance(getInstance());
     boolean needsAdd = !getAttrs().containsKey("disableInstanceVisibleListener");
@@ -366,6 +378,7 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
     }
     sdkInstance.setContainerInfo(WXInstanceApm.KEY_PAGE_PROPERTIES_INSTANCE_TYPE,"embed");
     sdkInstance.setContainerInfo(WXInstanceApm.KEY_PAGE_PROPERTIES_PARENT_PAGE,getInstance().getWXPerformance().pageName);
+    mNestedUrl = url;
     sdkInstance.renderByUrl(url,
             url,
             null, null,
@@ -374,6 +387,66 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
     return sdkInstance;
   }
 
+  /**
+   * Reuse an instance rendered from the same url, which is parked in the {@link WXEmbedPool}
+   * of the parent instance, without downloading and rendering the bundle again.
+   */
+  private WXSDKInstance acquirePooledInstance() {
+    WXEmbedPool pool = getInstance().getEmbedPool();
+    if (!pool.isEnabled()) {
+      return null;
+    }
+    String url = src;
+    if (mListener != null && mListener.mEventListener != null) {
+      url = mListener.mEventListener.transformUrl(src);
+    }
+    WXSDKInstance sdkInstance = pool.acquire(url);
+    if (sdkInstance == null) {
+      return null;
+    }
+    if (!getAttrs().containsKey("disableInstanceVisibleListener")) {
+      getInstance().addOnInstanceVisibleListener(this);
+    }
+    sdkInstance.registerRenderListener(mListener);
+    mInstanceOnScrollFireEventInterceptor.resetFirstLaterScroller();
+    sdkInstance.addInstanceOnFireEventInterceptor(mInstanceOnScrollFireEventInterceptor);
+    sdkInstance.registerOnWXScrollListener(mInstanceOnScrollFireEventInterceptor);
+    mNestedUrl = url;
+
+    View view = sdkInstance.getContainerView();
+    if (view != null) {
+      FrameLayout hostView = getHostView();
+      hostView.removeAllViews();
+      hostView.addView(view);
+    }
+    if (mIsVisible) {
+      sdkInstance.onViewAppear();
+    }
+    return sdkInstance;
+  }
+
+  /**
+   * Detach the nested instance from this embed and hand it to the {@link WXEmbedPool}, which
+   * destroys it when pooling is disabled.
+   */
+  private void releaseNestedInstance() {
+    if (mNestedInstance == null) {
+      return;
+    }
+    WXSDKInstance sdkInstance = mNestedInstance;
+    mNestedInstance = null;
+    sdkInstance.getInstanceOnFireEventInterceptorList().remove(mInstanceOnScrollFireEventInterceptor);
+    List<OnWXScrollListener> scrollListeners = sdkInstance.getWXScrollListeners();
+    if (scrollListeners != null) {
+      scrollListeners.remove(mInstanceOnScrollFireEventInterceptor);
+    }
+    if (mIsVisible && !sdkInstance.isDestroy()) {
+      sdkInstance.onViewDisappear();
+    }
+    getInstance().getEmbedPool().release(mNestedUrl, sdkInstance);
+    mNestedUrl = null;
+  }
+
   @Override
   public void setVisibility(String visibility) {
     super.setVisibility(visibility);
@@ -524,10 +597,7 @@ public class WXEmbed extends WXDiv implements WXSDKInstance.OnInstanceVisibleLis
     if(getInstance().hiddenEmbeds != null && getInstance().hiddenEmbeds.contains(this)){
       getInstance().hiddenEmbeds.remove(this);
     }
-    if (mNestedInstance != null) {
-      mNestedInstance.destroy();
-      mNestedInstance = null;
-    }
+    releaseNestedInstance();
     if(WXEnvironment.isApkDebugable()){
       WXLogUtils.w("WXEmbed destoryNestInstance priority " + priority + " index " + getAttrs().get("index")
               + "  " + hiddenTime  + " embeds size " + (getInstance().hiddenEmbeds == null ?  0 : getInstance().hiddenEmbeds.size())
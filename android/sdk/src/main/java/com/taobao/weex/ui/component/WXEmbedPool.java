@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.taobao.weex.IWXRenderListener;
+import com.taobao.weex.WXEnvironment;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.common.WXRenderStrategy;
+import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps rendered nested instances of {@link WXEmbed} alive after the embed hides them, keyed by
+ * the url they were rendered from, so an embed showing the same url again (tab switch, reappear
+ * after {@link WXEmbed} memory strategy) attaches the existing view instead of downloading and
+ * rendering the bundle again.
+ *
+ * One pool belongs to one parent instance, see {@link WXSDKInstance#getEmbedPool()}. The pool is
+ * disabled until {@link #setMaxSize(int)} is called with a positive value; eviction is least
+ * recently used first and is driven both by entry count and by the estimated memory of the parked
+ * instances.
+ */
+public class WXEmbedPool {
+
+  private static final String TAG = "WXEmbedPool";
+
+  /**
+   * Bytes per pixel of an ARGB_8888 bitmap, see {@link #estimateMemory(WXSDKInstance)}.
+   */
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final WXSDKInstance mParent;
+  private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(8, 0.75f, true);
+
+  private int mMaxSize = 0;
+  private long mMaxMemoryBytes = -1;
+  private long mUsedMemoryBytes = 0;
+
+  private int mHitCount;
+  private int mMissCount;
+  private int mEvictionCount;
+
+  private static class Entry {
+    final WXSDKInstance instance;
+    long memoryBytes;
+
+    Entry(WXSDKInstance instance, long memoryBytes) {
+      this.instance = instance;
+      this.memoryBytes = memoryBytes;
+    }
+  }
+
+  /**
+   * Container handed to {@link WXSDKInstance.NestedInstanceInterceptor} for instances the pool
+   * pre-renders before any embed shows them, so interceptors always get a real container. The
+   * instance's view is never added to it, the embed acquiring the instance attaches the view.
+   */
+  private class PlaceholderContainer implements NestedContainer {
+
+    private final String mUrl;
+    private final FrameLayout mContainer;
+    private WXSDKInstance mInstance;
+
+    PlaceholderContainer(String url) {
+      mUrl = url;
+      mContainer = new FrameLayout(mParent.getContext());
+    }
+
+    @Override
+    public void setOnNestEventListener(OnNestedInstanceEventListener listener) {
+      //pre-rendered instances report to the pool, see PoolRenderListener
+    }
+
+    @Override
+    public ViewGroup getViewContainer() {
+      return mContainer;
+    }
+
+    @Override
+    public void renderNewURL(String url) {
+      if (mInstance != null && !mInstance.isDestroy()) {
+        mInstance.renderByUrl(url, url, null, null, WXRenderStrategy.APPEND_ASYNC);
+      }
+    }
+
+    @Override
+    public void reload() {
+      renderNewURL(mUrl);
+    }
+  }
+
+  /**
+   * Render listener of instances owned by the pool. The view is already kept by the instance as
+   * its container view, so only failures need handling: a broken instance must not be reused.
+   */
+  private class PoolRenderListener implements IWXRenderListener {
+
+    private final String mUrl;
+
+    PoolRenderListener(String url) {
+      mUrl = url;
+    }
+
+    @Override
+    public void onViewCreated(WXSDKInstance instance, View view) {
+    }
+
+    @Override
+    public void onRenderSuccess(WXSDKInstance instance, int width, int height) {
+      Entry entry = mEntries.get(mUrl);
+      if (entry != null && entry.instance == instance) {
+        mUsedMemoryBytes -= entry.memoryBytes;
+        entry.memoryBytes = estimateMemory(instance);
+        mUsedMemoryBytes += entry.memoryBytes;
+        trim();
+      }
+    }
+
+    @Override
+    public void onRefreshSuccess(WXSDKInstance instance, int width, int height) {
+    }
+
+    @Override
+    public void onException(WXSDKInstance instance, String errCode, String msg) {
+      Entry entry = mEntries.get(mUrl);
+      if (entry != null && entry.instance == instance) {
+        remove(mUrl);
+        instance.destroy();
+      }
+    }
+  }
+
+  public WXEmbedPool(WXSDKInstance parent) {
+    mParent = parent;
+  }
+
+  /**
+   * @param maxSize max count of parked instances, 0 disables the pool.
+   */
+  public void setMaxSize(int maxSize) {
+    mMaxSize = Math.max(0, maxSize);
+    trim();
+  }
+
+  public int getMaxSize() {
+    return mMaxSize;
+  }
+
+  /**
+   * @param maxMemoryBytes max estimated memory of parked instances, -1 for no limit. The estimate
+   * is a relative weight rather than a measurement, see {@link #estimateMemory(WXSDKInstance)}.
+   */
+  public void setMaxMemoryBytes(long maxMemoryBytes) {
+    mMaxMemoryBytes = maxMemoryBytes;
+    trim();
+  }
+
+  public long getUsedMemoryBytes() {
+    return mUsedMemoryBytes;
+  }
+
+  public boolean isEnabled() {
+    return mMaxSize > 0;
+  }
+
+  public int size() {
+    return mEntries.size();
+  }
+
+  /**
+   * Render the given urls in the background so that the first embed showing one of them can
+   * attach it instantly. Urls already in the pool are skipped.
+   */
+  public void preRender(Collection<String> urls) {
+    if (!isEnabled() || urls == null || mParent.isDestroy()) {
+      return;
+    }
+    for (String url : urls) {
+      if (TextUtils.isEmpty(url) || mEntries.containsKey(url)) {
+        continue;
+      }
+      if (mEntries.size() >= mMaxSize) {
+        break;
+      }
+      PlaceholderContainer container = new PlaceholderContainer(url);
+      WXSDKInstance instance = mParent.createNestedInstance(container);
+      if (instance == null) {
+        continue;
+      }
+      container.mInstance = instance;
+      instance.setParentInstance(mParent);
+      instance.registerRenderListener(new PoolRenderListener(url));
+      instance.setContainerInfo(WXInstanceApm.KEY_PAGE_PROPERTIES_INSTANCE_TYPE, "embed");
+      instance.setContainerInfo(WXInstanceApm.KEY_PAGE_PROPERTIES_PARENT_PAGE, mParent.getWXPerformance().pageName);
+      mEntries.put(url, new Entry(instance, 0));
+      instance.renderByUrl(url, url, null, null, WXRenderStrategy.APPEND_ASYNC);
+    }
+  }
+
+  /**
+   * Take the instance rendered from url out of the pool.
+   * @return the parked instance, or null if there is none.
+   */
+  public @Nullable WXSDKInstance acquire(String url) {
+    if (TextUtils.isEmpty(url)) {
+      return null;
+    }
+    Entry entry = remove(url);
+    if (entry == null || entry.instance.isDestroy()) {
+      mMissCount++;
+      return null;
+    }
+    mHitCount++;
+    return entry.instance;
+  }
+
+  /**
+   * Park an instance which is no longer shown. The instance is destroyed instead if the pool is
+   * disabled or it does not fit in the pool.
+   * @return true if the instance was parked.
+   */
+  public boolean release(String url, WXSDKInstance instance) {
+    if (instance == null || instance.isDestroy()) {
+      return false;
+    }
+    if (!isEnabled() || TextUtils.isEmpty(url) || mParent.isDestroy() || instance.isHasException()) {
+      instance.destroy();
+      return false;
+    }
+    View view = instance.getContainerView();
+    if (view != null && view.getParent() instanceof ViewGroup) {
+      ((ViewGroup) view.getParent()).removeView(view);
+    }
+    instance.registerRenderListener(new PoolRenderListener(url));
+    Entry old = remove(url);
+    if (old != null && old.instance != instance) {
+      old.instance.destroy();
+    }
+    Entry entry = new Entry(instance, estimateMemory(instance));
+    mEntries.put(url, entry);
+    mUsedMemoryBytes += entry.memoryBytes;
+    trim();
+    return mEntries.containsKey(url);
+  }
+
+  /**
+   * Drop every parked instance, e.g. on low memory.
+   */
+  public void clear() {
+    List<Entry> entries = new ArrayList<>(mEntries.values());
+    mEntries.clear();
+    mUsedMemoryBytes = 0;
+    for (Entry entry : entries) {
+      entry.instance.destroy();
+    }
+  }
+
+  public void destroy() {
+    if (WXEnvironment.isApkDebugable()) {
+      WXLogUtils.d(TAG, "destroy, hit " + mHitCount + " miss " + mMissCount + " evicted " + mEvictionCount);
+    }
+    mMaxSize = 0;
+    clear();
+  }
+
+  public int getHitCount() {
+    return mHitCount;
+  }
+
+  public int getMissCount() {
+    return mMissCount;
+  }
+
+  public int getEvictionCount() {
+    return mEvictionCount;
+  }
+
+  private Entry remove(String url) {
+    Entry entry = mEntries.remove(url);
+    if (entry != null) {
+      mUsedMemoryBytes -= entry.memoryBytes;
+    }
+    return entry;
+  }
+
+  private void trim() {
+    Iterator<Map.Entry<String, Entry>> iterator = mEntries.entrySet().iterator();
+    while (iterator.hasNext() && (mEntries.size() > mMaxSize
+            || (mMaxMemoryBytes >= 0 && mUsedMemoryBytes > mMaxMemoryBytes))) {
+      Entry eldest = iterator.next().getValue();
+      iterator.remove();
+      mUsedMemoryBytes -= eldest.memoryBytes;
+      mEvictionCount++;
+      eldest.instance.destroy();
+    }
+  }
+
+  /**
+   * Estimate the memory a parked instance keeps alive as one ARGB_8888 bitmap of its root view
+   * size. Images and layers, the bulk of a rendered page, are decoded at roughly the size they
+   * are shown, so this scales with what the page displays. Its component tree, JS context and
+   * bundle are left out: they cannot be measured from here, and they are held by every nested
+   * instance whether it is pooled or not. Use the result to compare and cap parked instances,
+   * not as their actual footprint.
+   */
+  private static long estimateMemory(WXSDKInstance instance) {
+    View view = instance.getContainerView();
+    if (view == null) {
+      return 0;
+    }
+    return (long) view.getWidth() * view.getHeight() * BYTES_PER_PIXEL;
+  }
+}
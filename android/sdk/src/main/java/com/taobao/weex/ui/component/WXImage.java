@@ -48,6 +48,7 @@ import android.widget.ImageView.ScaleType;
 import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.adapter.IWXImgLoaderAdapter;
+import com.taobao.weex.adapter.IWXImgPrefetchAdapter;
 import com.taobao.weex.adapter.URIAdapter;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.annotation.JSMethod;
@@ -84,6 +85,7 @@ public class WXImage extends WXComponent<ImageView> {
   private String mSrc;
   private int mBlurRadius;
   private boolean mAutoRecycle = true;
+  private String mPrefetchedSrc;
 
   private static SingleFunctionParser.FlatMapper<Integer> BLUR_RADIUS_MAPPER = new SingleFunctionParser.FlatMapper<Integer>() {
     @Override
@@ -239,6 +241,10 @@ public class WXImage extends WXComponent<ImageView> {
 
     this.mSrc = src;
     WXSDKInstance instance = getInstance();
+    WXImageMemoryManager imageMemoryManager;
+    if ((imageMemoryManager = instance.getImageMemoryManager()) != null) {
+      imageMemoryManager.register(this);
+    }
     Uri rewrited = instance.rewriteUri(Uri.parse(src), URIAdapter.IMAGE);
 
     if (Constants.Scheme.LOCAL.equals(rewrited.getScheme())) {
@@ -281,6 +287,8 @@ public class WXImage extends WXComponent<ImageView> {
   public void recycled() {
     super.recycled();
 
+    mPrefetchedSrc = null;
+    cancelImageRequest();
     if (getInstance().getImgLoaderAdapter() != null) {
       getInstance().getImgLoaderAdapter().setImage(null, mHost,
               null, null);
@@ -308,8 +316,57 @@ public class WXImage extends WXComponent<ImageView> {
     }
   }
 
-  private void setRemoteSrc(Uri rewrited, int blurRadius) {
+  boolean isAutoRecycle() {
+    return mAutoRecycle;
+  }
+
+  /**
+   * Ask the loader to fetch the image before the component is shown, e.g. for a list cell about to
+   * scroll into the viewport. Only remote images are prefetched, and only once per src, which is
+   * checked before the src is parsed and rewritten.
+   * @return true if a request was issued.
+   */
+  public boolean prefetch() {
+    IWXImgLoaderAdapter imgLoaderAdapter = getInstance().getImgLoaderAdapter();
+    if (!(imgLoaderAdapter instanceof IWXImgPrefetchAdapter)) {
+      return false;
+    }
+    Object srcAttr = getAttrs().get(Constants.Name.SRC);
+    String src = srcAttr == null ? null : srcAttr.toString();
+    if (TextUtils.isEmpty(src) || src.equals(mPrefetchedSrc)) {
+      return false;
+    }
+    ImageView image = getHostView();
+    if (image != null && image.getDrawable() != null && TextUtils.equals(mSrc, src)) {
+      return false;
+    }
+    mPrefetchedSrc = src;
+    if (getInstance().getImageNetworkHandler() != null) {
+      String localUrl = getInstance().getImageNetworkHandler().fetchLocal(src);
+      if (!TextUtils.isEmpty(localUrl)) {
+        src = localUrl;
+      }
+    }
+    Uri rewrited = getInstance().rewriteUri(Uri.parse(src), URIAdapter.IMAGE);
+    if (Constants.Scheme.LOCAL.equals(rewrited.getScheme())) {
+      return false;
+    }
+    String rewritedStr = rewrited.toString();
 
+    WXImageStrategy imageStrategy = createImageStrategy(parseBlurRadius(getStyles().getBlur()));
+    imageStrategy.priority = WXImageStrategy.PRIORITY_LOW;
+    ((IWXImgPrefetchAdapter) imgLoaderAdapter).prefetch(rewritedStr, getImageQuality(), imageStrategy);
+    return true;
+  }
+
+  private void cancelImageRequest() {
+    IWXImgLoaderAdapter imgLoaderAdapter = getInstance().getImgLoaderAdapter();
+    if (mHost != null && imgLoaderAdapter instanceof IWXImgPrefetchAdapter) {
+      ((IWXImgPrefetchAdapter) imgLoaderAdapter).cancel(mHost);
+    }
+  }
+
+  private WXImageStrategy createImageStrategy(int blurRadius) {
     WXImageStrategy imageStrategy = new WXImageStrategy(getInstanceId());
     imageStrategy.isClipping = true;
 
@@ -317,6 +374,24 @@ public class WXImage extends WXComponent<ImageView> {
     imageStrategy.isSharpen = imageSharpen == WXImageSharpen.SHARPEN;
 
     imageStrategy.blurRadius = Math.max(0, blurRadius);
+    imageStrategy.targetWidth = Math.max(0, (int) WXDomUtils.getContentWidth(this));
+    imageStrategy.targetHeight = Math.max(0, (int) WXDomUtils.getContentHeight(this));
+    ImageView image = getHostView();
+    if (image != null) {
+      imageStrategy.scaleType = image.getScaleType();
+    } else {
+      Object resizeMode = getAttrs().get(Constants.Name.RESIZE_MODE);
+      if (resizeMode == null) {
+        resizeMode = getAttrs().get(Constants.Name.RESIZE);
+      }
+      imageStrategy.scaleType = getResizeMode(resizeMode == null ? null : resizeMode.toString());
+    }
+    return imageStrategy;
+  }
+
+  private void setRemoteSrc(Uri rewrited, int blurRadius) {
+
+    WXImageStrategy imageStrategy = createImageStrategy(blurRadius);
     this.mBlurRadius = blurRadius;
 
     final String rewritedStr = rewrited.toString();
@@ -496,10 +571,15 @@ public class WXImage extends WXComponent<ImageView> {
   @Override
   public void destroy() {
     if(getHostView() instanceof WXImageView){
+      cancelImageRequest();
       if (getInstance().getImgLoaderAdapter() != null) {
         getInstance().getImgLoaderAdapter().setImage(null, mHost, null, null);
       }
     }
+    WXImageMemoryManager imageMemoryManager;
+    if ((imageMemoryManager = getInstance().getImageMemoryManager()) != null) {
+      imageMemoryManager.unregister(this);
+    }
     super.destroy();
   }
 
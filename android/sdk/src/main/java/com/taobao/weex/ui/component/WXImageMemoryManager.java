@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewParent;
+
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.common.OnWXScrollListener;
+import com.taobao.weex.performance.WXInstanceApm;
+import com.taobao.weex.ui.view.WXImageView;
+import com.taobao.weex.utils.ImageDrawable;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Releases the images of an instance which are scrolled far out of the viewport once the images
+ * held by the instance exceed a memory budget, and recovers them as they come back close to the
+ * viewport. Images farthest from the viewport are released first, through
+ * {@link WXImageView#autoReleaseImage()}, so components with auto recycle disabled are left
+ * alone. Images hidden together with the window are already released by {@link WXImageView}.
+ *
+ * One manager belongs to one instance, see {@link WXSDKInstance#getImageMemoryManager()}. It is
+ * evaluated when a scroller or list of the instance scrolls, and only on the main thread. Images
+ * are grouped by their parent scroller, and only the positions of the images moved by the scroll
+ * are computed. They are measured in window coordinates against the instance's container view,
+ * so the offsets of every enclosing scroller count, not only those of the nearest one.
+ */
+public class WXImageMemoryManager implements OnWXScrollListener {
+
+  private static final String TAG = "WXImageMemoryManager";
+
+  /**
+   * Bytes per pixel used to estimate the memory held by a decoded image.
+   */
+  private static final int BYTES_PER_PIXEL = 4;
+
+  /**
+   * Minimal interval between two evaluations while scrolling.
+   */
+  private static final long CHECK_INTERVAL_MS = 200;
+
+  /**
+   * Only images farther than this many viewports are released.
+   */
+  private static final float RELEASE_DISTANCE = 1.0f;
+
+  /**
+   * Released images closer than this many viewports are recovered.
+   */
+  private static final float RECOVER_DISTANCE = 0.5f;
+
+  private final WXSDKInstance mInstance;
+  /**
+   * images by parent scroller, null for images outside of any scroller
+   */
+  private final Map<Scrollable, Set<WXImage>> mImages = new LinkedHashMap<>();
+  private long mMaxMemoryBytes = Runtime.getRuntime().maxMemory() / 8;
+  private long mLastCheckTime;
+  private int mReleaseCount;
+
+  private final Rect mViewport = new Rect();
+  private final Rect mBounds = new Rect();
+  private final int[] mLocation = new int[2];
+
+  private static class Candidate {
+    final WXImageView view;
+    final int distance;
+    final long memoryBytes;
+
+    Candidate(WXImageView view, int distance, long memoryBytes) {
+      this.view = view;
+      this.distance = distance;
+      this.memoryBytes = memoryBytes;
+    }
+  }
+
+  private static final Comparator<Candidate> FARTHEST_FIRST = new Comparator<Candidate>() {
+    @Override
+    public int compare(Candidate lhs, Candidate rhs) {
+      return lhs.distance < rhs.distance ? 1 : (lhs.distance == rhs.distance ? 0 : -1);
+    }
+  };
+
+  public WXImageMemoryManager(WXSDKInstance instance) {
+    mInstance = instance;
+  }
+
+  /**
+   * @param maxMemoryBytes memory the images of the instance may hold before offscreen ones are
+   *                       released, 0 or less disables the manager.
+   */
+  public void setMaxMemoryBytes(long maxMemoryBytes) {
+    mMaxMemoryBytes = maxMemoryBytes;
+  }
+
+  public long getMaxMemoryBytes() {
+    return mMaxMemoryBytes;
+  }
+
+  /**
+   * @return number of images released so far
+   */
+  public int getReleaseCount() {
+    return mReleaseCount;
+  }
+
+  void register(WXImage image) {
+    Scrollable scroller = image.getParentScroller();
+    Set<WXImage> images = mImages.get(scroller);
+    if (images == null) {
+      images = new LinkedHashSet<>();
+      mImages.put(scroller, images);
+    }
+    images.add(image);
+  }
+
+  void unregister(WXImage image) {
+    Iterator<Set<WXImage>> iterator = mImages.values().iterator();
+    while (iterator.hasNext()) {
+      Set<WXImage> images = iterator.next();
+      if (images.remove(image)) {
+        if (images.isEmpty()) {
+          iterator.remove();
+        }
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void onScrolled(View view, int x, int y) {
+    long now = SystemClock.uptimeMillis();
+    if (now - mLastCheckTime >= CHECK_INTERVAL_MS) {
+      mLastCheckTime = now;
+      check(view);
+    }
+  }
+
+  @Override
+  public void onScrollStateChanged(View view, int x, int y, int newState) {
+    if (newState == IDLE) {
+      mLastCheckTime = SystemClock.uptimeMillis();
+      check(view);
+    }
+  }
+
+  /**
+   * Recover the released images close to the viewport, then release the farthest ones until the
+   * images held fit the budget.
+   */
+  public void check() {
+    check(null);
+  }
+
+  /**
+   * @param scrolled view which scrolled, only the images it moved are measured; null for all.
+   */
+  private void check(@Nullable View scrolled) {
+    if (mMaxMemoryBytes <= 0 || mImages.isEmpty()) {
+      return;
+    }
+    View container = mInstance.getContainerView();
+    if (container == null || !ViewCompat.isAttachedToWindow(container)) {
+      return;
+    }
+    container.getLocationInWindow(mLocation);
+    mViewport.set(mLocation[0], mLocation[1],
+            mLocation[0] + container.getWidth(), mLocation[1] + container.getHeight());
+    int viewportSize = Math.max(mViewport.width(), mViewport.height());
+    if (viewportSize <= 0) {
+      return;
+    }
+    Scrollable scrolledScroller = scrolled == null ? null : findScroller(scrolled);
+
+    long usedMemoryBytes = 0;
+    List<Candidate> candidates = null;
+    for (Map.Entry<Scrollable, Set<WXImage>> group : mImages.entrySet()) {
+      View reference = group.getKey() == null ? null : group.getKey().getView();
+      boolean moved = scrolled == null || (reference != null
+              && (group.getKey() == scrolledScroller || isDescendant(reference, scrolled)));
+      for (WXImage image : group.getValue()) {
+        if (!image.isAutoRecycle() || !(image.getHostView() instanceof WXImageView)) {
+          continue;
+        }
+        WXImageView view = (WXImageView) image.getHostView();
+        if (!ViewCompat.isAttachedToWindow(view)) {
+          continue;
+        }
+        if (!moved) {
+          if (!view.isBitmapReleased()) {
+            usedMemoryBytes += getMemoryBytes(view);
+          }
+          continue;
+        }
+        int distance = getDistance(view);
+        if (view.isBitmapReleased()) {
+          if (distance <= viewportSize * RECOVER_DISTANCE) {
+            view.autoRecoverImage();
+          }
+          continue;
+        }
+        long memoryBytes = getMemoryBytes(view);
+        usedMemoryBytes += memoryBytes;
+        if (memoryBytes > 0 && distance > viewportSize * RELEASE_DISTANCE) {
+          if (candidates == null) {
+            candidates = new ArrayList<>();
+          }
+          candidates.add(new Candidate(view, distance, memoryBytes));
+        }
+      }
+    }
+
+    if (usedMemoryBytes <= mMaxMemoryBytes || candidates == null) {
+      return;
+    }
+    Collections.sort(candidates, FARTHEST_FIRST);
+    int released = 0;
+    for (Candidate candidate : candidates) {
+      if (usedMemoryBytes <= mMaxMemoryBytes) {
+        break;
+      }
+      candidate.view.autoReleaseImage();
+      if (candidate.view.isBitmapReleased()) {
+        usedMemoryBytes -= candidate.memoryBytes;
+        released++;
+      }
+    }
+    if (released > 0) {
+      mReleaseCount += released;
+      mInstance.getApmForInstance().updateDiffStats(WXInstanceApm.KEY_PAGE_STATS_IMG_AUTO_RELEASE_NUM, released);
+      WXLogUtils.d(TAG, "released {} offscreen images, {} bytes left", released, usedMemoryBytes);
+    }
+  }
+
+  public void destroy() {
+    mImages.clear();
+  }
+
+  /**
+   * @return the scroller whose view contains the scrolled view, the nearest one.
+   */
+  @Nullable
+  private Scrollable findScroller(View scrolled) {
+    for (ViewParent parent = scrolled; parent instanceof View; parent = parent.getParent()) {
+      for (Scrollable scroller : mImages.keySet()) {
+        if (scroller != null && scroller.getView() == parent) {
+          return scroller;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return true if view is inside ancestor, whose scroll then moves it too.
+   */
+  private static boolean isDescendant(View view, View ancestor) {
+    for (ViewParent parent = view.getParent(); parent instanceof View; parent = parent.getParent()) {
+      if (parent == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return distance in pixels between the view and the viewport of the instance, 0 if they
+   * intersect.
+   */
+  private int getDistance(View view) {
+    view.getLocationInWindow(mLocation);
+    mBounds.set(mLocation[0], mLocation[1], mLocation[0] + view.getWidth(), mLocation[1] + view.getHeight());
+    int dx = Math.max(0, Math.max(mViewport.left - mBounds.right, mBounds.left - mViewport.right));
+    int dy = Math.max(0, Math.max(mViewport.top - mBounds.bottom, mBounds.top - mViewport.bottom));
+    return Math.max(dx, dy);
+  }
+
+  private static long getMemoryBytes(WXImageView view) {
+    Drawable drawable = view.getDrawable();
+    int width;
+    int height;
+    if (drawable == null) {
+      return 0;
+    } else if (drawable instanceof ImageDrawable) {
+      width = ((ImageDrawable) drawable).getBitmapWidth();
+      height = ((ImageDrawable) drawable).getBitmapHeight();
+    } else if (drawable instanceof BitmapDrawable && ((BitmapDrawable) drawable).getBitmap() != null) {
+      Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+      width = bitmap.getWidth();
+      height = bitmap.getHeight();
+    } else {
+      width = drawable.getIntrinsicWidth();
+      height = drawable.getIntrinsicHeight();
+    }
+    if (width <= 0 || height <= 0) {
+      return 0;
+    }
+    return (long) width * height * BYTES_PER_PIXEL;
+  }
+}
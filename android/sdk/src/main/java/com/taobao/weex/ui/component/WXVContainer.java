@@ -19,11 +19,9 @@
 package com.taobao.weex.ui.component;
 
 import android.content.Context;
-import android.content.Intent;
 import android.support.annotation.Nullable;
 import android.support.v4.view.ViewCompat;
 import android.util.Pair;
-import android.view.Menu;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
@@ -360,114 +358,6 @@ public abstract class WXVContainer<T extends ViewGroup> extends WXComponent<T> {
     }
   }
 
-  /********************************************************
-   *  begin hook Activity life cycle callback             *
-   ********************************************************/
-  @Override
-  public void onActivityCreate() {
-    super.onActivityCreate();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityCreate();
-    }
-  }
-
-  @Override
-  public void onActivityStart() {
-    super.onActivityStart();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityStart();
-    }
-
-  }
-
-  @Override
-  public void onActivityPause() {
-    super.onActivityPause();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityPause();
-    }
-  }
-
-  @Override
-  public void onActivityResume() {
-    super.onActivityResume();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityResume();
-    }
-  }
-
-  @Override
-  public void onActivityStop() {
-    super.onActivityStop();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityStop();
-    }
-  }
-
-  @Override
-  public void onActivityDestroy() {
-    super.onActivityDestroy();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityDestroy();
-    }
-
-  }
-
-  @Override
-  public boolean onActivityBack() {
-    super.onActivityBack();
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityBack();
-    }
-    return false;
-  }
-
-  @Override
-  public void onActivityResult(int requestCode, int resultCode, Intent data) {
-    super.onActivityResult(requestCode, resultCode, data);
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onActivityResult(requestCode, resultCode, data);
-    }
-
-  }
-
-  public boolean onCreateOptionsMenu(Menu menu) {
-    super.onCreateOptionsMenu(menu);
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onCreateOptionsMenu(menu);
-    }
-    return false;
-  }
-
-
-  @Override
-  public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
-    super.onRequestPermissionsResult(requestCode, permissions, grantResults);
-
-    int count = childCount();
-    for (int i = 0; i < count; i++) {
-      getChild(i).onRequestPermissionsResult(requestCode, permissions, grantResults);
-    }
-  }
-
   @Override
   public void onRenderFinish(@RenderState int state) {
     for (int i = 0; i < getChildCount(); i++) {
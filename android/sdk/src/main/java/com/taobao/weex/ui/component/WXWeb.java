@@ -126,6 +126,15 @@ public class WXWeb extends WXComponent {
         getWebView().destroy();
     }
 
+    /**
+     * Setting src or source again reloads the page, even with the same value.
+     */
+    @Override
+    protected boolean isDiffableProperty(String key) {
+        return !Constants.Name.SRC.equals(key) && !Constants.Name.SOURCE.equals(key)
+                && super.isDiffableProperty(key);
+    }
+
     @Override
     protected boolean setProperty(String key, Object param) {
         switch (key) {
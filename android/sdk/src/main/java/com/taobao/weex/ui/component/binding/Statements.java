@@ -35,6 +35,7 @@ import com.taobao.weex.dom.binding.ELUtils;
 import com.taobao.weex.dom.binding.JSONUtils;
 import com.taobao.weex.dom.binding.WXStatement;
 import com.taobao.weex.el.parse.ArrayStack;
+import com.taobao.weex.el.parse.Expression;
 import com.taobao.weex.el.parse.Operators;
 import com.taobao.weex.el.parse.Token;
 import com.taobao.weex.ui.action.BasicComponentData;
@@ -475,7 +476,7 @@ public class Statements {
                 && attr.getBindingAttrs() != null
                 && attr.getBindingAttrs().size() > 0){
             ArrayMap<String, Object> bindAttrs = component.getAttrs().getBindingAttrs();
-            Map<String, Object> dynamic =  renderBindingAttrs(bindAttrs, stack);
+            Map<String, Object> dynamic =  renderBindingAttrs(component, bindAttrs, stack);
             Set<Map.Entry<String, Object>> entries = dynamic.entrySet();
             /**
              * diff attrs, see attrs has update, remove none update attrs
@@ -518,7 +519,7 @@ public class Statements {
         WXStyle style = component.getStyles();
         if(style != null && style.getBindingStyle() != null){
             ArrayMap<String, Object> bindStyle = style.getBindingStyle();
-            Map<String, Object> dynamic =  renderBindingAttrs(bindStyle, stack);
+            Map<String, Object> dynamic =  renderBindingAttrs(component, bindStyle, stack);
             Set<Map.Entry<String, Object>> entries = dynamic.entrySet();
             /**
              * diff attrs, see attrs has update, remove none update attrs
@@ -570,6 +571,14 @@ public class Statements {
      * */
     private static final  ThreadLocal<Map<String, Object>> dynamicLocal = new ThreadLocal<>();
     public static Map<String, Object> renderBindingAttrs(ArrayMap bindAttrs, ArrayStack stack){
+        return renderBindingAttrs(null, bindAttrs, stack);
+    }
+
+    /**
+     * @param component node the attrs belong to, bindings whose inputs did not change since
+     *                  it was last rendered are not executed again, may be null
+     * */
+    public static Map<String, Object> renderBindingAttrs(WXComponent component, ArrayMap bindAttrs, ArrayStack stack){
         Set<Map.Entry<String, Object>> entrySet = bindAttrs.entrySet();
         Map<String, Object> dynamic = dynamicLocal.get();
         if(dynamic == null) {
@@ -586,7 +595,7 @@ public class Statements {
                     && (((JSONObject) value).get(ELUtils.BINDING)  instanceof Token)){
                 JSONObject binding = (JSONObject) value;
                 Token block = (Token) (binding.get(ELUtils.BINDING));
-                Object blockValue = block.execute(stack);
+                Object blockValue = executeBinding(component, block, stack);
                 dynamic.put(key, blockValue);
             }else if(value instanceof JSONArray){
                 JSONArray array = (JSONArray) value;
@@ -601,7 +610,7 @@ public class Statements {
                             && (((JSONObject) element).get(ELUtils.BINDING) instanceof Token)){
                         JSONObject binding = (JSONObject) element;
                         Token block = (Token) (binding.get(ELUtils.BINDING));
-                        Object blockValue = block.execute(stack);
+                        Object blockValue = executeBinding(component, block, stack);
                         if(blockValue == null){
                             blockValue = "";
                         }
@@ -621,6 +630,22 @@ public class Statements {
     }
 
 
+    private static Object executeBinding(WXComponent component, Token block, ArrayStack stack){
+        if(component == null
+                || !(block instanceof Expression)
+                || !((Expression) block).isTracked()){
+            return block.execute(stack);
+        }
+        Expression expression = (Expression) block;
+        Map<Expression, Object[]> bindingInputs = component.getBindingInputs();
+        Object[] inputs = bindingInputs.get(expression);
+        if(inputs == null){
+            inputs = expression.newInputs();
+            bindingInputs.put(expression, inputs);
+        }
+        return expression.execute(stack, inputs);
+    }
+
     public static Map<String, Object> renderProps(JSONObject props, ArrayStack stack){
         Set<Map.Entry<String, Object>> entrySet = props.entrySet();
         Map<String, Object> renderProps = new ArrayMap<>(4);
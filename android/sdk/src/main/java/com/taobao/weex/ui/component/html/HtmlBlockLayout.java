@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.html;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.widget.ScrollView;
+
+import com.taobao.weex.utils.WXViewUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out the blocks of a html text one below the other, like the plain container of
+ * {@link WxHtmlComponent}, but only creates the views of the blocks around the visible part of the
+ * enclosing {@link ScrollView}. Blocks not created yet take an estimated height, which is replaced
+ * by the measured one once their view exists; views scrolled far away are dropped again and keep
+ * their measured height.
+ */
+public class HtmlBlockLayout extends ViewGroup {
+
+  /**
+   * Creates the view of a block.
+   */
+  public interface BlockViewFactory {
+    View createBlockView(HtmlComponent block);
+  }
+
+  private static final float DEFAULT_IMAGE_ASPECT_RATIO = 0.5625f;
+  private static final int DEFAULT_TABLE_HEIGHT_DP = 300;
+  private static final int DEFAULT_TEXT_SIZE_SP = 16;
+  private static final float LINE_SPACING = 1.4f;
+
+  /**
+   * Extra area around the visible part, in viewports, whose blocks are created in advance.
+   */
+  private static final float PRELOAD_VIEWPORTS = 0.5f;
+
+  /**
+   * Created blocks farther than this many viewports are dropped.
+   */
+  private static final float RELEASE_VIEWPORTS = 1.5f;
+
+  private final List<HtmlComponent> mBlocks = new ArrayList<>();
+  private final SparseArray<View> mViews = new SparseArray<>();
+  private int[] mHeights = new int[0];
+  private boolean[] mMeasured = new boolean[0];
+  private BlockViewFactory mFactory;
+  private int mEstimatedWidth;
+  private int mPendingScrollDelta;
+
+  private final ViewTreeObserver.OnScrollChangedListener mScrollListener = new ViewTreeObserver.OnScrollChangedListener() {
+    @Override
+    public void onScrollChanged() {
+      updateVisibleBlocks();
+    }
+  };
+
+  private final Runnable mUpdateRunnable = new Runnable() {
+    @Override
+    public void run() {
+      updateVisibleBlocks();
+    }
+  };
+
+  public HtmlBlockLayout(Context context) {
+    super(context);
+  }
+
+  public void setBlocks(List<HtmlComponent> blocks, BlockViewFactory factory) {
+    removeAllViews();
+    mViews.clear();
+    mBlocks.clear();
+    mBlocks.addAll(blocks);
+    mFactory = factory;
+    mHeights = new int[mBlocks.size()];
+    mMeasured = new boolean[mBlocks.size()];
+    mEstimatedWidth = 0;
+    mPendingScrollDelta = 0;
+    requestLayout();
+  }
+
+  public int getCreatedBlockCount() {
+    return mViews.size();
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    getViewTreeObserver().addOnScrollChangedListener(mScrollListener);
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    removeCallbacks(mUpdateRunnable);
+    getViewTreeObserver().removeOnScrollChangedListener(mScrollListener);
+    super.onDetachedFromWindow();
+  }
+
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    int width = MeasureSpec.getSize(widthMeasureSpec);
+    int contentWidth = width - getPaddingLeft() - getPaddingRight();
+    if (contentWidth != mEstimatedWidth) {
+      mEstimatedWidth = contentWidth;
+      for (int i = 0; i < mBlocks.size(); i++) {
+        if (!mMeasured[i]) {
+          mHeights[i] = estimateHeight(mBlocks.get(i), contentWidth);
+        }
+      }
+    }
+    int childWidthSpec = MeasureSpec.makeMeasureSpec(Math.max(contentWidth, 0), MeasureSpec.EXACTLY);
+    int firstVisible = getFirstVisibleBlock();
+    for (int i = 0; i < mViews.size(); i++) {
+      int index = mViews.keyAt(i);
+      View child = mViews.valueAt(i);
+      LayoutParams lp = child.getLayoutParams();
+      int childHeightSpec = lp != null && lp.height >= 0
+              ? MeasureSpec.makeMeasureSpec(lp.height, MeasureSpec.EXACTLY)
+              : MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+      child.measure(childWidthSpec, childHeightSpec);
+      int height = child.getMeasuredHeight();
+      if (height != mHeights[index] && index < firstVisible) {
+        // keep the visible content in place when a block above it changes height
+        mPendingScrollDelta += height - mHeights[index];
+      }
+      mHeights[index] = height;
+      mMeasured[index] = true;
+    }
+    int height = getPaddingTop() + getPaddingBottom();
+    for (int blockHeight : mHeights) {
+      height += blockHeight;
+    }
+    setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int l, int t, int r, int b) {
+    int left = getPaddingLeft();
+    int top = getPaddingTop();
+    for (int i = 0; i < mBlocks.size(); i++) {
+      View child = mViews.get(i);
+      if (child != null) {
+        child.layout(left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+      }
+      top += mHeights[i];
+    }
+    if (mViews.size() == 0 && !mBlocks.isEmpty()) {
+      // first layout with estimated heights, create the visible blocks
+      removeCallbacks(mUpdateRunnable);
+      post(mUpdateRunnable);
+    }
+    if (mPendingScrollDelta != 0) {
+      final int delta = mPendingScrollDelta;
+      mPendingScrollDelta = 0;
+      final ScrollView scrollView = getScrollView();
+      if (scrollView != null) {
+        scrollView.post(new Runnable() {
+          @Override
+          public void run() {
+            scrollView.scrollBy(0, delta);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Create the views of the blocks around the visible part, drop the ones far away.
+   */
+  private void updateVisibleBlocks() {
+    ScrollView scrollView = getScrollView();
+    if (scrollView == null || mFactory == null || mBlocks.isEmpty() || mEstimatedWidth <= 0) {
+      return;
+    }
+    int viewport = scrollView.getHeight();
+    if (viewport <= 0) {
+      viewport = WXViewUtils.getScreenHeight(getContext());
+    }
+    int visibleTop = scrollView.getScrollY() - getOffsetInScrollView(scrollView);
+    int visibleBottom = visibleTop + viewport;
+    int preload = (int) (viewport * PRELOAD_VIEWPORTS);
+    int release = (int) (viewport * RELEASE_VIEWPORTS);
+
+    boolean changed = false;
+    int top = getPaddingTop();
+    for (int i = 0; i < mBlocks.size(); i++) {
+      int bottom = top + mHeights[i];
+      View view = mViews.get(i);
+      if (view == null && bottom >= visibleTop - preload && top <= visibleBottom + preload) {
+        view = mFactory.createBlockView(mBlocks.get(i));
+        if (view != null) {
+          mViews.put(i, view);
+          addViewInLayout(view, -1, generateDefaultLayoutParams(), true);
+          changed = true;
+        }
+      } else if (view != null && (bottom < visibleTop - release || top > visibleBottom + release)) {
+        mViews.remove(i);
+        removeViewInLayout(view);
+        changed = true;
+      }
+      top = bottom;
+    }
+    if (changed) {
+      requestLayout();
+      invalidate();
+    }
+  }
+
+  private int getFirstVisibleBlock() {
+    ScrollView scrollView = getScrollView();
+    if (scrollView == null) {
+      return 0;
+    }
+    int visibleTop = scrollView.getScrollY() - getOffsetInScrollView(scrollView);
+    int top = getPaddingTop();
+    for (int i = 0; i < mBlocks.size(); i++) {
+      top += mHeights[i];
+      if (top > visibleTop) {
+        return i;
+      }
+    }
+    return mBlocks.size();
+  }
+
+  private ScrollView getScrollView() {
+    ViewParent parent = getParent();
+    while (parent != null && !(parent instanceof ScrollView)) {
+      parent = parent.getParent();
+    }
+    return (ScrollView) parent;
+  }
+
+  private int getOffsetInScrollView(ScrollView scrollView) {
+    int offset = 0;
+    View view = this;
+    while (view != null && view != scrollView) {
+      offset += view.getTop();
+      ViewParent parent = view.getParent();
+      view = parent instanceof View ? (View) parent : null;
+    }
+    return offset;
+  }
+
+  private int estimateHeight(HtmlComponent block, int width) {
+    if (width <= 0) {
+      return 0;
+    }
+    if (HtmlComponent.TAG_IMAGE.equals(block.tagName) || HtmlComponent.TAG_VIDEO.equals(block.tagName)) {
+      return (int) (width * DEFAULT_IMAGE_ASPECT_RATIO);
+    } else if (HtmlComponent.TAG_TABLE.equals(block.tagName)) {
+      return WXViewUtils.dip2px(DEFAULT_TABLE_HEIGHT_DP);
+    }
+    float textSize = DEFAULT_TEXT_SIZE_SP * getResources().getDisplayMetrics().scaledDensity;
+    int length = HtmlParseCache.getTextLength(block.info);
+    int charsPerLine = Math.max(1, (int) (width / textSize));
+    int lines = 1 + (length + charsPerLine - 1) / charsPerLine;
+    return (int) (lines * textSize * LINE_SPACING);
+  }
+
+  @Override
+  protected LayoutParams generateDefaultLayoutParams() {
+    return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+  }
+}
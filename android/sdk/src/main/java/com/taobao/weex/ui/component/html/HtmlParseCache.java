@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.html;
+
+import android.content.Context;
+import android.support.v4.util.LruCache;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextUtils;
+
+import com.taobao.weex.ui.component.html.htmlcompat.HtmlCompat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Caches of the work done to show a html text: the split into {@link HtmlComponent}s and the
+ * {@link Spanned} of each text part, keyed by their content. Both are safe to build off the main
+ * thread, see {@link #prepare(Context, String, String[])}.
+ */
+public class HtmlParseCache {
+
+  private static final int MAX_TAGS_ENTRIES = 16;
+
+  private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+
+  /**
+   * Total length of the cached html text parts, in chars.
+   */
+  private static final int MAX_SPANNED_CHARS = 512 * 1024;
+
+  private static final LruCache<String, List<HtmlComponent>> sTagsCache = new LruCache<>(MAX_TAGS_ENTRIES);
+
+  private static final LruCache<String, Spanned> sSpannedCache = new LruCache<String, Spanned>(MAX_SPANNED_CHARS) {
+    @Override
+    protected int sizeOf(String key, Spanned value) {
+      return key.length() + value.length();
+    }
+  };
+
+  /**
+   * @return the cached split of the html, or null.
+   */
+  public static List<HtmlComponent> getTags(String html, String[] tagNames) {
+    List<HtmlComponent> components = sTagsCache.get(tagsKey(html, tagNames));
+    return components == null ? null : new ArrayList<>(components);
+  }
+
+  /**
+   * Same as {@link HtmlComponent#parseTags(String, String...)}, the result is cached.
+   */
+  public static List<HtmlComponent> parseTags(String html, String[] tagNames) {
+    String key = tagsKey(html, tagNames);
+    List<HtmlComponent> components = sTagsCache.get(key);
+    if (components == null) {
+      components = new ArrayList<>(HtmlComponent.parseTags(html, tagNames));
+      sTagsCache.put(key, components);
+    }
+    return new ArrayList<>(components);
+  }
+
+  /**
+   * Styled text of a html text part, converted by {@link HtmlCompat} in legacy mode.
+   * @return a copy the caller is free to modify.
+   */
+  public static SpannableStringBuilder fromHtml(Context context, String html) {
+    Spanned spanned = sSpannedCache.get(html);
+    if (spanned == null) {
+      spanned = HtmlCompat.fromHtml(context.getApplicationContext(), html,
+              HtmlCompat.FROM_HTML_MODE_LEGACY, new WxHtmlTagHandler());
+      sSpannedCache.put(html, spanned);
+    }
+    return new SpannableStringBuilder(spanned);
+  }
+
+  /**
+   * @return length of the text a html text part shows, estimated from the markup if the part was
+   * not converted yet.
+   */
+  public static int getTextLength(String html) {
+    if (TextUtils.isEmpty(html)) {
+      return 0;
+    }
+    Spanned spanned = sSpannedCache.get(html);
+    if (spanned != null) {
+      return spanned.length();
+    }
+    return MARKUP.matcher(html).replaceAll("").length();
+  }
+
+  /**
+   * Split the html and convert its text parts ahead of time, meant for a worker thread.
+   */
+  public static List<HtmlComponent> prepare(Context context, String html, String[] tagNames) {
+    List<HtmlComponent> components = parseTags(html, tagNames);
+    for (HtmlComponent component : components) {
+      if (HtmlComponent.TAG_DEFAULT.equals(component.tagName) && !TextUtils.isEmpty(component.info)
+              && sSpannedCache.get(component.info) == null) {
+        fromHtml(context, component.info);
+      }
+    }
+    return components;
+  }
+
+  public static void clear() {
+    sTagsCache.evictAll();
+    sSpannedCache.evictAll();
+  }
+
+  private static String tagsKey(String html, String[] tagNames) {
+    return TextUtils.join(",", tagNames) + '\u0000' + html;
+  }
+}
@@ -33,6 +33,7 @@ import android.widget.TextView;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.common.Constants;
 import com.taobao.weex.dom.CSSShorthand;
 import com.taobao.weex.dom.binding.JSONUtils;
@@ -87,6 +88,9 @@ public class WxHtmlComponent extends WXVContainer<ScrollView> {
   private Rect mRootRect = new Rect();
   private boolean mIsHeaderShowing;
   private boolean mIsFooterShowing;
+  private int mHtmlGeneration;
+  private boolean mVirtualized;
+  private HtmlBlockLayout mBlockLayout;
 
   public WxHtmlComponent(
       WXSDKInstance instance, WXVContainer parent, BasicComponentData basicComponentData) {
@@ -162,9 +166,11 @@ public class WxHtmlComponent extends WXVContainer<ScrollView> {
 
   /**
    * htmlOption: { image: { resize: 'cover' }, table: { template: '' },
-   * tags:['image','table','video'] }
+   * tags:['image','table','video'], virtualized: false }
    * Template related to {@link HtmlComponent#HTML_TEMPLATE}
    * Tags indicate the support one,and default contains image,video,table
+   * Virtualized only creates the views of the blocks near the visible part, see
+   * {@link HtmlBlockLayout}, for long articles
    * Once add new tag support, need custom native view in {@link
    * com.taobao.weex.ui.component.html.adapter.DefaultHtmlTagAdapter#getExtendTagView(String)}
    * @param htmlOption options for html
@@ -188,6 +194,8 @@ public class WxHtmlComponent extends WXVContainer<ScrollView> {
         if (table != null) {
           mTableTemplate = WXUtils.getString(table.get("template"), HtmlComponent.HTML_TEMPLATE);
         }
+        //virtualized
+        mVirtualized = WXUtils.getBoolean(option.get("virtualized"), false);
         //tags
         JSONArray tags = option.getJSONArray("tags");
         if (tags != null && tags.size() != 0) {
@@ -221,23 +229,73 @@ public class WxHtmlComponent extends WXVContainer<ScrollView> {
     }
   }
 
+  /**
+   * The html is split and its text converted on the work thread, then the views are created on
+   * the main thread. Both steps are cached by content, see {@link HtmlParseCache}.
+   */
   @WXComponentProp(name = "htmlText")
-  public void setHtml(String htmlText) {
+  public void setHtml(final String htmlText) {
 
     extractOption(WXUtils.getString(getAttrs().get("htmlOption"), ""));
 
-    if (mCenterContainer.getChildCount() != 0) {
-      mCenterContainer.removeAllViews();
+    if (htmlText == null) {
+      return;
     }
+    final int generation = ++mHtmlGeneration;
+    final String[] tagNames = mSupportedTags;
+    List<HtmlComponent> cached = HtmlParseCache.getTags(htmlText, tagNames);
+    if (cached != null) {
+      showHtml(cached);
+      return;
+    }
+    final Context context = getContext().getApplicationContext();
+    WXSDKManager.getInstance().getWXWorkThreadManager().post(new Runnable() {
+      @Override
+      public void run() {
+        final List<HtmlComponent> htmlComponents;
+        try {
+          htmlComponents = HtmlParseCache.prepare(context, htmlText, tagNames);
+        } catch (Throwable e) {
+          WXLogUtils.e("WxHtmlComponent", "parse html failed: " + WXLogUtils.getStackTrace(e));
+          return;
+        }
+        WXSDKManager.getInstance().postOnUiThread(new Runnable() {
+          @Override
+          public void run() {
+            if (generation == mHtmlGeneration && !isDestoryed() && getHostView() != null) {
+              showHtml(htmlComponents);
+            }
+          }
+        }, 0);
+      }
+    });
+  }
 
-    if (mHtmlComponents.size() == 0) {
-      mHtmlComponents.addAll(
-          HtmlComponent.parseTags(htmlText, mSupportedTags));
+  private void showHtml(List<HtmlComponent> htmlComponents) {
+    if (mCenterContainer.getChildCount() != 0) {
+      mCenterContainer.removeAllViews();
     }
+    mHtmlComponents.clear();
+    mHtmlComponents.addAll(htmlComponents);
 
     LinearLayout.LayoutParams params =
         new LinearLayout.LayoutParams(
             LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+    if (mVirtualized) {
+      if (mBlockLayout == null) {
+        mBlockLayout = new HtmlBlockLayout(getContext());
+      }
+      mCenterContainer.addView(mBlockLayout, params);
+      mBlockLayout.setBlocks(mHtmlComponents, new HtmlBlockLayout.BlockViewFactory() {
+        @Override
+        public View createBlockView(HtmlComponent block) {
+          return getInstance()
+              .getHtmlTextAdapter()
+              .getHtmlTagView(getContext(), WxHtmlComponent.this, block.tagName, block.info);
+        }
+      });
+      return;
+    }
     for (HtmlComponent htmlComponent : mHtmlComponents) {
       mCenterContainer.addView(
           getInstance()
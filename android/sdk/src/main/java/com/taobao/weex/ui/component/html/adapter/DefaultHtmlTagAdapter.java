@@ -39,10 +39,9 @@ import com.taobao.weex.WXSDKManager;
 import com.taobao.weex.adapter.IWxHtmlTagAdapter;
 import com.taobao.weex.ui.component.html.AtMostWebView;
 import com.taobao.weex.ui.component.html.HtmlComponent;
+import com.taobao.weex.ui.component.html.HtmlParseCache;
 import com.taobao.weex.ui.component.html.JellyBeanSpanFixTextView;
 import com.taobao.weex.ui.component.html.WxHtmlComponent;
-import com.taobao.weex.ui.component.html.WxHtmlTagHandler;
-import com.taobao.weex.ui.component.html.htmlcompat.HtmlCompat;
 import com.taobao.weex.utils.WXViewUtils;
 
 import java.util.HashMap;
@@ -191,8 +190,7 @@ public class DefaultHtmlTagAdapter implements IWxHtmlTagAdapter {
 
   protected View getDefaultTextView(String html) {
     JellyBeanSpanFixTextView textView = new JellyBeanSpanFixTextView(context);
-    WxHtmlTagHandler tagHandler = new WxHtmlTagHandler();
-    SpannableStringBuilder span = (SpannableStringBuilder) HtmlCompat.fromHtml(context, html, HtmlCompat.FROM_HTML_MODE_LEGACY, tagHandler);
+    SpannableStringBuilder span = HtmlParseCache.fromHtml(context, html);
     // remove the last "\n" and add it to start
     if (span.length() > 0) {
       span.replace(span.length() - "\n".length(), span.length(), "");
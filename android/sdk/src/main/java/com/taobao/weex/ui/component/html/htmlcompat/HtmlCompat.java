@@ -208,6 +208,24 @@ public class HtmlCompat {
      */
     private static class HtmlParser {
         private static final HTMLSchema schema = new HTMLSchema();
+
+        /**
+         * Parsers are reused on the thread which created them, a parser resets its state at the
+         * start of each document.
+         */
+        private static final ThreadLocal<Parser> parser = new ThreadLocal<Parser>() {
+            @Override
+            protected Parser initialValue() {
+                Parser parser = new Parser();
+                try {
+                    parser.setProperty(Parser.schemaProperty, schema);
+                } catch (org.xml.sax.SAXNotRecognizedException | org.xml.sax.SAXNotSupportedException e) {
+                    // Should not happen.
+                    throw new RuntimeException(e);
+                }
+                return parser;
+            }
+        };
     }
 
     /**
@@ -237,15 +255,8 @@ public class HtmlCompat {
         if (source == null) {
             return null;
         }
-        Parser parser = new Parser();
-        try {
-            parser.setProperty(Parser.schemaProperty, HtmlParser.schema);
-        } catch (org.xml.sax.SAXNotRecognizedException | org.xml.sax.SAXNotSupportedException e) {
-            // Should not happen.
-            throw new RuntimeException(e);
-        }
-        HtmlToSpannedConverter converter =
-                new HtmlToSpannedConverter(context, source, tagHandler, spanCallback, parser, flags);
+        HtmlToSpannedConverter converter = new HtmlToSpannedConverter(context, source, tagHandler,
+                spanCallback, HtmlParser.parser.get(), flags);
         return converter.convert();
     }
 
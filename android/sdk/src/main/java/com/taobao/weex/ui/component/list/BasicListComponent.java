@@ -26,7 +26,6 @@ import android.graphics.PointF;
 import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.v4.util.ArrayMap;
 import android.support.v4.view.MotionEventCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.GridLayoutManager;
@@ -57,6 +56,7 @@ import com.taobao.weex.ui.component.WXBaseRefresh;
 import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.component.WXComponentProp;
 import com.taobao.weex.ui.component.WXHeader;
+import com.taobao.weex.ui.component.WXImage;
 import com.taobao.weex.ui.component.WXLoading;
 import com.taobao.weex.ui.component.WXRefresh;
 import com.taobao.weex.ui.component.WXVContainer;
@@ -67,6 +67,7 @@ import com.taobao.weex.ui.view.listview.adapter.IOnLoadMoreListener;
 import com.taobao.weex.ui.view.listview.adapter.IRecyclerAdapterListener;
 import com.taobao.weex.ui.view.listview.adapter.ListBaseViewHolder;
 import com.taobao.weex.ui.view.listview.adapter.RecyclerViewBaseAdapter;
+import com.taobao.weex.ui.view.listview.adapter.WXRecycledViewPool;
 import com.taobao.weex.ui.view.listview.adapter.WXRecyclerViewOnScrollListener;
 import com.taobao.weex.ui.view.refresh.wrapper.BounceRecyclerView;
 import com.taobao.weex.utils.WXLogUtils;
@@ -101,13 +102,16 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   private long mAppearChangeRunnableDelay = 50;
 
   private boolean isScrollable = true;
-  private ArrayMap<String, Long> mRefToViewType;
   private SparseArray<ArrayList<WXComponent>> mViewTypes;
+  private WXRecycledViewPool mRecycledViewPool;
+  private String mRecycledViewPoolName;
+  /**
+   * view types of the cells with a scope, their template is only walked when they are added
+   */
+  private Map<WXComponent, Integer> mTemplateViewTypes;
   private WXRecyclerViewOnScrollListener mViewOnScrollListener = new WXRecyclerViewOnScrollListener(this);
 
-  private static final int MAX_VIEWTYPE_ALLOW_CACHE = 9;
-  private static boolean mAllowCacheViewHolder = true;
-  private static boolean mDownForBidCacheViewHolder = false;
+  private static final int DEFAULT_IMAGE_PREFETCH_COUNT = 4;
 
 
   protected int mLayoutType = WXRecyclerView.TYPE_LINEAR_LAYOUT;
@@ -118,6 +122,11 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   protected float mRightGap = 0;
 
   private int mOffsetAccuracy = 10;
+  private int mImagePrefetchCount = DEFAULT_IMAGE_PREFETCH_COUNT;
+  /**
+   * first position of the range prefetched last, as onScrolled runs every frame
+   */
+  private int mLastImagePrefetchFrom = -1;
   private Point mLastReport = new Point(-1, -1);
   private boolean mHasAddScrollEvent = false;
 
@@ -265,8 +274,12 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       mStickyMap.clear();
     if (mViewTypes != null)
       mViewTypes.clear();
-    if (mRefToViewType != null)
-      mRefToViewType.clear();
+    if (mTemplateViewTypes != null)
+      mTemplateViewTypes.clear();
+    if (mRecycledViewPool != null) {
+      getInstance().releaseRecycledViewPool(mRecycledViewPoolName, mRecycledViewPool);
+      mRecycledViewPool = null;
+    }
 
   }
 
@@ -303,11 +316,16 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       mAppearChangeRunnableDelay =  WXUtils.getNumberInt(getAttrs().get("appearActionDelay"), (int) mAppearChangeRunnableDelay);
     }
 
+    if(getAttrs().get(Constants.Name.IMAGE_PREFETCH_COUNT) != null){
+      mImagePrefetchCount = WXUtils.getNumberInt(getAttrs().get(Constants.Name.IMAGE_PREFETCH_COUNT), DEFAULT_IMAGE_PREFETCH_COUNT);
+    }
+
     mItemAnimator=bounceRecyclerView.getInnerView().getItemAnimator();
 
     RecyclerViewBaseAdapter recyclerViewBaseAdapter = new RecyclerViewBaseAdapter<>(this);
     recyclerViewBaseAdapter.setHasStableIds(true);
     bounceRecyclerView.setRecyclerViewBaseAdapter(recyclerViewBaseAdapter);
+    bounceRecyclerView.getInnerView().setRecycledViewPool(getRecycledViewPool());
     bounceRecyclerView.setOverScrollMode(View.OVER_SCROLL_NEVER);
     bounceRecyclerView.getInnerView().addOnScrollListener(mViewOnScrollListener);
     if(getAttrs().get(Constants.Name.HAS_FIXED_SIZE) != null){
@@ -343,6 +361,7 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       @Override
       public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
         super.onScrolled(recyclerView, dx, dy);
+        prefetchUpcomingImages(recyclerView, dy != 0 ? dy : dx);
         List<OnWXScrollListener> listeners = getInstance().getWXScrollListeners();
         if (listeners != null && listeners.size() > 0) {
           try {
@@ -982,7 +1001,6 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
       if (mViewTypes == null)
         return createVHForFakeComponent(viewType);
       ArrayList<WXComponent> mTypes = mViewTypes.get(viewType);
-      checkRecycledViewPool(viewType);
       if (mTypes == null)
         return createVHForFakeComponent(viewType);
 
@@ -1019,35 +1037,6 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
     return createVHForFakeComponent(viewType);
   }
 
-  /**
-   * Forbid ViewHolder cache if viewType > MAX_VIEWTYPE_ALLOW_CACHE
-   *
-   * @param viewType
-   */
-  private void checkRecycledViewPool(int viewType) {
-    try {
-      if (mViewTypes.size() > MAX_VIEWTYPE_ALLOW_CACHE)
-        mAllowCacheViewHolder = false;
-
-      if (mDownForBidCacheViewHolder)
-        if (getHostView() != null && getHostView().getInnerView() != null)
-          getHostView().getInnerView().getRecycledViewPool().setMaxRecycledViews(viewType, 0);
-
-      if (!mDownForBidCacheViewHolder) {
-        if (!mAllowCacheViewHolder) {
-          if (getHostView() != null && getHostView().getInnerView() != null) {
-            for (int i = 0; i < mViewTypes.size(); i++) {
-              getHostView().getInnerView().getRecycledViewPool().setMaxRecycledViews(mViewTypes.keyAt(i), 0);
-            }
-            mDownForBidCacheViewHolder = true;
-          }
-        }
-      }
-    } catch (Exception e) {
-      WXLogUtils.e(TAG, "Clear recycledViewPool error!");
-    }
-  }
-
   /**
    * Return the child component type. The type is defined by scopeValue in .we file.
    *
@@ -1121,8 +1110,14 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
    * @param component
    */
   private void bindViewType(WXComponent component) {
-    int id = generateViewType(component);
+    if (isTemplateDeferred(component)) {
+      // the cell has no children yet, it is bound by generateViewType once the list asks its type
+      return;
+    }
+    addViewType(generateViewType(component), component);
+  }
 
+  private void addViewType(int id, WXComponent component) {
     if (mViewTypes == null) {
       mViewTypes = new SparseArray<>();
     }
@@ -1137,7 +1132,16 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   }
 
   private void unBindViewType(WXComponent component) {
-    int id = generateViewType(component);
+    Integer templateViewType = mTemplateViewTypes == null ? null : mTemplateViewTypes.remove(component);
+    int id;
+    if (templateViewType != null) {
+      id = templateViewType;
+    } else if (isTemplateDeferred(component)) {
+      // its type was never asked, so it was never bound
+      return;
+    } else {
+      id = generateViewType(component);
+    }
 
     if (mViewTypes == null)
       return;
@@ -1148,8 +1152,33 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
     mTypes.remove(component);
   }
 
+  private WXRecycledViewPool getRecycledViewPool() {
+    if (mRecycledViewPool == null) {
+      mRecycledViewPoolName = WXUtils.getString(getAttrs().get(Constants.Name.RECYCLE_POOL), null);
+      mRecycledViewPool = getInstance().getRecycledViewPool(mRecycledViewPoolName);
+    }
+    return mRecycledViewPool;
+  }
+
   /**
-   * generate viewtype by component
+   * @return true if the view type of the component depends on its children, which are added after
+   * the component itself: cells with a scope in a pool shared with other lists.
+   */
+  private boolean isTemplateDeferred(WXComponent component) {
+    return !TextUtils.isEmpty(component.getAttrs().getScope())
+        && !TextUtils.isEmpty(getRecycledViewPoolName());
+  }
+
+  private String getRecycledViewPoolName() {
+    getRecycledViewPool();
+    return mRecycledViewPoolName;
+  }
+
+  /**
+   * generate viewtype by component, cells with the same template share the view type in every list
+   * of the recycled view pool so that lists can share the pool. In a shared pool the template is
+   * computed the first time it is asked for, from {@link #getItemViewType(int)}, when the cell tree
+   * is complete.
    *
    * @param component
    * @return
@@ -1157,18 +1186,23 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
   private int generateViewType(WXComponent component) {
     long id;
     try {
-      id = Integer.parseInt(component.getRef());
       String type = component.getAttrs().getScope();
 
       if (!TextUtils.isEmpty(type)) {
-        if (mRefToViewType == null) {
-          mRefToViewType = new ArrayMap<>();
+        if (mTemplateViewTypes == null) {
+          mTemplateViewTypes = new HashMap<>();
         }
-        if (!mRefToViewType.containsKey(type)) {
-          mRefToViewType.put(type, id);
+        Integer viewType = mTemplateViewTypes.get(component);
+        if (viewType == null) {
+          viewType = getRecycledViewPool().viewTypeOf(templateOf(type, component));
+          mTemplateViewTypes.put(component, viewType);
+          if (isTemplateDeferred(component)) {
+            addViewType(viewType, component);
+          }
         }
-        id = mRefToViewType.get(type);
-
+        id = viewType;
+      } else {
+        id = Integer.parseInt(component.getRef());
       }
     } catch (RuntimeException e) {
       WXLogUtils.eTag(TAG, e);
@@ -1178,6 +1212,32 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
     return (int) id;
   }
 
+  /**
+   * The scope alone within a pool of its own; in a shared pool other lists may use the same scope
+   * for another cell, so the component classes of the cell tree are part of the template. Only
+   * called once the cell has its children, see {@link #isTemplateDeferred(WXComponent)}.
+   */
+  private String templateOf(String scope, WXComponent component) {
+    if (TextUtils.isEmpty(mRecycledViewPoolName)) {
+      return scope;
+    }
+    StringBuilder template = new StringBuilder(scope);
+    appendTemplate(template, component);
+    return template.toString();
+  }
+
+  private static void appendTemplate(StringBuilder template, WXComponent component) {
+    template.append('|').append(component.getClass().getName());
+    if (component instanceof WXVContainer) {
+      WXVContainer container = (WXVContainer) component;
+      template.append('[');
+      for (int i = 0; i < container.getChildCount(); i++) {
+        appendTemplate(template, container.getChild(i));
+      }
+      template.append(']');
+    }
+  }
+
   /**
    * Get child component num.
    *
@@ -1402,6 +1462,73 @@ public abstract class BasicListComponent<T extends ViewGroup & ListComponentView
 
 
 
+  /**
+   * Prefetch the images of the cells in [fromPosition, toPosition], clamped to the list. Images
+   * are only requested if the image adapter implements
+   * {@link com.taobao.weex.adapter.IWXImgPrefetchAdapter}.
+   * @return count of image requests issued.
+   */
+  public int prefetchImages(int fromPosition, int toPosition) {
+    int count = 0;
+    int start = Math.max(0, fromPosition);
+    int end = Math.min(getChildCount() - 1, toPosition);
+    for (int i = start; i <= end; i++) {
+      count += prefetchImages(getChild(i));
+    }
+    return count;
+  }
+
+  private static int prefetchImages(WXComponent component) {
+    if (component instanceof WXImage) {
+      return ((WXImage) component).prefetch() ? 1 : 0;
+    }
+    int count = 0;
+    if (component instanceof WXVContainer) {
+      WXVContainer container = (WXVContainer) component;
+      for (int i = 0; i < container.getChildCount(); i++) {
+        count += prefetchImages(container.getChild(i));
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Prefetch images of the cells which come next in the scroll direction.
+   */
+  private void prefetchUpcomingImages(RecyclerView recyclerView, int delta) {
+    if (mImagePrefetchCount <= 0 || delta == 0) {
+      return;
+    }
+    RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+    int first;
+    int last;
+    if (layoutManager instanceof LinearLayoutManager) {
+      first = ((LinearLayoutManager) layoutManager).findFirstVisibleItemPosition();
+      last = ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+    } else if (layoutManager instanceof StaggeredGridLayoutManager) {
+      int[] firstItems = ((StaggeredGridLayoutManager) layoutManager).findFirstVisibleItemPositions(null);
+      int[] lastItems = ((StaggeredGridLayoutManager) layoutManager).findLastVisibleItemPositions(null);
+      first = Integer.MAX_VALUE;
+      last = -1;
+      for (int i = 0; i < firstItems.length; i++) {
+        first = Math.min(first, firstItems[i]);
+        last = Math.max(last, lastItems[i]);
+      }
+    } else {
+      return;
+    }
+    if (first < 0 || last < 0) {
+      return;
+    }
+    int from = delta > 0 ? last + 1 : first - mImagePrefetchCount;
+    if (from == mLastImagePrefetchFrom) {
+      // the visible cells are the same as in the last frame, nothing new to prefetch
+      return;
+    }
+    mLastImagePrefetchFrom = from;
+    prefetchImages(from, from + mImagePrefetchCount - 1);
+  }
+
   public int calcContentOffset(RecyclerView recyclerView) {
     RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
     if (layoutManager instanceof LinearLayoutManager) {
@@ -19,7 +19,6 @@
 package com.taobao.weex.ui.component.list;
 
 import android.content.Context;
-import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.RestrictTo;
 import android.text.TextUtils;
@@ -27,6 +26,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 
+import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.annotation.Component;
 import com.taobao.weex.common.Constants;
@@ -37,6 +37,7 @@ import com.taobao.weex.ui.action.BasicComponentData;
 import com.taobao.weex.ui.component.WXComponent;
 import com.taobao.weex.ui.component.WXHeader;
 import com.taobao.weex.ui.component.WXVContainer;
+import com.taobao.weex.ui.component.list.template.WXRecyclerTemplateList;
 import com.taobao.weex.ui.flat.WidgetContainer;
 import com.taobao.weex.ui.view.WXFrameLayout;
 import com.taobao.weex.utils.WXLogUtils;
@@ -91,7 +92,9 @@ public class WXCell extends WidgetContainer<WXFrameLayout> {
     public WXCell(WXSDKInstance instance, WXVContainer parent, boolean isLazy, BasicComponentData basicComponentData) {
         super(instance, parent, basicComponentData);
         lazy(true);
-        if(Build.VERSION.SDK_INT< Build.VERSION_CODES.LOLLIPOP) {
+        // cells of recycle-list are copied and rebound from templates, they always keep real views
+        if(!(parent instanceof WXRecyclerTemplateList)
+                && WXEnvironment.sFlatUIEnabled) {
             try {
                 //TODO a WTF is necessary if anyone try to change the flat flag during update attrs.
                 WXAttr attr = getAttrs();
@@ -26,12 +26,15 @@ import com.taobao.weex.WXEnvironment;
 import com.taobao.weex.ui.component.list.WXCell;
 import com.taobao.weex.utils.WXLogUtils;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Created by furture on 2018/1/25.
- * async template cell component copy in background and init component when idle
+ * async template cell component copy in background and init component when idle,
+ * or build its views in background too, see {@link AsyncCellViewBuilder}
  */
 class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
 
@@ -39,6 +42,11 @@ class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
     private WXCell source;
     private WXRecyclerTemplateList templateList;
 
+    /**
+     * copied cells whose views are built by {@link AsyncCellViewBuilder}, they join the cache when bound
+     * */
+    private List<WXCell> asyncViewCells;
+
     public AsyncCellLoadTask(String template, WXCell source, WXRecyclerTemplateList templateList) {
         this.template = template;
         this.source = source;
@@ -54,7 +62,12 @@ class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
         if(cellCache == null || cellCache.cells == null){
             return null;
         }
-        while (cellCache.cells.size() < templateList.getTemplateCacheSize()){
+        boolean buildViews = templateList.isAsyncViewCreate() && AsyncCellViewBuilder.canBuild(source);
+        if(buildViews){
+            asyncViewCells = new ArrayList<>();
+        }
+        int cacheSize = templateList.getTemplateCacheSize(template);
+        while (cellCache.cells.size() + (asyncViewCells == null ? 0 : asyncViewCells.size()) < cacheSize){
             long start = System.currentTimeMillis();
             WXCell component = (WXCell) templateList.copyComponentFromSourceCell(source);
             if(WXEnvironment.isOpenDebugLog() && WXRecyclerTemplateList.ENABLE_TRACE_LOG){
@@ -68,7 +81,11 @@ class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
             if(isDestory()){
                 return null;
             }
-            cellCache.cells.add(component);
+            if(buildViews){
+                asyncViewCells.add(component);
+            }else{
+                cellCache.cells.add(component);
+            }
         }
         return null;
     }
@@ -85,6 +102,10 @@ class AsyncCellLoadTask extends AsyncTask<Void,Void, Void> {
         if(cellCache == null){
             return;
         }
+        if(asyncViewCells != null && asyncViewCells.size() > 0){
+            AsyncCellViewBuilder.build(templateList, template, cellCache, asyncViewCells);
+            return;
+        }
         if(cellCache.cells == null
                 || cellCache.cells.size() == 0){
             cellCache.isLoadIng = false;
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list.template;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+import com.taobao.weex.WXEnvironment;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXImage;
+import com.taobao.weex.ui.component.WXText;
+import com.taobao.weex.ui.component.WXVContainer;
+import com.taobao.weex.ui.component.list.WXCell;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the view hierarchies of preloaded template cells on a background thread with its own
+ * Looper, then applies layout, events and data of all of them in a single step on the main thread,
+ * where they subscribe to Activity life cycle callbacks and join the template cache.
+ *
+ * Only cells made of components whose views can be created off the main thread are built here,
+ * see {@link #registerAsyncViewComponent(Class)}; other cells are still created one per main
+ * thread idle.
+ */
+class AsyncCellViewBuilder {
+
+    private static final String TAG = "AsyncCellViewBuilder";
+
+    private static final Set<Class<? extends WXComponent>> sAsyncViewComponents =
+            Collections.newSetFromMap(new ConcurrentHashMap<Class<? extends WXComponent>, Boolean>());
+
+    static {
+        sAsyncViewComponents.add(WXCell.class);
+        sAsyncViewComponents.add(WXDiv.class);
+        sAsyncViewComponents.add(WXText.class);
+        sAsyncViewComponents.add(WXImage.class);
+    }
+
+    private static Handler sHandler;
+
+    /**
+     * Declare that views of the component class, not its subclasses, may be created on a
+     * background thread: the view must not touch attached state or main thread only APIs before
+     * it is bound.
+     */
+    static void registerAsyncViewComponent(Class<? extends WXComponent> clazz) {
+        sAsyncViewComponents.add(clazz);
+    }
+
+    /**
+     * @return true if the views of every component of the cell can be created off the main thread.
+     */
+    static boolean canBuild(WXCell cell) {
+        WXSDKInstance instance = cell.getInstance();
+        return instance != null && instance.getComponentObserver() == null && isAsyncViewTree(cell);
+    }
+
+    private static boolean isAsyncViewTree(WXComponent component) {
+        if (!sAsyncViewComponents.contains(component.getClass())) {
+            return false;
+        }
+        if (component instanceof WXVContainer) {
+            WXVContainer container = (WXVContainer) component;
+            for (int i = 0; i < container.getChildCount(); i++) {
+                if (!isAsyncViewTree(container.getChild(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static synchronized Handler getHandler() {
+        if (sHandler == null) {
+            HandlerThread thread = new HandlerThread("WeexCellBuilder", Process.THREAD_PRIORITY_BACKGROUND);
+            thread.start();
+            sHandler = new Handler(thread.getLooper());
+        }
+        return sHandler;
+    }
+
+    /**
+     * Create the views of cells in the background and add them to cache once bound, must be
+     * called on the main thread.
+     */
+    static void build(final WXRecyclerTemplateList templateList, final String template,
+                      final TemplateCache cache, final List<WXCell> cells) {
+        getHandler().post(new Runnable() {
+            @Override
+            public void run() {
+                long start = System.currentTimeMillis();
+                final List<WXCell> built = new ArrayList<>(cells.size());
+                for (WXCell cell : cells) {
+                    if (isDestroyed(templateList, cell)) {
+                        break;
+                    }
+                    try {
+                        cell.lazy(false);
+                        cell.createView();
+                        built.add(cell);
+                    } catch (RuntimeException e) {
+                        // a partially created cell is dropped, the list copies another one on demand
+                        WXLogUtils.e(TAG, e);
+                    }
+                }
+                if (WXEnvironment.isOpenDebugLog() && WXRecyclerTemplateList.ENABLE_TRACE_LOG) {
+                    WXLogUtils.d(TAG, template + " built " + built.size() + " cells used " + (System.currentTimeMillis() - start));
+                }
+                WXSDKManager.getInstance().getWXRenderManager().postOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        attach(templateList, template, cache, built);
+                    }
+                }, 0);
+            }
+        });
+    }
+
+    private static void attach(WXRecyclerTemplateList templateList, String template,
+                               TemplateCache cache, List<WXCell> built) {
+        long start = System.currentTimeMillis();
+        for (WXCell cell : built) {
+            if (isDestroyed(templateList, cell)) {
+                break;
+            }
+            cell.applyLayoutAndEvent(cell);
+            cell.bindData(cell);
+            cell.getInstance().getLifecycleRegistry().registerTree(cell);
+            cache.cells.add(cell);
+        }
+        cache.isLoadIng = false;
+        if (WXEnvironment.isOpenDebugLog() && WXRecyclerTemplateList.ENABLE_TRACE_LOG) {
+            WXLogUtils.d(TAG, template + " attached " + built.size() + " cells used " + (System.currentTimeMillis() - start));
+        }
+    }
+
+    private static boolean isDestroyed(WXRecyclerTemplateList templateList, WXCell cell) {
+        return cell.getInstance() == null || cell.getInstance().isDestroy() || templateList.isDestoryed();
+    }
+}
@@ -109,6 +109,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
     private static final String NAME_HAS_FIXED_SIZE = "hasFixedSize";
     private static final String NAME_ITEM_VIEW_CACHE_SIZE = "itemViewCacheSize";
     private static final String NAME_TEMPLATE_CACHE_SIZE = "templateCacheSize";
+    private static final String NAME_ASYNC_VIEW_CREATE = "asyncViewCreate";
 
     // TODO
 //    private WXRecyclerDomObject mDomObject;
@@ -150,6 +151,7 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
     private Runnable listUpdateRunnable;
     private ConcurrentHashMap<String, TemplateCache> mTemplatesCache;
     private int templateCacheSize = 2;
+    private boolean asyncViewCreate = false;
 
 
     /**
@@ -262,6 +264,9 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         if(attrs.get(NAME_TEMPLATE_CACHE_SIZE) != null){
             templateCacheSize =  WXUtils.getInteger(attrs.get(NAME_TEMPLATE_CACHE_SIZE), templateCacheSize);
         }
+        if(attrs.get(NAME_ASYNC_VIEW_CREATE) != null){
+            asyncViewCreate = WXUtils.getBoolean(attrs.get(NAME_ASYNC_VIEW_CREATE), asyncViewCreate);
+        }
 
         boolean hasFixedSize = false;
         int itemViewCacheSize = 2;
@@ -1988,6 +1993,33 @@ public class WXRecyclerTemplateList extends WXVContainer<BounceRecyclerView> imp
         return templateCacheSize;
     }
 
+    /**
+     * cache size of one template, templateCacheSize attr of the template cell overrides the list's
+     * */
+    public int getTemplateCacheSize(String template){
+        WXCell source = mTemplateSources == null ? null : mTemplateSources.get(template);
+        if(source != null && source.getAttrs().get(NAME_TEMPLATE_CACHE_SIZE) != null){
+            return WXUtils.getInteger(source.getAttrs().get(NAME_TEMPLATE_CACHE_SIZE), templateCacheSize);
+        }
+        return templateCacheSize;
+    }
+
+    /**
+     * whether views of preloaded cells may be built off the main thread, see {@link AsyncCellViewBuilder};
+     * off unless the list sets the asyncViewCreate attribute
+     * */
+    public boolean isAsyncViewCreate() {
+        return asyncViewCreate;
+    }
+
+    /**
+     * declare that views of the component class can be created off the main thread when template
+     * cells are preloaded, div, text and image are by default
+     * */
+    public static void registerAsyncViewComponent(Class<? extends WXComponent> clazz){
+        AsyncCellViewBuilder.registerAsyncViewComponent(clazz);
+    }
+
     public ConcurrentHashMap<String, TemplateCache> getTemplatesCache() {
         if(mTemplatesCache == null){
             mTemplatesCache = new ConcurrentHashMap<>();
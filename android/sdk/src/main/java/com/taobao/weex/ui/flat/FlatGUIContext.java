@@ -24,31 +24,55 @@ import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
 import android.support.annotation.RestrictTo.Scope;
 import android.support.v4.util.ArrayMap;
+import android.support.v4.util.ArraySet;
 import android.text.TextUtils;
 import android.view.View;
+import android.view.ViewGroup;
 
+import com.taobao.weex.WXSDKInstance;
 import com.taobao.weex.common.Constants.Name;
 import com.taobao.weex.common.Destroyable;
 import com.taobao.weex.dom.WXAttr;
 import com.taobao.weex.dom.WXStyle;
+import com.taobao.weex.dom.transition.WXTransition;
+import com.taobao.weex.performance.WXInstanceApm;
 import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.WXVContainer;
 import com.taobao.weex.ui.flat.widget.AndroidViewWidget;
 import com.taobao.weex.ui.flat.widget.Widget;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
-//TODO The constructor of FlatGUIContext should have a flag decide whether to enable flagGUI.
-
+/**
+ * Flat rendering of a cell with the <code>flat</code> attribute: non-interactive text and div
+ * descendants are drawn as widgets by the cell's view instead of getting views of their own.
+ * Components which need a view (events, animations, transforms, accessibility, ...) are promoted
+ * to real views, when created or later on, see {@link #promote(WXComponent)}.
+ */
 @RestrictTo(Scope.LIBRARY)
 public class FlatGUIContext implements Destroyable {
 
+  /**
+   * Style or attribute keys a widget can not render, a component with any of them gets a view.
+   */
+  private static final String[] VIEW_REQUIRED_KEYS = {
+          Name.OPACITY, Name.TRANSFORM, Name.VISIBILITY, Name.BOX_SHADOW,
+          WXTransition.TRANSITION_PROPERTY, Name.ELEVATION, Name.ARIA_HIDDEN, Name.ARIA_LABEL,
+          Name.ROLE, Name.DISABLED, WXComponent.PROP_FIXED_SIZE
+  };
+
   private Map<WXComponent, WidgetContainer> mWidgetRegistry = new ArrayMap<>();
   private Map<WXComponent, AndroidViewWidget> mViewWidgetRegistry = new ArrayMap<>();
   private Map<Widget, WXComponent> widgetToComponent = new ArrayMap<>();
+  private Set<WXComponent> mFlattened = new ArraySet<>();
+  private Set<WXComponent> mPromoted = new ArraySet<>();
+  private int mPromoteCount;
 
   public boolean isFlatUIEnabled(WXComponent component) {
-    return false;
+    return component.isFlatUIEnabled();
   }
 
   public void register(@NonNull WXComponent descendant, @NonNull WidgetContainer ancestor) {
@@ -64,6 +88,9 @@ public class FlatGUIContext implements Destroyable {
 
   public void register(@NonNull Widget widget, @NonNull WXComponent component) {
     widgetToComponent.put(widget, component);
+    if (!(widget instanceof AndroidViewWidget) && mFlattened.add(component)) {
+      updateStats(component, WXInstanceApm.KEY_PAGE_STATS_FLAT_VIEW_SAVED_NUM, 1);
+    }
   }
 
   public
@@ -84,9 +111,72 @@ public class FlatGUIContext implements Destroyable {
             !expectedClass.equals(component.getClass()) ||
             TextUtils.equals(component.getRef(), WXComponent.ROOT) ||
             (checkAncestor && getFlatComponentAncestor(component) == null) ||
+            mPromoted.contains(component) ||
             checkComponent(component);
   }
 
+  /**
+   * @return true if the component is drawn as a widget of a flat container, without a view.
+   */
+  public boolean isFlattened(@NonNull WXComponent component) {
+    return getFlatComponentAncestor(component) != null && getAndroidViewWidget(component) == null;
+  }
+
+  /**
+   * Give a flattened component a real view, e.g. when an event listener, an animation or a style
+   * a widget can not render is added after it was drawn. The widgets of its flat container are
+   * rebuilt; views of the container's other promoted children are kept.
+   * @return true if the component was flattened and now has a view.
+   */
+  public boolean promote(@NonNull WXComponent component) {
+    WidgetContainer container = getFlatComponentAncestor(component);
+    if (container == null || !isFlattened(component) || container.isDestoryed()
+            || container.getHostView() == null) {
+      return false;
+    }
+    mPromoted.add(component);
+    mPromoteCount++;
+    if (mFlattened.remove(component)) {
+      updateStats(component, WXInstanceApm.KEY_PAGE_STATS_FLAT_VIEW_SAVED_NUM, -1);
+    }
+    updateStats(component, WXInstanceApm.KEY_PAGE_STATS_FLAT_PROMOTE_NUM, 1);
+
+    container.unmountFlatGUI();
+    forgetChildren(container);
+    for (int i = 0; i < container.getChildCount(); i++) {
+      container.createChildViewAt(i);
+    }
+    container.mountFlatGUI();
+    container.applyLayoutAndEvent(container);
+    container.bindData(container);
+    return component.getHostView() != null;
+  }
+
+  /**
+   * @return true if a component with the given styles or attributes needs a view.
+   */
+  public static boolean requireView(@Nullable Map<String, Object> props) {
+    if (props != null && !props.isEmpty()) {
+      for (String key : VIEW_REQUIRED_KEYS) {
+        if (props.containsKey(key)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return count of components currently drawn as widgets, i.e. views saved.
+   */
+  public int getFlattenedCount() {
+    return mFlattened.size();
+  }
+
+  public int getPromoteCount() {
+    return mPromoteCount;
+  }
+
   public
   @Nullable
   View getWidgetContainerView(Widget widget) {
@@ -104,6 +194,8 @@ public class FlatGUIContext implements Destroyable {
   @RestrictTo(Scope.LIBRARY)
   public void destroy() {
     widgetToComponent.clear();
+    mFlattened.clear();
+    mPromoted.clear();
 
     for (Entry<WXComponent, AndroidViewWidget> entry : mViewWidgetRegistry.entrySet()) {
       entry.getValue().destroy();
@@ -116,6 +208,44 @@ public class FlatGUIContext implements Destroyable {
     mWidgetRegistry.clear();
   }
 
+  /**
+   * Drop widgets registered for the children of container, recursively through flattened
+   * containers. Views of promoted children are detached and reused when the children are
+   * created again.
+   */
+  private void forgetChildren(@NonNull WXVContainer container) {
+    if (container instanceof WidgetContainer) {
+      ((WidgetContainer) container).resetFlatGUI();
+    }
+    for (int i = 0; i < container.getChildCount(); i++) {
+      WXComponent child = container.getChild(i);
+      mWidgetRegistry.remove(child);
+      Iterator<Entry<Widget, WXComponent>> iterator = widgetToComponent.entrySet().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().getValue() == child) {
+          iterator.remove();
+        }
+      }
+      AndroidViewWidget viewWidget = mViewWidgetRegistry.remove(child);
+      if (viewWidget != null) {
+        View view = viewWidget.getView();
+        if (view != null && view.getParent() instanceof ViewGroup) {
+          ((ViewGroup) view.getParent()).removeView(view);
+        }
+        viewWidget.destroy();
+      } else if (child instanceof WXVContainer) {
+        forgetChildren((WXVContainer) child);
+      }
+    }
+  }
+
+  private void updateStats(@NonNull WXComponent component, String key, double diff) {
+    WXSDKInstance instance = component.getInstance();
+    if (instance != null && instance.getApmForInstance() != null) {
+      instance.getApmForInstance().updateDiffStats(key, diff);
+    }
+  }
+
   private @Nullable
   WXComponent getComponent(@NonNull Widget widget) {
     return widgetToComponent.get(widget);
@@ -126,14 +256,8 @@ public class FlatGUIContext implements Destroyable {
     if (component != null) {
       WXStyle style = component.getStyles();
       WXAttr attr = component.getAttrs();
-      if (style.containsKey(Name.OPACITY) ||
-              style.containsKey(Name.TRANSFORM) ||
-              style.containsKey(Name.VISIBILITY) ||
-              attr.containsKey(Name.ELEVATION) ||
-              attr.containsKey(Name.ARIA_HIDDEN) ||
-              attr.containsKey(Name.ARIA_LABEL) ||
-              attr.containsKey(WXComponent.PROP_FIXED_SIZE) ||
-              attr.containsKey(Name.DISABLED) ||
+      if (requireView(style) ||
+              requireView(attr) ||
               style.isFixed() ||
               style.isSticky() ||
               !style.getPesudoStyles().isEmpty() ||
@@ -51,6 +51,13 @@ public abstract class WidgetContainer<T extends ViewGroup> extends WXVContainer<
     return false;
   }
 
+  /**
+   * Forget the widgets of the children, they are created again by {@link #createChildViewAt(int)}.
+   */
+  protected void resetFlatGUI() {
+    widgets = null;
+  }
+
   @Override
   public void createChildViewAt(int index) {
     if (intendToBeFlatContainer()) {
@@ -70,7 +77,9 @@ public abstract class WidgetContainer<T extends ViewGroup> extends WXVContainer<
         } else {
           flatChild = new AndroidViewWidget(uiImp);
           uiImp.register(child, (AndroidViewWidget) flatChild);
-          child.createView();
+          if (child.getHostView() == null) {
+            child.createView();
+          }
           ((AndroidViewWidget) flatChild).setContentView(child.getHostView());
           //TODO Use a sort algorithm to decide the childIndex of AndroidViewWidget
           parent.addSubView(child.getHostView(), -1);
@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.module;
+
+import android.support.v7.widget.RecyclerView;
+import android.text.TextUtils;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.annotation.JSMethod;
+import com.taobao.weex.bridge.JSCallback;
+import com.taobao.weex.common.Constants;
+import com.taobao.weex.common.Destroyable;
+import com.taobao.weex.common.ICheckBindingScroller;
+import com.taobao.weex.common.OnWXScrollListener;
+import com.taobao.weex.common.WXModule;
+import com.taobao.weex.el.parse.Operators;
+import com.taobao.weex.el.parse.Parser;
+import com.taobao.weex.el.parse.Token;
+import com.taobao.weex.ui.animation.BackgroundColorProperty;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.list.BasicListComponent;
+import com.taobao.weex.ui.component.list.template.WXRecyclerTemplateList;
+import com.taobao.weex.ui.view.gesture.WXGesture;
+import com.taobao.weex.ui.view.refresh.wrapper.BaseBounceView;
+import com.taobao.weex.utils.WXLogUtils;
+import com.taobao.weex.utils.WXResourceUtils;
+import com.taobao.weex.utils.WXViewUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds view properties of elements to the scroll offset of a scroller or list, or to the pan
+ * distance on an element, through expressions evaluated natively on every scroll or touch move,
+ * so scroll linked effects need no event to JS and no style update back.
+ *
+ * <pre>
+ * scrollBinding.bind({
+ *   anchor: scrollerRef,
+ *   eventType: 'scroll',  // or 'pan'
+ *   props: [
+ *     { element: headerRef, property: 'opacity', expression: 'y > 200 ? 0 : 1 - y / 200' },
+ *     { element: imageRef, property: 'transform.translateY', expression: 'y / 2' }
+ *   ]
+ * }, function(ret) { token = ret.token })
+ * </pre>
+ *
+ * Variables are x and y, the scroll offset, for scroll, and dx and dy, the distance from the
+ * touch down, for pan, all in web px. Expressions use the {@link Parser} syntax. Properties are
+ * opacity, backgroundColor, transform.translateX, transform.translateY, transform.scale,
+ * transform.scaleX, transform.scaleY, transform.rotate, transform.rotateX and transform.rotateY.
+ * Elements drawn flat inside a cell are promoted to a view, binding fails if they can not be.
+ */
+public class WXScrollBindingModule extends WXModule implements Destroyable {
+
+  private static final String TAG = "WXScrollBindingModule";
+
+  public static final String EVENT_TYPE_SCROLL = "scroll";
+  public static final String EVENT_TYPE_PAN = "pan";
+
+  private static final String RESULT = "result";
+  private static final String TOKEN = "token";
+  private static final String MESSAGE = "message";
+
+  private final Map<String, Binding> mBindings = new HashMap<>();
+  private int mNextToken;
+
+  @JSMethod(uiThread = true)
+  public void bind(JSONObject options, JSCallback callback) {
+    Map<String, Object> result = new HashMap<>();
+    try {
+      Binding binding = createBinding(options);
+      binding.start();
+      String token = String.valueOf(++mNextToken);
+      mBindings.put(token, binding);
+      result.put(RESULT, "success");
+      result.put(TOKEN, token);
+    } catch (IllegalArgumentException e) {
+      WXLogUtils.e(TAG, e.getMessage());
+      result.put(RESULT, "fail");
+      result.put(MESSAGE, e.getMessage());
+    }
+    if (callback != null) {
+      callback.invoke(result);
+    }
+  }
+
+  @JSMethod(uiThread = true)
+  public void unbind(String token) {
+    Binding binding = mBindings.remove(token);
+    if (binding != null) {
+      binding.stop();
+    }
+  }
+
+  @JSMethod(uiThread = true)
+  public void unbindAll() {
+    Iterator<Binding> iterator = mBindings.values().iterator();
+    while (iterator.hasNext()) {
+      iterator.next().stop();
+      iterator.remove();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    unbindAll();
+  }
+
+  private Binding createBinding(JSONObject options) {
+    if (options == null) {
+      throw new IllegalArgumentException("options required");
+    }
+    WXComponent anchor = findComponent(options.getString("anchor"));
+    if (anchor == null) {
+      throw new IllegalArgumentException("anchor not found: " + options.getString("anchor"));
+    }
+    String eventType = options.getString("eventType");
+    if (TextUtils.isEmpty(eventType)) {
+      eventType = EVENT_TYPE_SCROLL;
+    }
+    JSONArray props = options.getJSONArray("props");
+    if (props == null || props.isEmpty()) {
+      throw new IllegalArgumentException("props required");
+    }
+    List<Target> targets = new ArrayList<>(props.size());
+    for (int i = 0; i < props.size(); i++) {
+      JSONObject prop = props.getJSONObject(i);
+      if (prop == null) {
+        continue;
+      }
+      WXComponent element = findComponent(prop.getString("element"));
+      String property = prop.getString("property");
+      String expression = prop.getString("expression");
+      if (element == null || !Target.isSupported(property) || TextUtils.isEmpty(expression)) {
+        throw new IllegalArgumentException("invalid prop: " + prop);
+      }
+      if (element.getHostView() == null && element.isFlatUIEnabled() && !element.promoteFlatWidget()) {
+        throw new IllegalArgumentException("element is drawn flat without a view: " + element.getRef());
+      }
+      targets.add(new Target(element, property, Parser.compile(expression)));
+    }
+    if (EVENT_TYPE_SCROLL.equals(eventType)) {
+      return new ScrollBinding(anchor, targets);
+    } else if (EVENT_TYPE_PAN.equals(eventType)) {
+      return new PanBinding(anchor, targets);
+    }
+    throw new IllegalArgumentException("unsupported eventType: " + eventType);
+  }
+
+  private WXComponent findComponent(String ref) {
+    if (TextUtils.isEmpty(ref)) {
+      return null;
+    }
+    return WXSDKManager.getInstance().getWXRenderManager()
+            .getWXComponent(mWXSDKInstance.getInstanceId(), ref);
+  }
+
+  /**
+   * One view property of an element driven by an expression.
+   */
+  private static class Target {
+
+    private static final BackgroundColorProperty BACKGROUND_COLOR = new BackgroundColorProperty();
+
+    final WXComponent component;
+    final String property;
+    final Token expression;
+
+    Target(WXComponent component, String property, Token expression) {
+      this.component = component;
+      this.property = property;
+      this.expression = expression;
+    }
+
+    static boolean isSupported(String property) {
+      if (property == null) {
+        return false;
+      }
+      switch (property) {
+        case "opacity":
+        case "backgroundColor":
+        case "background-color":
+        case "transform.translateX":
+        case "transform.translateY":
+        case "transform.scale":
+        case "transform.scaleX":
+        case "transform.scaleY":
+        case "transform.rotate":
+        case "transform.rotateX":
+        case "transform.rotateY":
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    void apply(Map<String, Object> context) {
+      View view;
+      if (component.isDestoryed() || (view = component.getHostView()) == null) {
+        return;
+      }
+      Object value;
+      try {
+        value = expression.execute(context);
+      } catch (Exception e) {
+        WXLogUtils.e(TAG, "evaluate " + expression + " failed: " + e.getMessage());
+        return;
+      }
+      if (value == null) {
+        return;
+      }
+      int viewport = component.getInstance().getInstanceViewPortWidth();
+      switch (property) {
+        case "opacity":
+          view.setAlpha(Math.max(0, Math.min(1, (float) Operators.getNumber(value))));
+          break;
+        case "backgroundColor":
+        case "background-color":
+          BACKGROUND_COLOR.set(view, WXResourceUtils.getColor(value.toString()));
+          break;
+        case "transform.translateX":
+          view.setTranslationX(WXViewUtils.getRealPxByWidth((float) Operators.getNumber(value), viewport));
+          break;
+        case "transform.translateY":
+          view.setTranslationY(WXViewUtils.getRealPxByWidth((float) Operators.getNumber(value), viewport));
+          break;
+        case "transform.scale":
+          view.setScaleX((float) Operators.getNumber(value));
+          view.setScaleY((float) Operators.getNumber(value));
+          break;
+        case "transform.scaleX":
+          view.setScaleX((float) Operators.getNumber(value));
+          break;
+        case "transform.scaleY":
+          view.setScaleY((float) Operators.getNumber(value));
+          break;
+        case "transform.rotate":
+          view.setRotation((float) Operators.getNumber(value));
+          break;
+        case "transform.rotateX":
+          view.setRotationX((float) Operators.getNumber(value));
+          break;
+        case "transform.rotateY":
+          view.setRotationY((float) Operators.getNumber(value));
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private abstract static class Binding {
+    final WXComponent anchor;
+    final List<Target> targets;
+    final Map<String, Object> context = new HashMap<>(4);
+
+    Binding(WXComponent anchor, List<Target> targets) {
+      this.anchor = anchor;
+      this.targets = targets;
+    }
+
+    abstract void start();
+
+    abstract void stop();
+
+    void apply() {
+      for (Target target : targets) {
+        target.apply(context);
+      }
+    }
+
+    float toWebPx(float px) {
+      return WXViewUtils.getWebPxByWidth(px, anchor.getInstance().getInstanceViewPortWidth());
+    }
+  }
+
+  /**
+   * Scroll offset of a scroller or list, the offset is read from the view since scrollers report
+   * the offset and lists report the delta to {@link OnWXScrollListener#onScrolled(View, int, int)}.
+   * The vertical offset of a list is summed from the layout heights of its cells like in its scroll
+   * event, RecyclerView only estimates it from the cells on screen.
+   */
+  private static class ScrollBinding extends Binding implements OnWXScrollListener, ICheckBindingScroller {
+
+    ScrollBinding(WXComponent anchor, List<Target> targets) {
+      super(anchor, targets);
+    }
+
+    @Override
+    void start() {
+      anchor.getInstance().registerOnWXScrollListener(this);
+      View view = anchor.getHostView();
+      if (view instanceof BaseBounceView) {
+        view = ((BaseBounceView) view).getInnerView();
+      }
+      update(view);
+    }
+
+    @Override
+    void stop() {
+      anchor.getInstance().unregisterOnWXScrollListener(this);
+    }
+
+    @Override
+    public boolean isNeedScroller(String ref, Object option) {
+      return TextUtils.equals(ref, anchor.getRef());
+    }
+
+    @Override
+    public void onScrolled(View view, int x, int y) {
+      update(view);
+    }
+
+    @Override
+    public void onScrollStateChanged(View view, int x, int y, int newState) {
+    }
+
+    private void update(View view) {
+      int x = 0;
+      int y = 0;
+      if (view instanceof RecyclerView) {
+        RecyclerView recyclerView = (RecyclerView) view;
+        x = recyclerView.computeHorizontalScrollOffset();
+        if (anchor instanceof BasicListComponent
+                && ((BasicListComponent) anchor).getOrientation() == Constants.Orientation.VERTICAL) {
+          y = -((BasicListComponent) anchor).calcContentOffset(recyclerView);
+        } else if (anchor instanceof WXRecyclerTemplateList
+                && ((WXRecyclerTemplateList) anchor).getOrientation() == Constants.Orientation.VERTICAL) {
+          y = -((WXRecyclerTemplateList) anchor).calcContentOffset(recyclerView);
+        } else {
+          y = recyclerView.computeVerticalScrollOffset();
+        }
+      } else if (view != null) {
+        x = view.getScrollX();
+        y = view.getScrollY();
+      }
+      context.put("x", (double) toWebPx(x));
+      context.put("y", (double) toWebPx(y));
+      apply();
+    }
+  }
+
+  /**
+   * Distance of the touch from where it went down on an element.
+   */
+  private static class PanBinding extends Binding implements View.OnTouchListener {
+
+    private WXGesture mGesture;
+    private float mDownX;
+    private float mDownY;
+
+    PanBinding(WXComponent anchor, List<Target> targets) {
+      super(anchor, targets);
+    }
+
+    @Override
+    void start() {
+      mGesture = anchor.getOrCreateGesture();
+      if (mGesture == null) {
+        throw new IllegalArgumentException("anchor does not support gestures: " + anchor.getRef());
+      }
+      mGesture.addOnTouchListener(this);
+      context.put("dx", 0d);
+      context.put("dy", 0d);
+      apply();
+    }
+
+    @Override
+    void stop() {
+      if (mGesture != null) {
+        mGesture.removeTouchListener(this);
+        mGesture = null;
+      }
+    }
+
+    @Override
+    public boolean onTouch(View v, MotionEvent event) {
+      switch (event.getActionMasked()) {
+        case MotionEvent.ACTION_DOWN:
+          mDownX = event.getRawX();
+          mDownY = event.getRawY();
+          break;
+        case MotionEvent.ACTION_MOVE:
+          context.put("dx", (double) toWebPx(event.getRawX() - mDownX));
+          context.put("dy", (double) toWebPx(event.getRawY() - mDownY));
+          apply();
+          break;
+        default:
+          break;
+      }
+      return false;
+    }
+  }
+}
@@ -232,6 +232,10 @@ public class WXImageView extends ImageView implements WXGestureObservable,
     this.enableBitmapAutoManage = enableBitmapAutoManage;
   }
 
+  public boolean isBitmapReleased() {
+    return isBitmapReleased;
+  }
+
   public void autoReleaseImage(){
     if(enableBitmapAutoManage) {
       if (!isBitmapReleased) {
@@ -45,7 +45,6 @@ import com.taobao.weex.utils.WXLogUtils;
 import com.taobao.weex.utils.WXUtils;
 import com.taobao.weex.utils.WXViewUtils;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -58,6 +57,7 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
 
   private final static String TAG = "Gesture";
   private static final int CUR_EVENT = -1;
+  private static final int TOUCH_OBJECT_CAPACITY = 8;
   public static final String START = "start";
   public static final String MOVE = "move";
   public static final String END = "end";
@@ -70,9 +70,9 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
   private GestureDetector mGestureDetector;
   private Rect globalRect;
   private Point globalOffset;
-  private Point globalEventOffset;
-  private PointF locEventOffset;
   private PointF locLeftTop;
+  private int mViewPortWidth;
+  private int mHistorySampleCount = 0;
   private long swipeDownTime = -1;
   private long panDownTime = -1;
   private WXGestureType mPendingPan = null;//event type to notify when action_up or action_cancel
@@ -92,8 +92,6 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
     this.component = wxComponent;
     globalRect = new Rect();
     globalOffset = new Point();
-    globalEventOffset = new Point();
-    locEventOffset = new PointF();
     locLeftTop = new PointF();
     mGestureDetector = new GestureDetector(context, this, new GestureHandler());
     Scrollable parentScrollable = wxComponent.getParentScroller();
@@ -121,6 +119,14 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
     mIsPreventMoveEvent = preventMoveEvent;
   }
 
+  /**
+   * @param historySampleCount max number of historical samples of a move event sent to JS as
+   *                           {@link GestureInfo#HISTORICAL_POINTS}, 0 to send none.
+   */
+  public void setHistorySampleCount(int historySampleCount) {
+    mHistorySampleCount = Math.max(0, historySampleCount);
+  }
+
   /**
    *
    * @return true if current touch event is already consumed by gesture.
@@ -311,10 +317,7 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
       if(mIsPreventMoveEvent && MOVE.equals(state)){
         return true;
       }
-      List<Map<String, Object>> list = createMultipleFireEventParam(motionEvent, state);
-      for (Map<String, Object> map : list) {
-        component.fireEvent(mPendingPan.toString(), map);
-      }
+      component.fireEvent(mPendingPan.toString(), createFireEventParam(motionEvent, CUR_EVENT, state));
       //action is finish, clean pending pan
       if (motionEvent.getAction() == MotionEvent.ACTION_UP || motionEvent.getAction() == MotionEvent.ACTION_CANCEL) {
         mPendingPan = null;
@@ -333,49 +336,13 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
    */
   private boolean handleMotionEvent(WXGestureType WXGestureType, MotionEvent motionEvent) {
     if (component.containsGesture(WXGestureType)) {
-      List<Map<String, Object>> list = createMultipleFireEventParam(motionEvent, null);
-      for (Map<String, Object> map : list) {
-        component.fireEvent(WXGestureType.toString(), map);
-      }
+      component.fireEvent(WXGestureType.toString(), createFireEventParam(motionEvent, CUR_EVENT, null));
       return true;
     } else {
       return false;
     }
   }
 
-  /**
-   * Create a list of event for {@link com.taobao.weex.WXSDKInstance#fireEvent(String, String, Map, Map)}.
-   * As there is a batch mechanism in MotionEvent, so this method returns a list.
-   * @param motionEvent motionEvent, which contains all pointers event in a period of time
-   * @return List of Map, which contains touch object.
-   */
-  private List<Map<String, Object>> createMultipleFireEventParam(MotionEvent motionEvent,String state) {
-    List<Map<String, Object>> list = new ArrayList<>(motionEvent.getHistorySize() + 1);
-    //list.addAll(getHistoricalEvents(motionEvent));
-    list.add(createFireEventParam(motionEvent, CUR_EVENT, state));
-    return list;
-  }
-
-  /**
-   * Get historical event. This is only applied to {@link MotionEvent#ACTION_MOVE}.
-   * For other types of motionEvent, historical event is meaningless.
-   * @param motionEvent motionEvent, which contains all pointers event in a period of time
-   * @return If motionEvent.getActionMasked()!=MotionEvent.ACTION_MOVE,
-   * this method will return an empty list.
-   * Otherwise this method will return the historical motionEvent, which may also be empty.
-   */
-  private List<Map<String, Object>> getHistoricalEvents(MotionEvent motionEvent) {
-    List<Map<String, Object>> list = new ArrayList<>(motionEvent.getHistorySize());
-    if (motionEvent.getActionMasked() == MotionEvent.ACTION_MOVE) {
-      Map<String, Object> param;
-      for (int i = 0; i < motionEvent.getHistorySize(); i++) {
-        param = createFireEventParam(motionEvent, i,null);
-        list.add(param);
-      }
-    }
-    return list;
-  }
-
   /**
    * Create a map represented touch event at a certain moment.
    * @param motionEvent motionEvent, which contains all pointers event in a period of time
@@ -384,17 +351,25 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
    * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/TouchEvent">touchEvent</a>
    */
   private Map<String, Object> createFireEventParam(MotionEvent motionEvent, int pos, String state) {
+    updateEventOffset();
     JSONArray jsonArray = new JSONArray(motionEvent.getPointerCount());
+    JSONArray historicalPoints = null;
     if (motionEvent.getActionMasked() == MotionEvent.ACTION_MOVE) {
       for (int i = 0; i < motionEvent.getPointerCount(); i++) {
         jsonArray.add(createJSONObject(motionEvent, pos, i));
       }
+      if (pos == CUR_EVENT && mHistorySampleCount > 0 && motionEvent.getHistorySize() > 0) {
+        historicalPoints = createHistoricalPoints(motionEvent);
+      }
     } else if (isPointerNumChanged(motionEvent)) {
       int pointerIndex = motionEvent.getActionIndex();
       jsonArray.add(createJSONObject(motionEvent, CUR_EVENT, pointerIndex));
     }
-    Map<String, Object> map = new HashMap<>();
+    Map<String, Object> map = new HashMap<>(4);
     map.put(GestureInfo.HISTORICAL_XY, jsonArray);
+    if (historicalPoints != null) {
+      map.put(GestureInfo.HISTORICAL_POINTS, historicalPoints);
+    }
     if (state != null) {
       map.put(GestureInfo.STATE, state);
     }
@@ -433,132 +408,95 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
    * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch">touch</a>
    */
   private JSONObject createJSONObject(MotionEvent motionEvent, int pos, int pointerIndex) {
-    PointF screenXY, pageXY;
+    float eventX, eventY;
     if (pos == CUR_EVENT) {
-      pageXY = getEventLocInPageCoordinate(motionEvent, pointerIndex);
-      screenXY = getEventLocInScreenCoordinate(motionEvent, pointerIndex);
+      eventX = motionEvent.getX(pointerIndex);
+      eventY = motionEvent.getY(pointerIndex);
     } else {
-      pageXY = getEventLocInPageCoordinate(motionEvent, pointerIndex, pos);
-      screenXY = getEventLocInScreenCoordinate(motionEvent, pointerIndex, pos);
+      eventX = motionEvent.getHistoricalX(pointerIndex, pos);
+      eventY = motionEvent.getHistoricalY(pointerIndex, pos);
     }
-    JSONObject map = createJSONObject(screenXY, pageXY, (float) motionEvent.getPointerId(pointerIndex));
+    JSONObject jsonObject = new JSONObject(TOUCH_OBJECT_CAPACITY);
+    jsonObject.put(GestureInfo.PAGE_X, getPageX(eventX));
+    jsonObject.put(GestureInfo.PAGE_Y, getPageY(eventY));
+    jsonObject.put(GestureInfo.SCREEN_X, getScreenX(eventX));
+    jsonObject.put(GestureInfo.SCREEN_Y, getScreenY(eventY));
+    jsonObject.put(GestureInfo.POINTER_ID, (float) motionEvent.getPointerId(pointerIndex));
     float force = motionEvent.getPressure();
     if(force > 0 && force < 1) {
-      map.put("force", motionEvent.getPressure());
+      jsonObject.put("force", motionEvent.getPressure());
     }
-    return map;
-  }
-
-  /**
-   * Create a touchObject for a pointer at a certain moment.
-   * @param screenXY the point of event happened in screen coordinate
-   * @param pageXY the point of event happened in page coorindate
-   * @param pointerId pointerIndex pointerIndex
-   * @return JSONObject represent a touch event
-   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch">touch</a>
-   */
-  @NonNull
-  private JSONObject createJSONObject(PointF screenXY, PointF pageXY, float pointerId) {
-    JSONObject jsonObject = new JSONObject();
-    jsonObject.put(GestureInfo.PAGE_X, pageXY.x);
-    jsonObject.put(GestureInfo.PAGE_Y, pageXY.y);
-    jsonObject.put(GestureInfo.SCREEN_X, screenXY.x);
-    jsonObject.put(GestureInfo.SCREEN_Y, screenXY.y);
-    jsonObject.put(GestureInfo.POINTER_ID, pointerId);
     return jsonObject;
   }
 
   /**
-   * @see {@link #getEventLocInScreenCoordinate(MotionEvent, int, int)}
+   * Pack the historical samples of a move event, downsampled to at most
+   * {@link #setHistorySampleCount(int)} samples, into one flat array per pointer holding pageX,
+   * pageY and the time relative to the event in milliseconds of every sample, oldest first.
+   * The arrays are not reused, as the event is serialized later on the JS thread.
    */
-  private PointF getEventLocInScreenCoordinate(MotionEvent motionEvent, int pointerIndex) {
-    return getEventLocInScreenCoordinate(motionEvent, pointerIndex, CUR_EVENT);
+  private JSONArray createHistoricalPoints(MotionEvent motionEvent) {
+    int historySize = motionEvent.getHistorySize();
+    int samples = Math.min(historySize, mHistorySampleCount);
+    float step = historySize / (float) samples;
+    long eventTime = motionEvent.getEventTime();
+    int pointerCount = motionEvent.getPointerCount();
+    JSONArray points = new JSONArray(pointerCount);
+    for (int i = 0; i < pointerCount; i++) {
+      float[] packed = new float[samples * 3];
+      for (int j = 0; j < samples; j++) {
+        int pos = Math.min(historySize - 1, (int) (j * step));
+        packed[j * 3] = getPageX(motionEvent.getHistoricalX(i, pos));
+        packed[j * 3 + 1] = getPageY(motionEvent.getHistoricalY(i, pos));
+        packed[j * 3 + 2] = motionEvent.getHistoricalEventTime(pos) - eventTime;
+      }
+      points.add(packed);
+    }
+    return points;
   }
 
   /**
-   * Get event location in Screen's coordinate, e.g. root(global) coordinate.
-   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/screenX">screenX</a>
-   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/screenY">screenY</a>
-   * @param motionEvent the original motionEvent
-   * @param pointerIndex pointerIndex
-   * @param position if motionEvent.getHistoricalSize()!=0, the is the index of historical event,
-   *                 otherwise this is {@link #CUR_EVENT} which indicates historicalSize is zero
-   * @return the eventLocation in screen's coordinate
+   * Locate the view once per event, every pointer of the event shares the offsets.
    */
-  private PointF getEventLocInScreenCoordinate(MotionEvent motionEvent, int pointerIndex, int position) {
-    float eventX, eventY;
-    if (position == CUR_EVENT) {
-      eventX = motionEvent.getX(pointerIndex);
-      eventY = motionEvent.getY(pointerIndex);
-    } else {
-      eventX = motionEvent.getHistoricalX(pointerIndex, position);
-      eventY = motionEvent.getHistoricalY(pointerIndex, position);
-    }
-    return getEventLocInScreenCoordinate(eventX, eventY);
+  private void updateEventOffset() {
+    globalRect.set(0, 0, 0, 0);
+    globalOffset.set(0, 0);
+    component.getRealView().getGlobalVisibleRect(globalRect, globalOffset);
+    locLeftTop.set(0, 0);
+    component.computeVisiblePointInViewCoordinate(locLeftTop);
+    mViewPortWidth = component.getInstance().getInstanceViewPortWidth();
   }
 
   /**
    * Get event location in Screen's coordinate, e.g. root(global) coordinate.
+   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/screenX">screenX</a>
    * @param eventX {@link MotionEvent#getX()} or {@link MotionEvent#getHistoricalX(int, int)}
-   * @param eventY {@link MotionEvent#getX()} or {@link MotionEvent#getHistoricalX(int, int)}
-   * @return the eventLocation in screen's coordinate
-   * @see {@link #getEventLocInScreenCoordinate(MotionEvent, int, int)}
    */
-  @NonNull
-  private PointF getEventLocInScreenCoordinate(float eventX, float eventY) {
-    globalRect.set(0, 0, 0, 0);
-    globalOffset.set(0, 0);
-    globalEventOffset.set((int) eventX, (int) eventY);
-    component.getRealView().getGlobalVisibleRect(globalRect, globalOffset);
-    globalEventOffset.offset(globalOffset.x, globalOffset.y);
-    return new PointF(WXViewUtils.getWebPxByWidth(globalEventOffset.x,component.getInstance().getInstanceViewPortWidth()),
-            WXViewUtils.getWebPxByWidth(globalEventOffset.y,component.getInstance().getInstanceViewPortWidth()));
+  private float getScreenX(float eventX) {
+    return WXViewUtils.getWebPxByWidth((int) eventX + globalOffset.x, mViewPortWidth);
   }
 
   /**
-   * @see {@link #getEventLocInPageCoordinate(MotionEvent, int, int)}
+   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/screenY">screenY</a>
    */
-  private PointF getEventLocInPageCoordinate(MotionEvent motionEvent, int pointerIndex) {
-    return getEventLocInPageCoordinate(motionEvent, pointerIndex, CUR_EVENT);
+  private float getScreenY(float eventY) {
+    return WXViewUtils.getWebPxByWidth((int) eventY + globalOffset.y, mViewPortWidth);
   }
 
   /**
    * Get event's location in Document's (Page) coordinate.
    * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/pageX">pageX</a>
-   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/pageY">pageY</a>
-   * @param motionEvent the original motionEvent
-   * @param pointerIndex pointerIndex
-   * @param position if motionEvent.getHistoricalSize()!=0, the is the index of historical event,
-   *                 otherwise this is {@link #CUR_EVENT} which indicates historicalSize is zero
-   * @return the event location in page's coordinate.
+   * @param eventX {@link MotionEvent#getX()} or {@link MotionEvent#getHistoricalX(int, int)}
    */
-  private PointF getEventLocInPageCoordinate(MotionEvent motionEvent, int pointerIndex, int position) {
-    float eventX, eventY;
-    if (position == CUR_EVENT) {
-      eventX = motionEvent.getX(pointerIndex);
-      eventY = motionEvent.getY(pointerIndex);
-    } else {
-      eventX = motionEvent.getHistoricalX(pointerIndex, position);
-      eventY = motionEvent.getHistoricalY(pointerIndex, position);
-    }
-    return getEventLocInPageCoordinate(eventX, eventY);
+  private float getPageX(float eventX) {
+    return WXViewUtils.getWebPxByWidth(eventX + locLeftTop.x, mViewPortWidth);
   }
 
   /**
-   * Get event's location in Document's (Page) coordinate.
-   * @param eventX {@link MotionEvent#getX()} or {@link MotionEvent#getHistoricalX(int, int)}
-   * @param eventY {@link MotionEvent#getX()} or {@link MotionEvent#getHistoricalX(int, int)}
-   * @return the event location in page's coordinate.
-   * @see {@link #getEventLocInPageCoordinate(MotionEvent, int, int)}
+   * @see <a href="https://developer.mozilla.org/en-US/docs/Web/API/Touch/pageY">pageY</a>
    */
-  @NonNull
-  private PointF getEventLocInPageCoordinate(float eventX, float eventY) {
-    locEventOffset.set(eventX, eventY);
-    locLeftTop.set(0, 0);
-    component.computeVisiblePointInViewCoordinate(locLeftTop);
-    locEventOffset.offset(locLeftTop.x, locLeftTop.y);
-    return new PointF(WXViewUtils.getWebPxByWidth(locEventOffset.x,component.getInstance().getInstanceViewPortWidth()),
-            WXViewUtils.getWebPxByWidth(locEventOffset.y,component.getInstance().getInstanceViewPortWidth()));
+  private float getPageY(float eventY) {
+    return WXViewUtils.getWebPxByWidth(eventY + locLeftTop.y, mViewPortWidth);
   }
 
   private static class GestureHandler extends android.os.Handler {
@@ -574,11 +512,10 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
   @Override
   public void onLongPress(MotionEvent e) {
     if (component.containsGesture(HighLevelGesture.LONG_PRESS)) {
-      List<Map<String, Object>> list = createMultipleFireEventParam(e,null);
       component.getInstance().fireEvent(
               component.getRef(),
               HighLevelGesture.LONG_PRESS.toString(),
-              list.get(list.size() - 1));
+              createFireEventParam(e, CUR_EVENT, null));
       mIsTouchEventConsumed = true;
     }
   }
@@ -629,8 +566,7 @@ public class WXGesture extends GestureDetector.SimpleOnGestureListener implement
     } else if (component.containsGesture(HighLevelGesture.SWIPE)) {
       if (swipeDownTime != e1.getEventTime()) {
         swipeDownTime = e1.getEventTime();
-        List<Map<String, Object>> list = createMultipleFireEventParam(e2, null);
-        Map<String, Object> param = list.get(list.size() - 1);
+        Map<String, Object> param = createFireEventParam(e2, CUR_EVENT, null);
         if (Math.abs(distanceX) > Math.abs(distanceY)) {
           param.put(GestureInfo.DIRECTION, distanceX > 0 ? LEFT : RIGHT);
         } else {
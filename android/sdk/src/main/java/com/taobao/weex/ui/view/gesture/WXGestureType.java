@@ -60,6 +60,7 @@ public interface WXGestureType {
   class GestureInfo {
 
     public static final String HISTORICAL_XY = "changedTouches";
+    public static final String HISTORICAL_POINTS = "historicalTouches";
     public static final String PAGE_X = "pageX";
     public static final String PAGE_Y = "pageY";
     public static final String SCREEN_X = "screenX";
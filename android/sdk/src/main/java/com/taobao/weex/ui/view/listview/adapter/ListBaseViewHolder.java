@@ -100,6 +100,13 @@ public class ListBaseViewHolder extends RecyclerView.ViewHolder {
       mComponent.get().setUsing(using);
   }
 
+  /**
+   * @return false for holders created without component, e.g. for refresh or fixed children.
+   */
+  public boolean hasComponent() {
+    return mComponent != null;
+  }
+
   public WXComponent getComponent() {
     return mComponent != null ? mComponent.get() : null;
   }
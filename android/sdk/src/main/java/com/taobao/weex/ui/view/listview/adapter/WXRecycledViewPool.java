@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.view.listview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+
+import com.taobao.weex.ui.component.WXComponent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size bounded pool of list view holders with per view type caps which adapt to how often holders
+ * of the type are actually reused.
+ *
+ * A type whose requests miss while its holders were discarded for lack of room gets a higher cap;
+ * a type which is never reused is halved down to one holder, and when the whole pool is full the
+ * type with the lowest reuse rate gives up a holder first. This replaces turning off holder caching
+ * altogether once a list has many view types.
+ *
+ * Lists of one instance may share a pool by naming it, see
+ * {@link com.taobao.weex.WXSDKInstance#getRecycledViewPool(String)}. View types of cells with a
+ * scope come from {@link #viewTypeOf(String)}, keyed by a template the list derives from the scope
+ * and, for shared pools, the component classes of the cell tree once its children are added, so a
+ * holder only goes to a list whose cell has the same structure. The view types live as long as the pool, which is released
+ * with its last list. Holders are not shared across instances, their components belong to one
+ * instance.
+ *
+ * Counts per view type are kept here rather than asked to the support library, whose
+ * RecycledViewPool does not expose them on every version.
+ */
+public class WXRecycledViewPool extends RecyclerView.RecycledViewPool {
+
+  public static final int DEFAULT_MAX_SIZE = 60;
+
+  private static final int DEFAULT_MAX_PER_TYPE = 5;
+  private static final int MAX_PER_TYPE = 20;
+
+  /**
+   * Count of requests of a view type between two adjustments of its cap.
+   */
+  private static final int ADAPT_INTERVAL = 16;
+
+  /**
+   * View types derived from scopes start here, far above the refs used as view types of cells
+   * without scope.
+   */
+  private static final int SCOPE_VIEW_TYPE_BASE = 1 << 24;
+
+  private final int mMaxSize;
+  private final SparseArray<TypeStats> mStats = new SparseArray<>();
+  private final Map<String, Integer> mTemplateViewTypes = new HashMap<>();
+  private int mSize;
+  private int mOwners;
+
+  private static class TypeStats {
+    int cap = DEFAULT_MAX_PER_TYPE;
+    int count;
+    long totalHits;
+    long totalRequests;
+    int hits;
+    int misses;
+    int discards;
+  }
+
+  public WXRecycledViewPool() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * @param maxSize max count of holders kept, all view types together.
+   */
+  public WXRecycledViewPool(int maxSize) {
+    mMaxSize = Math.max(1, maxSize);
+  }
+
+  /**
+   * Stable view type of the cells built from the given template, the same in every list using
+   * this pool.
+   */
+  public int viewTypeOf(String template) {
+    Integer viewType = mTemplateViewTypes.get(template);
+    if (viewType == null) {
+      viewType = SCOPE_VIEW_TYPE_BASE + mTemplateViewTypes.size();
+      mTemplateViewTypes.put(template, viewType);
+    }
+    return viewType;
+  }
+
+  /**
+   * Count a list using this pool, each call is paired with {@link #release()}.
+   */
+  public void retain() {
+    mOwners++;
+  }
+
+  /**
+   * Called by a list using this pool when it is destroyed; the last one drops the holders and the
+   * template view types.
+   * @return true if no list uses the pool anymore.
+   */
+  public boolean release() {
+    if (--mOwners > 0) {
+      return false;
+    }
+    mOwners = 0;
+    clear();
+    mTemplateViewTypes.clear();
+    return true;
+  }
+
+  @Override
+  public RecyclerView.ViewHolder getRecycledView(int viewType) {
+    TypeStats stats = getStats(viewType);
+    RecyclerView.ViewHolder holder;
+    while ((holder = super.getRecycledView(viewType)) != null) {
+      mSize--;
+      stats.count--;
+      if (isReusable(holder)) {
+        break;
+      }
+    }
+    stats.totalRequests++;
+    if (holder != null) {
+      stats.hits++;
+      stats.totalHits++;
+    } else {
+      stats.misses++;
+    }
+    if (stats.hits + stats.misses >= ADAPT_INTERVAL) {
+      adapt(viewType, stats);
+    }
+    return holder;
+  }
+
+  @Override
+  public void putRecycledView(RecyclerView.ViewHolder holder) {
+    int viewType = holder.getItemViewType();
+    TypeStats stats = getStats(viewType);
+    if (!isReusable(holder)) {
+      return;
+    }
+    if (stats.count >= stats.cap
+        || (mSize >= mMaxSize && !evictColdest())) {
+      stats.discards++;
+      return;
+    }
+    super.putRecycledView(holder);
+    mSize++;
+    stats.count++;
+  }
+
+  @Override
+  public void setMaxRecycledViews(int viewType, int max) {
+    TypeStats stats = getStats(viewType);
+    stats.cap = Math.max(0, max);
+    trimType(viewType, stats);
+    super.setMaxRecycledViews(viewType, stats.cap);
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    mSize = 0;
+    for (int i = 0; i < mStats.size(); i++) {
+      mStats.valueAt(i).count = 0;
+    }
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * @return share of the requests for viewType served from the pool, in [0, 1].
+   */
+  public float getReuseRate(int viewType) {
+    TypeStats stats = mStats.get(viewType);
+    return stats == null || stats.totalRequests == 0 ? 0 : stats.totalHits / (float) stats.totalRequests;
+  }
+
+  public int getMaxRecycledViews(int viewType) {
+    TypeStats stats = mStats.get(viewType);
+    return stats == null ? DEFAULT_MAX_PER_TYPE : stats.cap;
+  }
+
+  private TypeStats getStats(int viewType) {
+    TypeStats stats = mStats.get(viewType);
+    if (stats == null) {
+      stats = new TypeStats();
+      mStats.put(viewType, stats);
+      super.setMaxRecycledViews(viewType, stats.cap);
+    }
+    return stats;
+  }
+
+  private void adapt(int viewType, TypeStats stats) {
+    int cap = stats.cap;
+    if (stats.misses > 0 && stats.discards > 0) {
+      // holders were thrown away and then had to be created again
+      cap = Math.min(MAX_PER_TYPE, cap + Math.min(stats.misses, stats.discards));
+    } else if (stats.hits == 0) {
+      cap = Math.max(1, cap / 2);
+    }
+    stats.hits = stats.misses = stats.discards = 0;
+    if (cap != stats.cap) {
+      stats.cap = cap;
+      trimType(viewType, stats);
+      super.setMaxRecycledViews(viewType, cap);
+    }
+  }
+
+  /**
+   * Drop one holder of the view type with the lowest reuse rate.
+   * @return false if the pool holds nothing.
+   */
+  private boolean evictColdest() {
+    int coldest = -1;
+    float coldestRate = Float.MAX_VALUE;
+    for (int i = 0; i < mStats.size(); i++) {
+      if (mStats.valueAt(i).count == 0) {
+        continue;
+      }
+      float rate = getReuseRate(mStats.keyAt(i));
+      if (coldest == -1 || rate < coldestRate) {
+        coldest = i;
+        coldestRate = rate;
+      }
+    }
+    if (coldest == -1) {
+      return false;
+    }
+    if (super.getRecycledView(mStats.keyAt(coldest)) != null) {
+      mSize--;
+      mStats.valueAt(coldest).count--;
+    }
+    return true;
+  }
+
+  /**
+   * Drop holders above the cap before the support library is told about it, as it would drop
+   * them itself without this pool counting them.
+   */
+  private void trimType(int viewType, TypeStats stats) {
+    while (stats.count > stats.cap && super.getRecycledView(viewType) != null) {
+      mSize--;
+      stats.count--;
+    }
+  }
+
+  /**
+   * A holder whose component was destroyed, e.g. its list was removed, must not be bound again.
+   */
+  private static boolean isReusable(RecyclerView.ViewHolder holder) {
+    if (!(holder instanceof ListBaseViewHolder)) {
+      return true;
+    }
+    ListBaseViewHolder listHolder = (ListBaseViewHolder) holder;
+    if (!listHolder.hasComponent()) {
+      return true;
+    }
+    WXComponent component = listHolder.getComponent();
+    return component != null && !component.isDestoryed();
+  }
+}
@@ -49,6 +49,11 @@ public class WXExceptionUtils {
 	 */
 	public static String degradeUrl = "BundleUrlDefaultDegradeUrl";
 
+	/**
+	 * count of latest log lines attached to an exception report
+	 */
+	private static final int LOG_TAIL_COUNT = 30;
+
 
 	/**
 	 * commitCriticalExceptionRT eg:JsRuntime Exception or JsFramework Init Exception
@@ -143,6 +148,11 @@ public class WXExceptionUtils {
             commitMap.remove("errorCode");
         }
 
+        String logTail = WXLogUtils.getLogTail(LOG_TAIL_COUNT);
+        if (!TextUtils.isEmpty(logTail)) {
+            commitMap.put("wxLogTail", logTail);
+        }
+
         exceptionCommit = new WXJSExceptionInfo(instanceIdCommit, bundleUrlCommit, errCode, function, exceptionMsgCommit, commitMap);
         if (adapter != null) {
             adapter.onJSException(exceptionCommit);
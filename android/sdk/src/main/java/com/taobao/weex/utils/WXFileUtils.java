@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.zip.ZipEntry;
@@ -180,6 +181,20 @@ public class WXFileUtils {
     }
   }
 
+  /**
+   * md5 of the remaining bytes of buffer, e.g. a memory mapped file, without copying them.
+   */
+  public static String md5(ByteBuffer buffer){
+    try {
+      MessageDigest digest = MessageDigest.getInstance("MD5");
+      digest.update(buffer);
+      BigInteger bigInt = new BigInteger(1, digest.digest());
+      return  bigInt.toString(16);
+    } catch (NoSuchAlgorithmException e) {
+      return  "";
+    }
+  }
+
   public static String base64Md5(String  template){
     try {
       if(template == null){
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.utils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed size ring of log records, written by any thread without locking and drained to a
+ * {@link Sink} by a background writer thread. Records stay in the ring after they are written,
+ * so the latest ones can be dumped, e.g. into a crash report, whether they are written yet or not.
+ *
+ * When producers lap the writer, the oldest unwritten records are dropped and counted.
+ */
+final class WXLogBuffer {
+
+  interface Sink {
+    void write(LogLevel level, String tag, String msg);
+  }
+
+  static final class Record {
+    final long seq;
+    final long time;
+    final LogLevel level;
+    final String tag;
+    final String msg;
+
+    Record(long seq, long time, LogLevel level, String tag, String msg) {
+      this.seq = seq;
+      this.time = time;
+      this.level = level;
+      this.tag = tag;
+      this.msg = msg;
+    }
+  }
+
+  private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final AtomicReferenceArray<Record> mSlots;
+  private final int mCapacity;
+  private final int mMask;
+  private final Sink mSink;
+  private final AtomicLong mNextSeq = new AtomicLong();
+  private final AtomicLong mDroppedCount = new AtomicLong();
+  private final Object mDrainLock = new Object();
+  private volatile long mReadSeq;
+  private volatile Thread mWriter;
+  private volatile boolean mShutdown;
+
+  /**
+   * @param capacity max count of records kept, rounded up to a power of two.
+   */
+  WXLogBuffer(int capacity, Sink sink) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    mSlots = new AtomicReferenceArray<>(size);
+    mCapacity = size;
+    mMask = size - 1;
+    mSink = sink;
+  }
+
+  void offer(LogLevel level, String tag, String msg) {
+    long seq = mNextSeq.getAndIncrement();
+    mSlots.set((int) (seq & mMask), new Record(seq, System.currentTimeMillis(), level, tag, msg));
+    Thread writer = mWriter;
+    if (writer == null) {
+      if (mShutdown) {
+        flush();
+      } else {
+        startWriter();
+      }
+    } else if (level.getPriority() >= LogLevel.ERROR.getPriority() || seq - mReadSeq > mCapacity / 2) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  /**
+   * Write every published record on the calling thread.
+   */
+  void flush() {
+    synchronized (mDrainLock) {
+      long end = mNextSeq.get();
+      long read = mReadSeq;
+      while (read < end) {
+        Record record = mSlots.get((int) (read & mMask));
+        if (record == null || record.seq < read) {
+          // claimed but not published yet, pick it up next time
+          break;
+        }
+        if (record.seq > read) {
+          long oldest = Math.max(read + 1, mNextSeq.get() - mCapacity);
+          mDroppedCount.addAndGet(oldest - read);
+          read = oldest;
+          continue;
+        }
+        try {
+          mSink.write(record.level, record.tag, record.msg);
+        } catch (Throwable e) {
+          // never let a broken sink stop the writer
+        }
+        read++;
+      }
+      mReadSeq = read;
+    }
+  }
+
+  /**
+   * @return up to max latest records, oldest first, one per line.
+   */
+  String dumpTail(int max) {
+    long end = mNextSeq.get();
+    long start = Math.max(0, end - Math.min(max, mCapacity));
+    SimpleDateFormat format = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+    StringBuilder builder = new StringBuilder();
+    for (long seq = start; seq < end; seq++) {
+      Record record = mSlots.get((int) (seq & mMask));
+      if (record == null || record.seq != seq) {
+        continue;
+      }
+      builder.append(format.format(new Date(record.time))).append(' ')
+              .append(record.level.getName()).append('/').append(record.tag).append(": ")
+              .append(record.msg).append('\n');
+    }
+    return builder.toString();
+  }
+
+  long getDroppedCount() {
+    return mDroppedCount.get();
+  }
+
+  /**
+   * Stop the writer thread once it has written every pending record. Records offered afterwards
+   * are written on the offering thread.
+   */
+  void shutdown() {
+    Thread writer;
+    synchronized (this) {
+      mShutdown = true;
+      writer = mWriter;
+      mWriter = null;
+    }
+    if (writer != null) {
+      LockSupport.unpark(writer);
+      try {
+        writer.join(FLUSH_INTERVAL_NANOS / 1000000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    flush();
+  }
+
+  private synchronized void startWriter() {
+    if (mWriter != null || mShutdown) {
+      return;
+    }
+    Thread writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (!mShutdown) {
+          flush();
+          LockSupport.parkNanos(WXLogBuffer.this, FLUSH_INTERVAL_NANOS);
+        }
+        flush();
+      }
+    }, "WeexLogWriter");
+    writer.setDaemon(true);
+    writer.setPriority(Thread.MIN_PRIORITY);
+    mWriter = writer;
+    writer.start();
+  }
+}
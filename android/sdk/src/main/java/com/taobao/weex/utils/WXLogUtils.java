@@ -44,6 +44,15 @@ public class WXLogUtils {
   private static List<JsLogWatcher> jsLogWatcherList;
   private static LogWatcher sLogWatcher;
 
+  private static final int LOG_BUFFER_CAPACITY = 1024;
+  private static volatile boolean sAsync = true;
+  private static final WXLogBuffer sLogBuffer = new WXLogBuffer(LOG_BUFFER_CAPACITY, new WXLogBuffer.Sink() {
+    @Override
+    public void write(LogLevel level, String tag, String msg) {
+      print(tag, msg, level);
+    }
+  });
+
   static {
     clazzMaps.put(CLAZZ_NAME_LOG_UTIL, loadClass(CLAZZ_NAME_LOG_UTIL));
     jsLogWatcherList = new ArrayList<>();
@@ -71,19 +80,81 @@ public class WXLogUtils {
     }
   }
 
+  /**
+   * @return whether a message of the given level would be logged at all. Messages built by
+   * concatenation should be guarded with it, or use the parameterised methods which check it.
+   */
+  public static boolean isLoggable(LogLevel level) {
+    return sLogWatcher != null || WXEnvironment.isApkDebugable()
+            || level.getPriority() >= LogLevel.WARN.getPriority();
+  }
+
+  /**
+   * Write logs through a ring buffer drained by a background thread (the default), or
+   * synchronously on the calling thread.
+   */
+  public static void setAsync(boolean async) {
+    if (!async) {
+      sLogBuffer.flush();
+    }
+    sAsync = async;
+  }
+
+  /**
+   * Write pending logs on the calling thread, e.g. before the process is killed.
+   */
+  public static void flush() {
+    sLogBuffer.flush();
+  }
+
+  /**
+   * Write pending logs, stop the writer thread and log synchronously from now on, e.g. when the
+   * SDK is torn down.
+   */
+  public static void shutdown() {
+    sAsync = false;
+    sLogBuffer.shutdown();
+  }
+
+  /**
+   * @return the latest logs, oldest first, including those not written yet. Meant for crash
+   * and exception reports.
+   */
+  public static String getLogTail(int maxCount) {
+    return sLogBuffer.dumpTail(maxCount);
+  }
+
+  /**
+   * @return count of logs dropped because the writer could not keep up.
+   */
+  public static long getDroppedLogCount() {
+    return sLogBuffer.getDroppedCount();
+  }
+
   private static void log(String tag, String msg, LogLevel level){
     if(TextUtils.isEmpty(msg) || TextUtils.isEmpty(tag) || level == null || TextUtils.isEmpty(level.getName())){
       return;
     }
+    if (!isLoggable(level)) {
+      return;
+    }
+    if (sAsync) {
+      sLogBuffer.offer(level, tag, msg);
+    } else {
+      print(tag, msg, level);
+    }
+  }
 
+  private static void print(String tag, String msg, LogLevel level) {
     if(sLogWatcher !=null){
       sLogWatcher.onLog(level.getName(), tag, msg);
     }
 
     if (WXEnvironment.isApkDebugable()) {
       Log.println(level.getPriority(),tag, msg);
-      // if not debug level then print log
-      if(!level.getName().equals("debug")){
+      if(level == LogLevel.DEBUG){
+        writeConsoleLog(level.getName(), tag + ":" + msg);
+      }else{
         writeConsoleLog(level.getName(), msg);
       }
     }else {
@@ -146,35 +217,62 @@ public class WXLogUtils {
             }
           }
         }
-
-        /** This log method will be invoked from jni code, so try to extract loglevel from message. **/
-        writeConsoleLog("debug", tag + ":" + msg);
-        if(msg.contains(" | __")){
-          String[] msgs=msg.split(" | __");
-          LogLevel level;
-          if( msgs!=null && msgs.length==4 && !TextUtils.isEmpty(msgs[0]) && !TextUtils.isEmpty(msgs[2])){
-            level=getLogLevel(msgs[2]);
-            return;
-          }
-        }
       }
     }
   }
 
-  private static LogLevel getLogLevel(String level) {
-    switch (level.trim()){
-      case "__ERROR":
-        return LogLevel.ERROR;
-      case "__WARN":
-        return LogLevel.WARN;
-      case "__INFO":
-        return LogLevel.INFO;
-      case "__LOG":
-        return LogLevel.INFO;
-      case "__DEBUG":
-        return LogLevel.DEBUG;
+  /**
+   * Parameterised variants: each <code>{}</code> in format is replaced by the next argument,
+   * and a trailing {@link Throwable} argument without placeholder is appended as a stack trace.
+   * The message is only built if the level is loggable.
+   */
+  public static void d(String tag, String format, Object... args) {
+    if (isLoggable(LogLevel.DEBUG)) {
+      log(tag, format(format, args), LogLevel.DEBUG);
+    }
+  }
+
+  public static void i(String tag, String format, Object... args) {
+    if (isLoggable(LogLevel.INFO)) {
+      log(tag, format(format, args), LogLevel.INFO);
+    }
+  }
+
+  public static void v(String tag, String format, Object... args) {
+    if (isLoggable(LogLevel.VERBOSE)) {
+      log(tag, format(format, args), LogLevel.VERBOSE);
+    }
+  }
+
+  public static void w(String tag, String format, Object... args) {
+    if (isLoggable(LogLevel.WARN)) {
+      log(tag, format(format, args), LogLevel.WARN);
+    }
+  }
+
+  public static void e(String tag, String format, Object... args) {
+    if (isLoggable(LogLevel.ERROR)) {
+      log(tag, format(format, args), LogLevel.ERROR);
+    }
+  }
+
+  static String format(String format, Object... args) {
+    if (format == null || args == null || args.length == 0) {
+      return format;
+    }
+    StringBuilder builder = new StringBuilder(format.length() + 16 * args.length);
+    int argIndex = 0;
+    int start = 0;
+    int placeholder;
+    while (argIndex < args.length && (placeholder = format.indexOf("{}", start)) >= 0) {
+      builder.append(format, start, placeholder).append(args[argIndex++]);
+      start = placeholder + 2;
+    }
+    builder.append(format, start, format.length());
+    if (argIndex < args.length && args[args.length - 1] instanceof Throwable) {
+      builder.append('\n').append(getStackTrace((Throwable) args[args.length - 1]));
     }
-    return LogLevel.DEBUG;
+    return builder.toString();
   }
 
   public static void i(String tag, String msg) {
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.appfram.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.alibaba.fastjson.JSON;
+import com.taobao.weex.wson.Wson;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class WebSocketMessageQueueTest {
+
+  @Test
+  public void testBatch() throws Exception {
+    WebSocketMessageQueue queue = new WebSocketMessageQueue(10);
+    assertTrue(queue.offer("a"));
+    assertFalse(queue.offer("b"));
+
+    List<Object> batch = queue.drain();
+    assertEquals(Arrays.<Object>asList("a", "b"), batch);
+    assertTrue(queue.drain().isEmpty());
+    assertTrue(queue.offer("c"));
+
+    Map<String, Object> stats = queue.getStats();
+    assertEquals(3L, stats.get(WebSocketMessageQueue.KEY_RECEIVED));
+    assertEquals(2L, stats.get(WebSocketMessageQueue.KEY_DELIVERED));
+    assertEquals(1L, stats.get(WebSocketMessageQueue.KEY_BATCHES));
+    assertEquals(1, stats.get(WebSocketMessageQueue.KEY_PENDING));
+  }
+
+  @Test
+  public void testDropOldest() throws Exception {
+    WebSocketMessageQueue queue = new WebSocketMessageQueue(2);
+    queue.offer("a");
+    queue.offer("b");
+    queue.offer("c");
+
+    assertEquals(Arrays.<Object>asList("b", "c"), queue.drain());
+    assertEquals(1L, queue.getDropped());
+    assertEquals(2, queue.getStats().get(WebSocketMessageQueue.KEY_MAX_PENDING));
+  }
+
+  @Test
+  public void testBinaryPayload() throws Exception {
+    byte[] data = new byte[]{0, 1, (byte) 0x7f, (byte) 0x80, (byte) 0xff};
+    UnsignedByteList payload = new UnsignedByteList(data);
+    assertEquals(Arrays.asList(0, 1, 127, 128, 255), Wson.parse(Wson.toWson(payload)));
+    assertEquals("[0,1,127,128,255]", JSON.toJSONString(payload));
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.taobao.weex.utils.WXLogUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times benchmark operations on the host JVM and writes the results of a suite as JSON, one file
+ * per suite, so a pipeline can compare them against a baseline. The report is the output of a
+ * run, each result is only logged at debug level besides.
+ *
+ * Configured with system properties, forwarded by <code>./gradlew :weex_sdk:testDebugUnitTest
+ * -Pbenchmark</code>:
+ * <ul>
+ *   <li>{@value #PROP_SIZE}: node or item count of the synthetic trees, default 200</li>
+ *   <li>{@value #PROP_ITERATIONS}: measured iterations, default 30</li>
+ *   <li>{@value #PROP_OUTPUT}: output directory, default build/benchmark</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+  public static final String PROP_SIZE = "weex.benchmark.size";
+  public static final String PROP_ITERATIONS = "weex.benchmark.iterations";
+  public static final String PROP_OUTPUT = "weex.benchmark.output";
+
+  private static final String TAG = "WXBenchmark";
+
+  /**
+   * A measured operation, {@link #prepare()} runs before each iteration and is not timed.
+   */
+  public static abstract class Op {
+    public void prepare() {
+    }
+
+    public abstract void run();
+  }
+
+  public static class Result {
+    public String name;
+    public int size;
+    public int iterations;
+    public long medianNs;
+    public long minNs;
+    public long p90Ns;
+    /**
+     * bytes allocated by one iteration, -1 if the JVM can not tell.
+     */
+    public long allocatedBytes;
+  }
+
+  private final String mSuite;
+  private final List<Result> mResults = new ArrayList<>();
+
+  public BenchmarkRunner(String suite) {
+    mSuite = suite;
+  }
+
+  public static int size() {
+    return Integer.getInteger(PROP_SIZE, 200);
+  }
+
+  public static int iterations() {
+    return Integer.getInteger(PROP_ITERATIONS, 30);
+  }
+
+  public Result run(String name, int size, Op op) {
+    int iterations = iterations();
+    for (int i = 0, warmup = Math.max(3, iterations / 5); i < warmup; i++) {
+      op.prepare();
+      op.run();
+    }
+    long[] times = new long[iterations];
+    long allocated = 0;
+    for (int i = 0; i < iterations; i++) {
+      op.prepare();
+      long allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      op.run();
+      times[i] = System.nanoTime() - start;
+      long allocatedAfter = allocatedBytes();
+      allocated = allocatedBefore < 0 || allocated < 0 ? -1 : allocated + allocatedAfter - allocatedBefore;
+    }
+    Arrays.sort(times);
+
+    Result result = new Result();
+    result.name = name;
+    result.size = size;
+    result.iterations = iterations;
+    result.medianNs = times[iterations / 2];
+    result.minNs = times[0];
+    result.p90Ns = times[Math.min(iterations - 1, iterations * 9 / 10)];
+    result.allocatedBytes = allocated < 0 ? -1 : allocated / iterations;
+    synchronized (mResults) {
+      mResults.add(result);
+    }
+    WXLogUtils.d(TAG, "{}.{} size={} median={}us alloc={}B", mSuite, name, size,
+        result.medianNs / 1000, result.allocatedBytes);
+    return result;
+  }
+
+  /**
+   * Write the results as build/benchmark/&lt;suite&gt;.json.
+   */
+  public void report() throws IOException {
+    File dir = new File(System.getProperty(PROP_OUTPUT, "build/benchmark"));
+    if (!dir.exists() && !dir.mkdirs()) {
+      throw new IOException("can not create " + dir);
+    }
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("suite", mSuite);
+    report.put("timestamp", System.currentTimeMillis());
+    report.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+    synchronized (mResults) {
+      report.put("results", mResults);
+    }
+    FileOutputStream outputStream = new FileOutputStream(new File(dir, mSuite + ".json"));
+    try {
+      outputStream.write(JSON.toJSONString(report, true).getBytes("UTF-8"));
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  private static Object sThreadBean;
+  private static Method sAllocatedBytes;
+
+  /**
+   * Allocated bytes of the current thread through com.sun.management.ThreadMXBean, looked up
+   * reflectively as java.lang.management is not on the android compile classpath.
+   */
+  private static long allocatedBytes() {
+    try {
+      if (sAllocatedBytes == null) {
+        sThreadBean = Class.forName("java.lang.management.ManagementFactory")
+            .getMethod("getThreadMXBean").invoke(null);
+        sAllocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+            .getMethod("getThreadAllocatedBytes", long.class);
+      }
+      return (Long) sAllocatedBytes.invoke(sThreadBean, Thread.currentThread().getId());
+    } catch (Throwable e) {
+      return -1;
+    }
+  }
+}
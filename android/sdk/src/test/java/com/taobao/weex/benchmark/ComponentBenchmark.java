@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.benchmark;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.ui.WXRenderManager;
+import com.taobao.weex.ui.action.BasicComponentData;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXImage;
+import com.taobao.weex.ui.component.WXText;
+import com.taobao.weex.ui.component.WXVContainer;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component tree creation, view creation and style application on synthetic trees of
+ * {@link BenchmarkRunner#size()} nodes: divs with a fan out of {@value #FAN_OUT}, leaves
+ * alternating text and image.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19, manifest = Config.NONE)
+public class ComponentBenchmark {
+
+  private static final int FAN_OUT = 8;
+  private static final BenchmarkRunner sRunner = new BenchmarkRunner("component");
+
+  private WXSDKInstance mInstance;
+  private WXRenderManager mRenderManager;
+  private List<WXComponent> mComponents;
+  private WXVContainer mRoot;
+
+  @Before
+  public void setUp() throws Exception {
+    mInstance = new WXSDKInstance(RuntimeEnvironment.application);
+    mRenderManager = WXSDKManager.getInstance().getWXRenderManager();
+    mRenderManager.registerInstance(mInstance);
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    sRunner.report();
+  }
+
+  @Test
+  public void createTree() throws Exception {
+    final int size = BenchmarkRunner.size();
+    sRunner.run("createTree", size, new BenchmarkRunner.Op() {
+      @Override
+      public void run() {
+        buildTree(size);
+      }
+    });
+  }
+
+  @Test
+  public void createViews() throws Exception {
+    final int size = BenchmarkRunner.size();
+    sRunner.run("createViews", size, new BenchmarkRunner.Op() {
+      @Override
+      public void prepare() {
+        buildTree(size);
+      }
+
+      @Override
+      public void run() {
+        mRoot.createView();
+      }
+    });
+  }
+
+  @Test
+  public void applyStyles() throws Exception {
+    final int size = BenchmarkRunner.size();
+    final Map<String, Object> styles = new HashMap<>();
+    styles.put("backgroundColor", "#ff0000");
+    styles.put("opacity", "0.5");
+    styles.put("borderWidth", "2");
+    styles.put("borderColor", "#00ff00");
+    styles.put("borderRadius", "8");
+    styles.put("color", "#333333");
+    styles.put("fontSize", "28");
+    styles.put("visibility", "visible");
+    sRunner.run("applyStyles", size, new BenchmarkRunner.Op() {
+      @Override
+      public void prepare() {
+        buildTree(size);
+        mRoot.createView();
+      }
+
+      @Override
+      public void run() {
+        for (int i = 0; i < mComponents.size(); i++) {
+          mComponents.get(i).updateProperties(styles);
+        }
+      }
+    });
+  }
+
+  @Test
+  public void destroyTree() throws Exception {
+    final int size = BenchmarkRunner.size();
+    sRunner.run("destroyTree", size, new BenchmarkRunner.Op() {
+      @Override
+      public void prepare() {
+        buildTree(size);
+        mRoot.createView();
+      }
+
+      @Override
+      public void run() {
+        for (int i = 0; i < mComponents.size(); i++) {
+          mRenderManager.unregisterComponent(mInstance.getInstanceId(), mComponents.get(i).getRef());
+        }
+        mRoot.destroy();
+      }
+    });
+  }
+
+  private void buildTree(int size) {
+    mComponents = new ArrayList<>(size);
+    mRoot = new WXDiv(mInstance, null, data("_root", WXBasicComponentType.DIV, null));
+    register(mRoot);
+    List<WXVContainer> containers = new ArrayList<>();
+    containers.add(mRoot);
+    int next = 0;
+    for (int i = 1; i < size; i++) {
+      WXVContainer parent = containers.get(next);
+      if (parent.childCount() >= FAN_OUT) {
+        parent = containers.get(++next);
+      }
+      String ref = String.valueOf(i);
+      WXComponent child;
+      if (i % 3 == 0) {
+        WXDiv div = new WXDiv(mInstance, parent, data(ref, WXBasicComponentType.DIV, parent.getRef()));
+        containers.add(div);
+        child = div;
+      } else if (i % 3 == 1) {
+        child = new WXText(mInstance, parent, data(ref, WXBasicComponentType.TEXT, parent.getRef()));
+      } else {
+        child = new WXImage(mInstance, parent, data(ref, WXBasicComponentType.IMAGE, parent.getRef()));
+      }
+      parent.addChild(child);
+      register(child);
+    }
+  }
+
+  private void register(WXComponent component) {
+    mComponents.add(component);
+    mRenderManager.registerComponent(mInstance.getInstanceId(), component.getRef(), component);
+  }
+
+  private static BasicComponentData data(String ref, String type, String parentRef) {
+    BasicComponentData data = new BasicComponentData(ref, type, parentRef);
+    Map<String, Object> styles = new HashMap<>();
+    styles.put("width", "750");
+    styles.put("height", "100");
+    data.addStyle(styles);
+    return data;
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.benchmark;
+
+import android.support.v4.util.ArrayMap;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.dom.binding.ELUtils;
+import com.taobao.weex.el.parse.ArrayStack;
+import com.taobao.weex.el.parse.Parser;
+import com.taobao.weex.el.parse.Token;
+import com.taobao.weex.ui.component.binding.Statements;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template list binding: parsing binding expressions, executing them, and rendering the binding
+ * attrs of a cell template for {@link BenchmarkRunner#size()} list items, as
+ * {@link Statements} does when a recycler template list binds a cell.
+ *
+ * {@link Statements#doRender} itself is not measured: copying a v-for node and updating its attrs
+ * go through the render objects of the core, which are not loaded on the host JVM.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19, manifest = Config.NONE)
+public class TemplateBenchmark {
+
+  private static final BenchmarkRunner sRunner = new BenchmarkRunner("template");
+
+  private static final String[] EXPRESSIONS = {
+      "item.title",
+      "item.price * item.count",
+      "item.count > 0 ? 'in stock' : 'sold out'",
+      "index % 2 == 0 && item.visible",
+      "item.tags[0]",
+      "item.user.name + ' (' + item.user.level + ')'",
+  };
+
+  private List<Map<String, Object>> mItems;
+
+  @Before
+  public void setUp() throws Exception {
+    int size = BenchmarkRunner.size();
+    mItems = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Map<String, Object> user = new HashMap<>();
+      user.put("name", "user" + i);
+      user.put("level", i % 5);
+      JSONArray tags = new JSONArray();
+      tags.add("tag" + i);
+      Map<String, Object> item = new HashMap<>();
+      item.put("title", "title " + i);
+      item.put("price", i * 1.5);
+      item.put("count", i % 7);
+      item.put("visible", i % 3 != 0);
+      item.put("tags", tags);
+      item.put("user", user);
+      mItems.add(item);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws Exception {
+    sRunner.report();
+  }
+
+  @Test
+  public void parseExpressions() throws Exception {
+    final int size = BenchmarkRunner.size();
+    sRunner.run("parseExpressions", size, new BenchmarkRunner.Op() {
+      @Override
+      public void run() {
+        for (int i = 0; i < size; i++) {
+          Parser.parse(EXPRESSIONS[i % EXPRESSIONS.length]);
+        }
+      }
+    });
+  }
+
+  @Test
+  public void executeExpressions() throws Exception {
+    final int size = BenchmarkRunner.size();
+    final Token[] tokens = new Token[EXPRESSIONS.length];
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = Parser.parse(EXPRESSIONS[i]);
+    }
+    sRunner.run("executeExpressions", size, new BenchmarkRunner.Op() {
+      @Override
+      public void run() {
+        ArrayStack stack = new ArrayStack();
+        for (int i = 0; i < size; i++) {
+          stack.push(scope(i));
+          for (Token token : tokens) {
+            token.execute(stack);
+          }
+          stack.pop();
+        }
+      }
+    });
+  }
+
+  @Test
+  public void bindList() throws Exception {
+    final int size = BenchmarkRunner.size();
+    final ArrayMap<String, Object> bindAttrs = new ArrayMap<>();
+    for (int i = 0; i < EXPRESSIONS.length; i++) {
+      bindAttrs.put("attr" + i, binding(EXPRESSIONS[i]));
+    }
+    JSONArray src = new JSONArray();
+    src.add("https://example.com/img/");
+    src.add(binding("item.user.name"));
+    src.add(".png");
+    bindAttrs.put("src", src);
+    sRunner.run("bindList", size, new BenchmarkRunner.Op() {
+      @Override
+      public void run() {
+        ArrayStack stack = new ArrayStack();
+        for (int i = 0; i < size; i++) {
+          stack.push(scope(i));
+          Statements.renderBindingAttrs(bindAttrs, stack);
+          stack.pop();
+        }
+      }
+    });
+  }
+
+  private Map<String, Object> scope(int index) {
+    Map<String, Object> scope = new HashMap<>(4);
+    scope.put("item", mItems.get(index));
+    scope.put("index", index);
+    return scope;
+  }
+
+  private static JSONObject binding(String expression) {
+    JSONObject binding = new JSONObject();
+    binding.put(ELUtils.BINDING, Parser.parse(expression));
+    return binding;
+  }
+}
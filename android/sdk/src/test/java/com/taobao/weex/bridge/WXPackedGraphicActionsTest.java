@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import android.content.Context;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.ui.action.BasicGraphicAction;
+import com.taobao.weex.ui.action.GraphicActionAddElement;
+import com.taobao.weex.ui.action.GraphicActionAddEvent;
+import com.taobao.weex.ui.action.GraphicActionLayout;
+import com.taobao.weex.ui.action.GraphicActionMoveElement;
+import com.taobao.weex.ui.action.GraphicActionRemoveElement;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXPackedGraphicActionsTest {
+
+  private WXSDKInstance instance;
+  private ByteArrayOutputStream out;
+
+  @Before
+  public void setUp() throws Exception {
+    WXPackedReader.resetKeys();
+    instance = WXSDKInstanceTest.createInstance();
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void testDecodeInOrder() throws Exception {
+    varint(0);
+    out.write(WXPackedGraphicActions.MOVE_ELEMENT);
+    string("1");
+    string("_root");
+    signed(-1);
+    out.write(WXPackedGraphicActions.LAYOUT);
+    string("1");
+    for (int value : new int[]{0, 100, -10, 90, 100, 100}) {
+      signed(value);
+    }
+    out.write(0);
+    signed(0);
+    out.write(WXPackedGraphicActions.REMOVE_ELEMENT);
+    string("1");
+
+    List<BasicGraphicAction> actions = WXPackedGraphicActions.decode(instance, out.toByteArray());
+    assertEquals(3, actions.size());
+    assertTrue(actions.get(0) instanceof GraphicActionMoveElement);
+    assertTrue(actions.get(1) instanceof GraphicActionLayout);
+    assertTrue(actions.get(2) instanceof GraphicActionRemoveElement);
+    assertEquals("1", actions.get(2).getRef());
+  }
+
+  @Test
+  public void testAddElementWaitingForLayout() throws Exception {
+    // without a context the add element action does not build its component
+    WXSDKInstance instance = new WXSDKInstance((Context) null);
+    varint(0);
+    out.write(WXPackedGraphicActions.ADD_ELEMENT);
+    newKey(0, "div");
+    string("2");
+    signed(0);
+    string("_root");
+    varint(0);
+    out.write(0);
+    out.write(0);
+    out.write(0);
+    out.write(1);
+    out.write(WXPackedGraphicActions.LAYOUT);
+    string("2");
+    for (int value : new int[]{0, 100, 0, 750, 100, 750}) {
+      signed(value);
+    }
+    out.write(0);
+    signed(3);
+
+    List<BasicGraphicAction> actions = WXPackedGraphicActions.decode(instance, out.toByteArray());
+    assertEquals(1, actions.size());
+    assertTrue(actions.get(0) instanceof GraphicActionAddElement);
+    assertEquals("2", actions.get(0).getRef());
+    assertEquals(3, ((GraphicActionAddElement) actions.get(0)).getIndex());
+    assertNull(instance.getInActiveAddElementAction("2"));
+  }
+
+  @Test
+  public void testDecodeWithoutInstance() throws Exception {
+    varint(0);
+    out.write(WXPackedGraphicActions.ADD_EVENT);
+    string("1");
+    newKey(0, "click");
+    assertTrue(WXPackedGraphicActions.decode(null, out.toByteArray()).isEmpty());
+
+    out.reset();
+    varint(0);
+    out.write(WXPackedGraphicActions.ADD_EVENT);
+    string("1");
+    knownKey(0);
+    List<BasicGraphicAction> actions = WXPackedGraphicActions.decode(instance, out.toByteArray());
+    assertEquals(1, actions.size());
+    assertTrue(actions.get(0) instanceof GraphicActionAddEvent);
+  }
+
+  @Test
+  public void testFailedActionKeepsReading() throws Exception {
+    varint(0);
+    out.write(WXPackedGraphicActions.ADD_ELEMENT);
+    newKey(0, "unknown-component");
+    string("3");
+    signed(0);
+    string("_root");
+    varint(0);
+    out.write(0);
+    out.write(0);
+    out.write(0);
+    out.write(0);
+    out.write(WXPackedGraphicActions.ADD_EVENT);
+    string("3");
+    newKey(1, "click");
+    out.write(WXPackedGraphicActions.REMOVE_ELEMENT);
+    string("3");
+
+    List<BasicGraphicAction> actions = WXPackedGraphicActions.decode(instance, out.toByteArray());
+    int size = actions.size();
+    assertTrue(size >= 2);
+    assertTrue(actions.get(size - 2) instanceof GraphicActionAddEvent);
+    assertTrue(actions.get(size - 1) instanceof GraphicActionRemoveElement);
+
+    // the keys after the failed action were interned
+    out.reset();
+    varint(0);
+    out.write(WXPackedGraphicActions.ADD_EVENT);
+    string("4");
+    knownKey(1);
+    actions = WXPackedGraphicActions.decode(instance, out.toByteArray());
+    assertEquals(1, actions.size());
+    assertTrue(actions.get(0) instanceof GraphicActionAddEvent);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAction() throws Exception {
+    varint(0);
+    out.write(100);
+    WXPackedGraphicActions.decode(instance, out.toByteArray());
+  }
+
+  private void newKey(int id, String key) throws Exception {
+    varint(id << 1 | 1);
+    string(key);
+  }
+
+  private void knownKey(int id) {
+    varint(id << 1);
+  }
+
+  private void string(String value) throws Exception {
+    byte[] bytes = value.getBytes("UTF-8");
+    varint(bytes.length);
+    out.write(bytes);
+  }
+
+  private void signed(int value) {
+    varint((value << 1) ^ (value >> 31));
+  }
+
+  private void varint(int value) {
+    while ((value & ~0x7f) != 0) {
+      out.write((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
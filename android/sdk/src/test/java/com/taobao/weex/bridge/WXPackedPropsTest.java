@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.bridge;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, manifest = Config.NONE)
+public class WXPackedPropsTest {
+
+  private ByteArrayOutputStream out;
+
+  @Before
+  public void setUp() throws Exception {
+    WXPackedReader.resetKeys();
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void testDecode() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_STYLES, 2);
+    newKey(0, "width");
+    string("100");
+    newKey(1, "color");
+    string("#ff0000");
+    section(WXPackedProps.SECTION_ATTRS, 1);
+    newKey(2, "value");
+    string("\u4f60\u597d");
+    section(WXPackedProps.SECTION_EVENTS, 1);
+    newKey(3, "click");
+
+    WXPackedProps props = WXPackedProps.decode(out.toByteArray());
+    assertEquals("100", props.getStyles().get("width"));
+    assertEquals("#ff0000", props.getStyles().get("color"));
+    assertEquals("\u4f60\u597d", props.getAttrs().get("value"));
+    assertTrue(props.getEvents().contains("click"));
+    assertNull(props.getMargins());
+  }
+
+  @Test
+  public void testInternedKeys() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_STYLES, 1);
+    newKey(0, "height");
+    string("10");
+    WXPackedProps.decode(out.toByteArray());
+
+    out.reset();
+    varint(0);
+    section(WXPackedProps.SECTION_PADDINGS, 1);
+    knownKey(0);
+    string("20");
+    WXPackedProps props = WXPackedProps.decode(out.toByteArray());
+    assertEquals("20", props.getPaddings().get("height"));
+  }
+
+  @Test
+  public void testNewGeneration() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_STYLES, 1);
+    newKey(0, "height");
+    string("10");
+    WXPackedProps.decode(out.toByteArray());
+
+    out.reset();
+    varint(1);
+    section(WXPackedProps.SECTION_STYLES, 1);
+    newKey(0, "width");
+    string("20");
+    WXPackedProps props = WXPackedProps.decode(out.toByteArray());
+    assertEquals("20", props.getStyles().get("width"));
+    assertNull(props.getStyles().get("height"));
+
+    out.reset();
+    varint(1);
+    section(WXPackedProps.SECTION_ATTRS, 1);
+    knownKey(0);
+    string("30");
+    assertEquals("30", WXPackedProps.decode(out.toByteArray()).getAttrs().get("width"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testKeyOfOldGeneration() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_STYLES, 1);
+    newKey(0, "height");
+    string("10");
+    newKey(1, "color");
+    string("#ffffff");
+    WXPackedProps.decode(out.toByteArray());
+
+    out.reset();
+    varint(1);
+    section(WXPackedProps.SECTION_STYLES, 1);
+    knownKey(1);
+    string("#000000");
+    WXPackedProps.decode(out.toByteArray());
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    WXPackedProps props = WXPackedProps.decode(null);
+    assertNull(props.getStyles());
+    assertNull(props.getEvents());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownKey() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_ATTRS, 1);
+    knownKey(5);
+    string("a");
+    WXPackedProps.decode(out.toByteArray());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncated() throws Exception {
+    varint(0);
+    section(WXPackedProps.SECTION_ATTRS, 1);
+    newKey(0, "src");
+    varint(10);
+    WXPackedProps.decode(out.toByteArray());
+  }
+
+  private void section(int kind, int count) {
+    out.write(kind);
+    varint(count);
+  }
+
+  private void newKey(int id, String key) throws Exception {
+    varint(id << 1 | 1);
+    string(key);
+  }
+
+  private void knownKey(int id) {
+    varint(id << 1);
+  }
+
+  private void string(String value) throws Exception {
+    byte[] bytes = value.getBytes("UTF-8");
+    varint(bytes.length);
+    out.write(bytes);
+  }
+
+  private void varint(int value) {
+    while (value >= 0x80) {
+      out.write((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
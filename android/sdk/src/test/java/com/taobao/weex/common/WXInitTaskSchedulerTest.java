@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.common.WXInitTaskScheduler.Status;
+import com.taobao.weex.common.WXInitTaskScheduler.TaskThread;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXInitTaskSchedulerTest {
+
+  private final List<String> order = new ArrayList<>();
+
+  private WXInitTaskScheduler.Task task(final String name, TaskThread thread, final boolean result,
+                                        String... dependencies) {
+    return new WXInitTaskScheduler.Task(name, thread, dependencies) {
+      @Override
+      protected boolean execute() {
+        synchronized (order) {
+          order.add(name);
+        }
+        return result;
+      }
+    };
+  }
+
+  @Test
+  public void testDependencyOrder() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    WXInitTaskScheduler scheduler = new WXInitTaskScheduler();
+    scheduler.addTask(task("c", TaskThread.CALLER, true, "a", "b"))
+            .addTask(task("b", TaskThread.WORKER, true, "a"))
+            .addTask(task("a", TaskThread.CALLER, true));
+    scheduler.setOnCompleteListener(new WXInitTaskScheduler.OnCompleteListener() {
+      @Override
+      public void onComplete(WXInitTaskScheduler scheduler, String timeline) {
+        latch.countDown();
+      }
+    });
+    scheduler.start();
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals("[a, b, c]", order.toString());
+    assertEquals(Status.DONE, scheduler.getTask("c").getStatus());
+    assertEquals(3, scheduler.getDurations().size());
+    assertTrue(scheduler.getTimeline().contains("c DONE"));
+  }
+
+  @Test
+  public void testFailureSkipsDependents() throws Exception {
+    WXInitTaskScheduler scheduler = new WXInitTaskScheduler();
+    scheduler.addTask(task("a", TaskThread.CALLER, false))
+            .addTask(task("b", TaskThread.CALLER, true, "a"))
+            .addTask(task("c", TaskThread.CALLER, true, "b"))
+            .addTask(task("d", TaskThread.CALLER, true, "unknown"))
+            .addTask(task("e", TaskThread.CALLER, true));
+    scheduler.start();
+
+    assertEquals("[a, e]", order.toString());
+    assertEquals(Status.FAILED, scheduler.getTask("a").getStatus());
+    assertEquals(Status.SKIPPED, scheduler.getTask("b").getStatus());
+    assertEquals(Status.SKIPPED, scheduler.getTask("c").getStatus());
+    assertEquals(Status.SKIPPED, scheduler.getTask("d").getStatus());
+    assertEquals(Status.DONE, scheduler.getTask("e").getStatus());
+  }
+}
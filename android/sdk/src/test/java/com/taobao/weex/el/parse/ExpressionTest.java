@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.el.parse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpressionTest {
+
+  private JSONObject item;
+  private ArrayStack<Object> stack;
+
+  @Before
+  public void setUp() throws Exception {
+    item = new JSONObject();
+    item.put("title", "hello");
+    item.put("count", 3);
+    JSONArray list = new JSONArray();
+    JSONObject first = new JSONObject();
+    first.put("name", "n0");
+    list.add(first);
+    list.add("x");
+    item.put("list", list);
+    JSONObject data = new JSONObject();
+    data.put("item", item);
+    data.put("index", 1);
+    stack = new ArrayStack<>();
+    stack.push(data);
+  }
+
+  @Test
+  public void testSameResultAsParsed() throws Exception {
+    String[] codes = {
+        "item.title", "item.count + 1", "1 + 2 * 3", "item.list[0].name", "item.list.length",
+        "item['title']", "item.list[1.0]", "item.count > 1 ? 'big' : 'small'", "true ? item.title : 'x'",
+        "!item.count", "item.count === 3 && item.title", "[1, 2, item.count]", "'abc'.length",
+        "item.missing.x", "index + '-' + item.title", "item.list[index - 1].name", "undefined == null"
+    };
+    for (String code : codes) {
+      assertEquals(code, String.valueOf(Parser.parse(code).execute(stack)),
+          String.valueOf(Parser.compile(code).execute(stack)));
+    }
+  }
+
+  @Test
+  public void testConstantFolding() throws Exception {
+    Expression expression = (Expression) Parser.compile("(1 + 2) * 3 + 'px'");
+    assertTrue(expression.isConstant());
+    assertEquals("9.0px", expression.execute(null));
+  }
+
+  @Test
+  public void testTrackedInputs() throws Exception {
+    Expression expression = (Expression) Parser.compile("item.count + 1");
+    assertTrue(expression.isTracked());
+    Object[] inputs = expression.newInputs();
+    assertEquals(4.0, expression.execute(stack, inputs));
+    assertEquals(4.0, expression.execute(stack, inputs));
+    item.put("count", 10);
+    assertEquals(11.0, expression.execute(stack, inputs));
+
+    assertFalse(((Expression) Parser.compile("item.title")).isTracked());
+  }
+
+  @Test
+  public void testCache() throws Exception {
+    ExpressionCache.clear();
+    Token token = Parser.compile("item.count + 2");
+    assertSame(token, Parser.compile("item.count + 2"));
+    assertNotSame(token, Parser.compile("item.count + 3"));
+    assertEquals(1, ExpressionCache.getStats().get(ExpressionCache.KEY_HIT));
+    assertEquals(2, ExpressionCache.getStats().get(ExpressionCache.KEY_MISS));
+
+    ExpressionCache.clear();
+    assertEquals(0, ExpressionCache.getStats().get(ExpressionCache.KEY_HIT));
+    assertEquals(0, ExpressionCache.getStats().get(ExpressionCache.KEY_SIZE));
+
+    ExpressionCache.setMaxSize(0);
+    assertNotSame(Parser.compile("item.count"), Parser.compile("item.count"));
+    ExpressionCache.setMaxSize(ExpressionCache.DEFAULT_MAX_SIZE);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.utils.WXFileUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXBundleCacheTest {
+
+  private static final String URL = "http://example.com/index.js";
+
+  private File dir;
+  private WXBundleCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    dir = new File(RuntimeEnvironment.application.getCacheDir(), "bundle_cache_test");
+    cache = new WXBundleCache(dir, 1024 * 1024);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    cache.clear();
+  }
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    String digest = cache.put(URL, "var a = 1;".getBytes("UTF-8"));
+    assertNotNull(digest);
+
+    WXBundleCache.Entry entry = cache.get(URL, false);
+    assertNotNull(entry);
+    assertEquals("var a = 1;", entry.getContent());
+    assertEquals(digest, entry.digest);
+  }
+
+  @Test
+  public void testPutWithKnownDigest() throws Exception {
+    byte[] data = "var a = 1;".getBytes("UTF-8");
+    String digest = WXFileUtils.md5(data);
+    assertEquals(digest, cache.put(URL, data, digest));
+
+    WXBundleCache.Entry entry = cache.get(URL, false);
+    assertNotNull(entry);
+    assertEquals(digest, entry.digest);
+    assertNull(cache.put(URL, data, null));
+  }
+
+  @Test
+  public void testLargeBundle() throws Exception {
+    char[] chars = new char[200 * 1024];
+    Arrays.fill(chars, 'x');
+    String template = new String(chars);
+    cache.put(URL, template.getBytes("UTF-8"));
+
+    WXBundleCache.Entry entry = cache.get(URL, false);
+    assertNotNull(entry);
+    assertEquals(template, entry.getContent());
+  }
+
+  @Test
+  public void testCorruptedBundleIsDropped() throws Exception {
+    String digest = cache.put(URL, "var a = 1;".getBytes("UTF-8"));
+    FileOutputStream outputStream = new FileOutputStream(bundleFile(URL, digest));
+    outputStream.write("var a = 2;".getBytes("UTF-8"));
+    outputStream.close();
+
+    assertNull(cache.get(URL, false));
+    assertNull(cache.get(URL, false));
+  }
+
+  @Test
+  public void testNewVersionReplacesOld() throws Exception {
+    String oldDigest = cache.put(URL, "var a = 1;".getBytes("UTF-8"));
+    String newDigest = cache.put(URL, "var a = 2;".getBytes("UTF-8"));
+
+    WXBundleCache.Entry entry = cache.get(URL, false);
+    assertNotNull(entry);
+    assertEquals(newDigest, entry.digest);
+    assertEquals("var a = 2;", entry.getContent());
+    assertFalse(bundleFile(URL, oldDigest).exists());
+  }
+
+  @Test
+  public void testTrim() throws Exception {
+    WXBundleCache small = new WXBundleCache(dir, 150);
+    String digest = small.put(URL, new byte[80]);
+    bundleFile(URL, digest).setLastModified(0);
+    small.put(URL + "?v=2", new byte[80]);
+
+    assertNotNull(small.get(URL + "?v=2", true));
+    assertNull(small.get(URL, true));
+  }
+
+  private File bundleFile(String url, String digest) {
+    return new File(dir, WXFileUtils.md5(url) + "_" + digest + ".bundle");
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class WXBundleStreamDecoderTest {
+
+  @Test
+  public void testDecodeChunks() throws Exception {
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, false);
+    assertFalse(decoder.hasData());
+
+    byte[] first = "var a = ".getBytes("UTF-8");
+    byte[] second = "1;".getBytes("UTF-8");
+    decoder.write(first, 0, first.length);
+    decoder.write(second, 0, second.length);
+
+    assertTrue(decoder.hasData());
+    assertEquals(first.length + second.length, decoder.getByteCount());
+    assertEquals("var a = 1;", decoder.getContent());
+    assertNull(decoder.getRawBytes());
+  }
+
+  @Test
+  public void testCharacterSplitAcrossChunks() throws Exception {
+    String text = "a\u4e2d\u6587b\ud83d\ude00c";
+    byte[] bytes = text.getBytes("UTF-8");
+    for (int split = 0; split <= bytes.length; split++) {
+      WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(bytes.length, false);
+      decoder.write(bytes, 0, split);
+      decoder.write(bytes, split, bytes.length - split);
+      assertEquals(text, decoder.getContent());
+    }
+  }
+
+  @Test
+  public void testByteByByte() throws Exception {
+    String text = "\u00e9\u4e2d\ud83d\ude00";
+    byte[] bytes = text.getBytes("UTF-8");
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, false);
+    for (int i = 0; i < bytes.length; i++) {
+      decoder.write(bytes, i, 1);
+    }
+    assertEquals(text, decoder.getContent());
+  }
+
+  @Test
+  public void testLargerThanCharBuffer() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      builder.append("\u4e2d").append(i % 10);
+    }
+    String text = builder.toString();
+    byte[] bytes = text.getBytes("UTF-8");
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, false);
+    decoder.write(bytes, 0, bytes.length);
+    assertEquals(text, decoder.getContent());
+  }
+
+  @Test
+  public void testTruncatedCharacter() throws Exception {
+    byte[] bytes = "a\u4e2d".getBytes("UTF-8");
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, false);
+    decoder.write(bytes, 0, bytes.length - 1);
+    assertEquals("a\ufffd", decoder.getContent());
+  }
+
+  @Test
+  public void testRawBytes() throws Exception {
+    byte[] bytes = "a\u4e2db".getBytes("UTF-8");
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, true);
+    decoder.write(bytes, 0, 2);
+    decoder.write(bytes, 2, bytes.length - 2);
+    assertArrayEquals(bytes, decoder.getRawBytes());
+    assertEquals("a\u4e2db", decoder.getContent());
+  }
+
+  @Test
+  public void testWriteAfterFinish() throws Exception {
+    byte[] bytes = "ab".getBytes("UTF-8");
+    WXBundleStreamDecoder decoder = new WXBundleStreamDecoder(-1, false);
+    decoder.write(bytes, 0, 1);
+    decoder.finish();
+    decoder.write(bytes, 1, 1);
+    assertEquals("a", decoder.getContent());
+    assertEquals(1, decoder.getByteCount());
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.instance;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.IWXRenderListener;
+import com.taobao.weex.TestActivity;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.adapter.IWXHttpAdapter;
+import com.taobao.weex.common.WXRequest;
+import com.taobao.weex.ui.action.BasicGraphicAction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXPreRenderManagerTest {
+
+  private static final String URL = "http://example.com/page.js";
+  private static final long TTL = 1000;
+
+  private Activity mActivity;
+  private WXPreRenderManager mManager;
+  private Field mHttpAdapterField;
+  private Object mHttpAdapter;
+  private final List<WXRequest> mRequests = new ArrayList<>();
+  private final List<String> mExecuted = new ArrayList<>();
+
+  /**
+   * Bundle requests are recorded and never answered, so the instances stay pre-rendering.
+   */
+  @Before
+  public void setUp() throws Exception {
+    mActivity = Robolectric.setupActivity(TestActivity.class);
+    mManager = new WXPreRenderManager();
+    mHttpAdapterField = WXSDKManager.class.getDeclaredField("mIWXHttpAdapter");
+    mHttpAdapterField.setAccessible(true);
+    mHttpAdapter = mHttpAdapterField.get(WXSDKManager.getInstance());
+    mHttpAdapterField.set(WXSDKManager.getInstance(), new IWXHttpAdapter() {
+      @Override
+      public void sendRequest(WXRequest request, OnHttpListener listener) {
+        mRequests.add(request);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    mManager.discardAll();
+    mHttpAdapterField.set(WXSDKManager.getInstance(), mHttpAdapter);
+  }
+
+  @Test
+  public void testPreRender() throws Exception {
+    WXSDKInstance instance = preRender(URL);
+
+    assertTrue(mManager.isPreRendered(URL));
+    assertFalse(mManager.isPreRendered("http://example.com/other.js"));
+    assertEquals(1, mRequests.size());
+    assertTrue(mRequests.get(0).url.startsWith(URL));
+    assertTrue(instance.holdGraphicAction(new RecordAction(instance, "1")));
+    assertTrue(mExecuted.isEmpty());
+  }
+
+  @Test
+  public void testAttachReplaysHeldActions() throws Exception {
+    WXSDKInstance instance = preRender(URL);
+    instance.holdGraphicAction(new RecordAction(instance, "1"));
+    instance.holdGraphicAction(new RecordAction(instance, "2"));
+    Activity container = Robolectric.setupActivity(TestActivity.class);
+
+    assertSame(instance, mManager.attach(URL, container, new EmptyListener()));
+    assertEquals(2, mExecuted.size());
+    assertEquals("1", mExecuted.get(0));
+    assertEquals("2", mExecuted.get(1));
+    assertSame(container, instance.getUIContext());
+    assertFalse(mManager.isPreRendered(URL));
+    assertFalse(instance.holdGraphicAction(new RecordAction(instance, "3")));
+    assertFalse(instance.isDestroy());
+  }
+
+  @Test
+  public void testAttachUnknownUrl() throws Exception {
+    assertNull(mManager.attach(URL, mActivity, new EmptyListener()));
+    assertNull(mManager.attach(null, mActivity, new EmptyListener()));
+  }
+
+  @Test
+  public void testFailedPreRender() throws Exception {
+    WXSDKInstance instance = preRender(URL);
+    instance.onRenderError("-1", "failed");
+    ShadowLooper.idleMainLooper();
+
+    assertFalse(mManager.isPreRendered(URL));
+    assertNull(mManager.attach(URL, mActivity, new EmptyListener()));
+    assertTrue(instance.isDestroy());
+  }
+
+  @Test
+  public void testPreRenderAgainDiscardsEarlier() throws Exception {
+    WXSDKInstance first = preRender(URL);
+    WXSDKInstance second = preRender(URL);
+
+    assertTrue(first.isDestroy());
+    assertFalse(second.isDestroy());
+    assertTrue(mManager.isPreRendered(URL));
+  }
+
+  @Test
+  public void testDiscard() throws Exception {
+    WXSDKInstance instance = preRender(URL);
+    instance.holdGraphicAction(new RecordAction(instance, "1"));
+    mManager.discard(URL);
+
+    assertTrue(instance.isDestroy());
+    assertFalse(mManager.isPreRendered(URL));
+    assertTrue(mExecuted.isEmpty());
+    mManager.discard(null);
+  }
+
+  @Test
+  public void testDiscardAll() throws Exception {
+    WXSDKInstance first = preRender(URL);
+    WXSDKInstance second = preRender("http://example.com/other.js");
+    mManager.discardAll();
+
+    assertTrue(first.isDestroy());
+    assertTrue(second.isDestroy());
+    assertFalse(mManager.isPreRendered(URL));
+  }
+
+  @Test
+  public void testExpire() throws Exception {
+    WXSDKInstance instance = preRender(URL);
+    ShadowLooper.idleMainLooper(TTL / 2);
+    assertTrue(mManager.isPreRendered(URL));
+
+    ShadowLooper.idleMainLooper(TTL);
+    assertFalse(mManager.isPreRendered(URL));
+    assertTrue(instance.isDestroy());
+  }
+
+  private WXSDKInstance preRender(String url) {
+    return mManager.preRender(mActivity, url, null, null, 320, 480, TTL);
+  }
+
+  private class RecordAction extends BasicGraphicAction {
+
+    RecordAction(WXSDKInstance instance, String ref) {
+      super(instance, ref);
+    }
+
+    @Override
+    public void executeAction() {
+      mExecuted.add(getRef());
+    }
+  }
+
+  private static class EmptyListener implements IWXRenderListener {
+
+    @Override
+    public void onViewCreated(WXSDKInstance instance, View view) {
+    }
+
+    @Override
+    public void onRenderSuccess(WXSDKInstance instance, int width, int height) {
+    }
+
+    @Override
+    public void onRefreshSuccess(WXSDKInstance instance, int width, int height) {
+    }
+
+    @Override
+    public void onException(WXSDKInstance instance, String errCode, String msg) {
+    }
+  }
+}
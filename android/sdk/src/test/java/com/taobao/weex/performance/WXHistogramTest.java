@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class WXHistogramTest {
+
+  @Test
+  public void testBuckets() throws Exception {
+    for (long value = 0; value < 100000; value += 7) {
+      long bucketValue = WXHistogram.valueOf(WXHistogram.bucketOf(value));
+      assertTrue(value + " -> " + bucketValue, Math.abs(bucketValue - value) <= value / 8 + 1);
+    }
+    assertEquals(WXHistogram.bucketOf(Long.MAX_VALUE), WXHistogram.bucketOf(1L << 40));
+  }
+
+  @Test
+  public void testPercentiles() throws Exception {
+    WXHistogram histogram = new WXHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    WXHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.count);
+    assertEquals(500.5, snapshot.mean, 0.001);
+    assertEquals(1000, snapshot.max);
+    assertTrue(Math.abs(snapshot.p50 - 500) <= 500 / 8);
+    assertTrue(Math.abs(snapshot.p95 - 950) <= 950 / 8);
+    assertTrue(Math.abs(snapshot.p99 - 990) <= 990 / 8);
+
+    histogram.reset();
+    assertEquals(0, histogram.getPercentile(99));
+  }
+
+  @Test
+  public void testMetricsGroupLimit() throws Exception {
+    WXMetrics metrics = new WXMetrics();
+    for (int i = 0; i < 300; i++) {
+      metrics.record(WXMetrics.GROUP_CALL_NATIVE, "module.method" + i, i);
+    }
+    assertTrue(metrics.snapshot().size() <= 33);
+    assertTrue(metrics.snapshot().containsKey(WXMetrics.GROUP_CALL_NATIVE + "." + WXMetrics.NAME_OTHER));
+  }
+}
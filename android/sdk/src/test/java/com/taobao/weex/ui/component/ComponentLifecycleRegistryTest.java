@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.ui.action.BasicComponentData;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class ComponentLifecycleRegistryTest {
+
+  @Test
+  public void testSubscribedEvents() throws Exception {
+    assertEquals(0, ComponentLifecycleRegistry.getSubscribedEvents(WXDiv.class));
+    assertEquals(0, ComponentLifecycleRegistry.getSubscribedEvents(WXText.class));
+
+    int slider = ComponentLifecycleRegistry.getSubscribedEvents(WXSlider.class);
+    assertEquals(2, Integer.bitCount(slider));
+
+    int embed = ComponentLifecycleRegistry.getSubscribedEvents(WXEmbed.class);
+    assertEquals(5, Integer.bitCount(embed));
+  }
+
+  @Test
+  public void testRegisterOnCreateView() throws Exception {
+    WXSDKInstance instance = new WXSDKInstance(RuntimeEnvironment.application);
+    ResumeComponent component = new ResumeComponent(instance);
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(0, component.resumed);
+
+    component.createView();
+    component.createView();
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(1, component.resumed);
+
+    component.destroy();
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(1, component.resumed);
+  }
+
+  @Test
+  public void testRegisterViewCreatedOffMainThread() throws Exception {
+    WXSDKInstance instance = new WXSDKInstance(RuntimeEnvironment.application);
+    final ResumeComponent component = new ResumeComponent(instance);
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        component.createView();
+      }
+    });
+    thread.start();
+    thread.join();
+    assertNotNull(component.getHostView());
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(0, component.resumed);
+
+    instance.getLifecycleRegistry().registerTree(component);
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(1, component.resumed);
+
+    component.destroy();
+    instance.getLifecycleRegistry().registerTree(component);
+    instance.getLifecycleRegistry().onActivityResume();
+    assertEquals(1, component.resumed);
+  }
+
+  public static class ResumeComponent extends WXComponent<View> {
+    int resumed;
+
+    public ResumeComponent(WXSDKInstance instance) {
+      super(instance, null, new BasicComponentData("resume", WXBasicComponentType.DIV, null));
+    }
+
+    @Override
+    protected View initComponentHostView(@NonNull Context context) {
+      return new View(context);
+    }
+
+    @Override
+    public void onActivityResume() {
+      resumed++;
+    }
+  }
+}
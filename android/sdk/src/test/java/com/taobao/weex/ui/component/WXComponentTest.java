@@ -24,11 +24,17 @@ import com.taobao.weex.common.Constants;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Created by sospartan on 7/27/16.
@@ -106,6 +112,22 @@ public class WXComponentTest {
 
   }
 
+  @Test
+  public void testUpdatePropertiesSkipsUnchanged() throws Exception {
+    WXComponent spy = Mockito.spy(component);
+    Map<String, Object> props = new HashMap<>();
+    props.put(Constants.Name.BORDER_WIDTH, 10);
+    props.put(Constants.Name.OPACITY, 0.5f);
+
+    spy.updateProperties(props);
+    spy.updateProperties(props);
+    verify(spy, times(1)).setProperty(Constants.Name.BORDER_WIDTH, 10);
+    verify(spy, times(2)).setProperty(Constants.Name.OPACITY, 0.5f);
+
+    spy.clearAppliedProperties();
+    spy.updateProperties(props);
+    verify(spy, times(2)).setProperty(Constants.Name.BORDER_WIDTH, 10);
+  }
 
   @Test
   public void testAddEvent() throws Exception {
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.app.Activity;
+import android.widget.FrameLayout;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.RenderContainer;
+import com.taobao.weex.TestActivity;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXEmbedPoolTest {
+
+  private static final String URL_A = "http://example.com/a.js";
+  private static final String URL_B = "http://example.com/b.js";
+  private static final String URL_C = "http://example.com/c.js";
+
+  private Activity mActivity;
+  private WXEmbedPool mPool;
+
+  @Before
+  public void setUp() throws Exception {
+    mActivity = Robolectric.setupActivity(TestActivity.class);
+    mPool = new WXEmbedPool(WXSDKInstanceTest.createInstance());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    mPool.destroy();
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    WXSDKInstance child = createChild(100, 100);
+
+    assertFalse(mPool.isEnabled());
+    assertFalse(mPool.release(URL_A, child));
+    assertTrue(child.isDestroy());
+    assertEquals(0, mPool.size());
+  }
+
+  @Test
+  public void testReleaseAndAcquire() throws Exception {
+    mPool.setMaxSize(2);
+    WXSDKInstance child = createChild(100, 100);
+    FrameLayout embedView = new FrameLayout(mActivity);
+    embedView.addView(child.getContainerView());
+
+    assertTrue(mPool.release(URL_A, child));
+    assertNull(child.getContainerView().getParent());
+    assertEquals(1, mPool.size());
+    assertEquals(100 * 100 * 4, mPool.getUsedMemoryBytes());
+
+    assertSame(child, mPool.acquire(URL_A));
+    assertFalse(child.isDestroy());
+    assertEquals(0, mPool.size());
+    assertEquals(0, mPool.getUsedMemoryBytes());
+    assertNull(mPool.acquire(URL_A));
+    assertNull(mPool.acquire(URL_B));
+    assertEquals(1, mPool.getHitCount());
+    assertEquals(2, mPool.getMissCount());
+  }
+
+  @Test
+  public void testReuseAfterReappear() throws Exception {
+    mPool.setMaxSize(1);
+    WXSDKInstance child = createChild(100, 100);
+    mPool.release(URL_A, child);
+    WXSDKInstance reused = mPool.acquire(URL_A);
+    assertTrue(mPool.release(URL_A, reused));
+
+    assertSame(child, mPool.acquire(URL_A));
+    assertFalse(child.isDestroy());
+    assertEquals(2, mPool.getHitCount());
+  }
+
+  @Test
+  public void testReleaseReplacesSameUrl() throws Exception {
+    mPool.setMaxSize(2);
+    WXSDKInstance first = createChild(100, 100);
+    WXSDKInstance second = createChild(100, 100);
+    mPool.release(URL_A, first);
+    mPool.release(URL_A, second);
+
+    assertTrue(first.isDestroy());
+    assertEquals(1, mPool.size());
+    assertEquals(100 * 100 * 4, mPool.getUsedMemoryBytes());
+    assertSame(second, mPool.acquire(URL_A));
+  }
+
+  @Test
+  public void testEvictLeastRecentlyReleased() throws Exception {
+    mPool.setMaxSize(2);
+    WXSDKInstance a = createChild(100, 100);
+    WXSDKInstance b = createChild(100, 100);
+    WXSDKInstance c = createChild(100, 100);
+    mPool.release(URL_A, a);
+    mPool.release(URL_B, b);
+    mPool.release(URL_A, a);
+    assertTrue(mPool.release(URL_C, c));
+
+    assertTrue(b.isDestroy());
+    assertFalse(a.isDestroy());
+    assertEquals(2, mPool.size());
+    assertEquals(1, mPool.getEvictionCount());
+    assertNull(mPool.acquire(URL_B));
+  }
+
+  @Test
+  public void testEvictByMemory() throws Exception {
+    mPool.setMaxSize(3);
+    mPool.setMaxMemoryBytes(2 * 100 * 100 * 4);
+    WXSDKInstance a = createChild(100, 100);
+    WXSDKInstance b = createChild(100, 100);
+    WXSDKInstance big = createChild(300, 300);
+    mPool.release(URL_A, a);
+    mPool.release(URL_B, b);
+    assertEquals(2, mPool.size());
+
+    assertFalse(mPool.release(URL_C, big));
+    assertTrue(big.isDestroy());
+    assertTrue(a.isDestroy());
+    assertTrue(b.isDestroy());
+    assertEquals(0, mPool.size());
+    assertEquals(0, mPool.getUsedMemoryBytes());
+  }
+
+  @Test
+  public void testShrink() throws Exception {
+    mPool.setMaxSize(2);
+    WXSDKInstance a = createChild(100, 100);
+    WXSDKInstance b = createChild(100, 100);
+    mPool.release(URL_A, a);
+    mPool.release(URL_B, b);
+    mPool.setMaxSize(1);
+
+    assertTrue(a.isDestroy());
+    assertFalse(b.isDestroy());
+    mPool.setMaxMemoryBytes(0);
+    assertTrue(b.isDestroy());
+    assertEquals(0, mPool.size());
+  }
+
+  @Test
+  public void testDestroyedInstanceIsMiss() throws Exception {
+    mPool.setMaxSize(1);
+    WXSDKInstance child = createChild(100, 100);
+    mPool.release(URL_A, child);
+    child.destroy();
+
+    assertNull(mPool.acquire(URL_A));
+    assertEquals(1, mPool.getMissCount());
+    assertFalse(mPool.release(URL_A, child));
+  }
+
+  @Test
+  public void testFailedInstanceIsDropped() throws Exception {
+    mPool.setMaxSize(1);
+    WXSDKInstance child = createChild(100, 100);
+    mPool.release(URL_A, child);
+    child.onRenderError("-1", "failed");
+    ShadowLooper.idleMainLooper();
+
+    assertTrue(child.isDestroy());
+    assertEquals(0, mPool.size());
+    assertEquals(0, mPool.getUsedMemoryBytes());
+  }
+
+  @Test
+  public void testClear() throws Exception {
+    mPool.setMaxSize(2);
+    WXSDKInstance a = createChild(100, 100);
+    WXSDKInstance b = createChild(100, 100);
+    mPool.release(URL_A, a);
+    mPool.release(URL_B, b);
+    mPool.clear();
+
+    assertTrue(a.isDestroy());
+    assertTrue(b.isDestroy());
+    assertEquals(0, mPool.size());
+    assertEquals(0, mPool.getUsedMemoryBytes());
+    assertTrue(mPool.isEnabled());
+  }
+
+  /**
+   * A nested instance whose root view was laid out with the given size.
+   */
+  private WXSDKInstance createChild(int width, int height) {
+    WXSDKInstance instance = new WXSDKInstance(mActivity);
+    RenderContainer container = new RenderContainer(mActivity);
+    container.layout(0, 0, width, height);
+    instance.setRenderContainer(container);
+    return instance;
+  }
+}
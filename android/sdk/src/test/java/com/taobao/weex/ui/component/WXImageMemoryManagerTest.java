@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.RenderContainer;
+import com.taobao.weex.TestActivity;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.ui.action.BasicComponentData;
+import com.taobao.weex.ui.view.WXImageView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXImageMemoryManagerTest {
+
+  private static final int WIDTH = 320;
+  private static final int HEIGHT = 480;
+
+  private RenderContainer mContainer;
+  private ScrollView mOuter;
+  private WXImageMemoryManager mManager;
+  private WXImageView mNear;
+  private WXImageView mNested;
+
+  /**
+   * A near image on top of an outer scroller and a nested image in an inner scroller at its
+   * bottom, 5000px below the viewport.
+   */
+  @Before
+  public void setUp() throws Exception {
+    Activity activity = Robolectric.setupActivity(TestActivity.class);
+    WXSDKInstance instance = WXSDKInstanceTest.createInstance();
+    mContainer = new RenderContainer(activity);
+    instance.setRenderContainer(mContainer);
+    activity.setContentView(mContainer);
+    mManager = instance.getImageMemoryManager();
+
+    mOuter = new ScrollView(activity);
+    LinearLayout outerContent = new LinearLayout(activity);
+    outerContent.setOrientation(LinearLayout.VERTICAL);
+    mOuter.addView(outerContent);
+    mContainer.addView(mOuter, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+
+    mNear = createImage(instance, "near");
+    outerContent.addView(mNear, new LinearLayout.LayoutParams(100, 100));
+    outerContent.addView(new View(activity), new LinearLayout.LayoutParams(100, 5000));
+
+    ScrollView inner = new ScrollView(activity);
+    LinearLayout innerContent = new LinearLayout(activity);
+    innerContent.setOrientation(LinearLayout.VERTICAL);
+    inner.addView(innerContent);
+    outerContent.addView(inner, new LinearLayout.LayoutParams(100, 100));
+    mNested = createImage(instance, "nested");
+    innerContent.addView(mNested, new LinearLayout.LayoutParams(100, 100));
+
+    ShadowLooper.idleMainLooper();
+    layout();
+  }
+
+  @Test
+  public void testReleaseFarImages() throws Exception {
+    mManager.setMaxMemoryBytes(1);
+    mManager.check();
+
+    assertFalse(mNear.isBitmapReleased());
+    assertTrue(mNested.isBitmapReleased());
+    assertEquals(1, mManager.getReleaseCount());
+  }
+
+  @Test
+  public void testOuterScrollCounts() throws Exception {
+    mManager.setMaxMemoryBytes(1);
+    mManager.check();
+
+    // the inner scroller did not move, the outer one brings the nested image into the viewport
+    mOuter.scrollTo(0, 5100);
+    layout();
+    mManager.check();
+
+    assertFalse(mNested.isBitmapReleased());
+    assertTrue(mNear.isBitmapReleased());
+    assertEquals(2, mManager.getReleaseCount());
+  }
+
+  @Test
+  public void testWithinBudget() throws Exception {
+    mManager.setMaxMemoryBytes(Long.MAX_VALUE);
+    mManager.check();
+
+    assertFalse(mNear.isBitmapReleased());
+    assertFalse(mNested.isBitmapReleased());
+    assertEquals(0, mManager.getReleaseCount());
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    mManager.setMaxMemoryBytes(0);
+    mManager.check();
+
+    assertFalse(mNested.isBitmapReleased());
+  }
+
+  @Test
+  public void testUnregister() throws Exception {
+    mManager.unregister(mNested.getComponent());
+    mManager.setMaxMemoryBytes(1);
+    mManager.check();
+
+    assertFalse(mNested.isBitmapReleased());
+  }
+
+  private WXImageView createImage(WXSDKInstance instance, String ref) {
+    WXImage image = new WXImage(instance, null, new BasicComponentData(ref, WXBasicComponentType.IMAGE, null));
+    image.createView();
+    WXImageView view = (WXImageView) image.getHostView();
+    view.setImageBitmap(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    mManager.register(image);
+    return view;
+  }
+
+  private void layout() {
+    mContainer.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+    mContainer.layout(0, 0, WIDTH, HEIGHT);
+  }
+}
@@ -36,6 +36,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * Created by sospartan on 28/09/2016.
  */
@@ -56,6 +58,7 @@ public class WXWebTest {
     OnPageListener mOnPageListener;
     OnErrorListener mOnErrorListener;
     OnMessageListener mOnMessageListener;
+    int mLoadUrlCount;
 
     ProxyWebView(IWebView proxy){
       mIWebView = proxy;
@@ -73,6 +76,7 @@ public class WXWebTest {
 
     @Override
     public void loadUrl(String url) {
+      mLoadUrlCount++;
       mIWebView.loadUrl(url);
     }
 
@@ -144,6 +148,15 @@ public class WXWebTest {
     component.setProperty(Constants.Name.SOURCE, "<p><span>hello weex</span></p>");
   }
 
+  @Test
+  public void testSameSrcReloads() throws Exception {
+    Map<String, Object> props = new HashMap<>();
+    props.put(Constants.Name.SRC, "http://taobao.com");
+    component.updateProperties(props);
+    component.updateProperties(props);
+    assertEquals(2, mWebView.mLoadUrlCount);
+  }
+
   @Test
   public void testSetAction() throws Exception {
     Map<String, Object> msg = new HashMap<>();
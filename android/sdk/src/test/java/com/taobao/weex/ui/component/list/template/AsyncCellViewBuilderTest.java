@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.component.list.template;
+
+import android.content.Context;
+import android.os.Handler;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.ui.action.BasicComponentData;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.list.WXCell;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class AsyncCellViewBuilderTest {
+
+  private WXSDKInstance mInstance;
+  private WXRecyclerTemplateList mTemplateList;
+  private TemplateCache mCache;
+  private int mRef;
+
+  @Before
+  public void setUp() throws Exception {
+    mInstance = WXSDKInstanceTest.createInstance();
+    mTemplateList = mock(WXRecyclerTemplateList.class);
+    mCache = new TemplateCache();
+    mCache.isLoadIng = true;
+    AsyncCellViewBuilder.registerAsyncViewComponent(LifecycleComponent.class);
+  }
+
+  @Test
+  public void testCanBuild() throws Exception {
+    assertTrue(AsyncCellViewBuilder.canBuild(createCell(new LifecycleComponent(mInstance))));
+
+    WXComponent unknown = new LifecycleComponent(mInstance) {
+    };
+    assertFalse(AsyncCellViewBuilder.canBuild(createCell(unknown)));
+  }
+
+  @Test
+  public void testBuild() throws Exception {
+    LifecycleComponent first = new LifecycleComponent(mInstance);
+    LifecycleComponent second = new LifecycleComponent(mInstance);
+    List<WXCell> cells = Arrays.asList(createCell(first), createCell(second));
+
+    AsyncCellViewBuilder.build(mTemplateList, "item", mCache, cells);
+    runBuilder();
+
+    assertEquals(2, mCache.cells.size());
+    assertFalse(mCache.isLoadIng);
+    assertNotNull(first.getHostView());
+    assertNotNull(second.getHostView());
+    mInstance.getLifecycleRegistry().onActivityResume();
+    assertEquals(1, first.resumed);
+    assertEquals(1, second.resumed);
+  }
+
+  @Test
+  public void testFailedCellIsDropped() throws Exception {
+    LifecycleComponent broken = new LifecycleComponent(mInstance) {
+      @Override
+      protected View initComponentHostView(@NonNull Context context) {
+        throw new IllegalStateException("broken");
+      }
+    };
+    LifecycleComponent good = new LifecycleComponent(mInstance);
+    WXCell goodCell = createCell(good);
+    List<WXCell> cells = Arrays.asList(createCell(broken), goodCell);
+
+    AsyncCellViewBuilder.build(mTemplateList, "item", mCache, cells);
+    runBuilder();
+
+    assertEquals(1, mCache.cells.size());
+    assertSame(goodCell, mCache.cells.peek());
+    mInstance.getLifecycleRegistry().onActivityResume();
+    assertEquals(0, broken.resumed);
+    assertEquals(1, good.resumed);
+  }
+
+  @Test
+  public void testDestroyedList() throws Exception {
+    when(mTemplateList.isDestoryed()).thenReturn(true);
+    LifecycleComponent child = new LifecycleComponent(mInstance);
+    List<WXCell> cells = new ArrayList<>();
+    cells.add(createCell(child));
+
+    AsyncCellViewBuilder.build(mTemplateList, "item", mCache, cells);
+    runBuilder();
+
+    assertTrue(mCache.cells.isEmpty());
+    assertFalse(mCache.isLoadIng);
+    mInstance.getLifecycleRegistry().onActivityResume();
+    assertEquals(0, child.resumed);
+  }
+
+  private WXCell createCell(WXComponent child) {
+    WXCell cell = new WXCell(mInstance, null, false,
+            new BasicComponentData(String.valueOf(++mRef), WXBasicComponentType.CELL, null));
+    cell.addChild(child);
+    return cell;
+  }
+
+  /**
+   * Run the build on the builder thread, then the attach step on the main thread.
+   */
+  private void runBuilder() throws Exception {
+    Method getHandler = AsyncCellViewBuilder.class.getDeclaredMethod("getHandler");
+    getHandler.setAccessible(true);
+    Handler handler = (Handler) getHandler.invoke(null);
+    Shadows.shadowOf(handler.getLooper()).idle();
+    ShadowLooper.idleMainLooper();
+  }
+
+  public static class LifecycleComponent extends WXComponent<View> {
+    int resumed;
+
+    public LifecycleComponent(WXSDKInstance instance) {
+      super(instance, null, new BasicComponentData("child", WXBasicComponentType.DIV, null));
+    }
+
+    @Override
+    protected View initComponentHostView(@NonNull Context context) {
+      return new View(context);
+    }
+
+    @Override
+    public void onActivityResume() {
+      resumed++;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.flat;
+
+import android.graphics.Color;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXEnvironment;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.common.Constants;
+import com.taobao.weex.ui.action.BasicComponentData;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXText;
+import com.taobao.weex.ui.component.list.WXCell;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class FlatGUIContextTest {
+
+  private WXCell mCell;
+  private WXDiv mDiv;
+  private WXText mText;
+
+  @Before
+  public void setUp() throws Exception {
+    WXEnvironment.sFlatUIEnabled = true;
+    setUpCell();
+  }
+
+  private void setUpCell() {
+    WXSDKInstance instance = new WXSDKInstance(RuntimeEnvironment.application);
+    Map<String, Object> attrs = new HashMap<>();
+    attrs.put(Constants.Name.FLAT, true);
+    BasicComponentData cellData = new BasicComponentData("cell", WXBasicComponentType.CELL, null);
+    cellData.addAttr(attrs);
+    mCell = new WXCell(instance, null, false, cellData);
+    mDiv = new WXDiv(instance, mCell, new BasicComponentData("div", WXBasicComponentType.DIV, "cell"));
+    mCell.addChild(mDiv);
+    mText = new WXText(instance, mDiv, new BasicComponentData("text", WXBasicComponentType.TEXT, "div"));
+    mDiv.addChild(mText);
+
+    mCell.lazy(false);
+    mCell.createView();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    WXEnvironment.sFlatUIEnabled = false;
+  }
+
+  @Test
+  public void testFlattened() throws Exception {
+    assertNotNull(mCell.getHostView());
+    assertNull(mDiv.getHostView());
+    assertNull(mText.getHostView());
+  }
+
+  @Test
+  public void testUpdateViewRequiredStyle() throws Exception {
+    Map<String, Object> styles = new HashMap<>();
+    styles.put(Constants.Name.OPACITY, "0.5");
+    mDiv.updateProperties(styles);
+
+    assertNotNull(mDiv.getHostView());
+    assertEquals(0.5f, mDiv.getHostView().getAlpha(), 0.001f);
+  }
+
+  @Test
+  public void testUpdateWidgetStyle() throws Exception {
+    Map<String, Object> styles = new HashMap<>();
+    styles.put(Constants.Name.BACKGROUND_COLOR, "#ff0000");
+    mDiv.updateProperties(styles);
+
+    assertNull(mDiv.getHostView());
+    assertEquals(Color.RED, mDiv.getOrCreateFlatWidget().getBackgroundAndBorder().getColor());
+
+    styles.put(Constants.Name.BACKGROUND_COLOR, "#0000ff");
+    mDiv.updateProperties(styles);
+    assertEquals(Color.BLUE, mDiv.getOrCreateFlatWidget().getBackgroundAndBorder().getColor());
+  }
+
+  @Test
+  public void testFlatOptIn() throws Exception {
+    WXEnvironment.sFlatUIEnabled = false;
+    setUpCell();
+
+    assertNotNull(mDiv.getHostView());
+    assertNotNull(mText.getHostView());
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.module;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXEnvironment;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+import com.taobao.weex.WXSDKManager;
+import com.taobao.weex.bridge.JSCallback;
+import com.taobao.weex.common.Constants;
+import com.taobao.weex.common.OnWXScrollListener;
+import com.taobao.weex.ui.WXRenderManager;
+import com.taobao.weex.ui.action.BasicComponentData;
+import com.taobao.weex.ui.component.WXBasicComponentType;
+import com.taobao.weex.ui.component.WXComponent;
+import com.taobao.weex.ui.component.WXDiv;
+import com.taobao.weex.ui.component.WXScroller;
+import com.taobao.weex.ui.component.WXText;
+import com.taobao.weex.ui.component.list.WXCell;
+import com.taobao.weex.ui.view.WXScrollView;
+import com.taobao.weex.ui.view.gesture.WXGesture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXScrollBindingModuleTest {
+
+  WXScrollBindingModule module;
+  WXSDKInstance instance;
+  Object result;
+
+  JSCallback callback = new JSCallback() {
+    @Override
+    public void invoke(Object data) {
+      result = data;
+    }
+
+    @Override
+    public void invokeAndKeepAlive(Object data) {
+      result = data;
+    }
+  };
+
+  @Before
+  public void setUp() throws Exception {
+    instance = WXSDKInstanceTest.createInstance();
+    WXSDKManager.getInstance().getWXRenderManager().registerInstance(instance);
+    module = new WXScrollBindingModule();
+    module.mWXSDKInstance = instance;
+  }
+
+  @Test
+  public void testBindMissingAnchor() throws Exception {
+    module.bind(options("1", "2", "1 - y / 100"), callback);
+    assertEquals("fail", ((Map) result).get("result"));
+
+    module.bind(null, callback);
+    assertEquals("fail", ((Map) result).get("result"));
+  }
+
+  @Test
+  public void testBindScroller() throws Exception {
+    WXScroller scroller = createScroller();
+    WXDiv header = (WXDiv) scroller.getParent().getChild(1);
+
+    module.bind(options(scroller.getRef(), header.getRef(), "y > 0 ? 0.5 : 1"), callback);
+    assertEquals("success", ((Map) result).get("result"));
+    assertEquals(1f, header.getHostView().getAlpha(), 0.001f);
+
+    WXScrollView scrollView = (WXScrollView) scroller.getInnerView();
+    scrollView.getChildAt(0).layout(0, 0, 100, 1000);
+    scrollView.layout(0, 0, 100, 100);
+    scrollView.scrollTo(0, 100);
+    assertEquals(100, scrollView.getScrollY());
+    assertEquals(0.5f, header.getHostView().getAlpha(), 0.001f);
+  }
+
+  @Test
+  public void testBindPan() throws Exception {
+    WXScroller scroller = createScroller();
+    WXDiv header = (WXDiv) scroller.getParent().getChild(1);
+    JSONObject options = options(header.getRef(), header.getRef(), "dy > 0 ? 0.5 : 1");
+    options.put("eventType", "pan");
+
+    module.bind(options, callback);
+    assertEquals("success", ((Map) result).get("result"));
+    assertEquals(1f, header.getHostView().getAlpha(), 0.001f);
+
+    WXGesture gesture = header.getOrCreateGesture();
+    View view = header.getHostView();
+    touch(gesture, view, MotionEvent.ACTION_DOWN, 10, 10);
+    touch(gesture, view, MotionEvent.ACTION_MOVE, 10, 60);
+    assertEquals(0.5f, view.getAlpha(), 0.001f);
+
+    // the distance is measured from the last down
+    touch(gesture, view, MotionEvent.ACTION_UP, 10, 60);
+    touch(gesture, view, MotionEvent.ACTION_DOWN, 10, 60);
+    touch(gesture, view, MotionEvent.ACTION_MOVE, 10, 40);
+    assertEquals(1f, view.getAlpha(), 0.001f);
+
+    module.unbind((String) ((Map) result).get("token"));
+    touch(gesture, view, MotionEvent.ACTION_DOWN, 10, 10);
+    touch(gesture, view, MotionEvent.ACTION_MOVE, 10, 60);
+    assertEquals(1f, view.getAlpha(), 0.001f);
+  }
+
+  @Test
+  public void testUnbind() throws Exception {
+    WXScroller scroller = createScroller();
+    WXDiv header = (WXDiv) scroller.getParent().getChild(1);
+    int listeners = countScrollListeners();
+
+    module.bind(options(scroller.getRef(), header.getRef(), "y > 0 ? 0.5 : 1"), callback);
+    assertEquals(listeners + 1, countScrollListeners());
+
+    module.unbind((String) ((Map) result).get("token"));
+    assertEquals(listeners, countScrollListeners());
+
+    WXScrollView scrollView = (WXScrollView) scroller.getInnerView();
+    scrollView.getChildAt(0).layout(0, 0, 100, 1000);
+    scrollView.layout(0, 0, 100, 100);
+    scrollView.scrollTo(0, 100);
+    assertEquals(1f, header.getHostView().getAlpha(), 0.001f);
+  }
+
+  @Test
+  public void testUnbindUnknownToken() throws Exception {
+    WXScroller scroller = createScroller();
+    WXDiv header = (WXDiv) scroller.getParent().getChild(1);
+    int listeners = countScrollListeners();
+
+    module.bind(options(scroller.getRef(), header.getRef(), "1 - y / 100"), callback);
+    module.unbind("unknown");
+    module.unbind(null);
+    assertEquals(listeners + 1, countScrollListeners());
+
+    module.destroy();
+    assertEquals(listeners, countScrollListeners());
+    module.unbindAll();
+    assertEquals(listeners, countScrollListeners());
+  }
+
+  @Test
+  public void testBindFlattenedElement() throws Exception {
+    Map<String, Object> attrs = new HashMap<>();
+    attrs.put(Constants.Name.FLAT, true);
+    BasicComponentData cellData = new BasicComponentData("cell", WXBasicComponentType.CELL, null);
+    cellData.addAttr(attrs);
+    WXCell cell;
+    WXEnvironment.sFlatUIEnabled = true;
+    try {
+      cell = new WXCell(instance, null, false, cellData);
+    } finally {
+      WXEnvironment.sFlatUIEnabled = false;
+    }
+    WXText text = new WXText(instance, cell, new BasicComponentData("text", WXBasicComponentType.TEXT, "cell"));
+    cell.addChild(text);
+    register(cell);
+    register(text);
+
+    module.bind(options(cell.getRef(), text.getRef(), "y / 100"), callback);
+    assertEquals("fail", ((Map) result).get("result"));
+  }
+
+  /**
+   * root div holding a scroller and a header div, with their views created.
+   */
+  private WXScroller createScroller() {
+    WXDiv root = new WXDiv(instance, null, new BasicComponentData("root", WXBasicComponentType.DIV, null));
+    WXScroller scroller = new WXScroller(instance, root,
+            new BasicComponentData("scroller", WXBasicComponentType.SCROLLER, "root"));
+    root.addChild(scroller);
+    WXDiv header = new WXDiv(instance, root, new BasicComponentData("header", WXBasicComponentType.DIV, "root"));
+    root.addChild(header);
+    register(root);
+    register(scroller);
+    register(header);
+    root.createView();
+    return scroller;
+  }
+
+  private void register(WXComponent component) {
+    WXRenderManager renderManager = WXSDKManager.getInstance().getWXRenderManager();
+    renderManager.registerComponent(instance.getInstanceId(), component.getRef(), component);
+  }
+
+  private static void touch(WXGesture gesture, View view, int action, float x, float y) {
+    long now = SystemClock.uptimeMillis();
+    MotionEvent event = MotionEvent.obtain(now, now, action, x, y, 0);
+    gesture.onTouch(view, event);
+    event.recycle();
+  }
+
+  private int countScrollListeners() {
+    List<OnWXScrollListener> listeners = instance.getWXScrollListeners();
+    return listeners == null ? 0 : listeners.size();
+  }
+
+  private static JSONObject options(String anchor, String element, String expression) {
+    JSONObject prop = new JSONObject();
+    prop.put("element", element);
+    prop.put("property", "opacity");
+    prop.put("expression", expression);
+    JSONArray props = new JSONArray();
+    props.add(prop);
+    JSONObject options = new JSONObject();
+    options.put("anchor", anchor);
+    options.put("props", props);
+    return options;
+  }
+}
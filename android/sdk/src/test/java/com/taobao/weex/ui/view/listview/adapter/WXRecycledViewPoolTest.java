@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.ui.view.listview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.taobao.weappplus_sdk.BuildConfig;
+import com.taobao.weex.WXSDKInstance;
+import com.taobao.weex.WXSDKInstanceTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 19)
+public class WXRecycledViewPoolTest {
+
+  private static final int TYPE_A = 1;
+  private static final int TYPE_B = 2;
+  private static final int TYPE_C = 3;
+
+  WXRecycledViewPool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    pool = new WXRecycledViewPool(2);
+  }
+
+  @Test
+  public void testViewTypeOf() throws Exception {
+    int cell = pool.viewTypeOf("cell|WXCell[]");
+    int header = pool.viewTypeOf("header|WXCell[]");
+
+    assertNotEquals(cell, header);
+    assertEquals(cell, pool.viewTypeOf("cell|WXCell[]"));
+  }
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    RecyclerView.ViewHolder holder = holder(TYPE_A);
+    pool.putRecycledView(holder);
+    assertEquals(1, pool.size());
+
+    assertSame(holder, pool.getRecycledView(TYPE_A));
+    assertEquals(0, pool.size());
+    assertNull(pool.getRecycledView(TYPE_A));
+    assertEquals(0.5f, pool.getReuseRate(TYPE_A), 0);
+  }
+
+  @Test
+  public void testCapPerType() throws Exception {
+    pool = new WXRecycledViewPool();
+    pool.setMaxRecycledViews(TYPE_A, 1);
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_A));
+
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testEvictWhenFull() throws Exception {
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_B));
+    pool.getRecycledView(TYPE_B);
+    pool.putRecycledView(holder(TYPE_B));
+
+    // A was never reused, it makes room for C
+    RecyclerView.ViewHolder c = holder(TYPE_C);
+    pool.putRecycledView(c);
+
+    assertEquals(2, pool.size());
+    assertNull(pool.getRecycledView(TYPE_A));
+    assertNotNull(pool.getRecycledView(TYPE_B));
+    assertSame(c, pool.getRecycledView(TYPE_C));
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testRaiseCapAfterDiscards() throws Exception {
+    pool = new WXRecycledViewPool();
+    pool.setMaxRecycledViews(TYPE_A, 1);
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_A));
+    for (int i = 0; i < 16; i++) {
+      pool.getRecycledView(TYPE_A);
+    }
+
+    assertEquals(2, pool.getMaxRecycledViews(TYPE_A));
+  }
+
+  @Test
+  public void testHalveCapWithoutHits() throws Exception {
+    pool = new WXRecycledViewPool();
+    for (int i = 0; i < 16; i++) {
+      pool.getRecycledView(TYPE_A);
+    }
+    assertEquals(2, pool.getMaxRecycledViews(TYPE_A));
+
+    for (int i = 0; i < 32; i++) {
+      pool.getRecycledView(TYPE_A);
+    }
+    assertEquals(1, pool.getMaxRecycledViews(TYPE_A));
+  }
+
+  @Test
+  public void testTrimAndClear() throws Exception {
+    pool = new WXRecycledViewPool();
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_A));
+    pool.putRecycledView(holder(TYPE_B));
+
+    pool.setMaxRecycledViews(TYPE_A, 1);
+    assertEquals(2, pool.size());
+
+    pool.clear();
+    assertEquals(0, pool.size());
+    assertNull(pool.getRecycledView(TYPE_A));
+
+    pool.putRecycledView(holder(TYPE_A));
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testRelease() throws Exception {
+    int viewType = pool.viewTypeOf("cell");
+    pool.retain();
+    pool.retain();
+    pool.putRecycledView(holder(viewType));
+
+    assertFalse(pool.release());
+    assertEquals(1, pool.size());
+
+    assertTrue(pool.release());
+    assertEquals(0, pool.size());
+    // the template view types were dropped with the last list
+    assertEquals(viewType, pool.viewTypeOf("other"));
+  }
+
+  @Test
+  public void testInstancePools() throws Exception {
+    WXSDKInstance instance = WXSDKInstanceTest.createInstance();
+    WXRecycledViewPool shared = instance.getRecycledViewPool("feed");
+    assertSame(shared, instance.getRecycledViewPool("feed"));
+    assertNotSame(instance.getRecycledViewPool(null), instance.getRecycledViewPool(null));
+
+    instance.releaseRecycledViewPool("feed", shared);
+    assertSame(shared, instance.getRecycledViewPool("feed"));
+    instance.releaseRecycledViewPool("feed", shared);
+    instance.releaseRecycledViewPool("feed", shared);
+
+    // the last list is gone, a new list gets a new pool
+    assertNotSame(shared, instance.getRecycledViewPool("feed"));
+  }
+
+  private static RecyclerView.ViewHolder holder(int viewType) throws Exception {
+    RecyclerView.ViewHolder holder = new RecyclerView.ViewHolder(new View(RuntimeEnvironment.application)) {
+    };
+    Field field = RecyclerView.ViewHolder.class.getDeclaredField("mItemViewType");
+    field.setAccessible(true);
+    field.setInt(holder, viewType);
+    return holder;
+  }
+}
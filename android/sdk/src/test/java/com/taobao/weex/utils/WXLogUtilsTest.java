@@ -31,6 +31,14 @@ import org.powermock.modules.junit4.rule.PowerMockRule;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * Created by sospartan on 9/18/16.
  */
@@ -92,4 +100,39 @@ public class WXLogUtilsTest {
     Log.e("tag",new Throwable("test"));
   }
 
+  @Test
+  public void testFormat() throws Exception {
+    assertEquals("a 1 b null", WXLogUtils.format("a {} b {}", 1, null));
+    assertEquals("a 1 {}", WXLogUtils.format("a {} {}", 1));
+    assertEquals("a", WXLogUtils.format("a"));
+    assertTrue(WXLogUtils.format("a {}", 1, new Throwable("cause")).startsWith("a 1\njava.lang.Throwable: cause"));
+  }
+
+  @Test
+  public void testLogTail() throws Exception {
+    Log.w("tag", "tail {}", "first");
+    Log.e("tag", "tail {}", "second");
+    String tail = WXLogUtils.getLogTail(2);
+    assertTrue(tail.contains("warn/tag: tail first"));
+    assertTrue(tail.contains("error/tag: tail second"));
+    WXLogUtils.flush();
+  }
+
+  @Test
+  public void testBufferShutdown() throws Exception {
+    final List<String> written = Collections.synchronizedList(new ArrayList<String>());
+    WXLogBuffer buffer = new WXLogBuffer(8, new WXLogBuffer.Sink() {
+      @Override
+      public void write(LogLevel level, String tag, String msg) {
+        written.add(msg);
+      }
+    });
+    buffer.offer(LogLevel.DEBUG, "tag", "before");
+    buffer.shutdown();
+    assertEquals(Arrays.asList("before"), written);
+
+    buffer.offer(LogLevel.DEBUG, "tag", "after");
+    assertEquals(Arrays.asList("before", "after"), written);
+  }
+
 }
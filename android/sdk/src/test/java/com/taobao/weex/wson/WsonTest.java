@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.taobao.weex.wson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class WsonTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    Map<String, Object> value = new HashMap<>();
+    value.put("string", "weex 中文");
+    value.put("int", -42);
+    value.put("double", 1.5);
+    value.put("long", 1L << 40);
+    value.put("true", true);
+    value.put("list", Arrays.asList(1, "two", 3.0));
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("key", "value");
+    value.put("map", nested);
+
+    JSONObject parsed = (JSONObject) Wson.parse(Wson.toWson(value));
+    assertEquals("weex 中文", parsed.get("string"));
+    assertEquals(-42, parsed.get("int"));
+    assertEquals(1.5, parsed.get("double"));
+    assertEquals(1L << 40, parsed.get("long"));
+    assertEquals(true, parsed.get("true"));
+    assertEquals(Arrays.<Object>asList(1, "two", 3.0), parsed.get("list"));
+    assertEquals("value", ((JSONObject) parsed.get("map")).get("key"));
+    assertNull(Wson.parse(null));
+  }
+
+  /**
+   * Primitive arrays keep being written element by element, bytes as signed values.
+   */
+  @Test
+  public void testPrimitiveArrays() throws Exception {
+    List<?> bytes = (JSONArray) Wson.parse(Wson.toWson(new byte[]{0, 127, (byte) 0x80, (byte) 0xff}));
+    assertEquals(Arrays.asList(0, 127, -128, -1), bytes);
+    List<?> ints = (JSONArray) Wson.parse(Wson.toWson(new int[]{1, -2, 300}));
+    assertEquals(Arrays.asList(1, -2, 300), ints);
+  }
+}
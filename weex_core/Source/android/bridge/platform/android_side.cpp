@@ -466,6 +466,18 @@ void AndroidSide::OnReceivedResult(long callback_id, std::unique_ptr<WeexJSResul
   wx_bridge_->OnReceivedResult(env, callback_id,  result);
 }
 
+void AndroidSide::BeginGraphicActions(const char *page_id) {
+  wx_bridge_->BeginGraphicActions(page_id);
+}
+
+void AndroidSide::EndGraphicActions(const char *page_id) {
+  JNIEnv *env = base::android::AttachCurrentThread();
+  if (env == nullptr)
+    return;
+
+  wx_bridge_->EndGraphicActions(env, page_id);
+}
+
 jobject AndroidSide::getMeasureFunc(const char *pageId, jlong renderObjectPtr) {
   JNIEnv *env = base::android::AttachCurrentThread();
   if (env == nullptr)
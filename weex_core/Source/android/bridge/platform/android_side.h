@@ -116,6 +116,9 @@ class AndroidSide : public PlatformBridge::PlatformSide {
                                                     const char* vm_id) override;
   void OnReceivedResult(long callback_id, std::unique_ptr<WeexJSResult>& result) override;
 
+  void BeginGraphicActions(const char* page_id) override;
+  void EndGraphicActions(const char* page_id) override;
+
   jobject getMeasureFunc(const char* pageId, jlong renderObjectPtr);
 
  private:
@@ -19,6 +19,7 @@
 
 #include "android/wrap/wx_bridge.h"
 #include <fstream>
+#include <unordered_map>
 
 #include "android/base/string/string_utils.h"
 #include "android/bridge/platform/android_bridge.h"
@@ -29,7 +30,6 @@
 #include "android/utils/cache_utils.h"
 #include "android/utils/params_utils.h"
 #include "android/utils/so_utils.h"
-#include "android/wrap/hash_set.h"
 #include "android/wrap/wx_js_object.h"
 #include "android/wrap/wx_map.h"
 #include "base/android/jni_type.h"
@@ -650,6 +650,135 @@ static void RegisterModuleOnDataRenderNode(JNIEnv* env, jobject jcaller,
   }
 }
 
+namespace {
+
+// Styles, attributes and events are packed into one byte array per call
+// instead of a HashMap and HashSet filled entry by entry over JNI, see
+// com.taobao.weex.bridge.WXPackedProps for the format.
+enum PackedSection : uint8_t {
+  kPackedStyles = 1,
+  kPackedAttrs = 2,
+  kPackedEvents = 3,
+  kPackedMargins = 4,
+  kPackedPaddings = 5,
+  kPackedBorders = 6,
+};
+
+// Ids of keys already sent to java, only used on the core thread.
+std::unordered_map<std::string, uint32_t> g_packed_key_ids;
+
+// Generation of g_packed_key_ids, written first in every array so java drops
+// its table whenever native starts a new one.
+uint32_t g_packed_key_generation = 0;
+
+// Set when java could not decode an array, from within the java call on the
+// core thread. The table is restarted before the next array is started, so
+// all keys of one array belong to the same generation.
+bool g_packed_keys_reset_pending = false;
+
+void PackVarint(std::string* out, uint32_t value) {
+  while (value >= 0x80) {
+    out->push_back(static_cast<char>((value & 0x7f) | 0x80));
+    value >>= 7;
+  }
+  out->push_back(static_cast<char>(value));
+}
+
+void PackHeader(std::string* out) {
+  if (g_packed_keys_reset_pending) {
+    g_packed_keys_reset_pending = false;
+    g_packed_key_ids.clear();
+    g_packed_key_generation++;
+  }
+  PackVarint(out, g_packed_key_generation);
+}
+
+void PackString(std::string* out, const std::string& value) {
+  PackVarint(out, static_cast<uint32_t>(value.size()));
+  out->append(value);
+}
+
+void PackKey(std::string* out, const std::string& key) {
+  auto it = g_packed_key_ids.find(key);
+  if (it != g_packed_key_ids.end()) {
+    PackVarint(out, it->second << 1);
+    return;
+  }
+  uint32_t id = static_cast<uint32_t>(g_packed_key_ids.size());
+  g_packed_key_ids[key] = id;
+  PackVarint(out, id << 1 | 1);
+  PackString(out, key);
+}
+
+template <typename Pairs>
+void PackSection(std::string* out, PackedSection section, const Pairs* pairs) {
+  if (pairs == nullptr || pairs->empty()) {
+    return;
+  }
+  out->push_back(static_cast<char>(section));
+  PackVarint(out, static_cast<uint32_t>(pairs->size()));
+  for (const auto& pair : *pairs) {
+    PackKey(out, pair.first);
+    PackString(out, pair.second);
+  }
+}
+
+void PackEvents(std::string* out, const std::set<std::string>* events) {
+  if (events == nullptr || events->empty()) {
+    return;
+  }
+  out->push_back(static_cast<char>(kPackedEvents));
+  PackVarint(out, static_cast<uint32_t>(events->size()));
+  for (const auto& event : *events) {
+    PackKey(out, event);
+  }
+}
+
+// DOM mutations batched into one array, see
+// com.taobao.weex.bridge.WXPackedGraphicActions for the format.
+enum PackedGraphicAction : uint8_t {
+  kPackedAddElement = 1,
+  kPackedRemoveElement = 2,
+  kPackedMoveElement = 3,
+  kPackedAddEvent = 4,
+  kPackedRemoveEvent = 5,
+  kPackedUpdateStyle = 6,
+  kPackedUpdateAttrs = 7,
+  kPackedLayout = 8,
+};
+
+// Keeps a batch short enough for the UI thread to render frames in between.
+const int kMaxBatchedGraphicActions = 256;
+
+void PackSignedVarint(std::string* out, int value) {
+  PackVarint(out, (static_cast<uint32_t>(value) << 1) ^ static_cast<uint32_t>(value >> 31));
+}
+
+void PackBlock(std::string* out, const std::string& block) {
+  PackString(out, block);
+}
+
+// Android ABIs are all little endian, the floats are copied as is.
+void PackFloats(std::string* out, const float* values) {
+  if (0 == values[0] && 0 == values[1] && 0 == values[2] && 0 == values[3]) {
+    out->push_back(0);
+    return;
+  }
+  out->push_back(1);
+  out->append(reinterpret_cast<const char*>(values), 4 * sizeof(float));
+}
+
+base::android::ScopedLocalJavaRef<jbyteArray> ToJByteArray(JNIEnv* env, const std::string& data) {
+  return base::android::ScopedLocalJavaRef<jbyteArray>(
+      env, newJByteArray(env, data.data(), static_cast<int>(data.size())));
+}
+
+}  // namespace
+
+static void ResetPackedKeys(JNIEnv* env, jobject jcaller) {
+  g_packed_keys_reset_pending = true;
+}
+
 namespace WeexCore {
 
 WXBridge* WXBridge::g_instance = nullptr;
@@ -658,6 +787,54 @@ bool WXBridge::RegisterJNIUtils(JNIEnv* env) {
   return RegisterNativesImpl(env);
 }
 
+void WXBridge::BeginGraphicActions(const char* page_id) {
+  if (batch_depth_ > 0 && batch_page_id_ != page_id) {
+    return;
+  }
+  batch_page_id_ = page_id;
+  batch_depth_++;
+}
+
+void WXBridge::EndGraphicActions(JNIEnv* env, const char* page_id) {
+  if (batch_depth_ == 0 || batch_page_id_ != page_id) {
+    return;
+  }
+  if (--batch_depth_ == 0) {
+    FlushGraphicActions(env);
+  }
+}
+
+bool WXBridge::BatchGraphicAction(JNIEnv* env, const char* page_id) {
+  if (batch_depth_ == 0 || batch_page_id_ != page_id) {
+    FlushGraphicActions(env);
+    return false;
+  }
+  if (batch_action_count_ >= kMaxBatchedGraphicActions) {
+    FlushGraphicActions(env);
+  }
+  if (batch_actions_.empty()) {
+    PackHeader(&batch_actions_);
+  }
+  batch_action_count_++;
+  return true;
+}
+
+void WXBridge::FlushGraphicActions(JNIEnv* env) {
+  if (batch_actions_.empty()) {
+    return;
+  }
+  auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(
+      env, env->NewStringUTF(batch_page_id_.c_str()));
+  auto jni_actions = ToJByteArray(env, batch_actions_);
+  batch_actions_.clear();
+  batch_action_count_ = 0;
+  int flag = Java_WXBridge_callGraphicActions(env, jni_object(), jni_page_id.Get(),
+                                              jni_actions.Get());
+  if (flag == -1) {
+    LOGE("instance destroy JFM must stop callGraphicActions");
+  }
+}
+
 base::android::ScopedLocalJavaRef<jobject> WXBridge::GetMeasureFunc(
     JNIEnv* env, const char* page_id, jlong render_object_ptr) {
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
@@ -668,6 +845,7 @@ base::android::ScopedLocalJavaRef<jobject> WXBridge::GetMeasureFunc(
 int WXBridge::HasTransitionPros(
     JNIEnv* env, const char* page_id, const char* ref,
     const std::vector<std::pair<std::string, std::string>>& styles) {
+  FlushGraphicActions(env);
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
 
@@ -682,6 +860,7 @@ int WXBridge::HasTransitionPros(
 
 int WXBridge::AppendTreeCreateFinish(JNIEnv* env, const char* page_id,
                                      const char* ref) {
+  FlushGraphicActions(env);
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
   return Java_WXBridge_callAppendTreeCreateFinish(env, jni_object(),
@@ -690,6 +869,13 @@ int WXBridge::AppendTreeCreateFinish(JNIEnv* env, const char* page_id,
 
 int WXBridge::MoveElement(JNIEnv* env, const char* page_id, const char* ref,
                           const char* parent_ref, int index) {
+  if (BatchGraphicAction(env, page_id)) {
+    batch_actions_.push_back(static_cast<char>(kPackedMoveElement));
+    PackString(&batch_actions_, ref);
+    PackString(&batch_actions_, parent_ref);
+    PackSignedVarint(&batch_actions_, index);
+    return 1;
+  }
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
   auto jni_parent_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(parent_ref));
@@ -699,6 +885,11 @@ int WXBridge::MoveElement(JNIEnv* env, const char* page_id, const char* ref,
 }
 
 int WXBridge::RemoveElement(JNIEnv* env, const char* page_id, const char* ref) {
+  if (BatchGraphicAction(env, page_id)) {
+    batch_actions_.push_back(static_cast<char>(kPackedRemoveElement));
+    PackString(&batch_actions_, ref);
+    return 1;
+  }
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
 
@@ -707,6 +898,7 @@ int WXBridge::RemoveElement(JNIEnv* env, const char* page_id, const char* ref) {
 }
 
 int WXBridge::CreateFinish(JNIEnv* env, const char* page_id) {
+  FlushGraphicActions(env);
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   return Java_WXBridge_callCreateFinish(env, jni_object(), jni_page_id.Get());
 }
@@ -714,19 +906,26 @@ int WXBridge::CreateFinish(JNIEnv* env, const char* page_id) {
 int WXBridge::UpdateAttr(
     JNIEnv* env, const char* page_id, const char* ref,
     std::vector<std::pair<std::string, std::string>>* attrs) {
+  // Batch first, flushing it may restart the key table.
+  bool batched = BatchGraphicAction(env, page_id);
+  std::string props;
+  if (!batched) {
+    PackHeader(&props);
+  }
+  PackSection(&props, kPackedAttrs, attrs);
+  if (batched) {
+    batch_actions_.push_back(static_cast<char>(kPackedUpdateAttrs));
+    PackString(&batch_actions_, ref);
+    PackBlock(&batch_actions_, props);
+    return 1;
+  }
+
   auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
+  auto jni_props = ToJByteArray(env, props);
 
-  auto attributes_map = std::unique_ptr<WXMap>();
-  if (attrs != nullptr) {
-    attributes_map.reset(new WXMap);
-    attributes_map->Put(env, *attrs);
-  }
-
-  jobject jni_attributes =
-      attributes_map.get() != nullptr ? attributes_map->jni_object() : nullptr;
-  return Java_WXBridge_callUpdateAttrs(env, jni_object(), jni_page_id.Get(), jni_ref.Get(),
-                                       jni_attributes);
+  return Java_WXBridge_callUpdateAttrsPacked(env, jni_object(), jni_page_id.Get(), jni_ref.Get(),
+                                             jni_props.Get());
 }
 
 int WXBridge::UpdateStyle(
@@ -735,47 +934,46 @@ int WXBridge::UpdateStyle(
     std::vector<std::pair<std::string, std::string>>* margin,
     std::vector<std::pair<std::string, std::string>>* padding,
     std::vector<std::pair<std::string, std::string>>* border) {
-  auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
-  auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
-
-  auto styles_map = std::unique_ptr<WXMap>();
-  if (style != nullptr) {
-    styles_map.reset(new WXMap);
-    styles_map->Put(env, *style);
-  }
-  auto margins_map = std::unique_ptr<WXMap>();
-  if (margin != nullptr) {
-    margins_map.reset(new WXMap);
-    margins_map->Put(env, *margin);
-  }
-  auto paddings_map = std::unique_ptr<WXMap>();
-  if (padding != nullptr) {
-    paddings_map.reset(new WXMap);
-    paddings_map->Put(env, *padding);
+  bool batched = BatchGraphicAction(env, page_id);
+  std::string props;
+  if (!batched) {
+    PackHeader(&props);
   }
-  auto borders_map = std::unique_ptr<WXMap>();
-  if (border != nullptr) {
-    borders_map.reset(new WXMap);
-    borders_map->Put(env, *border);
+  PackSection(&props, kPackedStyles, style);
+  PackSection(&props, kPackedMargins, margin);
+  PackSection(&props, kPackedPaddings, padding);
+  PackSection(&props, kPackedBorders, border);
+  if (batched) {
+    batch_actions_.push_back(static_cast<char>(kPackedUpdateStyle));
+    PackString(&batch_actions_, ref);
+    PackBlock(&batch_actions_, props);
+    return 1;
   }
 
-  jobject jni_styles =
-      styles_map.get() != nullptr ? styles_map->jni_object() : nullptr;
-  jobject jni_margins =
-      margins_map.get() != nullptr ? margins_map->jni_object() : nullptr;
-  jobject jni_paddings =
-      paddings_map.get() != nullptr ? paddings_map->jni_object() : nullptr;
-  jobject jni_borders =
-      borders_map.get() != nullptr ? borders_map->jni_object() : nullptr;
+  auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
+  auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
+  auto jni_props = ToJByteArray(env, props);
 
-  return Java_WXBridge_callUpdateStyle(env, jni_object(), jni_page_id.Get(), jni_ref.Get(),
-                                       jni_styles, jni_margins, jni_paddings,
-                                       jni_borders);
+  return Java_WXBridge_callUpdateStylePacked(env, jni_object(), jni_page_id.Get(), jni_ref.Get(),
+                                             jni_props.Get());
 }
 
 int WXBridge::Layout(JNIEnv* env, const char* page_id, const char* ref, int top,
                      int bottom, int left, int right, int height, int width, bool isRTL,
                      int index) {
+  if (BatchGraphicAction(env, page_id)) {
+    batch_actions_.push_back(static_cast<char>(kPackedLayout));
+    PackString(&batch_actions_, ref);
+    PackSignedVarint(&batch_actions_, top);
+    PackSignedVarint(&batch_actions_, bottom);
+    PackSignedVarint(&batch_actions_, left);
+    PackSignedVarint(&batch_actions_, right);
+    PackSignedVarint(&batch_actions_, height);
+    PackSignedVarint(&batch_actions_, width);
+    batch_actions_.push_back(isRTL ? 1 : 0);
+    PackSignedVarint(&batch_actions_, index);
+    return 1;
+  }
   auto jPageId = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jRef = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
 
@@ -792,16 +990,14 @@ int WXBridge::AddElement(JNIEnv* env, const char* page_id,
                          const WXCoreMargin& margins,
                          const WXCorePadding& paddings,
                          const WXCoreBorderWidth& borders, bool willLayout) {
-  auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
-  auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
-  auto jni_parent_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(parentRef));
-
-  auto styles_map = std::unique_ptr<WXMap>(new WXMap);
-  styles_map->Put(env, *styles);
-  auto attributes_map = std::unique_ptr<WXMap>(new WXMap);
-  attributes_map->Put(env, *attributes);
-  auto events_set = std::unique_ptr<HashSet>(new HashSet);
-  events_set->Add(env, *events);
+  bool batched = BatchGraphicAction(env, page_id);
+  std::string props;
+  if (!batched) {
+    PackHeader(&props);
+  }
+  PackSection(&props, kPackedStyles, styles);
+  PackSection(&props, kPackedAttrs, attributes);
+  PackEvents(&props, events);
 
   float c_margins[4];
   float c_paddings[4];
@@ -822,6 +1018,25 @@ int WXBridge::AddElement(JNIEnv* env, const char* page_id,
   c_borders[2] = borders.getBorderWidth(kBorderWidthLeft);
   c_borders[3] = borders.getBorderWidth(kBorderWidthRight);
 
+  if (batched) {
+    batch_actions_.push_back(static_cast<char>(kPackedAddElement));
+    PackKey(&batch_actions_, component_type);
+    PackString(&batch_actions_, ref);
+    PackSignedVarint(&batch_actions_, index);
+    PackString(&batch_actions_, parentRef);
+    PackBlock(&batch_actions_, props);
+    PackFloats(&batch_actions_, c_margins);
+    PackFloats(&batch_actions_, c_paddings);
+    PackFloats(&batch_actions_, c_borders);
+    batch_actions_.push_back(willLayout ? 1 : 0);
+    return 1;
+  }
+
+  auto jni_page_id = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
+  auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
+  auto jni_parent_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(parentRef));
+  auto jni_props = ToJByteArray(env, props);
+
   auto jni_margins =
       0 == c_margins[0] && 0 == c_margins[1] && 0 == c_margins[2] &&
       0 == c_margins[3]
@@ -843,10 +1058,9 @@ int WXBridge::AddElement(JNIEnv* env, const char* page_id,
     jni_component_type = putComponentTypeToCache(component_type);
   }
 
-  return Java_WXBridge_callAddElement(
+  return Java_WXBridge_callAddElementPacked(
       env, jni_object(), jni_page_id.Get(), jni_component_type, jni_ref.Get(), index,
-      jni_parent_ref.Get(), styles_map->jni_object(), attributes_map->jni_object(),
-      events_set->jni_object(), jni_margins.Get(), jni_paddings.Get(),
+      jni_parent_ref.Get(), jni_props.Get(), jni_margins.Get(), jni_paddings.Get(),
       jni_borders.Get(), willLayout);
 }
 
@@ -858,15 +1072,16 @@ int WXBridge::CreateBody(JNIEnv* env, const char* page_id,
                          const WXCoreMargin& margins,
                          const WXCorePadding& paddings,
                          const WXCoreBorderWidth& borders) {
+  FlushGraphicActions(env);
   auto jni_pageId = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jni_ref = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
 
-  auto styles_map = std::unique_ptr<WXMap>(new WXMap);
-  styles_map->Put(env, *styles);
-  auto attributes_map = std::unique_ptr<WXMap>(new WXMap);
-  attributes_map->Put(env, *attributes);
-  auto events_set = std::unique_ptr<HashSet>(new HashSet);
-  events_set->Add(env, *events);
+  std::string props;
+  PackHeader(&props);
+  PackSection(&props, kPackedStyles, styles);
+  PackSection(&props, kPackedAttrs, attributes);
+  PackEvents(&props, events);
+  auto jni_props = ToJByteArray(env, props);
 
   float c_margins[4];
   float c_paddings[4];
@@ -908,16 +1123,21 @@ int WXBridge::CreateBody(JNIEnv* env, const char* page_id,
     jni_component_type = putComponentTypeToCache(component_type);
   }
 
-  int flag = Java_WXBridge_callCreateBody(
+  int flag = Java_WXBridge_callCreateBodyPacked(
       env, jni_object(), jni_pageId.Get(), jni_component_type, jni_ref.Get(),
-      styles_map->jni_object(), attributes_map->jni_object(),
-      events_set->jni_object(), jni_margins.Get(), jni_paddings.Get(),
+      jni_props.Get(), jni_margins.Get(), jni_paddings.Get(),
       jni_borders.Get());
   return flag;
 }
 
 int WXBridge::RemoveEvent(JNIEnv* env, const char* page_id, const char* ref,
                           const char* event) {
+  if (BatchGraphicAction(env, page_id)) {
+    batch_actions_.push_back(static_cast<char>(kPackedRemoveEvent));
+    PackString(&batch_actions_, ref);
+    PackKey(&batch_actions_, event);
+    return 1;
+  }
   auto jPageId = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jRef = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(ref));
 
@@ -930,6 +1150,12 @@ int WXBridge::RemoveEvent(JNIEnv* env, const char* page_id, const char* ref,
 
 int WXBridge::AddEvent(JNIEnv* env, const char* page_id, const char* ref,
                        const char* event) {
+  if (BatchGraphicAction(env, page_id)) {
+    batch_actions_.push_back(static_cast<char>(kPackedAddEvent));
+    PackString(&batch_actions_, ref);
+    PackKey(&batch_actions_, event);
+    return 1;
+  }
   auto jPageId = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   auto jRef = base::android::ScopedLocalJavaRef<jstring >(env, env->NewStringUTF(ref));
 
@@ -941,6 +1167,7 @@ int WXBridge::AddEvent(JNIEnv* env, const char* page_id, const char* ref,
 
 int WXBridge::RefreshFinish(JNIEnv* env, const char* page_id, const char* task,
                             const char* callback) {
+  FlushGraphicActions(env);
   auto jTask = base::android::ScopedLocalJavaRef<jbyteArray>(
       env, newJByteArray(env, task));
   auto jCallback = base::android::ScopedLocalJavaRef<jstring>(
@@ -951,12 +1178,14 @@ int WXBridge::RefreshFinish(JNIEnv* env, const char* page_id, const char* task,
 }
 
 int WXBridge::RenderSuccess(JNIEnv* env, const char* page_id) {
+  FlushGraphicActions(env);
   auto jPageId = base::android::ScopedLocalJavaRef<jstring>(env, env->NewStringUTF(page_id));
   return Java_WXBridge_callRenderSuccess(env, jni_object(), jPageId.Get());
 }
 
 int WXBridge::UpdateFinish(JNIEnv* env, const char* page_id, const char* task,
                            const char* callback) {
+  FlushGraphicActions(env);
   auto jTask = base::android::ScopedLocalJavaRef<jbyteArray>(
       env, newJByteArray(env, task));
   auto jCallback = base::android::ScopedLocalJavaRef<jstring>(
@@ -982,6 +1211,7 @@ void WXBridge::CallNativeComponent(JNIEnv* env, const char* page_id,
                                    const char* ref, const char* method,
                                    const char* arguments, int arguments_length,
                                    const char* options, int options_length) {
+  FlushGraphicActions(env);
   auto jMethod = base::android::ScopedLocalJavaRef<jstring>(
       env, env->NewStringUTF(method));
   auto jArgString = base::android::ScopedLocalJavaRef<jbyteArray>(
@@ -1002,6 +1232,7 @@ base::android::ScopedLocalJavaRef<jobject> WXBridge::CallNativeModule(
     JNIEnv* env, const char* page_id, const char* module, const char* method,
     const char* arguments, int arguments_length, const char* options,
     int options_length) {
+  FlushGraphicActions(env);
   auto jModule = base::android::ScopedLocalJavaRef<jstring>(
       env, env->NewStringUTF(module));
   auto jMethod = base::android::ScopedLocalJavaRef<jstring>(
@@ -1022,6 +1253,7 @@ base::android::ScopedLocalJavaRef<jobject> WXBridge::CallNativeModule(
 
 int WXBridge::CallNative(JNIEnv* env, const char* page_id, const char* task,
                          const char* callback) {
+  FlushGraphicActions(env);
   auto jTask = base::android::ScopedLocalJavaRef<jbyteArray>(
       env, newJByteArray(env, task));
   auto jCallback = base::android::ScopedLocalJavaRef<jstring>(
@@ -45,6 +45,11 @@ class WXBridge : public JNIObjectWrap {
     return g_instance;
   }
   static bool RegisterJNIUtils(JNIEnv *env);
+  // Mutations of the page between begin and end are sent to java in one call,
+  // anything else sent to java first flushes the pending ones to keep order.
+  void BeginGraphicActions(const char *page_id);
+  void EndGraphicActions(JNIEnv *env, const char *page_id);
+  void FlushGraphicActions(JNIEnv *env);
   base::android::ScopedLocalJavaRef<jobject> GetMeasureFunc(
       JNIEnv *env, const char *page_id, jlong render_object_ptr);
   int HasTransitionPros(
@@ -110,9 +115,15 @@ class WXBridge : public JNIObjectWrap {
 
   void reset_clazz(JNIEnv* env, const char* className);
  private:
-  WXBridge() {}
+  WXBridge() : batch_depth_(0), batch_action_count_(0) {}
   virtual ~WXBridge() {}
+  // Whether a mutation of the page goes to the pending batch.
+  bool BatchGraphicAction(JNIEnv *env, const char *page_id);
   static WXBridge *g_instance;
+  std::string batch_page_id_;
+  std::string batch_actions_;
+  int batch_depth_;
+  int batch_action_count_;
   DISALLOW_COPY_AND_ASSIGN(WXBridge);
 };
 }  // namespace WeexCore
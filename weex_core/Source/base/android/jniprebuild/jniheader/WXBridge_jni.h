@@ -177,6 +177,8 @@ static void ResetWXBridge(JNIEnv* env, jobject jcaller,
 static void UpdateGlobalConfig(JNIEnv* env, jobject jcaller,
     jstring config);
 
+static void ResetPackedKeys(JNIEnv* env, jobject jcaller);
+
 // Step 2: method stubs.
 
 static intptr_t g_WXBridge_onReceivedResult = 0;
@@ -461,17 +463,10 @@ static void Java_WXBridge_reportServerCrash(JNIEnv* env, jobject obj, jstring
 
 }
 
-static intptr_t g_WXBridge_callCreateBody = 0;
-static jint Java_WXBridge_callCreateBody(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callRemoveElement = 0;
+static jint Java_WXBridge_callRemoveElement(JNIEnv* env, jobject obj, jstring
     instanceId,
-    jstring componentType,
-    jstring ref,
-    jobject styles,
-    jobject attributes,
-    jobject events,
-    jfloatArray margins,
-    jfloatArray paddings,
-    jfloatArray borders) {
+    jstring ref) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -479,44 +474,28 @@ static jint Java_WXBridge_callCreateBody(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callCreateBody",
+      "callRemoveElement",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
-"Ljava/lang/String;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashSet;"
-"[F"
-"[F"
-"[F"
 ")"
 "I",
-      &g_WXBridge_callCreateBody);
+      &g_WXBridge_callRemoveElement);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, componentType, ref, styles, attributes, events,
-              margins, paddings, borders);
+          method_id, instanceId, ref);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callAddElement = 0;
-static jint Java_WXBridge_callAddElement(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callMoveElement = 0;
+static jint Java_WXBridge_callMoveElement(JNIEnv* env, jobject obj, jstring
     instanceId,
-    jstring componentType,
     jstring ref,
-    int index,
-    jstring parentRef,
-    jobject styles,
-    jobject attributes,
-    jobject events,
-    jfloatArray margins,
-    jfloatArray paddings,
-    jfloatArray borders,
-    jboolean willLayout) {
+    jstring parentref,
+    int index) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -524,38 +503,29 @@ static jint Java_WXBridge_callAddElement(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callAddElement",
+      "callMoveElement",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
 "Ljava/lang/String;"
 "I"
-"Ljava/lang/String;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashSet;"
-"[F"
-"[F"
-"[F"
-"Z"
 ")"
 "I",
-      &g_WXBridge_callAddElement);
+      &g_WXBridge_callMoveElement);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, componentType, ref, int(index), parentRef,
-              styles, attributes, events, margins, paddings, borders,
-              willLayout);
+          method_id, instanceId, ref, parentref, int(index));
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callRemoveElement = 0;
-static jint Java_WXBridge_callRemoveElement(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callAddEvent = 0;
+static jint Java_WXBridge_callAddEvent(JNIEnv* env, jobject obj, jstring
     instanceId,
-    jstring ref) {
+    jstring ref,
+    jstring event) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -563,28 +533,28 @@ static jint Java_WXBridge_callRemoveElement(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callRemoveElement",
+      "callAddEvent",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
+"Ljava/lang/String;"
 ")"
 "I",
-      &g_WXBridge_callRemoveElement);
+      &g_WXBridge_callAddEvent);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref);
+          method_id, instanceId, ref, event);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callMoveElement = 0;
-static jint Java_WXBridge_callMoveElement(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callRemoveEvent = 0;
+static jint Java_WXBridge_callRemoveEvent(JNIEnv* env, jobject obj, jstring
     instanceId,
     jstring ref,
-    jstring parentref,
-    int index) {
+    jstring event) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -592,29 +562,32 @@ static jint Java_WXBridge_callMoveElement(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callMoveElement",
+      "callRemoveEvent",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
 "Ljava/lang/String;"
-"I"
 ")"
 "I",
-      &g_WXBridge_callMoveElement);
+      &g_WXBridge_callRemoveEvent);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref, parentref, int(index));
+          method_id, instanceId, ref, event);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callAddEvent = 0;
-static jint Java_WXBridge_callAddEvent(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callCreateBodyPacked = 0;
+static jint Java_WXBridge_callCreateBodyPacked(JNIEnv* env, jobject obj, jstring
     instanceId,
+    jstring componentType,
     jstring ref,
-    jstring event) {
+    jbyteArray props,
+    jfloatArray margins,
+    jfloatArray paddings,
+    jfloatArray borders) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -622,28 +595,40 @@ static jint Java_WXBridge_callAddEvent(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callAddEvent",
+      "callCreateBodyPacked",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
 "Ljava/lang/String;"
+"[B"
+"[F"
+"[F"
+"[F"
 ")"
 "I",
-      &g_WXBridge_callAddEvent);
+      &g_WXBridge_callCreateBodyPacked);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref, event);
+          method_id, instanceId, componentType, ref, props, margins, paddings,
+              borders);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callRemoveEvent = 0;
-static jint Java_WXBridge_callRemoveEvent(JNIEnv* env, jobject obj, jstring
+static intptr_t g_WXBridge_callAddElementPacked = 0;
+static jint Java_WXBridge_callAddElementPacked(JNIEnv* env, jobject obj, jstring
     instanceId,
+    jstring componentType,
     jstring ref,
-    jstring event) {
+    int index,
+    jstring parentRef,
+    jbyteArray props,
+    jfloatArray margins,
+    jfloatArray paddings,
+    jfloatArray borders,
+    jboolean willLayout) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -651,31 +636,36 @@ static jint Java_WXBridge_callRemoveEvent(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callRemoveEvent",
+      "callAddElementPacked",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
 "Ljava/lang/String;"
+"I"
+"Ljava/lang/String;"
+"[B"
+"[F"
+"[F"
+"[F"
+"Z"
 ")"
 "I",
-      &g_WXBridge_callRemoveEvent);
+      &g_WXBridge_callAddElementPacked);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref, event);
+          method_id, instanceId, componentType, ref, int(index), parentRef,
+              props, margins, paddings, borders, willLayout);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callUpdateStyle = 0;
-static jint Java_WXBridge_callUpdateStyle(JNIEnv* env, jobject obj, jstring
-    instanceId,
+static intptr_t g_WXBridge_callUpdateStylePacked = 0;
+static jint Java_WXBridge_callUpdateStylePacked(JNIEnv* env, jobject obj,
+    jstring instanceId,
     jstring ref,
-    jobject styles,
-    jobject paddings,
-    jobject margins,
-    jobject borders) {
+    jbyteArray props) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -683,31 +673,28 @@ static jint Java_WXBridge_callUpdateStyle(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callUpdateStyle",
+      "callUpdateStylePacked",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashMap;"
-"Ljava/util/HashMap;"
+"[B"
 ")"
 "I",
-      &g_WXBridge_callUpdateStyle);
+      &g_WXBridge_callUpdateStylePacked);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref, styles, paddings, margins, borders);
+          method_id, instanceId, ref, props);
   base::android::CheckException(env);
   return ret;
 }
 
-static intptr_t g_WXBridge_callUpdateAttrs = 0;
-static jint Java_WXBridge_callUpdateAttrs(JNIEnv* env, jobject obj, jstring
-    instanceId,
+static intptr_t g_WXBridge_callUpdateAttrsPacked = 0;
+static jint Java_WXBridge_callUpdateAttrsPacked(JNIEnv* env, jobject obj,
+    jstring instanceId,
     jstring ref,
-    jobject attrs) {
+    jbyteArray props) {
   /* Must call RegisterNativesImpl()  */
   //CHECK_CLAZZ(env, obj,
   //    WXBridge_clazz(env), 0);
@@ -715,19 +702,46 @@ static jint Java_WXBridge_callUpdateAttrs(JNIEnv* env, jobject obj, jstring
       base::android::GetMethod(
       env, WXBridge_clazz(env),
       base::android::INSTANCE_METHOD,
-      "callUpdateAttrs",
+      "callUpdateAttrsPacked",
 
 "("
 "Ljava/lang/String;"
 "Ljava/lang/String;"
-"Ljava/util/HashMap;"
+"[B"
+")"
+"I",
+      &g_WXBridge_callUpdateAttrsPacked);
+
+  jint ret =
+      env->CallIntMethod(obj,
+          method_id, instanceId, ref, props);
+  base::android::CheckException(env);
+  return ret;
+}
+
+static intptr_t g_WXBridge_callGraphicActions = 0;
+static jint Java_WXBridge_callGraphicActions(JNIEnv* env, jobject obj,
+    jstring instanceId,
+    jbyteArray actions) {
+  /* Must call RegisterNativesImpl()  */
+  //CHECK_CLAZZ(env, obj,
+  //    WXBridge_clazz(env), 0);
+  jmethodID method_id =
+      base::android::GetMethod(
+      env, WXBridge_clazz(env),
+      base::android::INSTANCE_METHOD,
+      "callGraphicActions",
+
+"("
+"Ljava/lang/String;"
+"[B"
 ")"
 "I",
-      &g_WXBridge_callUpdateAttrs);
+      &g_WXBridge_callGraphicActions);
 
   jint ret =
       env->CallIntMethod(obj,
-          method_id, instanceId, ref, attrs);
+          method_id, instanceId, actions);
   base::android::CheckException(env);
   return ret;
 }
@@ -1132,6 +1146,10 @@ static const JNINativeMethod kMethodsWXBridge[] = {
 "Ljava/lang/String;"
 ")"
 "V", reinterpret_cast<void*>(UpdateGlobalConfig) },
+    { "nativeResetPackedKeys",
+"("
+")"
+"V", reinterpret_cast<void*>(ResetPackedKeys) },
 };
 
 static bool RegisterNativesImpl(JNIEnv* env) {
@@ -1166,14 +1184,15 @@ static void Java_WXBridge_reset_clazz(JNIEnv* env, const char* className) {
     g_WXBridge_callUpdateFinish = 0;
     g_WXBridge_callRefreshFinish = 0;
     g_WXBridge_reportServerCrash = 0;
-    g_WXBridge_callCreateBody = 0;
-    g_WXBridge_callAddElement = 0;
     g_WXBridge_callRemoveElement = 0;
     g_WXBridge_callMoveElement = 0;
     g_WXBridge_callAddEvent = 0;
     g_WXBridge_callRemoveEvent = 0;
-    g_WXBridge_callUpdateStyle = 0;
-    g_WXBridge_callUpdateAttrs = 0;
+    g_WXBridge_callCreateBodyPacked = 0;
+    g_WXBridge_callAddElementPacked = 0;
+    g_WXBridge_callUpdateStylePacked = 0;
+    g_WXBridge_callUpdateAttrsPacked = 0;
+    g_WXBridge_callGraphicActions = 0;
     g_WXBridge_callLayout = 0;
     g_WXBridge_callCreateFinish = 0;
     g_WXBridge_callRenderSuccess = 0;
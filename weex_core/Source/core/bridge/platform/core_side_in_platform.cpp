@@ -23,6 +23,7 @@
 #include "core/config/core_environment.h"
 #include "core/data_render/vnode/vnode_render_manager.h"
 #include "core/manager/weex_core_manager.h"
+#include "core/render/action/render_action_batch.h"
 #include "core/render/manager/render_manager.h"
 #include "core/render/node/factory/render_creator.h"
 #include "core/render/node/factory/render_type.h"
@@ -44,7 +45,7 @@ void CoreSideInPlatform::SetDefaultHeightAndWidthIntoRootDom(
   LOGD(
       "[JNI] SetDefaultHeightAndWidthIntoRootDom >>>> pageId: %s, "
       "defaultWidth: %f, defaultHeight: %f",
-      page->PageId().c_str(), defaultWidth, defaultHeight);
+      instance_id.c_str(), default_width, default_height);
 #endif
 
   page->SetDefaultHeightAndWidthIntoRootRender(default_width, default_height,
@@ -186,6 +187,7 @@ void CoreSideInPlatform::ForceLayout(const std::string &instance_id) {
          page->hasForeLayoutAction.load() ? "true" : "false");
 #endif
 
+    RenderActionBatch batch(instance_id);
     page->LayoutImmediately();
     page->has_fore_layout_action_.store(false);
   }
@@ -427,6 +429,20 @@ int CoreSideInPlatform::CreateInstance(const char *instanceId, const char *func,
                                        const char *initData,
                                        const char *extendsApi, std::vector<INIT_FRAMEWORK_PARAMS*>& params,
                                        const char *render_strategy) {
+  // Pre-rendered pages pass the viewport they will be attached to, it is kept
+  // until the root is created so the first layout uses it
+  if (opts != nullptr && strstr(opts, "\"preRenderWidth\"") != nullptr) {
+    std::string error;
+    auto opts_json = json11::Json::parse(opts, error);
+    float width = static_cast<float>(opts_json["preRenderWidth"].number_value());
+    float height =
+        static_cast<float>(opts_json["preRenderHeight"].number_value());
+    if (width > 0 && height > 0) {
+      RenderManager::GetInstance()->set_pre_render_root_size(instanceId, width,
+                                                             height);
+    }
+  }
+
   // First check about DATA_RENDER mode
   if (render_strategy != nullptr) {
     std::function<void(const char *)> exec_js =
@@ -222,6 +222,11 @@ class PlatformBridge {
 
     virtual int AppendTreeCreateFinish(const char* pageId, const char* ref) = 0;
 
+    // Render actions of a page sent between begin and end may be delivered to
+    // the platform in one batch, see RenderActionBatch.
+    virtual void BeginGraphicActions(const char* page_id) {}
+    virtual void EndGraphicActions(const char* page_id) {}
+
     virtual int HasTransitionPros(
         const char* pageId, const char* ref,
         std::vector<std::pair<std::string, std::string>>* style) = 0;
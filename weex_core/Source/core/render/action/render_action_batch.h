@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+#ifndef CORE_RENDER_ACTION_RENDER_ACTION_BATCH_H_
+#define CORE_RENDER_ACTION_RENDER_ACTION_BATCH_H_
+
+#include <string>
+
+#include "base/common.h"
+#include "core/manager/weex_core_manager.h"
+
+namespace WeexCore {
+
+// Lets the platform deliver the render actions of a page executed in this
+// scope as one batch, scopes of the same page may be nested.
+class RenderActionBatch {
+ public:
+  explicit RenderActionBatch(const std::string &page_id) : page_id_(page_id) {
+    PlatformBridge *bridge = WeexCoreManager::Instance()->getPlatformBridge();
+    if (bridge != nullptr && bridge->platform_side() != nullptr) {
+      bridge->platform_side()->BeginGraphicActions(page_id_.c_str());
+    }
+  }
+
+  ~RenderActionBatch() {
+    PlatformBridge *bridge = WeexCoreManager::Instance()->getPlatformBridge();
+    if (bridge != nullptr && bridge->platform_side() != nullptr) {
+      bridge->platform_side()->EndGraphicActions(page_id_.c_str());
+    }
+  }
+
+ private:
+  std::string page_id_;
+  DISALLOW_COPY_AND_ASSIGN(RenderActionBatch);
+};
+
+}  // namespace WeexCore
+
+#endif  // CORE_RENDER_ACTION_RENDER_ACTION_BATCH_H_
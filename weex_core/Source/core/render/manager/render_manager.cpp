@@ -28,6 +28,7 @@
 #include "core/css/constants_name.h"
 #include "core/layout/measure_func_adapter.h"
 #include "core/parser/dom_wson.h"
+#include "core/render/action/render_action_batch.h"
 #include "core/render/node/render_object.h"
 #include "core/render/page/render_page.h"
 #include "wson/wson_parser.h"
@@ -66,7 +67,7 @@ bool RenderManager::CreatePage(const std::string& page_id, const char *data) {
   page->ParseJsonTime(getCurrentTime() - start_time);
 
   page->set_is_dirty(true);
-  return page->CreateRootRender(root);
+  return CreateRootRender(page, root);
 }
 
 bool RenderManager::CreatePage(const std::string& page_id, RenderObject *root) {
@@ -87,7 +88,7 @@ bool RenderManager::CreatePage(const std::string& page_id, RenderObject *root) {
   }
 
   page->set_is_dirty(true);
-  return page->CreateRootRender(root);
+  return CreateRootRender(page, root);
 }
     
 bool RenderManager::CreatePage(const std::string& page_id, std::function<RenderObject* (RenderPage*)> constructRoot) {
@@ -110,7 +111,21 @@ bool RenderManager::CreatePage(const std::string& page_id, std::function<RenderO
     page->ParseJsonTime(getCurrentTime() - start_time);
     
     page->set_is_dirty(true);
-    return page->CreateRootRender(root);
+    return CreateRootRender(page, root);
+}
+
+bool RenderManager::CreateRootRender(RenderPage *page, RenderObject *root) {
+  if (!page->CreateRootRender(root)) return false;
+
+  std::map<std::string, std::pair<float, float>>::iterator iter =
+      this->pre_render_root_sizes_.find(page->page_id());
+  if (iter != this->pre_render_root_sizes_.end()) {
+    std::pair<float, float> size = iter->second;
+    this->pre_render_root_sizes_.erase(iter);
+    page->SetDefaultHeightAndWidthIntoRootRender(size.first, size.second,
+                                                 false, false);
+  }
+  return true;
 }
 
 bool RenderManager::AddRenderObject(const std::string &page_id,
@@ -118,6 +133,7 @@ bool RenderManager::AddRenderObject(const std::string &page_id,
                                     const char *data) {
   RenderPage *page = GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -141,6 +157,7 @@ bool RenderManager::AddRenderObject(const std::string &page_id, const std::strin
                                     int index,  RenderObject *root) {
   RenderPage *page = GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -160,6 +177,7 @@ bool RenderManager::RemoveRenderObject(const std::string &page_id,
                                        const std::string &ref) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   LOGD("[RenderManager] RemoveRenderObject >>>> pageId: %s, ref: %s",
@@ -175,6 +193,7 @@ bool RenderManager::MoveRenderObject(const std::string &page_id,
                                      const std::string &parent_ref, int index) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   LOGD(
@@ -191,6 +210,7 @@ bool RenderManager::UpdateAttr(const std::string &page_id,
                                const std::string &ref, const char *data) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -210,6 +230,7 @@ bool RenderManager::UpdateAttr(const std::string &page_id, const std::string &re
                                std::vector<std::pair<std::string, std::string>> *attrPair) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -225,6 +246,7 @@ bool RenderManager::UpdateStyle(const std::string &page_id,
                                 const std::string &ref, const char *data) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -245,6 +267,7 @@ bool RenderManager::UpdateStyle(const std::string &page_id, const std::string &r
                                 std::vector<std::pair<std::string, std::string>> *stylePair) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   wson_parser parser(data);
@@ -262,6 +285,7 @@ bool RenderManager::AddEvent(const std::string &page_id, const std::string &ref,
                              const std::string &event) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   LOGD("[RenderManager] AddEvent >>>> pageId: %s, ref: %s, event: %s",
@@ -277,6 +301,7 @@ bool RenderManager::RemoveEvent(const std::string &page_id,
                                 const std::string &event) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   LOGD("[RenderManager] RemoveEvent >>>> pageId: %s, ref: %s, event: %s",
@@ -290,6 +315,7 @@ bool RenderManager::RemoveEvent(const std::string &page_id,
 bool RenderManager::CreateFinish(const std::string &page_id) {
   RenderPage *page = GetPage(page_id);
   if (page == nullptr) return false;
+  RenderActionBatch batch(page_id);
 
 #if RENDER_LOG
   LOGD("[RenderManager] CreateFinish >>>> pageId: %s", pageId.c_str());
@@ -349,6 +375,7 @@ RenderPage *RenderManager::GetPage(const std::string &page_id) {
 }
 
 bool RenderManager::ClosePage(const std::string &page_id) {
+  this->pre_render_root_sizes_.erase(page_id);
   RenderPage *page = GetPage(page_id);
   if (page == nullptr) return false;
 
@@ -376,6 +403,11 @@ void RenderManager::set_viewport_width(const std::string &page_id, float viewpor
   page->set_viewport_width(viewport_width);
 }
 
+void RenderManager::set_pre_render_root_size(const std::string &page_id,
+                                             float width, float height) {
+  this->pre_render_root_sizes_[page_id] = std::make_pair(width, height);
+}
+
 bool RenderManager::round_off_deviation(const std::string &page_id) {
   RenderPage *page = GetPage(page_id);
   if (page == nullptr) return kDefaultRoundOffDeviation;
@@ -394,6 +426,7 @@ void RenderManager::Batch(const std::string &page_id) {
   RenderPage *page = this->GetPage(page_id);
   if (page == nullptr) return;
 
+  RenderActionBatch batch(page_id);
   page->Batch();
 }
 
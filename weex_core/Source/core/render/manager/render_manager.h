@@ -108,6 +108,11 @@ class RenderManager {
 
   void set_viewport_width(const std::string &page_id, float viewport_width);
 
+  // root size of a pre-rendered page, kept until its root render object is
+  // created so the first layout already uses it
+  void set_pre_render_root_size(const std::string &page_id, float width,
+                                float height);
+
   bool round_off_deviation(const std::string &page_id);
 
   void set_round_off_deviation(const std::string &page_id, bool round_off_deviation);
@@ -119,10 +124,13 @@ class RenderManager {
     return g_pInstance;
   }
  private:
+  bool CreateRootRender(RenderPage *page, RenderObject *root);
+
   static RenderManager *g_pInstance;
   std::map<std::string, RenderPage *> pages_;
   std::map<std::string, float> viewports_;
   std::map<std::string, bool> round_off_deviations_;
+  std::map<std::string, std::pair<float, float>> pre_render_root_sizes_;
 };
 }  // namespace WeexCore
 